@@ -39,11 +39,13 @@ import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.LoggingProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.features.DBRFeatureRegistry;
+import org.jkiss.dbeaver.model.sql.qm.SQLQueryStatistics;
 import org.jkiss.dbeaver.registry.BasePlatformImpl;
 import org.jkiss.dbeaver.registry.DataSourceProviderRegistry;
 import org.jkiss.dbeaver.registry.GlobalEventManagerImpl;
 import org.jkiss.dbeaver.registry.language.PlatformLanguageRegistry;
 import org.jkiss.dbeaver.runtime.SecurityProviderUtils;
+import org.jkiss.dbeaver.runtime.qm.QMEventJournal;
 import org.jkiss.dbeaver.runtime.qm.QMLogFileWriter;
 import org.jkiss.dbeaver.runtime.qm.QMRegistryImpl;
 import org.jkiss.dbeaver.utils.ContentUtils;
@@ -87,6 +89,7 @@ public class DesktopPlatform extends BasePlatformImpl implements DBPPlatformDesk
     private DBPWorkspaceDesktop workspace;
     private QMRegistryImpl queryManager;
     private QMLogFileWriter qmLogWriter;
+    private QMEventJournal qmEventJournal;
     private DBACertificateStorage certificateStorage;
     private DBPPlatformLanguage language;
 
@@ -142,6 +145,10 @@ public class DesktopPlatform extends BasePlatformImpl implements DBPPlatformDesk
 
         this.qmLogWriter = new QMLogFileWriter();
         this.queryManager.registerMetaListener(qmLogWriter);
+        this.qmEventJournal = new QMEventJournal();
+        this.queryManager.registerMetaListener(qmEventJournal);
+        this.queryManager.setEventJournal(qmEventJournal);
+        this.queryManager.registerMetaListener(SQLQueryStatistics.getInstance());
 
         super.initialize();
 
@@ -180,7 +187,15 @@ public class DesktopPlatform extends BasePlatformImpl implements DBPPlatformDesk
             this.qmLogWriter.dispose();
             this.qmLogWriter = null;
         }
+        if (this.qmEventJournal != null) {
+            this.queryManager.setEventJournal(null);
+            this.queryManager.unregisterMetaListener(qmEventJournal);
+            this.qmEventJournal.dispose();
+            this.qmEventJournal = null;
+        }
         if (this.queryManager != null) {
+            this.queryManager.unregisterMetaListener(SQLQueryStatistics.getInstance());
+            SQLQueryStatistics.getInstance().dispose();
             this.queryManager.dispose();
             //queryManager = null;
         }
@@ -77,6 +77,7 @@ class SQLScriptTaskPageSettings extends ActiveWizardPage<SQLScriptTaskConfigurat
     private Button ignoreErrorsCheck;
     private Button dumpQueryCheck;
     private Button autoCommitCheck;
+    private Button mergeInsertsCheck;
     private TableViewer scriptsViewer;
     private TableViewer dataSourceViewer;
 
@@ -350,6 +351,12 @@ class SQLScriptTaskPageSettings extends ActiveWizardPage<SQLScriptTaskConfigurat
             ignoreErrorsCheck = UIUtils.createCheckbox(settingsGroup, DTMessages.sql_script_task_page_settings_option_ignore_errors, "", dtSettings.isIgnoreErrors(), 1);
             dumpQueryCheck = UIUtils.createCheckbox(settingsGroup, DTMessages.sql_script_task_page_settings_option_dump_results, "", dtSettings.isDumpQueryResultsToLog(), 1);
             autoCommitCheck = UIUtils.createCheckbox(settingsGroup, DTMessages.sql_script_task_page_settings_option_auto_commit, "", dtSettings.isAutoCommit(), 1);
+            mergeInsertsCheck = UIUtils.createCheckbox(
+                settingsGroup,
+                DTMessages.sql_script_task_page_settings_option_merge_inserts,
+                DTMessages.sql_script_task_page_settings_option_merge_inserts_tip,
+                dtSettings.isMergeInserts(),
+                1);
         }
 
         getWizard().createVariablesEditButton(composite);
@@ -524,6 +531,9 @@ class SQLScriptTaskPageSettings extends ActiveWizardPage<SQLScriptTaskConfigurat
         if (autoCommitCheck != null) {
             settings.setAutoCommit(autoCommitCheck.getSelection());
         }
+        if (mergeInsertsCheck != null) {
+            settings.setMergeInserts(mergeInsertsCheck.getSelection());
+        }
     }
 
 }
\ No newline at end of file
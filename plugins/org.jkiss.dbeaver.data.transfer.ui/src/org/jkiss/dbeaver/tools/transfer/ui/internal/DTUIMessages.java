@@ -57,12 +57,16 @@ public class DTUIMessages extends NLS {
     public static String database_consumer_wizard_spinner_multi_insert_batch_size;
     public static String database_consumer_wizard_checkbox_multi_insert_skip_bind_values_label;
     public static String database_consumer_wizard_checkbox_multi_insert_skip_bind_values_description;
+    public static String database_consumer_wizard_checkbox_bind_null_values_label;
+    public static String database_consumer_wizard_checkbox_bind_null_values_description;
     public static String database_consumer_wizard_disable_import_batches_label;
     public static String database_consumer_wizard_disable_import_batches_description;
     public static String database_consumer_wizard_ignore_duplicate_rows_label;
     public static String database_consumer_wizard_ignore_duplicate_rows_tip;
     public static String database_consumer_wizard_use_bulk_load_label;
     public static String database_consumer_wizard_use_bulk_load_description;
+    public static String database_consumer_wizard_use_binary_bulk_load_label;
+    public static String database_consumer_wizard_use_binary_bulk_load_description;
     public static String database_consumer_wizard_on_duplicate_key_insert_method_text;
     public static String database_consumer_wizard_link_label_replace_method_wiki;
     public static String database_consumer_wizard_label_replace_method_not_supported;
@@ -101,6 +105,8 @@ public class DTUIMessages extends NLS {
     public static String database_producer_page_extract_settings_name_and_title;
     public static String database_producer_page_extract_settings_description;
     public static String database_producer_page_extract_settings_threads_num_text_tooltip;
+    public static String database_producer_page_extract_settings_max_connections_label;
+    public static String database_producer_page_extract_settings_max_connections_tooltip;
     public static String database_producer_page_extract_settings_new_connection_checkbox_tooltip;
     public static String database_producer_page_extract_settings_row_count_checkbox_tooltip;
     public static String database_producer_page_extract_settings_text_fetch_size_label;
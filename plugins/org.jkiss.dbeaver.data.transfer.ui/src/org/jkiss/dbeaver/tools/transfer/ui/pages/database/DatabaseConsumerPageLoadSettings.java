@@ -70,9 +70,11 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
     private boolean isDisablingReferentialIntegritySupported;
     private Text multiRowInsertBatch;
     private Button skipBindValues;
+    private Button bindNullValues;
     private Button useBatchCheck;
     private Button ignoreDuplicateRows;
     private Button useBulkLoadCheck;
+    private Button useBinaryBulkLoadCheck;
     private List<SQLDialectInsertReplaceMethod> availableInsertMethodsDescriptors;
     private final Map<String, EventProcessorComposite<?>> processors = new HashMap<>();
 
@@ -263,8 +265,16 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
                         settings.setSkipBindValues(skipBindValues.getSelection());
                     }
                 });
+                bindNullValues = UIUtils.createCheckbox(performanceSettings, DTUIMessages.database_consumer_wizard_checkbox_bind_null_values_label, DTUIMessages.database_consumer_wizard_checkbox_bind_null_values_description, settings.isBindNullValues(), 4);
+                bindNullValues.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e) {
+                        settings.setBindNullValues(bindNullValues.getSelection());
+                    }
+                });
             } else {
                 settings.setSkipBindValues(false);
+                settings.setBindNullValues(false);
             }
             useBatchCheck = UIUtils.createCheckbox(
                 performanceSettings,
@@ -345,6 +355,21 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
                         }
                     }
                     onDuplicateKeyInsertMethods.setEnabled(!checkSelection);
+                    useBinaryBulkLoadCheck.setEnabled(checkSelection);
+                }
+            });
+
+            useBinaryBulkLoadCheck = UIUtils.createCheckbox(
+                performanceSettings,
+                DTUIMessages.database_consumer_wizard_use_binary_bulk_load_label,
+                DTUIMessages.database_consumer_wizard_use_binary_bulk_load_description,
+                settings.isUseBinaryBulkLoad(),
+                4);
+            useBinaryBulkLoadCheck.setEnabled(settings.isUseBulkLoad());
+            useBinaryBulkLoadCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setUseBinaryBulkLoad(useBinaryBulkLoadCheck.getSelection());
                 }
             });
         }
@@ -436,6 +461,10 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
             if (DBUtils.getAdapter(DBSDataBulkLoader.class, dataSource) == null) {
                 disableButton(useBulkLoadCheck);
                 settings.setUseBulkLoad(false);
+                if (buttonIsAvailable(useBinaryBulkLoadCheck)) {
+                    disableButton(useBinaryBulkLoadCheck);
+                    settings.setUseBinaryBulkLoad(false);
+                }
             }
         }
 
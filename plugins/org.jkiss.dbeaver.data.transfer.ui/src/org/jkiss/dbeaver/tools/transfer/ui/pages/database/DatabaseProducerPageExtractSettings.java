@@ -43,11 +43,18 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
 
     private static final int EXTRACT_TYPE_SINGLE_QUERY = 0;
     private static final int EXTRACT_TYPE_SEGMENTS = 1;
+    private static final int EXTRACT_TYPE_PARTITIONS = 2;
 
     private Text threadsNumText;
+    private Label maxConnectionsLabel;
+    private Text maxConnectionsText;
     private Combo rowsExtractType;
     private Label segmentSizeLabel;
     private Text segmentSizeText;
+    private Label partitionCountLabel;
+    private Text partitionCountText;
+    private Label partitionThreadsLabel;
+    private Text partitionThreadsText;
     private Button newConnectionCheckbox;
     private Button rowCountCheckbox;
     private Button selectedColumnsOnlyCheckbox;
@@ -83,11 +90,28 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
                     // do nothing
                 }
             });
+            threadsNumText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+
+            maxConnectionsLabel = UIUtils.createControlLabel(generalSettings, DTUIMessages.database_producer_page_extract_settings_max_connections_label);
+            maxConnectionsText = new Text(generalSettings, SWT.BORDER);
+            maxConnectionsText.setToolTipText(DTUIMessages.database_producer_page_extract_settings_max_connections_tooltip);
+            maxConnectionsText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
+            maxConnectionsText.addModifyListener(e -> {
+                try {
+                    getWizard().getSettings().setMaxConnectionsPerDataSource(Integer.parseInt(maxConnectionsText.getText()));
+                } catch (NumberFormatException e1) {
+                    // do nothing
+                }
+            });
+            maxConnectionsText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+            ((GridData) maxConnectionsText.getLayoutData()).widthHint = UIUtils.getFontHeight(maxConnectionsText) * 5;
+
             if (getWizard().getSettings().getDataPipes().size() < 2) {
                 threadsNumLabel.setEnabled(false);
                 threadsNumText.setEnabled(false);
+                maxConnectionsLabel.setEnabled(false);
+                maxConnectionsText.setEnabled(false);
             }
-            threadsNumText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
 
             {
 
@@ -96,13 +120,15 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
                 rowsExtractType.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
                 rowsExtractType.setItems(
                     DTMessages.data_transfer_wizard_output_combo_extract_type_item_single_query,
-                    DTMessages.data_transfer_wizard_output_combo_extract_type_item_by_segments);
+                    DTMessages.data_transfer_wizard_output_combo_extract_type_item_by_segments,
+                    DTMessages.data_transfer_wizard_output_combo_extract_type_item_by_key_ranges);
                 rowsExtractType.addSelectionListener(new SelectionAdapter() {
                     @Override
                     public void widgetSelected(SelectionEvent e) {
                         switch (rowsExtractType.getSelectionIndex()) {
                             case EXTRACT_TYPE_SEGMENTS: settings.setExtractType(DatabaseProducerSettings.ExtractType.SEGMENTS); break;
                             case EXTRACT_TYPE_SINGLE_QUERY: settings.setExtractType(DatabaseProducerSettings.ExtractType.SINGLE_QUERY); break;
+                            case EXTRACT_TYPE_PARTITIONS: settings.setExtractType(DatabaseProducerSettings.ExtractType.PARTITIONS); break;
                         }
                         updatePageCompletion();
                     }
@@ -120,6 +146,34 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
                 });
                 segmentSizeText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
                 ((GridData)segmentSizeText.getLayoutData()).widthHint = UIUtils.getFontHeight(segmentSizeText) * 10;
+
+                partitionCountLabel = UIUtils.createControlLabel(generalSettings, DTMessages.data_transfer_wizard_output_label_partition_count);
+                partitionCountLabel.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+                partitionCountText = new Text(generalSettings, SWT.BORDER);
+                partitionCountText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
+                partitionCountText.addModifyListener(e -> {
+                    try {
+                        settings.setPartitionCount(Integer.parseInt(partitionCountText.getText()));
+                    } catch (NumberFormatException e1) {
+                        // just skip it
+                    }
+                });
+                partitionCountText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+                ((GridData)partitionCountText.getLayoutData()).widthHint = UIUtils.getFontHeight(partitionCountText) * 10;
+
+                partitionThreadsLabel = UIUtils.createControlLabel(generalSettings, DTMessages.data_transfer_wizard_output_label_partition_threads);
+                partitionThreadsLabel.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+                partitionThreadsText = new Text(generalSettings, SWT.BORDER);
+                partitionThreadsText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
+                partitionThreadsText.addModifyListener(e -> {
+                    try {
+                        settings.setPartitionThreads(Integer.parseInt(partitionThreadsText.getText()));
+                    } catch (NumberFormatException e1) {
+                        // just skip it
+                    }
+                });
+                partitionThreadsText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+                ((GridData)partitionThreadsText.getLayoutData()).widthHint = UIUtils.getFontHeight(partitionThreadsText) * 5;
             }
 
             newConnectionCheckbox = UIUtils.createCheckbox(generalSettings, DTMessages.data_transfer_wizard_output_checkbox_new_connection, DTUIMessages.database_producer_page_extract_settings_new_connection_checkbox_tooltip, true, 4);
@@ -227,14 +281,18 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
         final DatabaseProducerSettings settings = getWizard().getPageSettings(this, DatabaseProducerSettings.class);
 
         threadsNumText.setText(String.valueOf(getWizard().getSettings().getMaxJobCount()));
+        maxConnectionsText.setText(String.valueOf(getWizard().getSettings().getMaxConnectionsPerDataSource()));
         newConnectionCheckbox.setSelection(settings.isOpenNewConnections());
         rowCountCheckbox.setSelection(settings.isQueryRowCount());
 
         if (segmentSizeText != null) {
             segmentSizeText.setText(String.valueOf(settings.getSegmentSize()));
+            partitionCountText.setText(String.valueOf(settings.getPartitionCount()));
+            partitionThreadsText.setText(String.valueOf(settings.getPartitionThreads()));
             switch (settings.getExtractType()) {
                 case SINGLE_QUERY: rowsExtractType.select(EXTRACT_TYPE_SINGLE_QUERY); break;
                 case SEGMENTS: rowsExtractType.select(EXTRACT_TYPE_SEGMENTS); break;
+                case PARTITIONS: rowsExtractType.select(EXTRACT_TYPE_PARTITIONS); break;
             }
         }
         fetchSizeText.setText(String.valueOf(settings.getFetchSize()));
@@ -261,6 +319,10 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
                 segmentSizeLabel.setEnabled(false);
                 segmentSizeText.setEnabled(false);
             }
+            partitionCountLabel.setEnabled(selectionIndex == EXTRACT_TYPE_PARTITIONS);
+            partitionCountText.setEnabled(selectionIndex == EXTRACT_TYPE_PARTITIONS);
+            partitionThreadsLabel.setEnabled(selectionIndex == EXTRACT_TYPE_PARTITIONS);
+            partitionThreadsText.setEnabled(selectionIndex == EXTRACT_TYPE_PARTITIONS);
         }
         return true;
     }
@@ -47,6 +47,7 @@ import org.jkiss.dbeaver.tools.transfer.database.DatabaseMappingContainer;
 import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
 import org.jkiss.dbeaver.tools.transfer.registry.DataTransferProcessorDescriptor;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamCompressionFormat;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamProducerSettings;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferProducer;
@@ -208,7 +209,7 @@ public class StreamProducerPageSettings extends DataTransferPageNodeSettings {
 
     private void chooseSourceFile(DataTransferPipe pipe, boolean remoteFS) {
         final String[] extensions = new String[]{
-            "*." + CommonUtils.toString(propertySource.getPropertyValue(null, "extension")).replace(",", ";*."),
+            getSourceFileFilter(CommonUtils.toString(propertySource.getPropertyValue(null, "extension"))),
             "*.*"
         };
 
@@ -492,6 +493,21 @@ public class StreamProducerPageSettings extends DataTransferPageNodeSettings {
         updateBrowseButtons();
     }
 
+    /**
+     * Makes file dialog filter of importer extensions, including compressed files (e.g. *.csv;*.csv.gz;*.csv.zip)
+     */
+    @NotNull
+    private static String getSourceFileFilter(@NotNull String extensions) {
+        StringJoiner filter = new StringJoiner(";");
+        for (String extension : extensions.split(",")) {
+            filter.add("*." + extension);
+            for (StreamCompressionFormat format : StreamCompressionFormat.values()) {
+                filter.add("*." + extension + "." + format.getFileExtension());
+            }
+        }
+        return filter.toString();
+    }
+
     private void updateBrowseButtons() {
         boolean hasSelection = filesTable.getSelection().length > 0;
         if (tiOpenLocal != null) tiOpenLocal.setEnabled(hasSelection);
@@ -506,6 +522,7 @@ public class StreamProducerPageSettings extends DataTransferPageNodeSettings {
     private String generateTableName(String fileName) {
         StringBuilder name = new StringBuilder();
         // Cut off extension
+        fileName = StreamCompressionFormat.removeFileExtension(fileName);
         int divPos = fileName.lastIndexOf(".");
         if (divPos != -1) {
             fileName = fileName.substring(0, divPos);
@@ -517,6 +517,7 @@ public class DataTransferWizard extends TaskConfigurationWizard<DataTransferSett
 
     private Map<String, Object> saveConfiguration(Map<String, Object> config) {
         config.put("maxJobCount", settings.getMaxJobCount());
+        config.put("maxConnectionsPerDataSource", settings.getMaxConnectionsPerDataSource());
         config.put("showFinalMessage", settings.isShowFinalMessage());
 
         // Save nodes' settings
@@ -48,6 +48,7 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<Path> {
 
     private boolean ignoreErrors;
     private boolean dumpQueryResultsToLog;
+    private boolean mergeInserts;
 
     public List<String> getScriptFiles() {
         return scriptFiles;
@@ -81,6 +82,14 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<Path> {
         this.dumpQueryResultsToLog = dumpQueryResultsToLog;
     }
 
+    public boolean isMergeInserts() {
+        return mergeInserts;
+    }
+
+    public void setMergeInserts(boolean mergeInserts) {
+        this.mergeInserts = mergeInserts;
+    }
+
     public boolean isAutoCommit() {
         return autoCommit;
     }
@@ -134,6 +143,7 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<Path> {
 
         ignoreErrors = JSONUtils.getBoolean(config, "ignoreErrors");
         dumpQueryResultsToLog = JSONUtils.getBoolean(config, "dumpQueryResultsToLog");
+        mergeInserts = JSONUtils.getBoolean(config, "mergeInserts");
 
         autoCommit = JSONUtils.getBoolean(config, "autoCommit");
     }
@@ -151,6 +161,7 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<Path> {
 
         config.put("ignoreErrors", ignoreErrors);
         config.put("dumpQueryResultsToLog", dumpQueryResultsToLog);
+        config.put("mergeInserts", mergeInserts);
 
         config.put("autoCommit", autoCommit);
     }
@@ -32,10 +32,9 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.sql.SQLScriptCommitType;
 import org.jkiss.dbeaver.model.sql.SQLScriptContext;
-import org.jkiss.dbeaver.model.sql.SQLScriptElement;
 import org.jkiss.dbeaver.model.sql.SQLScriptErrorHandling;
 import org.jkiss.dbeaver.model.sql.exec.SQLScriptProcessor;
-import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptStreamParser;
 import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.model.task.*;
@@ -47,6 +46,7 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.io.StringReader;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -58,6 +58,9 @@ import java.util.Locale;
  */
 public class SQLScriptExecuteHandler implements DBTTaskHandler {
 
+    // Max number of rows in merged INSERT
+    private static final int MERGE_INSERTS_BATCH_SIZE = 1000;
+
     private final DBCStatistics totalStatistics = new DBCStatistics();
 
     @Override
@@ -117,7 +120,6 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
         for (String filePath : settings.getScriptFiles()) {
             try {
                 for (DBPDataSourceContainer dataSourceContainer : dataSources) {
-                    var sqlScriptContent = readScriptContents(monitor, task.getProject(), filePath);
                     if (!dataSourceContainer.isConnected()) {
                         dataSourceContainer.connect(monitor, true, true);
                     }
@@ -140,7 +142,9 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
                         }
                     }
 
-                    processScript(monitor, task, settings, executionContext, filePath, sqlScriptContent, log, logStream);
+                    try (Reader scriptReader = openScriptReader(monitor, task.getProject(), filePath)) {
+                        processScript(monitor, task, settings, executionContext, scriptReader, log, logStream);
+                    }
                 }
             } catch (Throwable e) {
                 Throwable error = e instanceof InvocationTargetException ? ((InvocationTargetException) e).getTargetException() : e;
@@ -149,48 +153,65 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
         }
     }
 
-    private void processScript(DBRProgressMonitor monitor, DBTTask task, SQLScriptExecuteSettings settings, DBCExecutionContext executionContext, String filePath, String sqlScriptContent, Log log, PrintStream logStream) throws DBException {
+    private void processScript(DBRProgressMonitor monitor, DBTTask task, SQLScriptExecuteSettings settings, DBCExecutionContext executionContext, Reader scriptReader, Log log, PrintStream logStream) throws DBException, IOException {
         PrintWriter logWriter = new PrintWriter(logStream, true);
-        List<SQLScriptElement> scriptElements = SQLScriptParser.parseScript(executionContext.getDataSource(), sqlScriptContent);
-        SQLScriptContext scriptContext = new SQLScriptContext(null, () -> executionContext, null, logWriter, null);
-        scriptContext.setVariables(DBTaskUtils.getVariables(task));
-        SQLScriptDataReceiver dataReceiver = new SQLScriptDataReceiver();
-        SQLScriptProcessor scriptProcessor = new SQLScriptProcessor(executionContext, scriptElements, scriptContext, dataReceiver, log);
-
-        scriptProcessor.setCommitType(settings.isAutoCommit() ? SQLScriptCommitType.AUTOCOMMIT : SQLScriptCommitType.AT_END);
-        scriptProcessor.setErrorHandling(settings.isIgnoreErrors() ? SQLScriptErrorHandling.IGNORE : SQLScriptErrorHandling.STOP_ROLLBACK);
-        if (settings.isDumpQueryResultsToLog()) {
-            dataReceiver.setDumpWriter(logWriter);
-        }
+        // Script is parsed while it is executed. Thus huge scripts do not need to be loaded in memory
+        try (SQLScriptStreamParser scriptParser = new SQLScriptStreamParser(executionContext.getDataSource(), scriptReader)) {
+            SQLScriptContext scriptContext = new SQLScriptContext(null, () -> executionContext, null, logWriter, null);
+            scriptContext.setVariables(DBTaskUtils.getVariables(task));
+            SQLScriptDataReceiver dataReceiver = new SQLScriptDataReceiver();
+            SQLScriptProcessor scriptProcessor = new SQLScriptProcessor(executionContext, scriptParser, scriptContext, dataReceiver, log);
+
+            scriptProcessor.setCommitType(settings.isAutoCommit() ? SQLScriptCommitType.AUTOCOMMIT : SQLScriptCommitType.AT_END);
+            scriptProcessor.setErrorHandling(settings.isIgnoreErrors() ? SQLScriptErrorHandling.IGNORE : SQLScriptErrorHandling.STOP_ROLLBACK);
+            if (settings.isMergeInserts()) {
+                scriptProcessor.setInsertBatchSize(MERGE_INSERTS_BATCH_SIZE);
+            }
+            if (settings.isDumpQueryResultsToLog()) {
+                dataReceiver.setDumpWriter(logWriter);
+            }
 
-        scriptProcessor.runScript(monitor);
+            scriptProcessor.runScript(monitor);
 
-        totalStatistics.accumulate(scriptProcessor.getTotalStatistics());
+            totalStatistics.accumulate(scriptProcessor.getTotalStatistics());
+        }
     }
 
     public static String readScriptContents(
         @NotNull DBRProgressMonitor monitor,
         @NotNull DBPProject project,
         @NotNull String filePath
+    ) throws DBException, IOException {
+        try (Reader scriptReader = openScriptReader(monitor, project, filePath)) {
+            return IOUtils.readToString(scriptReader);
+        }
+    }
+
+    /**
+     * Opens script file reader. Local and remote files are read as streams.
+     */
+    @NotNull
+    public static Reader openScriptReader(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBPProject project,
+        @NotNull String filePath
     ) throws DBException, IOException {
         java.nio.file.Path nioPath = DBFUtils.resolvePathFromString(monitor, project, filePath);
         if (!IOUtils.isLocalPath(nioPath)) {
             // Remote file
-            return Files.readString(nioPath);
+            return Files.newBufferedReader(nioPath);
         }
 
         RMControllerProvider rmControllerProvider = DBUtils.getAdapter(RMControllerProvider.class, project);
         if (rmControllerProvider != null) {
             var rmController = rmControllerProvider.getResourceController();
-            return new String(rmController.getResourceContents(project.getId(), filePath), StandardCharsets.UTF_8);
+            return new StringReader(new String(rmController.getResourceContents(project.getId(), filePath), StandardCharsets.UTF_8));
         }
         var sqlFile = DTUtils.findProjectFile(project, filePath);
         if (sqlFile == null) {
             throw new DBException("File " + filePath + " is not found in project " + project.getId());
         }
-        try (Reader fileReader = Files.newBufferedReader(sqlFile)) {
-            return IOUtils.readToString(fileReader);
-        }
+        return Files.newBufferedReader(sqlFile);
     }
 
 }
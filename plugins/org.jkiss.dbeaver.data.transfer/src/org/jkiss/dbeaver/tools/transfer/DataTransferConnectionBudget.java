@@ -0,0 +1,70 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+
+import java.util.*;
+
+/**
+ * Counts data transfer pipes running against each connection.
+ * A pipe which reads and writes the same connection takes a single slot of it.
+ */
+public class DataTransferConnectionBudget {
+
+    private final Map<DBPDataSourceContainer, Integer> activeConnections = new IdentityHashMap<>();
+
+    /**
+     * Takes a slot of each connection if all of them are below the limit.
+     * Zero or negative limit means no limit.
+     *
+     * @return false if some connection has no free slots
+     */
+    public boolean tryAcquire(@NotNull Collection<DBPDataSourceContainer> containers, int maxConnections) {
+        Set<DBPDataSourceContainer> distinctContainers = getDistinct(containers);
+        if (maxConnections > 0) {
+            for (DBPDataSourceContainer container : distinctContainers) {
+                if (activeConnections.getOrDefault(container, 0) >= maxConnections) {
+                    return false;
+                }
+            }
+        }
+        for (DBPDataSourceContainer container : distinctContainers) {
+            activeConnections.merge(container, 1, Integer::sum);
+        }
+        return true;
+    }
+
+    public void release(@NotNull Collection<DBPDataSourceContainer> containers) {
+        for (DBPDataSourceContainer container : getDistinct(containers)) {
+            activeConnections.computeIfPresent(container, (c, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    public int getActiveCount(@NotNull DBPDataSourceContainer container) {
+        return activeConnections.getOrDefault(container, 0);
+    }
+
+    @NotNull
+    private static Set<DBPDataSourceContainer> getDistinct(@NotNull Collection<DBPDataSourceContainer> containers) {
+        Set<DBPDataSourceContainer> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        result.addAll(containers);
+        return result;
+    }
+
+}
@@ -108,6 +108,8 @@ public class DataTransferJob extends AbstractJob {
             } catch (Exception e) {
                 // Report as an OK status to avoid showing the error in the UI (it's handled by the caller)
                 return new Status(IStatus.OK, getClass(), "Data transfer failed", e);
+            } finally {
+                settings.releaseDataPipe(transferPipe);
             }
         }
         monitor.done();
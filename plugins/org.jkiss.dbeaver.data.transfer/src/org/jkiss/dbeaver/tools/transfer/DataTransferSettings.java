@@ -20,6 +20,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPObject;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
@@ -55,6 +56,9 @@ public class DataTransferSettings implements DBTTaskSettings<DBPObject> {
     private static final Log log = Log.getLog(DataTransferSettings.class);
 
     public static final int DEFAULT_THREADS_NUM = 1;
+    // Zero means no per-connection limit (number of jobs is the only limit)
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_DATASOURCE = 0;
+    private static final long PIPE_WAIT_TIMEOUT = 100;
 
     private final DataTransferState state;
     @NotNull
@@ -78,10 +82,14 @@ public class DataTransferSettings implements DBTTaskSettings<DBPObject> {
     private boolean consumerOptional;
     private boolean producerOptional;
     private int maxJobCount = DEFAULT_THREADS_NUM;
+    private int maxConnectionsPerDataSource = DEFAULT_MAX_CONNECTIONS_PER_DATASOURCE;
 
     private transient boolean nodeSettingsLoaded = false;
 
-    private transient int curPipeNum = 0;
+    // Pipes which weren't yet taken by any transfer job
+    private transient List<DataTransferPipe> pendingPipes;
+    // Number of running pipes per source/target connection
+    private transient final DataTransferConnectionBudget connectionBudget = new DataTransferConnectionBudget();
 
     private boolean showFinalMessage = true;
     // Hacky flag. Says that pipe selection is frozen.
@@ -310,6 +318,8 @@ public class DataTransferSettings implements DBTTaskSettings<DBPObject> {
 
     public void loadSettings(Map<String, Object> config) {
         this.setMaxJobCount(CommonUtils.toInt(config.get("maxJobCount"), DataTransferSettings.DEFAULT_THREADS_NUM));
+        this.setMaxConnectionsPerDataSource(CommonUtils.toInt(
+            config.get("maxConnectionsPerDataSource"), DataTransferSettings.DEFAULT_MAX_CONNECTIONS_PER_DATASOURCE));
         this.setShowFinalMessage(CommonUtils.getBoolean(config.get("showFinalMessage"), this.isShowFinalMessage()));
 
         DataTransferNodeDescriptor savedConsumer = null, savedProducer = null, processorNode = null;
@@ -589,15 +599,57 @@ public class DataTransferSettings implements DBTTaskSettings<DBPObject> {
         CommonUtils.shiftRight(dataPipes, pipe);
     }
 
+    /**
+     * Takes the next pipe for transfer job.
+     * Pipes are taken in their order, but if the source or target connection of the pipe
+     * has reached maxConnectionsPerDataSource then the next pipe which fits the budget is taken.
+     * If no pipe fits the budget then waits until some other job releases its pipe.
+     *
+     * @return pipe or null if there are no more pipes or monitor was canceled
+     */
+    @Nullable
     public synchronized DataTransferPipe acquireDataPipe(@NotNull DBRProgressMonitor monitor, @Nullable DBTTask task) {
-        if (curPipeNum >= dataPipes.size()) {
-            return null;
+        if (pendingPipes == null) {
+            pendingPipes = new ArrayList<>(dataPipes);
+        }
+        while (!pendingPipes.isEmpty()) {
+            for (Iterator<DataTransferPipe> iter = pendingPipes.iterator(); iter.hasNext(); ) {
+                DataTransferPipe pipe = iter.next();
+                if (connectionBudget.tryAcquire(getPipeConnections(pipe), maxConnectionsPerDataSource)) {
+                    iter.remove();
+                    return pipe;
+                }
+            }
+            if (monitor.isCanceled()) {
+                return null;
+            }
+            try {
+                wait(PIPE_WAIT_TIMEOUT);
+            } catch (InterruptedException e) {
+                return null;
+            }
         }
+        return null;
+    }
 
-        DataTransferPipe result = dataPipes.get(curPipeNum);
+    /**
+     * Releases connection budget taken by the pipe in {@link #acquireDataPipe(DBRProgressMonitor, DBTTask)}
+     */
+    public synchronized void releaseDataPipe(@NotNull DataTransferPipe pipe) {
+        connectionBudget.release(getPipeConnections(pipe));
+        notifyAll();
+    }
 
-        curPipeNum++;
-        return result;
+    @NotNull
+    private static List<DBPDataSourceContainer> getPipeConnections(@NotNull DataTransferPipe pipe) {
+        List<DBPDataSourceContainer> containers = new ArrayList<>(2);
+        if (pipe.getProducer() != null && pipe.getProducer().getDataSourceContainer() != null) {
+            containers.add(pipe.getProducer().getDataSourceContainer());
+        }
+        if (pipe.getConsumer() != null && pipe.getConsumer().getDataSourceContainer() != null) {
+            containers.add(pipe.getConsumer().getDataSourceContainer());
+        }
+        return containers;
     }
 
     public DataTransferNodeDescriptor getProducer() {
@@ -691,6 +743,18 @@ public class DataTransferSettings implements DBTTaskSettings<DBPObject> {
         }
     }
 
+    public int getMaxConnectionsPerDataSource() {
+        return maxConnectionsPerDataSource;
+    }
+
+    /**
+     * Sets maximum number of pipes which may use the same source or target connection simultaneously.
+     * Zero or negative value disables the limit.
+     */
+    public void setMaxConnectionsPerDataSource(int maxConnectionsPerDataSource) {
+        this.maxConnectionsPerDataSource = Math.max(maxConnectionsPerDataSource, 0);
+    }
+
     public boolean isShowFinalMessage() {
         return showFinalMessage;
     }
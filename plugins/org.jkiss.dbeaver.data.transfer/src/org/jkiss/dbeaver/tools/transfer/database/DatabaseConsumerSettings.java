@@ -62,9 +62,11 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
     private boolean useMultiRowInsert;
     private int multiRowInsertBatch = 500;
     private boolean skipBindValues;
+    private boolean bindNullValues;
     private boolean disableUsingBatches = false;
     private boolean ignoreDuplicateRows;
     private boolean useBulkLoad = false;
+    private boolean useBinaryBulkLoad = false;
     private String onDuplicateKeyInsertMethodId;
     private boolean disableReferentialIntegrity;
     private final Map<String, Map<String, Object>> eventProcessors = new HashMap<>();
@@ -170,6 +172,14 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         this.skipBindValues = skipBindValues;
     }
 
+    public boolean isBindNullValues() {
+        return bindNullValues;
+    }
+
+    public void setBindNullValues(boolean bindNullValues) {
+        this.bindNullValues = bindNullValues;
+    }
+
     public boolean isDisableUsingBatches() {
         return disableUsingBatches;
     }
@@ -210,6 +220,14 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         this.useBulkLoad = useBulkLoad;
     }
 
+    public boolean isUseBinaryBulkLoad() {
+        return useBinaryBulkLoad;
+    }
+
+    public void setUseBinaryBulkLoad(boolean useBinaryBulkLoad) {
+        this.useBinaryBulkLoad = useBinaryBulkLoad;
+    }
+
     @Nullable
     public DBPDataSource getTargetDataSource(DatabaseMappingObject attrMapping) {
         DBSObjectContainer container = getContainer();
@@ -235,11 +253,13 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         useMultiRowInsert = CommonUtils.getBoolean(settings.get("useMultiRowInsert"), useMultiRowInsert);
         multiRowInsertBatch = CommonUtils.toInt(settings.get("multiRowInsertBatch"), multiRowInsertBatch);
         skipBindValues = CommonUtils.getBoolean(settings.get("skipBindValues"), skipBindValues);
+        bindNullValues = CommonUtils.getBoolean(settings.get("bindNullValues"), bindNullValues);
         disableUsingBatches = CommonUtils.getBoolean(settings.get("disableUsingBatches"), disableUsingBatches);
         ignoreDuplicateRows = CommonUtils.getBoolean(settings.get("ignoreDuplicateRows"), ignoreDuplicateRows);
         transferAutoGeneratedColumns = CommonUtils.getBoolean(settings.get("transferAutoGeneratedColumns"), transferAutoGeneratedColumns);
         disableReferentialIntegrity = CommonUtils.getBoolean(settings.get("disableReferentialIntegrity"), disableReferentialIntegrity);
         useBulkLoad = CommonUtils.getBoolean(settings.get("useBulkLoad"), useBulkLoad);
+        useBinaryBulkLoad = CommonUtils.getBoolean(settings.get("useBinaryBulkLoad"), useBinaryBulkLoad);
         truncateBeforeLoad = CommonUtils.getBoolean(settings.get("truncateBeforeLoad"), truncateBeforeLoad);
         openTableOnFinish = CommonUtils.getBoolean(settings.get("openTableOnFinish"), openTableOnFinish);
 
@@ -308,12 +328,14 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         settings.put("useMultiRowInsert", useMultiRowInsert);
         settings.put("multiRowInsertBatch", multiRowInsertBatch);
         settings.put("skipBindValues", skipBindValues);
+        settings.put("bindNullValues", bindNullValues);
         settings.put("disableUsingBatches", disableUsingBatches);
         settings.put("ignoreDuplicateRows", ignoreDuplicateRows);
         settings.put("onDuplicateKeyMethod", onDuplicateKeyInsertMethodId);
         settings.put("transferAutoGeneratedColumns", transferAutoGeneratedColumns);
         settings.put("disableReferentialIntegrity", disableReferentialIntegrity);
         settings.put("useBulkLoad", useBulkLoad);
+        settings.put("useBinaryBulkLoad", useBinaryBulkLoad);
         settings.put("truncateBeforeLoad", truncateBeforeLoad);
         settings.put("openTableOnFinish", openTableOnFinish);
 
@@ -347,12 +369,16 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_use_multi_insert, useMultiRowInsert);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_multi_insert_batch, multiRowInsertBatch);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_skip_bind_values, skipBindValues);
+        DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_bind_null_values, bindNullValues);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_disable_batches, disableUsingBatches);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_ignore_duplicate_rows, ignoreDuplicateRows);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_on_duplicate_key_method_label, onDuplicateKeyInsertMethodId);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_transfer_auto_generated_columns, transferAutoGeneratedColumns);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_disable_referential_integrity, disableReferentialIntegrity);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_use_bulk_load, useBulkLoad);
+        if (useBulkLoad) {
+            DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_use_binary_bulk_load, useBinaryBulkLoad);
+        }
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_truncate_before_load, truncateBeforeLoad);
 
         return summary.toString();
@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.tools.transfer.database;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
 import org.jkiss.dbeaver.tools.transfer.DataTransferSettings;
@@ -32,11 +33,15 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
 
     public enum ExtractType {
         SINGLE_QUERY,
-        SEGMENTS
+        SEGMENTS,
+        // Split by ranges of numeric/date key column
+        PARTITIONS
     }
 
     private static final int DEFAULT_SEGMENT_SIZE = 100000;
     private static final int DEFAULT_FETCH_SIZE = 10000;
+    private static final int DEFAULT_PARTITION_COUNT = 8;
+    private static final int DEFAULT_PARTITION_THREADS = 4;
 
     private int segmentSize = DEFAULT_SEGMENT_SIZE;
 
@@ -46,6 +51,10 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
     private boolean selectedColumnsOnly = false;
     private ExtractType extractType = ExtractType.SINGLE_QUERY;
     private int fetchSize = DEFAULT_FETCH_SIZE;
+    private int partitionCount = DEFAULT_PARTITION_COUNT;
+    private int partitionThreads = DEFAULT_PARTITION_THREADS;
+    @Nullable
+    private String partitionColumn;
 
     public DatabaseProducerSettings() {
     }
@@ -60,6 +69,42 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         }
     }
 
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public void setPartitionCount(int partitionCount) {
+        if (partitionCount > 0) {
+            this.partitionCount = partitionCount;
+        }
+    }
+
+    /**
+     * Maximum number of key ranges which are read at the same time (each in its own connection).
+     */
+    public int getPartitionThreads() {
+        return partitionThreads;
+    }
+
+    public void setPartitionThreads(int partitionThreads) {
+        if (partitionThreads > 0) {
+            this.partitionThreads = partitionThreads;
+        }
+    }
+
+    /**
+     * Column used for PARTITIONS extract type.
+     * If not set then single column numeric or date unique key is used.
+     */
+    @Nullable
+    public String getPartitionColumn() {
+        return partitionColumn;
+    }
+
+    public void setPartitionColumn(@Nullable String partitionColumn) {
+        this.partitionColumn = partitionColumn;
+    }
+
     public boolean isQueryRowCount() {
         return queryRowCount;
     }
@@ -113,6 +158,9 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         extractType = CommonUtils.valueOf(ExtractType.class, (String) settings.get("extractType"), extractType);
         segmentSize = CommonUtils.toInt(settings.get("segmentSize"), DEFAULT_SEGMENT_SIZE);
         fetchSize = CommonUtils.toInt(settings.get("fetchSize"), fetchSize);
+        partitionCount = CommonUtils.toInt(settings.get("partitionCount"), DEFAULT_PARTITION_COUNT);
+        partitionThreads = CommonUtils.toInt(settings.get("partitionThreads"), DEFAULT_PARTITION_THREADS);
+        partitionColumn = CommonUtils.nullIfEmpty(CommonUtils.toString(settings.get("partitionColumn")));
         openNewConnections = CommonUtils.toBoolean(settings.get("openNewConnections"));
         queryRowCount = CommonUtils.toBoolean(settings.get("queryRowCount"));
         selectedColumnsOnly = CommonUtils.toBoolean(settings.get("selectedColumnsOnly"));
@@ -124,6 +172,11 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         settings.put("extractType", extractType.name());
         settings.put("segmentSize", segmentSize);
         settings.put("fetchSize", fetchSize);
+        settings.put("partitionCount", partitionCount);
+        settings.put("partitionThreads", partitionThreads);
+        if (partitionColumn != null) {
+            settings.put("partitionColumn", partitionColumn);
+        }
         settings.put("openNewConnections", openNewConnections);
         settings.put("queryRowCount", queryRowCount);
         settings.put("selectedColumnsOnly", selectedColumnsOnly);
@@ -80,6 +80,8 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private DBSDataBulkLoader.BulkLoadManager bulkLoadManager;
     private long rowsExported = 0;
     private boolean ignoreErrors = false;
+    // Producer may call fetchStart many times (segments, key ranges, keyset pages). Target is truncated only once.
+    private boolean targetTruncated;
 
     private List<DBSAttributeBase> targetAttributes;
     private boolean useIsolatedConnection;
@@ -186,7 +188,8 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         AbstractExecutionSource executionSource = new AbstractExecutionSource(containerMapping.getSource(), targetContext, this);
 
         DBSDataManipulator targetObject = getTargetObject();
-        if (targetObject != null && !isPreview && offset <= 0 && settings.isTruncateBeforeLoad() && (containerMapping == null || containerMapping.getMappingType() == DatabaseMappingType.existing)) {
+        if (targetObject != null && !isPreview && !targetTruncated && settings.isTruncateBeforeLoad() && (containerMapping == null || containerMapping.getMappingType() == DatabaseMappingType.existing)) {
+            targetTruncated = true;
             // Truncate target tables
             // Note: all implementations support truncate in some way (e.g. DELETE FROM)
             // even if DBSDataManipulator.FEATURE_DATA_TRUNCATE is reported to be not supported.
@@ -284,6 +287,8 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         Map<String, Object> options = new HashMap<>();
         options.put(DBSDataManipulator.OPTION_USE_MULTI_INSERT, settings.isUseMultiRowInsert());
         options.put(DBSDataManipulator.OPTION_SKIP_BIND_VALUES, settings.isSkipBindValues());
+        options.put(DBSDataManipulator.OPTION_BIND_NULLS, settings.isBindNullValues());
+        options.put(DBSDataBulkLoader.OPTION_BINARY_FORMAT, settings.isUseBinaryBulkLoad());
 
         if (!isPreview && targetObject != null) {
             if (settings.isUseBulkLoad()) {
@@ -428,6 +433,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 options.put(DBSDataManipulator.OPTION_DISABLE_BATCHES, disableUsingBatches);
                 options.put(DBSDataManipulator.OPTION_MULTI_INSERT_BATCH_SIZE, settings.getMultiRowInsertBatch());
                 options.put(DBSDataManipulator.OPTION_SKIP_BIND_VALUES, settings.isSkipBindValues());
+                options.put(DBSDataManipulator.OPTION_BIND_NULLS, settings.isBindNullValues());
 
                 boolean onDuplicateKeyCaseOn = settings.getOnDuplicateKeyInsertMethodId() != null &&
                     !settings.getOnDuplicateKeyInsertMethodId().equals(DBSDataManipulator.INSERT_NONE_METHOD);
@@ -624,6 +630,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     public void initTransfer(@NotNull DBSObject sourceObject, @Nullable DatabaseConsumerSettings settings, @NotNull TransferParameters parameters, @Nullable IDataTransferProcessor processor, @Nullable Map<String, Object> processorProperties, @Nullable DBPProject project) {
         this.settings = settings;
         this.containerMapping = settings.getDataMapping((DBSDataContainer) sourceObject);
+        this.targetTruncated = false;
     }
 
     @Override
@@ -0,0 +1,285 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Splits entity data into key ranges.
+ * Each range is read with its own query with range condition on the partition column,
+ * so reading of the next range doesn't scan rows of previous ranges (unlike OFFSET segments).
+ */
+public class DatabaseTransferPartitioner {
+
+    private static final Log log = Log.getLog(DatabaseTransferPartitioner.class);
+
+    @NotNull
+    private final DBSEntity entity;
+    @NotNull
+    private final DBPDataSource dataSource;
+
+    DatabaseTransferPartitioner(@NotNull DBSEntity entity) {
+        this.entity = entity;
+        this.dataSource = entity.getDataSource();
+    }
+
+    /**
+     * Finds the partition column. Uses explicitly specified column or the best table identifier
+     * if it consists of a single numeric or date column.
+     */
+    @Nullable
+    DBSEntityAttribute findPartitionAttribute(
+        @NotNull DBRProgressMonitor monitor,
+        @Nullable String columnName
+    ) throws DBException {
+        if (!CommonUtils.isEmpty(columnName)) {
+            DBSEntityAttribute attribute = entity.getAttribute(monitor, columnName);
+            if (attribute == null) {
+                attribute = DBUtils.findObject(entity.getAttributes(monitor), columnName, true);
+            }
+            if (attribute == null || !isPartitionable(attribute)) {
+                log.warn("Column '" + columnName + "' can't be used for partitioning of " + entity.getName());
+                return null;
+            }
+            return attribute;
+        }
+        List<? extends DBSEntityAttribute> identifier = DBUtils.getBestTableIdentifier(monitor, entity);
+        if (identifier.size() == 1 && isPartitionable(identifier.get(0))) {
+            return identifier.get(0);
+        }
+        return null;
+    }
+
+    /**
+     * Reads min/max values of the partition column and makes a data filter for each range.
+     * The first and the last ranges are open so rows added after min/max read are not lost.
+     *
+     * @return filters or empty list if table is empty
+     */
+    @NotNull
+    List<DBDDataFilter> makePartitionFilters(
+        @NotNull DBCSession session,
+        @NotNull DBSEntityAttribute attribute,
+        @Nullable DBDDataFilter baseFilter,
+        int partitionCount
+    ) throws DBCException {
+        Object[] range = readValueRange(session, attribute);
+        if (range == null) {
+            return new ArrayList<>();
+        }
+        List<Object> bounds = makeBounds(attribute, range[0], range[1], partitionCount);
+
+        String columnName = DBUtils.getQuotedIdentifier(attribute);
+        List<DBDDataFilter> filters = new ArrayList<>(bounds.size() + 2);
+        for (int i = 0; i <= bounds.size(); i++) {
+            StringBuilder condition = new StringBuilder();
+            if (i > 0) {
+                condition.append(columnName).append(" >= ").append(SQLUtils.convertValueToSQL(dataSource, attribute, bounds.get(i - 1)));
+            }
+            if (i < bounds.size()) {
+                if (condition.length() > 0) {
+                    condition.append(" AND ");
+                }
+                condition.append(columnName).append(" < ").append(SQLUtils.convertValueToSQL(dataSource, attribute, bounds.get(i)));
+            }
+            if (condition.length() == 0) {
+                // Single range
+                condition.append(columnName).append(" IS NOT NULL");
+            }
+            filters.add(makeFilter(baseFilter, condition.toString()));
+        }
+        if (!attribute.isRequired()) {
+            filters.add(makeFilter(baseFilter, columnName + " IS NULL"));
+        }
+        return filters;
+    }
+
+    @Nullable
+    private Object[] readValueRange(@NotNull DBCSession session, @NotNull DBSEntityAttribute attribute) throws DBCException {
+        String columnName = DBUtils.getQuotedIdentifier(attribute);
+        String query = "SELECT MIN(" + columnName + "),MAX(" + columnName + ") FROM " +
+            DBUtils.getObjectFullName(entity, DBPEvaluationContext.DML);
+        DBDValueHandler valueHandler = DBUtils.findValueHandler(session, attribute);
+        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query, false, false, false)) {
+            dbStat.setStatementSource(new AbstractExecutionSource(entity, session.getExecutionContext(), this));
+            if (!dbStat.executeStatement()) {
+                return null;
+            }
+            try (DBCResultSet dbResult = dbStat.openResultSet()) {
+                if (dbResult == null || !dbResult.nextRow()) {
+                    return null;
+                }
+                Object minValue = valueHandler.fetchValueObject(session, dbResult, attribute, 0);
+                Object maxValue = valueHandler.fetchValueObject(session, dbResult, attribute, 1);
+                if (DBUtils.isNullValue(minValue) || DBUtils.isNullValue(maxValue)) {
+                    return null;
+                }
+                return new Object[] { minValue, maxValue };
+            }
+        }
+    }
+
+    /**
+     * Makes partitionCount - 1 inner bounds between min and max
+     */
+    @NotNull
+    public static List<Object> makeBounds(@NotNull DBSEntityAttribute attribute, @NotNull Object minValue, @NotNull Object maxValue, int partitionCount) {
+        List<Object> bounds = new ArrayList<>();
+        if (partitionCount < 2) {
+            return bounds;
+        }
+        if (attribute.getDataKind() == DBPDataKind.DATETIME) {
+            makeDateBounds(bounds, minValue, maxValue, partitionCount);
+            return bounds;
+        }
+        if (!(minValue instanceof Number) || !(maxValue instanceof Number)) {
+            return bounds;
+        }
+        BigDecimal min = toBigDecimal((Number) minValue);
+        BigDecimal max = toBigDecimal((Number) maxValue);
+        boolean integral = isIntegral(minValue) && isIntegral(maxValue);
+        BigDecimal step = max.subtract(min).divide(BigDecimal.valueOf(partitionCount), integral ? 0 : 10, RoundingMode.CEILING);
+        if (step.signum() <= 0) {
+            return bounds;
+        }
+        for (int i = 1; i < partitionCount; i++) {
+            BigDecimal bound = min.add(step.multiply(BigDecimal.valueOf(i)));
+            if (bound.compareTo(max) > 0) {
+                break;
+            }
+            bounds.add(integral ? toIntegralBound(bound, minValue) : bound);
+        }
+        return bounds;
+    }
+
+    /**
+     * Bounds have the same type as min/max values, so they are formatted by the attribute value handler.
+     * Unsupported date types produce no bounds (single range).
+     */
+    private static void makeDateBounds(@NotNull List<Object> bounds, @NotNull Object minValue, @NotNull Object maxValue, int partitionCount) {
+        if (minValue instanceof Date && maxValue instanceof Date) {
+            long min = ((Date) minValue).getTime();
+            long max = ((Date) maxValue).getTime();
+            long step = (max - min) / partitionCount;
+            if (step <= 0) {
+                return;
+            }
+            for (int i = 1; i < partitionCount; i++) {
+                bounds.add(new Timestamp(min + step * i));
+            }
+        } else if (minValue instanceof LocalDate && maxValue instanceof LocalDate) {
+            LocalDate min = (LocalDate) minValue;
+            long step = ChronoUnit.DAYS.between(min, (LocalDate) maxValue) / partitionCount;
+            if (step <= 0) {
+                return;
+            }
+            for (int i = 1; i < partitionCount; i++) {
+                bounds.add(min.plusDays(step * i));
+            }
+        } else if ((minValue instanceof LocalDateTime && maxValue instanceof LocalDateTime) ||
+            (minValue instanceof OffsetDateTime && maxValue instanceof OffsetDateTime))
+        {
+            Temporal min = (Temporal) minValue;
+            Duration step = Duration.between(min, (Temporal) maxValue).dividedBy(partitionCount);
+            if (step.isZero() || step.isNegative()) {
+                return;
+            }
+            for (int i = 1; i < partitionCount; i++) {
+                bounds.add(min.plus(step.multipliedBy(i)));
+            }
+        }
+    }
+
+    /**
+     * Integral bound of the same type as the column values. Long is used only if values are primitive numbers,
+     * so big NUMERIC/DECIMAL keys do not overflow.
+     */
+    @NotNull
+    private static Object toIntegralBound(@NotNull BigDecimal bound, @NotNull Object minValue) {
+        if (minValue instanceof BigDecimal) {
+            return bound.setScale(0, RoundingMode.UNNECESSARY);
+        } else if (minValue instanceof BigInteger) {
+            return bound.toBigIntegerExact();
+        }
+        return bound.longValueExact();
+    }
+
+    @NotNull
+    private static BigDecimal toBigDecimal(@NotNull Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(value.longValue());
+        } else {
+            return new BigDecimal(value.toString());
+        }
+    }
+
+    private static boolean isIntegral(@NotNull Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ||
+            value instanceof BigInteger ||
+            (value instanceof BigDecimal && ((BigDecimal) value).stripTrailingZeros().scale() <= 0);
+    }
+
+    private static boolean isPartitionable(@NotNull DBSEntityAttribute attribute) {
+        DBPDataKind dataKind = attribute.getDataKind();
+        return dataKind == DBPDataKind.NUMERIC || dataKind == DBPDataKind.DATETIME;
+    }
+
+    @NotNull
+    private static DBDDataFilter makeFilter(@Nullable DBDDataFilter baseFilter, @NotNull String condition) {
+        DBDDataFilter filter = baseFilter == null ? new DBDDataFilter() : new DBDDataFilter(baseFilter);
+        if (CommonUtils.isEmpty(filter.getWhere())) {
+            filter.setWhere(condition);
+        } else {
+            filter.setWhere("(" + filter.getWhere() + ") AND " + condition);
+        }
+        return filter;
+    }
+}
@@ -25,9 +25,11 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.DataSourceContextProvider;
+import org.jkiss.dbeaver.model.impl.data.KeysetPaginator;
 import org.jkiss.dbeaver.model.meta.DBSerializable;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
@@ -38,6 +40,8 @@ import org.jkiss.dbeaver.model.sql.SQLScriptElement;
 import org.jkiss.dbeaver.model.sql.data.SQLQueryDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.task.DBTTask;
 import org.jkiss.dbeaver.model.task.DBTaskUtils;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
@@ -53,9 +57,14 @@ import org.jkiss.utils.CommonUtils;
 
 import java.io.PrintWriter;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Data container transfer producer
@@ -266,11 +275,27 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
                             monitor.subTask("Read data");
 
                             // Perform export
-                            if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
+                            List<DBDDataFilter> partitionFilters = null;
+                            if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.PARTITIONS) {
+                                partitionFilters = makePartitionFilters(monitor, session, settings);
+                            }
+                            int partitionThreads = partitionFilters == null ? 0 : Math.min(settings.getPartitionThreads(), partitionFilters.size());
+                            if (partitionThreads > 1 && !selectiveExportFromUI && newConnection) {
+                                readPartitionsConcurrently(monitor, context, consumer, partitionFilters, partitionThreads, readFlags, settings.getFetchSize());
+                            } else if (partitionFilters != null) {
+                                // Read key ranges one by one, in key order
+                                for (DBDDataFilter partitionFilter : partitionFilters) {
+                                    if (monitor.isCanceled()) {
+                                        break;
+                                    }
+                                    producerStatistics.accumulate(dataContainer.readData(
+                                        transferSource, session, consumer, partitionFilter, -1, -1, readFlags, settings.getFetchSize()));
+                                }
+                            } else if (settings.getExtractType() != DatabaseProducerSettings.ExtractType.SEGMENTS) {
                                 // Just do it in single query
                                 producerStatistics.accumulate(dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, readFlags, settings.getFetchSize()));
-                            } else {
-                                // Read all data by segments
+                            } else if (!readSegmentsByKey(monitor, transferSource, session, consumer, settings, readFlags)) {
+                                // No unique key - read all data by OFFSET segments
                                 long offset = 0;
                                 int segmentSize = settings.getSegmentSize();
                                 for (; ; ) {
@@ -314,6 +339,235 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
         });
     }
 
+    /**
+     * Reads segments using keyset pagination: each segment continues after the last key of the previous one.
+     *
+     * @return false if entity has no suitable unique key. Then segments are read with OFFSET.
+     */
+    private boolean readSegmentsByKey(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionSource transferSource,
+        @NotNull DBCSession session,
+        @NotNull IDataTransferConsumer consumer,
+        @NotNull DatabaseProducerSettings settings,
+        long readFlags
+    ) throws DBCException {
+        if (!(dataContainer instanceof DBSEntity entity) || settings.isSelectedColumnsOnly() || settings.isSelectedRowsOnly()) {
+            return false;
+        }
+        KeysetPaginator paginator;
+        try {
+            paginator = KeysetPaginator.create(monitor, entity, dataFilter);
+        } catch (DBException e) {
+            log.debug("Can't detect unique key of '" + entity.getName() + "'", e);
+            return false;
+        }
+        if (paginator == null) {
+            return false;
+        }
+        int segmentSize = settings.getSegmentSize();
+        while (!monitor.isCanceled()) {
+            DBCStatistics statistics = paginator.readPage(transferSource, session, consumer, segmentSize, readFlags, settings.getFetchSize());
+            producerStatistics.accumulate(statistics);
+            if (statistics.getRowsFetched() < segmentSize) {
+                // Done
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Makes key range filters for PARTITIONS extract type.
+     * Returns null if data container can't be partitioned - then it is read with a single query.
+     */
+    @Nullable
+    private List<DBDDataFilter> makePartitionFilters(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCSession session,
+        @NotNull DatabaseProducerSettings settings
+    ) {
+        if (!(dataContainer instanceof DBSEntity entity) || settings.isSelectedRowsOnly()) {
+            return null;
+        }
+        try {
+            DatabaseTransferPartitioner partitioner = new DatabaseTransferPartitioner(entity);
+            DBSEntityAttribute attribute = partitioner.findPartitionAttribute(monitor, settings.getPartitionColumn());
+            if (attribute == null) {
+                log.debug("No partition key found in '" + entity.getName() + "'. Read data with single query.");
+                return null;
+            }
+            List<DBDDataFilter> filters = partitioner.makePartitionFilters(session, attribute, dataFilter, settings.getPartitionCount());
+            return filters.isEmpty() ? null : filters;
+        } catch (DBException e) {
+            log.warn("Can't split '" + entity.getName() + "' into key ranges. Read data with single query.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads key ranges concurrently, each range in its own isolated execution context.
+     * Consumers are not thread-safe, so ranges are passed to the consumer one by one in key order.
+     * Queries of the next ranges are executed (and their first rows are fetched by the driver)
+     * while the current range is consumed.
+     */
+    private void readPartitionsConcurrently(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionContext baseContext,
+        @NotNull IDataTransferConsumer consumer,
+        @NotNull List<DBDDataFilter> partitionFilters,
+        int threadCount,
+        long readFlags,
+        int fetchSize
+    ) throws DBException {
+        DBSInstance instance = DBUtils.getObjectOwnerInstance(dataContainer);
+        PartitionTurns turns = new PartitionTurns();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<DBCStatistics>> results = new ArrayList<>(partitionFilters.size());
+            for (int i = 0; i < partitionFilters.size(); i++) {
+                int partitionIndex = i;
+                DBDDataFilter partitionFilter = partitionFilters.get(i);
+                results.add(executor.submit(() -> {
+                    DBCStatistics statistics = readPartition(
+                        monitor, instance, baseContext, consumer,
+                        new PartitionDataReceiver(consumer, turns, partitionIndex, monitor),
+                        partitionFilter, partitionIndex, readFlags, fetchSize);
+                    turns.complete(partitionIndex);
+                    return statistics;
+                }));
+            }
+            for (Future<DBCStatistics> result : results) {
+                producerStatistics.accumulate(result.get());
+            }
+        } catch (ExecutionException e) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            if (e.getCause() instanceof DBException dbe) {
+                throw dbe;
+            }
+            throw new DBException("Error reading key range of '" + dataContainer.getName() + "'", e.getCause());
+        } catch (InterruptedException e) {
+            throw new DBException("Key ranges read interrupted", e);
+        } finally {
+            // Stops ranges waiting for their turn if some range failed
+            executor.shutdownNow();
+        }
+    }
+
+    @NotNull
+    private DBCStatistics readPartition(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSInstance instance,
+        @NotNull DBCExecutionContext baseContext,
+        @NotNull IDataTransferConsumer consumer,
+        @NotNull DBDDataReceiver receiver,
+        @NotNull DBDDataFilter partitionFilter,
+        int partitionIndex,
+        long readFlags,
+        int fetchSize
+    ) throws DBException {
+        DBCExecutionContext context = instance.openIsolatedContext(
+            monitor, "Data transfer producer (key range " + (partitionIndex + 1) + ")", baseContext);
+        try {
+            DBExecUtils.setExecutionContextDefaults(monitor, context.getDataSource(), context, defaultCatalog, null, defaultSchema);
+            try {
+                // Some drivers read LOBs only in transactional mode
+                DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+                if (txnManager != null && txnManager.isSupportsTransactions()) {
+                    txnManager.setAutoCommit(monitor, false);
+                }
+            } catch (DBCException e) {
+                log.warn("Can't change auto-commit", e);
+            }
+            try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, DTMessages.data_transfer_wizard_job_task_export)) {
+                session.enableLogging(false);
+                return dataContainer.readData(
+                    new AbstractExecutionSource(dataContainer, context, consumer),
+                    session, receiver, partitionFilter, -1, -1, readFlags, fetchSize);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Gives the consumer to key ranges in key order
+     */
+    private static class PartitionTurns {
+        private int current;
+
+        synchronized void await(@NotNull DBRProgressMonitor monitor, int partitionIndex) throws DBCException {
+            while (current < partitionIndex) {
+                if (monitor.isCanceled()) {
+                    throw new DBCException("Data transfer canceled");
+                }
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DBCException("Data transfer interrupted", e);
+                }
+            }
+        }
+
+        synchronized void complete(int partitionIndex) {
+            current = partitionIndex + 1;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits for the turn of its key range before passing rows to the consumer
+     */
+    private static class PartitionDataReceiver implements DBDDataReceiver {
+        private final DBDDataReceiver consumer;
+        private final PartitionTurns turns;
+        private final int partitionIndex;
+        private final DBRProgressMonitor monitor;
+
+        PartitionDataReceiver(
+            @NotNull DBDDataReceiver consumer,
+            @NotNull PartitionTurns turns,
+            int partitionIndex,
+            @NotNull DBRProgressMonitor monitor
+        ) {
+            this.consumer = consumer;
+            this.turns = turns;
+            this.partitionIndex = partitionIndex;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+            turns.await(monitor, partitionIndex);
+            consumer.fetchStart(session, resultSet, offset, maxRows);
+        }
+
+        @Override
+        public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+            consumer.fetchRow(session, resultSet);
+        }
+
+        @Override
+        public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+            consumer.fetchEnd(session, resultSet);
+        }
+
+        @Override
+        public void close() {
+            try {
+                // Close may be called without fetchStart (e.g. on query error)
+                turns.await(monitor, partitionIndex);
+            } catch (DBCException e) {
+                log.debug("Key range " + (partitionIndex + 1) + " is not consumed: " + e.getMessage());
+                return;
+            }
+            consumer.close();
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof DatabaseTransferProducer &&
@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Compression format of exported and imported files
+ */
+public enum StreamCompressionFormat {
+
+    ZIP("ZIP", "zip") {
+        @NotNull
+        @Override
+        public OutputStream openOutputStream(@NotNull OutputStream stream, @NotNull String entryName) throws IOException {
+            ZipOutputStream zipStream = new ZipOutputStream(stream);
+            zipStream.putNextEntry(new ZipEntry(entryName));
+            return zipStream;
+        }
+
+        @Override
+        public void finishOutputStream(@NotNull OutputStream stream) throws IOException {
+            ZipOutputStream zipStream = (ZipOutputStream) stream;
+            zipStream.closeEntry();
+            zipStream.finish();
+        }
+
+        @NotNull
+        @Override
+        public InputStream openInputStream(@NotNull InputStream stream) throws IOException {
+            ZipInputStream zipStream = new ZipInputStream(stream);
+            // Read the first file of the archive
+            ZipEntry entry;
+            do {
+                entry = zipStream.getNextEntry();
+                if (entry == null) {
+                    throw new IOException("Archive doesn't contain any files");
+                }
+            } while (entry.isDirectory());
+            return zipStream;
+        }
+    },
+    // GZIP with parallel compression
+    GZIP("GZip", "gz") {
+        @NotNull
+        @Override
+        public OutputStream openOutputStream(@NotNull OutputStream stream, @NotNull String entryName) throws IOException {
+            return new ParallelGZIPOutputStream(stream);
+        }
+
+        @Override
+        public void finishOutputStream(@NotNull OutputStream stream) throws IOException {
+            ((ParallelGZIPOutputStream) stream).finish();
+        }
+
+        @NotNull
+        @Override
+        public InputStream openInputStream(@NotNull InputStream stream) throws IOException {
+            return new GZIPInputStream(stream, INPUT_BUFFER_SIZE);
+        }
+    };
+
+    private static final int INPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final String label;
+    private final String fileExtension;
+
+    StreamCompressionFormat(String label, String fileExtension) {
+        this.label = label;
+        this.fileExtension = fileExtension;
+    }
+
+    @NotNull
+    public String getLabel() {
+        return label;
+    }
+
+    @NotNull
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Creates compressing stream. Entry name is used by archive formats.
+     */
+    @NotNull
+    public abstract OutputStream openOutputStream(@NotNull OutputStream stream, @NotNull String entryName) throws IOException;
+
+    /**
+     * Writes remaining compressed data without closing the underlying stream.
+     */
+    public abstract void finishOutputStream(@NotNull OutputStream stream) throws IOException;
+
+    @NotNull
+    public abstract InputStream openInputStream(@NotNull InputStream stream) throws IOException;
+
+    @Nullable
+    public static StreamCompressionFormat getByFileName(@NotNull String fileName) {
+        String lowerName = fileName.toLowerCase(Locale.ENGLISH);
+        for (StreamCompressionFormat format : values()) {
+            if (lowerName.endsWith("." + format.fileExtension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes compression format extension from the file name (data.csv.gz -> data.csv)
+     */
+    @NotNull
+    public static String removeFileExtension(@NotNull String fileName) {
+        StreamCompressionFormat format = getByFileName(fileName);
+        return format == null ? fileName : fileName.substring(0, fileName.length() - format.fileExtension.length() - 1);
+    }
+
+    /**
+     * Opens file for reading. Compressed files (detected by file extension) are decompressed on the fly.
+     */
+    @NotNull
+    public static InputStream openFileInputStream(@NotNull Path file) throws IOException {
+        InputStream stream = Files.newInputStream(file);
+        StreamCompressionFormat format = getByFileName(file.getFileName().toString());
+        if (format == null) {
+            return stream;
+        }
+        try {
+            return format.openInputStream(new BufferedInputStream(stream, INPUT_BUFFER_SIZE));
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+}
@@ -34,7 +34,6 @@ import org.jkiss.utils.IOUtils;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
-import java.nio.file.Files;
 import java.util.*;
 
 /**
@@ -111,7 +110,7 @@ public class StreamProducerSettings implements IDataTransferSettings {
 
             monitor.beginTask("Extract extra entities from stream", 1);
 
-            try (InputStream is = Files.newInputStream(entityMapping.getInputFile())) {
+            try (InputStream is = StreamCompressionFormat.openFileInputStream(entityMapping.getInputFile())) {
                 return pendingEntityMappings.addAll(importer.readEntitiesInfo(entityMapping, is));
             } catch (Exception e) {
                 settings.getState().addError(e);
@@ -161,7 +160,7 @@ public class StreamProducerSettings implements IDataTransferSettings {
         StreamEntityMapping entityMapping = producer.getEntityMapping();
 
         if (entityMapping != null && processor instanceof IStreamDataImporter sdi) {
-            try (InputStream is = Files.newInputStream(entityMapping.getInputFile())) {
+            try (InputStream is = StreamCompressionFormat.openFileInputStream(entityMapping.getInputFile())) {
                 sdi.init(new StreamDataImporterSite(this, entityMapping, processorProperties));
                 try {
                     columnInfos = sdi.readColumnsInfo(entityMapping, is);
@@ -71,8 +71,6 @@ import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 /**
  * Stream transfer consumer
@@ -131,12 +129,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     private DBPProject project;
 
     private OutputStream outputStream;
-    private ZipOutputStream zipStream;
+    private OutputStream compressStream;
     private PrintWriter writer;
     private int multiFileNumber;
     private long bytesWritten = 0;
 
     private DBDAttributeBinding[] columnMetas;
+    // Source values buffer. It is reused for all rows because values are copied into target row.
+    private Object[] srcRow;
     private DBDAttributeBinding[] columnBindings;
     private Path lobDirectory;
     private long lobCount;
@@ -167,6 +167,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
         // Prepare columns
         columnMetas = DBUtils.getAttributeBindings(session, dataContainer, resultSet.getMeta());
+        srcRow = new Object[columnMetas.length];
         if (processor instanceof IDocumentDataExporter) {
             columnBindings = DBUtils.injectAndFilterAttributeBindings(session.getDataSource(), dataContainer, columnMetas, true);
         } else {
@@ -210,9 +211,9 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
 
             // Get values
-            Object[] srcRow = fetchRow(session, resultSet, columnMetas);
-            Object[] targetRow;
-            targetRow = new Object[columnBindings.length];
+            fetchRow(session, resultSet, columnMetas, srcRow);
+            // Target row is passed to exporter and may be retained by it (e.g. for batch processing)
+            Object[] targetRow = new Object[columnBindings.length];
             for (int i = 0; i < columnBindings.length; i++) {
                 DBDAttributeBinding column = columnBindings[i];
                 Object value = DBUtils.getAttributeValue(column, columnMetas, srcRow);
@@ -510,10 +511,9 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         this.outputStream = this.statStream = new StatOutputStream(outputStream);
 
         if (settings.isCompressResults()) {
-            log.debug("\tUse ZIP compression");
-            this.zipStream = new ZipOutputStream(this.outputStream);
-            this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
-            this.outputStream = zipStream;
+            log.debug("\tUse " + settings.getCompressionFormat().getLabel() + " compression");
+            this.compressStream = settings.getCompressionFormat().openOutputStream(this.outputStream, getOutputFileName());
+            this.outputStream = compressStream;
         }
 
         // If we need to split files - use stream wrapper to calculate file size
@@ -534,7 +534,10 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
 
         if (!parameters.isBinary) {
-            this.writer = new PrintWriter(new OutputStreamWriter(this.outputStream, settings.getOutputEncoding()), true);
+            // Buffer characters before encoding: encoder converts them in large blocks instead of each write call
+            this.writer = new PrintWriter(
+                new BufferedWriter(new OutputStreamWriter(this.outputStream, settings.getOutputEncoding()), OUT_FILE_BUFFER_SIZE),
+                true);
         }
     }
 
@@ -544,19 +547,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             this.writer.flush();
         }
 
-        // Finish zip stream
-        if (zipStream != null) {
+        // Finish compressed stream
+        if (compressStream != null) {
             try {
-                zipStream.closeEntry();
+                settings.getCompressionFormat().finishOutputStream(compressStream);
             } catch (IOException e) {
                 log.debug(e);
             }
-            try {
-                zipStream.finish();
-            } catch (IOException e) {
-                log.debug(e);
-            }
-            zipStream = null;
+            compressStream = null;
         }
 
         if (outputStream != null) {
@@ -789,7 +787,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
         String fileName = getOutputFileName(suffix);
         if (settings.isCompressResults()) {
-            fileName += ".zip";
+            fileName += "." + settings.getCompressionFormat().getFileExtension();
         }
         return dir.resolve(fileName);
     }
@@ -948,10 +946,16 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     }
 
     public static Object[] fetchRow(DBCSession session, DBCResultSet resultSet, DBDAttributeBinding[] attributes) throws DBCException {
-        int columnCount = attributes.length; // Column count without virtual columns
+        // Column count without virtual columns
+        return fetchRow(session, resultSet, attributes, new Object[attributes.length]);
+    }
 
-        Object[] row = new Object[columnCount];
-        for (int i = 0 ; i < columnCount; i++) {
+    /**
+     * Fetches row values into the specified array. Array length must be the same as attributes count.
+     */
+    public static Object[] fetchRow(DBCSession session, DBCResultSet resultSet, DBDAttributeBinding[] attributes, Object[] row) throws DBCException {
+        for (int i = 0 ; i < attributes.length; i++) {
+            row[i] = null;
             DBDAttributeBinding attribute = attributes[i];
             DBSAttributeBase metaAttr = attribute.getMetaAttribute();
             if (metaAttr == null) {
@@ -43,7 +43,6 @@ import org.jkiss.dbeaver.tools.transfer.serialize.SerializerContext;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 
@@ -156,7 +155,7 @@ public class StreamTransferProducer implements IDataTransferProducer<StreamProdu
         importer.init(site);
 
         // Perform transfer
-        try (InputStream is = Files.newInputStream(entityMapping.getInputFile())) {
+        try (InputStream is = StreamCompressionFormat.openFileInputStream(entityMapping.getInputFile())) {
             importer.runImport(monitor, entityMapping.getDataSource(), is, consumer);
         } catch (Exception e) {
             if (e instanceof DBException dbe) {
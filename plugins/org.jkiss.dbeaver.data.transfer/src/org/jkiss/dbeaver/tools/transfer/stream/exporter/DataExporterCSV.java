@@ -89,7 +89,7 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
     private DBPIdentifierCase headerCase;
     private DBDAttributeBinding[] columns;
 
-    private final StringBuilder buffer = new StringBuilder();
+    private final char[] contentBuffer = new char[2000];
 
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
@@ -273,41 +273,45 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
 
     private void writeCellValue(String value, boolean quote)
     {
+        PrintWriter out = getWriter();
         if (!useQuotes) {
-            quote = false;
+            out.write(value);
+            return;
         }
-        // check for needed quote
-        final boolean hasQuotes = useQuotes && value.indexOf(quoteChar) != -1;
-
-        if (quoteStrategy == QuoteStrategy.ALL || (useQuotes && value.isEmpty())) {
+        if (quoteStrategy == QuoteStrategy.ALL || value.isEmpty()) {
             quote = true;
-        } else if (!quote) {
-            if (hasQuotes ||
-                value.contains(delimiter) ||
-                value.indexOf('\r') != -1 ||
-                value.indexOf('\n') != -1 ||
-                value.contains(rowDelimiter))
+        }
+        // check for needed quote in a single pass
+        final int length = value.length();
+        boolean hasQuotes = false;
+        for (int i = 0; i < length && !hasQuotes; i++) {
+            char c = value.charAt(i);
+            if (c == quoteChar) {
+                hasQuotes = true;
+                quote = true;
+            } else if (!quote &&
+                (c == '\r' || c == '\n' || value.startsWith(delimiter, i) || value.startsWith(rowDelimiter, i)))
             {
                 quote = true;
             }
         }
 
-        if (quote && hasQuotes) {
-            // escape quotes with double quotes
-            buffer.setLength(0);
-            for (int i = 0; i < value.length(); i++) {
-                char c = value.charAt(i);
-                if (c == quoteChar) {
-                    buffer.append(quoteChar);
+        if (quote) out.write(quoteChar);
+        if (hasQuotes) {
+            // escape quotes with double quotes: each quote char is written twice - at the end of one chunk
+            // and at the beginning of the next one
+            int chunkStart = 0;
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) == quoteChar) {
+                    out.write(value, chunkStart, i + 1 - chunkStart);
+                    chunkStart = i;
                 }
-                buffer.append(c);
             }
-            value = buffer.toString();
+            out.write(value, chunkStart, length - chunkStart);
+        } else {
+            out.write(value);
         }
-        PrintWriter out = getWriter();
-        if (quote && useQuotes) out.write(quoteChar);
-        out.write(value);
-        if (quote && useQuotes) out.write(quoteChar);
+        if (quote) out.write(quoteChar);
     }
 
     private void writeCellValue(Reader reader) throws IOException
@@ -316,18 +320,21 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
             PrintWriter out = getWriter();
             if (useQuotes) out.write(quoteChar);
             // Copy reader
-            char[] buffer = new char[2000];
             for (;;) {
-                int count = reader.read(buffer);
+                int count = reader.read(contentBuffer);
                 if (count <= 0) {
                     break;
                 }
-                for (int i = 0; i < count; i++) {
-                    if (useQuotes && buffer[i] == quoteChar) {
-                        out.write(quoteChar);
+                int chunkStart = 0;
+                if (useQuotes) {
+                    for (int i = 0; i < count; i++) {
+                        if (contentBuffer[i] == quoteChar) {
+                            out.write(contentBuffer, chunkStart, i + 1 - chunkStart);
+                            chunkStart = i;
+                        }
                     }
-                    out.write(buffer[i]);
                 }
+                out.write(contentBuffer, chunkStart, count - chunkStart);
             }
             if (useQuotes) out.write(quoteChar);
         } finally {
@@ -60,6 +60,8 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
 
 
     private DBDAttributeBinding[] columns;
+    // Escaped column name prefixes, they are the same for all rows
+    private String[] columnPrefixes;
     private String tableName;
     private int rowNum = 0;
 
@@ -83,6 +85,12 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     @Override
     public void exportHeader(DBCSession session) throws DBException, IOException {
         columns = getSite().getAttributes();
+        columnPrefixes = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            DBDAttributeBinding column = columns[i];
+            String columnName = CommonUtils.isEmpty(column.getLabel()) ? column.getName() : column.getLabel();
+            columnPrefixes[i] = "\t\t\"" + JSONUtils.escapeJsonString(columnName) + "\" : ";
+        }
         tableName = getSite().getSource().getName();
         printHeader();
     }
@@ -111,8 +119,7 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
 
             for (int i = 0; i < columns.length; i++) {
                 DBDAttributeBinding column = columns[i];
-                String columnName = CommonUtils.isEmpty(column.getLabel()) ? column.getName() : column.getLabel();
-                out.write("\t\t\"" + JSONUtils.escapeJsonString(columnName) + "\" : ");
+                out.write(columnPrefixes[i]);
 
                 Object cellValue = row[i];
                 if (DBUtils.isNullValue(cellValue)) {
@@ -154,6 +161,8 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     }
 
     private void writeDocument(DBCSession session, DBDDocument document) throws DBException, IOException {
+        // Document is written directly to the stream, flush buffered text first
+        getWriter().flush();
         document.serializeDocument(
             session.getProgressMonitor(),
             getOutputStream(),
@@ -171,11 +180,14 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
         out.write("\n");
     }
 
-    private void writeTextCell(@Nullable String value, boolean escape) {
+    private void writeTextCell(@Nullable String value, boolean escape) throws IOException {
         if (value == null) {
             getWriter().write("null");
         } else if (escape) {
-            getWriter().write("\"" + JSONUtils.escapeJsonString(value) + "\"");
+            PrintWriter out = getWriter();
+            out.write('"');
+            JSONUtils.escapeJsonString(out, value);
+            out.write('"');
         } else {
             getWriter().write(value);
         }
@@ -233,11 +245,11 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
                 break;
             }
 
-            String chunk = new String(buffer, 0, count);
-
-            getWriter().write(
-                escape ? JSONUtils.escapeJsonString(chunk) : chunk
-            );
+            if (escape) {
+                JSONUtils.escapeJsonString(getWriter(), new String(buffer, 0, count));
+            } else {
+                getWriter().write(buffer, 0, count);
+            }
         }
     }
 
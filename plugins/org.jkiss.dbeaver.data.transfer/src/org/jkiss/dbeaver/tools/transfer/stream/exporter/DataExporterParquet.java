@@ -0,0 +1,232 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.exporter;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.DTUtils;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetColumn;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetColumnType;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetFileWriter;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.OffsetTime;
+import java.util.*;
+
+/**
+ * Apache Parquet exporter.
+ * Rows are buffered in column vectors and written by row groups.
+ */
+public class DataExporterParquet extends StreamExporterAbstract {
+
+    public static final String PROP_COMPRESSION = "compression";
+    public static final String PROP_ROW_GROUP_SIZE = "rowGroupSize";
+
+    private ParquetFileWriter.Compression compression;
+    private int rowGroupSize;
+
+    private DBDAttributeBinding[] columns;
+    private ParquetColumnType[] columnTypes;
+    private ParquetFileWriter parquetWriter;
+    private Object[] parquetRow;
+
+    @Override
+    public void init(IStreamDataExporterSite site) throws DBException {
+        super.init(site);
+        Map<String, Object> properties = site.getProperties();
+        compression = CommonUtils.valueOf(
+            ParquetFileWriter.Compression.class,
+            CommonUtils.toString(properties.get(PROP_COMPRESSION)).toUpperCase(Locale.ENGLISH),
+            ParquetFileWriter.Compression.GZIP);
+        rowGroupSize = CommonUtils.toInt(properties.get(PROP_ROW_GROUP_SIZE), ParquetFileWriter.DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    @Override
+    public void exportHeader(DBCSession session) throws DBException, IOException {
+        columns = getSite().getAttributes();
+        columnTypes = new ParquetColumnType[columns.length];
+        List<ParquetColumn> parquetColumns = new ArrayList<>(columns.length);
+        Set<String> columnNames = new HashSet<>();
+        for (int i = 0; i < columns.length; i++) {
+            DBDAttributeBinding column = columns[i];
+            String columnName = CommonUtils.isEmpty(column.getLabel()) ? column.getName() : column.getLabel();
+            // Column names must be unique
+            String uniqueName = columnName;
+            for (int index = 1; !columnNames.add(uniqueName); index++) {
+                uniqueName = columnName + "_" + index;
+            }
+            ParquetColumn parquetColumn = makeParquetColumn(column, uniqueName);
+            columnTypes[i] = parquetColumn.getType();
+            parquetColumns.add(parquetColumn);
+        }
+        parquetWriter = new ParquetFileWriter(getOutputStream(), parquetColumns, compression, rowGroupSize);
+        parquetRow = new Object[columns.length];
+    }
+
+    @Override
+    public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException {
+        for (int i = 0; i < columns.length; i++) {
+            Object value = row[i];
+            if (DBUtils.isNullValue(value)) {
+                value = null;
+            } else if (value instanceof DBDContent content) {
+                value = readContent(session, resultSet, content);
+            } else if (columnTypes[i] == ParquetColumnType.STRING && !(value instanceof String)) {
+                value = toStringValue(columns[i], value);
+            }
+            parquetRow[i] = value;
+        }
+        parquetWriter.writeRow(parquetRow);
+    }
+
+    @Override
+    public void exportFooter(DBRProgressMonitor monitor) throws IOException {
+        if (parquetWriter != null) {
+            parquetWriter.finish();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        parquetWriter = null;
+        parquetRow = null;
+        super.dispose();
+    }
+
+    @NotNull
+    private static ParquetColumn makeParquetColumn(@NotNull DBDAttributeBinding column, @NotNull String name) {
+        switch (column.getDataKind()) {
+            case BOOLEAN:
+                return new ParquetColumn(name, ParquetColumnType.BOOLEAN);
+            case NUMERIC:
+                switch (column.getTypeID()) {
+                    case Types.TINYINT:
+                    case Types.SMALLINT:
+                        return new ParquetColumn(name, ParquetColumnType.INT32);
+                    case Types.INTEGER:
+                        return isUnsigned(column) ?
+                            new ParquetColumn(name, ParquetColumnType.INT64) :
+                            new ParquetColumn(name, ParquetColumnType.INT32);
+                    case Types.BIGINT:
+                        return isUnsigned(column) ?
+                            new ParquetColumn(name, ParquetColumnType.DECIMAL, 20, 0) :
+                            new ParquetColumn(name, ParquetColumnType.INT64);
+                    case Types.REAL:
+                        return new ParquetColumn(name, ParquetColumnType.FLOAT);
+                    case Types.FLOAT:
+                    case Types.DOUBLE:
+                        return new ParquetColumn(name, ParquetColumnType.DOUBLE);
+                    case Types.DECIMAL:
+                    case Types.NUMERIC: {
+                        int precision = CommonUtils.toInt(column.getPrecision());
+                        int scale = CommonUtils.toInt(column.getScale());
+                        if (precision > 0 && precision <= ParquetColumn.MAX_DECIMAL_PRECISION && scale >= 0 && scale <= precision) {
+                            return new ParquetColumn(name, ParquetColumnType.DECIMAL, precision, scale);
+                        }
+                        // Unbounded numbers (e.g. Oracle NUMBER) are kept as exact text
+                        return new ParquetColumn(name, ParquetColumnType.STRING);
+                    }
+                    default:
+                        return new ParquetColumn(name, ParquetColumnType.STRING);
+                }
+            case DATETIME:
+                switch (column.getTypeID()) {
+                    case Types.DATE:
+                        return new ParquetColumn(name, ParquetColumnType.DATE);
+                    case Types.TIME:
+                        return new ParquetColumn(name, ParquetColumnType.TIME);
+                    case Types.TIME_WITH_TIMEZONE:
+                        // Parquet TIME has no offset, keep it in the text
+                        return new ParquetColumn(name, ParquetColumnType.STRING);
+                    case Types.TIMESTAMP_WITH_TIMEZONE:
+                        return new ParquetColumn(name, ParquetColumnType.TIMESTAMP_TZ);
+                    default:
+                        return new ParquetColumn(name, ParquetColumnType.TIMESTAMP);
+                }
+            case BINARY:
+                return new ParquetColumn(name, ParquetColumnType.BINARY);
+            case CONTENT:
+                switch (column.getTypeID()) {
+                    case Types.BLOB:
+                    case Types.BINARY:
+                    case Types.VARBINARY:
+                    case Types.LONGVARBINARY:
+                        return new ParquetColumn(name, ParquetColumnType.BINARY);
+                    default:
+                        return new ParquetColumn(name, ParquetColumnType.STRING);
+                }
+            default:
+                return new ParquetColumn(name, ParquetColumnType.STRING);
+        }
+    }
+
+    private static boolean isUnsigned(@NotNull DBDAttributeBinding column) {
+        return CommonUtils.notEmpty(column.getTypeName()).toUpperCase(Locale.ENGLISH).contains("UNSIGNED");
+    }
+
+    @NotNull
+    private String toStringValue(@NotNull DBDAttributeBinding column, @NotNull Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        } else if (value instanceof Number || value instanceof OffsetTime) {
+            return value.toString();
+        }
+        return getValueDisplayString(column, value);
+    }
+
+    @Nullable
+    private static Object readContent(
+        @NotNull DBCSession session,
+        @NotNull DBCResultSet resultSet,
+        @NotNull DBDContent content
+    ) throws DBException, IOException {
+        try {
+            DBDContentStorage cs = content.getContents(session.getProgressMonitor());
+            if (cs == null) {
+                return null;
+            }
+            if (ContentUtils.isTextContent(content)) {
+                try (Reader reader = cs.getContentReader()) {
+                    return IOUtils.readToString(reader);
+                }
+            } else {
+                try (InputStream stream = cs.getContentStream()) {
+                    return stream.readAllBytes();
+                }
+            }
+        } finally {
+            DTUtils.closeContents(resultSet, content);
+        }
+    }
+
+}
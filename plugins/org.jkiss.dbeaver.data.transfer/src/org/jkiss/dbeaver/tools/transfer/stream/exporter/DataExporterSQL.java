@@ -92,6 +92,8 @@ public class DataExporterSQL extends StreamExporterAbstract implements IAppendab
     private static String onConflictExpression;
 
     private transient StringBuilder sqlBuffer = new StringBuilder(100);
+    // Statement text before values. It is the same for all rows unless INSERT ALL is used.
+    private transient String statementPrefix;
     private transient long rowCount;
     private SQLDialect dialect;
 
@@ -207,6 +209,7 @@ public class DataExporterSQL extends StreamExporterAbstract implements IAppendab
         }
 
         rowCount = 0;
+        statementPrefix = null;
     }
 
     private String transformTableNameCase(DBPDataSource dataSource, String tableIdentifier) {
@@ -225,6 +228,49 @@ public class DataExporterSQL extends StreamExporterAbstract implements IAppendab
         return DBUtils.isQuotedIdentifier(dataSource, identifier) ? identifier : columnsAndTableNamesCase.transform(identifier);
     }
 
+    private void appendStatementPrefix(DBCSession session) {
+        switch (insertKeyword) {
+            case UPDATE:
+                sqlBuffer.append(identifierCase.transform(KEYWORD_UPDATE_OR)).append(" ").append(identifierCase.transform(KEYWORD_INSERT_INTO));
+                break;
+            case UPSERT:
+                sqlBuffer.append(identifierCase.transform(KEYWORD_UPSERT_INTO));
+                break;
+            case REPLACE:
+                sqlBuffer.append(identifierCase.transform(KEYWORD_REPLACE_INTO));
+                break;
+            default:
+                if (insertKeyword == InsertKeyword.INSERT_ALL) {
+                    if (rowCount % rowsInStatement == 0) {
+                        sqlBuffer.append(identifierCase.transform(KEYWORD_INSERT_ALL)).append("\n");
+                    }
+                    sqlBuffer.append("\t").append(identifierCase.transform(KEYWORD_INTO));
+                } else {
+                    sqlBuffer.append(identifierCase.transform(KEYWORD_INSERT_INTO));
+                }
+        }
+        sqlBuffer.append(" ").append(transformTableNameCase(session.getDataSource(), tableName)).append(" (");
+        boolean hasColumn = false;
+        for (DBDAttributeBinding column : columns) {
+            if (isSkipColumn(column)) {
+                continue;
+            }
+            if (hasColumn) {
+                sqlBuffer.append(',');
+            }
+            hasColumn = true;
+            sqlBuffer.append(transformIdentifierCase(session.getDataSource(), DBUtils.getQuotedIdentifier(column)));
+        }
+        sqlBuffer.append(") ");
+        sqlBuffer.append(identifierCase.transform(KEYWORD_VALUES));
+        if (oneLineEntry || insertKeyword == InsertKeyword.INSERT_ALL) {
+            sqlBuffer.append(" (");
+        }
+        if (rowsInStatement > 1 && lineBeforeRows && insertKeyword != InsertKeyword.INSERT_ALL) {
+            sqlBuffer.append(rowDelimiter);
+        }
+    }
+
     @Override
     public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException {
         PrintWriter out = getWriter();
@@ -251,45 +297,16 @@ public class DataExporterSQL extends StreamExporterAbstract implements IAppendab
                     sqlBuffer.append(rowDelimiter);
                 }
             }
-            switch (insertKeyword) {
-                case UPDATE:
-                    sqlBuffer.append(identifierCase.transform(KEYWORD_UPDATE_OR)).append(" ").append(identifierCase.transform(KEYWORD_INSERT_INTO));
-                    break;
-                case UPSERT:
-                    sqlBuffer.append(identifierCase.transform(KEYWORD_UPSERT_INTO));
-                    break;
-                case REPLACE:
-                    sqlBuffer.append(identifierCase.transform(KEYWORD_REPLACE_INTO));
-                    break;
-                default:
-                    if (insertKeyword == InsertKeyword.INSERT_ALL) {
-                        if (rowCount % rowsInStatement == 0) {
-                            sqlBuffer.append(identifierCase.transform(KEYWORD_INSERT_ALL)).append("\n");
-                        }
-                        sqlBuffer.append("\t").append(identifierCase.transform(KEYWORD_INTO));
-                    } else {
-                        sqlBuffer.append(identifierCase.transform(KEYWORD_INSERT_INTO));
-                    }
-            }
-            sqlBuffer.append(" ").append(transformTableNameCase(session.getDataSource(), tableName)).append(" (");
-            boolean hasColumn = false;
-            for (DBDAttributeBinding column : columns) {
-                if (isSkipColumn(column)) {
-                    continue;
-                }
-                if (hasColumn) {
-                    sqlBuffer.append(',');
+            if (insertKeyword == InsertKeyword.INSERT_ALL) {
+                appendStatementPrefix(session);
+            } else {
+                if (statementPrefix == null) {
+                    int prefixStart = sqlBuffer.length();
+                    appendStatementPrefix(session);
+                    statementPrefix = sqlBuffer.substring(prefixStart);
+                } else {
+                    sqlBuffer.append(statementPrefix);
                 }
-                hasColumn = true;
-                sqlBuffer.append(transformIdentifierCase(session.getDataSource(), DBUtils.getQuotedIdentifier(column)));
-            }
-            sqlBuffer.append(") ");
-            sqlBuffer.append(identifierCase.transform(KEYWORD_VALUES));
-            if (oneLineEntry || insertKeyword == InsertKeyword.INSERT_ALL) {
-                sqlBuffer.append(" (");
-            }
-            if (rowsInStatement > 1 && lineBeforeRows && insertKeyword != InsertKeyword.INSERT_ALL) {
-                sqlBuffer.append(rowDelimiter);
             }
             out.write(sqlBuffer.toString());
             firstRow = true;
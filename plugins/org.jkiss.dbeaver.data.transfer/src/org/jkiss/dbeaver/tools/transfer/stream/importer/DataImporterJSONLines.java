@@ -0,0 +1,301 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.*;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.io.BOMInputStream;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * JSON lines (NDJSON) importer. Each line contains a JSON object, object keys are column names.
+ *
+ * Column types are taken from JSON value types. Nested objects and arrays are imported as JSON strings.
+ * Keys which are not present in sampled lines are not imported.
+ */
+public class DataImporterJSONLines extends StreamImporterAbstract {
+    private static final Log log = Log.getLog(DataImporterJSONLines.class);
+
+    private static final String PROP_ENCODING = "encoding";
+    private static final int READ_BUFFER_SIZE = 255 * 1024;
+    // Numeric column types, from narrowest to widest
+    private static final List<String> NUMERIC_TYPES = List.of("INTEGER", "BIGINT", "DECIMAL");
+
+    @NotNull
+    @Override
+    public List<StreamDataImporterColumnInfo> readColumnsInfo(StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws DBException {
+        Map<String, StreamDataImporterColumnInfo> columnsInfo = new LinkedHashMap<>();
+        Map<String, Object> processorProperties = getSite().getProcessorProperties();
+        final int columnSamplesCount = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_SAMPLES), 100), 0);
+        final int columnMinimalLength = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_LENGTH), 1), 1);
+
+        try (BufferedReader reader = openStreamReader(inputStream, processorProperties)) {
+            long lineNum = 0;
+            for (int sample = 0; sample < columnSamplesCount; ) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                lineNum++;
+                JsonObject object = parseLine(line, lineNum);
+                if (object == null) {
+                    continue;
+                }
+                sample++;
+                for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                    StreamDataImporterColumnInfo columnInfo = columnsInfo.get(entry.getKey());
+                    if (columnInfo == null) {
+                        columnInfo = new StreamDataImporterColumnInfo(
+                            entityMapping, columnsInfo.size(), entry.getKey(), null, columnMinimalLength, DBPDataKind.UNKNOWN);
+                        columnInfo.setMappingMetadataPresent(true);
+                        columnsInfo.put(entry.getKey(), columnInfo);
+                    }
+                    updateColumnType(entityMapping, columnInfo, entry.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new DBException("IO error reading JSON lines", e);
+        }
+
+        for (StreamDataImporterColumnInfo columnInfo : columnsInfo.values()) {
+            if (columnInfo.getDataKind() == DBPDataKind.UNKNOWN) {
+                log.warn("Cannot guess data type for column '" + columnInfo.getName() + "', defaulting to VARCHAR");
+                columnInfo.updateType(DBPDataKind.STRING, "VARCHAR");
+            }
+        }
+        return new ArrayList<>(columnsInfo.values());
+    }
+
+    private static void updateColumnType(
+        @NotNull StreamEntityMapping entityMapping,
+        @NotNull StreamDataImporterColumnInfo columnInfo,
+        @NotNull JsonElement value
+    ) {
+        if (value.isJsonNull()) {
+            return;
+        }
+        // Length is needed if column becomes a string column later
+        columnInfo.updateMaxLength(entityMapping.getDataSource(), getStringValue(value).length());
+        if (value.isJsonPrimitive()) {
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                columnInfo.updateType(DBPDataKind.BOOLEAN, "BOOLEAN");
+                return;
+            }
+            if (primitive.isNumber()) {
+                Number number = getNumberValue(primitive.getAsString());
+                if (number instanceof BigDecimal decimal) {
+                    // Fractional values and integers out of BIGINT range are kept exact,
+                    // floating point types would round them
+                    updateNumericType(columnInfo, "DECIMAL");
+                    updatePrecision(columnInfo, decimal);
+                } else {
+                    long longValue = number.longValue();
+                    updateNumericType(columnInfo, longValue == (int) longValue ? "INTEGER" : "BIGINT");
+                    updatePrecision(columnInfo, BigDecimal.valueOf(longValue));
+                }
+                return;
+            }
+        }
+        columnInfo.updateType(DBPDataKind.STRING, "VARCHAR");
+    }
+
+    /**
+     * Widens numeric column type so it fits values of all sampled lines
+     */
+    private static void updateNumericType(@NotNull StreamDataImporterColumnInfo columnInfo, @NotNull String typeName) {
+        if (columnInfo.getDataKind() == DBPDataKind.NUMERIC) {
+            if (NUMERIC_TYPES.indexOf(typeName) > NUMERIC_TYPES.indexOf(columnInfo.getTypeName())) {
+                columnInfo.setTypeName(typeName);
+            }
+        } else {
+            columnInfo.updateType(DBPDataKind.NUMERIC, typeName);
+        }
+    }
+
+    @Override
+    public void runImport(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource streamDataSource, @NotNull InputStream inputStream, @NotNull IDataTransferConsumer consumer) throws DBException {
+        IStreamDataImporterSite site = getSite();
+        StreamEntityMapping entityMapping = site.getSourceObject();
+        Map<String, Object> properties = site.getProcessorProperties();
+
+        List<StreamDataImporterColumnInfo> columns = entityMapping.getStreamColumns();
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndexes.put(columns.get(i).getName(), i);
+        }
+
+        DBCExecutionContext context = streamDataSource.getDefaultInstance().getDefaultContext(monitor, false);
+        try (DBCSession producerSession = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
+            LocalStatement localStatement = new LocalStatement(producerSession, "SELECT * FROM Stream");
+            StreamTransferResultSet resultSet = new StreamTransferResultSet(producerSession, localStatement, entityMapping);
+
+            consumer.fetchStart(producerSession, resultSet, -1, -1);
+
+            applyTransformHints(resultSet, consumer, properties, PROP_TIMESTAMP_FORMAT, PROP_TIMESTAMP_ZONE);
+
+            // Keys which were not found while reading columns info
+            Set<String> skippedKeys = new HashSet<>();
+            try (BufferedReader reader = openStreamReader(inputStream, properties)) {
+                int maxRows = site.getSettings().getMaxRows();
+                long lineNum = 0;
+                for (long rowNum = 0; ; ) {
+                    if (monitor.isCanceled() || (maxRows > 0 && rowNum >= maxRows)) {
+                        break;
+                    }
+                    String line = reader.readLine();
+                    if (line == null) {
+                        break;
+                    }
+                    lineNum++;
+                    JsonObject object = parseLine(line, lineNum);
+                    if (object == null) {
+                        continue;
+                    }
+                    Object[] row = new Object[columns.size()];
+                    for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                        Integer index = columnIndexes.get(entry.getKey());
+                        if (index != null) {
+                            row[index] = getValue(entry.getValue());
+                        } else if (skippedKeys.add(entry.getKey())) {
+                            log.warn("Key '" + entry.getKey() + "' at line " + lineNum + " is not present in sampled lines, " +
+                                "its values are skipped. Increase column type samples count to import it.");
+                        }
+                    }
+
+                    resultSet.setStreamRow(row);
+                    consumer.fetchRow(producerSession, resultSet);
+                    rowNum++;
+
+                    if (DBFetchProgress.monitorFetchProgress(rowNum)) {
+                        monitor.subTask(Long.toUnsignedString(rowNum) + " rows processed");
+                    }
+                }
+            } catch (IOException e) {
+                throw new DBException("IO error reading JSON lines", e);
+            } finally {
+                try {
+                    consumer.fetchEnd(producerSession, resultSet);
+                } finally {
+                    consumer.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses a line. Returns null for blank lines.
+     */
+    @Nullable
+    private static JsonObject parseLine(@NotNull String line, long lineNum) throws DBException {
+        if (CommonUtils.isEmptyTrimmed(line)) {
+            return null;
+        }
+        JsonElement element;
+        try {
+            element = JsonParser.parseString(line);
+        } catch (JsonParseException e) {
+            throw new DBException("Invalid JSON at line " + lineNum, e);
+        }
+        if (!element.isJsonObject()) {
+            throw new DBException("JSON object expected at line " + lineNum);
+        }
+        return element.getAsJsonObject();
+    }
+
+    @Nullable
+    private static Object getValue(@NotNull JsonElement value) {
+        if (value.isJsonNull()) {
+            return null;
+        }
+        if (value.isJsonPrimitive()) {
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                return primitive.getAsBoolean();
+            } else if (primitive.isNumber()) {
+                return getNumberValue(primitive.getAsString());
+            }
+        }
+        return getStringValue(value);
+    }
+
+    /**
+     * Extends column precision and scale so the value fits into the column if it becomes a decimal column
+     */
+    private static void updatePrecision(@NotNull StreamDataImporterColumnInfo columnInfo, @NotNull BigDecimal value) {
+        int scale = Math.max(CommonUtils.toInt(columnInfo.getScale()), Math.max(value.scale(), 0));
+        int integerDigits = Math.max(CommonUtils.toInt(columnInfo.getPrecision()) - CommonUtils.toInt(columnInfo.getScale()), 1);
+        integerDigits = Math.max(integerDigits, value.precision() - value.scale());
+        columnInfo.setPrecision(integerDigits + scale);
+        columnInfo.setScale(scale);
+    }
+
+    @NotNull
+    private static Number getNumberValue(@NotNull String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return new BigDecimal(value);
+        }
+    }
+
+    @NotNull
+    private static String getStringValue(@NotNull JsonElement value) {
+        if (value.isJsonPrimitive()) {
+            return value.getAsString();
+        }
+        // Nested objects and arrays
+        return value.toString();
+    }
+
+    @NotNull
+    private static BufferedReader openStreamReader(@NotNull InputStream inputStream, @NotNull Map<String, Object> processorProperties) throws IOException {
+        final String encoding = CommonUtils.toString(processorProperties.get(PROP_ENCODING), GeneralUtils.UTF8_ENCODING);
+        final Charset charset = Charset.forName(encoding);
+        inputStream = new BufferedInputStream(inputStream, READ_BUFFER_SIZE);
+        try {
+            inputStream = new BOMInputStream(inputStream, charset);
+        } catch (IllegalArgumentException ignored) {
+            // This charset does not have BOM, suppress and continue
+        }
+        return new BufferedReader(new InputStreamReader(inputStream, charset));
+    }
+
+}
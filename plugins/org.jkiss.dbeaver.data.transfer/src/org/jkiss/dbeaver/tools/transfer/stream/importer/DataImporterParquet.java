@@ -0,0 +1,258 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.*;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetColumn;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetColumnType;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetFileReader;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Apache Parquet importer.
+ *
+ * Column types are taken from the file schema. Data is read by row groups (column batches),
+ * column values are decoded page by page.
+ */
+public class DataImporterParquet extends StreamImporterAbstract {
+    private static final Log log = Log.getLog(DataImporterParquet.class);
+
+    @NotNull
+    @Override
+    public List<StreamDataImporterColumnInfo> readColumnsInfo(StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws DBException {
+        List<StreamDataImporterColumnInfo> columnsInfo = new ArrayList<>();
+        Map<String, Object> processorProperties = getSite().getProcessorProperties();
+        final int columnMinimalLength = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_LENGTH), 1), 1);
+
+        Path file = openParquetFile(entityMapping, inputStream);
+        try (ParquetFileReader reader = new ParquetFileReader(file)) {
+            List<ParquetColumn> columns = reader.getColumns();
+            for (int i = 0; i < columns.size(); i++) {
+                ParquetColumn column = columns.get(i);
+                StreamDataImporterColumnInfo columnInfo = new StreamDataImporterColumnInfo(
+                    entityMapping, i, column.getName(), getTypeName(column), columnMinimalLength, getDataKind(column));
+                if (column.getType() == ParquetColumnType.DECIMAL) {
+                    columnInfo.setPrecision(column.getPrecision());
+                    columnInfo.setScale(column.getScale());
+                }
+                columnInfo.setMappingMetadataPresent(true);
+                columnsInfo.add(columnInfo);
+            }
+            if (reader.getRowGroupCount() > 0) {
+                // Types are known from the schema, only string lengths are taken from the first row group
+                for (StreamDataImporterColumnInfo columnInfo : columnsInfo) {
+                    ParquetColumnType type = columns.get(columnInfo.getOrdinalPosition()).getType();
+                    if (type != ParquetColumnType.STRING && type != ParquetColumnType.BINARY) {
+                        continue;
+                    }
+                    int maxLength = 0;
+                    for (Object value : reader.readColumn(0, columnInfo.getOrdinalPosition())) {
+                        if (value instanceof String str) {
+                            maxLength = Math.max(maxLength, str.length());
+                        } else if (value instanceof byte[] bytes) {
+                            maxLength = Math.max(maxLength, bytes.length);
+                        }
+                    }
+                    columnInfo.updateMaxLength(entityMapping.getDataSource(), maxLength);
+                }
+            }
+        } catch (IOException e) {
+            throw new DBException("IO error reading Parquet file", e);
+        } finally {
+            closeParquetFile(entityMapping, file);
+        }
+
+        return columnsInfo;
+    }
+
+    @Override
+    public void runImport(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource streamDataSource, @NotNull InputStream inputStream, @NotNull IDataTransferConsumer consumer) throws DBException {
+        IStreamDataImporterSite site = getSite();
+        StreamEntityMapping entityMapping = site.getSourceObject();
+        Map<String, Object> properties = site.getProcessorProperties();
+
+        DBCExecutionContext context = streamDataSource.getDefaultInstance().getDefaultContext(monitor, false);
+        try (DBCSession producerSession = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
+            LocalStatement localStatement = new LocalStatement(producerSession, "SELECT * FROM Stream");
+            StreamTransferResultSet resultSet = new StreamTransferResultSet(producerSession, localStatement, entityMapping);
+
+            consumer.fetchStart(producerSession, resultSet, -1, -1);
+
+            applyTransformHints(resultSet, consumer, properties, null, null);
+
+            Path file = null;
+            try {
+                file = openParquetFile(entityMapping, inputStream);
+                try (ParquetFileReader reader = new ParquetFileReader(file)) {
+                    int maxRows = site.getSettings().getMaxRows();
+                    int columnCount = reader.getColumns().size();
+                    int targetAttrSize = Math.max(entityMapping.getStreamColumns().size(), columnCount);
+                    long rowNum = 0;
+                    readLoop:
+                    for (int rowGroup = 0; rowGroup < reader.getRowGroupCount(); rowGroup++) {
+                        if (monitor.isCanceled()) {
+                            break;
+                        }
+                        // Values are decoded page by page, the whole row group is never kept in memory
+                        int rowCount = reader.getRowGroupRowCount(rowGroup);
+                        ParquetFileReader.ColumnReader[] columnReaders = new ParquetFileReader.ColumnReader[columnCount];
+                        for (int k = 0; k < columnCount; k++) {
+                            columnReaders[k] = reader.openColumn(rowGroup, k);
+                        }
+                        for (int i = 0; i < rowCount; i++) {
+                            if (monitor.isCanceled() || (maxRows > 0 && rowNum >= maxRows)) {
+                                break readLoop;
+                            }
+                            // Consumer may keep row values so every row needs its own array
+                            Object[] row = new Object[targetAttrSize];
+                            for (int k = 0; k < columnCount; k++) {
+                                row[k] = columnReaders[k].next();
+                            }
+                            resultSet.setStreamRow(row);
+                            consumer.fetchRow(producerSession, resultSet);
+                            rowNum++;
+
+                            if (DBFetchProgress.monitorFetchProgress(rowNum)) {
+                                monitor.subTask(Long.toUnsignedString(rowNum) + " rows processed");
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new DBException("IO error reading Parquet file", e);
+            } finally {
+                try {
+                    if (file != null) {
+                        closeParquetFile(entityMapping, file);
+                    }
+                    consumer.fetchEnd(producerSession, resultSet);
+                } finally {
+                    consumer.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Parquet metadata is located at the end of file so file needs random access.
+     * Compressed files are unpacked into a temporary file.
+     */
+    @NotNull
+    private static Path openParquetFile(@NotNull StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws DBException {
+        Path inputFile = entityMapping.getInputFile();
+        if (StreamCompressionFormat.getByFileName(inputFile.getFileName().toString()) == null) {
+            return inputFile;
+        }
+        try {
+            Path tempFile = Files.createTempFile("dbeaver-import", ".parquet");
+            try {
+                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(tempFile);
+                throw e;
+            }
+            return tempFile;
+        } catch (IOException e) {
+            throw new DBException("Error unpacking compressed Parquet file", e);
+        }
+    }
+
+    private static void closeParquetFile(@NotNull StreamEntityMapping entityMapping, @NotNull Path file) {
+        if (!file.equals(entityMapping.getInputFile())) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("Error deleting temporary file " + file, e);
+            }
+        }
+    }
+
+    @NotNull
+    private static String getTypeName(@NotNull ParquetColumn column) {
+        switch (column.getType()) {
+            case BOOLEAN:
+                return "BOOLEAN";
+            case INT32:
+                return "INTEGER";
+            case INT64:
+                return "BIGINT";
+            case FLOAT:
+                return "REAL";
+            case DOUBLE:
+                return "DOUBLE";
+            case DECIMAL:
+                return "DECIMAL";
+            case DATE:
+                return "DATE";
+            case TIME:
+                return "TIME";
+            case TIMESTAMP:
+                return "TIMESTAMP";
+            case TIMESTAMP_TZ:
+                return "TIMESTAMP WITH TIME ZONE";
+            case BINARY:
+                return "VARBINARY";
+            default:
+                return "VARCHAR";
+        }
+    }
+
+    @NotNull
+    private static DBPDataKind getDataKind(@NotNull ParquetColumn column) {
+        switch (column.getType()) {
+            case BOOLEAN:
+                return DBPDataKind.BOOLEAN;
+            case INT32:
+            case INT64:
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+                return DBPDataKind.NUMERIC;
+            case DATE:
+            case TIME:
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                return DBPDataKind.DATETIME;
+            case BINARY:
+                return DBPDataKind.BINARY;
+            default:
+                return DBPDataKind.STRING;
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Parquet column definition. All columns are optional (nullable) and non-repeated.
+ */
+public class ParquetColumn {
+
+    // Max precision supported by most databases and Parquet readers
+    public static final int MAX_DECIMAL_PRECISION = 38;
+
+    @NotNull
+    private final String name;
+    @NotNull
+    private final ParquetColumnType type;
+    private final int precision;
+    private final int scale;
+
+    public ParquetColumn(@NotNull String name, @NotNull ParquetColumnType type) {
+        this(name, type, 0, 0);
+    }
+
+    public ParquetColumn(@NotNull String name, @NotNull ParquetColumnType type, int precision, int scale) {
+        if (type == ParquetColumnType.DECIMAL && (precision <= 0 || scale < 0 || scale > precision)) {
+            throw new IllegalArgumentException("Bad decimal precision/scale: " + precision + "/" + scale);
+        }
+        this.name = name;
+        this.type = type;
+        this.precision = precision;
+        this.scale = scale;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public ParquetColumnType getType() {
+        return type;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    int getPhysicalType() {
+        switch (type) {
+            case BOOLEAN:
+                return ParquetConstants.TYPE_BOOLEAN;
+            case INT32:
+            case DATE:
+                return ParquetConstants.TYPE_INT32;
+            case INT64:
+            case TIME:
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                return ParquetConstants.TYPE_INT64;
+            case FLOAT:
+                return ParquetConstants.TYPE_FLOAT;
+            case DOUBLE:
+                return ParquetConstants.TYPE_DOUBLE;
+            case DECIMAL:
+                if (precision <= 9) {
+                    return ParquetConstants.TYPE_INT32;
+                } else if (precision <= 18) {
+                    return ParquetConstants.TYPE_INT64;
+                } else {
+                    return ParquetConstants.TYPE_BYTE_ARRAY;
+                }
+            default:
+                return ParquetConstants.TYPE_BYTE_ARRAY;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + type;
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+/**
+ * Logical type of Parquet column
+ */
+public enum ParquetColumnType {
+    BOOLEAN,
+    INT32,
+    INT64,
+    FLOAT,
+    DOUBLE,
+    // Fixed point number. Physical type depends on precision
+    DECIMAL,
+    // Days since epoch
+    DATE,
+    // Microseconds since midnight
+    TIME,
+    // Microseconds since epoch in local time (timestamp without time zone)
+    TIMESTAMP,
+    // Microseconds since epoch in UTC (timestamp with time zone)
+    TIMESTAMP_TZ,
+    // UTF-8 string
+    STRING,
+    BINARY
+}
@@ -0,0 +1,788 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ThriftCompactReader.ThriftStruct;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads Apache Parquet files with flat schema.
+ *
+ * Data is read by row groups: each column chunk is decoded into a column vector of Java values.
+ * Supports PLAIN and dictionary encodings, data pages v1/v2 and UNCOMPRESSED, SNAPPY and GZIP codecs.
+ */
+public class ParquetFileReader implements Closeable {
+
+    // Julian day of 1970-01-01 (INT96 timestamps)
+    private static final long JULIAN_EPOCH_DAY = 2440588;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private final FileChannel channel;
+    private final List<ColumnInfo> columns = new ArrayList<>();
+    private final List<ThriftStruct> rowGroups;
+    private final long rowCount;
+
+    public ParquetFileReader(@NotNull Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < ParquetConstants.MAGIC.length * 2 + 4) {
+                throw new IOException("File is too small to be a Parquet file");
+            }
+            byte[] tail = read(fileSize - 8, 8);
+            if (!Arrays.equals(Arrays.copyOfRange(tail, 4, 8), ParquetConstants.MAGIC)) {
+                throw new IOException("Not a Parquet file (bad magic number)");
+            }
+            int footerLength = ByteBuffer.wrap(tail, 0, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            if (footerLength <= 0 || footerLength > fileSize - 12) {
+                throw new IOException("Bad Parquet footer length: " + footerLength);
+            }
+            byte[] footer = read(fileSize - 8 - footerLength, footerLength);
+            ThriftStruct metaData = new ThriftCompactReader(footer, 0, footer.length).readStruct();
+
+            List<ThriftStruct> schema = metaData.getStructList(2);
+            for (int i = 1; i < schema.size(); i++) {
+                columns.add(new ColumnInfo(schema.get(i)));
+            }
+            this.rowGroups = metaData.getStructList(4);
+            this.rowCount = metaData.getLong(3, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @NotNull
+    public List<ParquetColumn> getColumns() {
+        List<ParquetColumn> result = new ArrayList<>(columns.size());
+        for (ColumnInfo column : columns) {
+            result.add(column.column);
+        }
+        return result;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getRowGroupCount() {
+        return rowGroups.size();
+    }
+
+    public int getRowGroupRowCount(int rowGroup) throws IOException {
+        long count = rowGroups.get(rowGroup).getLong(3, 0);
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IOException("Bad row group size: " + count);
+        }
+        return (int) count;
+    }
+
+    /**
+     * Reads all columns of the row group. Returns column vectors.
+     */
+    @NotNull
+    public Object[][] readRowGroup(int rowGroup) throws IOException {
+        Object[][] result = new Object[columns.size()][];
+        for (int i = 0; i < columns.size(); i++) {
+            result[i] = readColumn(rowGroup, i);
+        }
+        return result;
+    }
+
+    /**
+     * Reads values of a single column of the row group
+     */
+    @NotNull
+    public Object[] readColumn(int rowGroup, int columnIndex) throws IOException {
+        ChunkDecoder decoder = openChunk(rowGroup, columnIndex);
+        Object[] values = new Object[decoder.rows];
+        int valueIndex = 0;
+        for (Object[] page = decoder.nextPage(); page != null; page = decoder.nextPage()) {
+            System.arraycopy(page, 0, values, valueIndex, page.length);
+            valueIndex += page.length;
+        }
+        return values;
+    }
+
+    /**
+     * Opens sequential reader of a single column of the row group.
+     * Values are decoded page by page, so only one page of values is kept in memory.
+     */
+    @NotNull
+    public ColumnReader openColumn(int rowGroup, int columnIndex) throws IOException {
+        return new ColumnReader(openChunk(rowGroup, columnIndex));
+    }
+
+    @NotNull
+    private ChunkDecoder openChunk(int rowGroup, int columnIndex) throws IOException {
+        List<ThriftStruct> chunks = rowGroups.get(rowGroup).getStructList(1);
+        if (chunks.size() != columns.size()) {
+            throw new IOException("Row group " + rowGroup + " has " + chunks.size() + " columns while schema has " + columns.size());
+        }
+        ColumnInfo column = columns.get(columnIndex);
+        ThriftStruct chunkMeta = chunks.get(columnIndex).getStruct(3);
+        if (chunkMeta == null) {
+            throw new IOException("Metadata of column '" + column.column.getName() + "' is missing");
+        }
+        long dataPageOffset = chunkMeta.getLong(9, -1);
+        long dictionaryPageOffset = chunkMeta.getLong(11, -1);
+        long chunkOffset = dictionaryPageOffset > 0 && dictionaryPageOffset < dataPageOffset ? dictionaryPageOffset : dataPageOffset;
+        long chunkSize = chunkMeta.getLong(7, -1);
+        if (chunkOffset < 0 || chunkSize < 0 || chunkOffset + chunkSize > channel.size() || chunkSize > Integer.MAX_VALUE) {
+            throw new IOException("Bad location of column '" + column.column.getName() + "' data");
+        }
+        byte[] chunkData = read(chunkOffset, (int) chunkSize);
+        return new ChunkDecoder(column, chunkMeta.getInt(4, ParquetConstants.CODEC_UNCOMPRESSED), chunkData, getRowGroupRowCount(rowGroup));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @NotNull
+    private byte[] read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of Parquet file");
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Sequential reader of column values of a row group
+     */
+    public static class ColumnReader {
+        private final ChunkDecoder decoder;
+        private Object[] page = new Object[0];
+        private int pagePos;
+
+        private ColumnReader(@NotNull ChunkDecoder decoder) {
+            this.decoder = decoder;
+        }
+
+        /**
+         * Returns the next value. Decodes the next page when values of the current page are over.
+         */
+        @Nullable
+        public Object next() throws IOException {
+            while (pagePos >= page.length) {
+                Object[] nextPage = decoder.nextPage();
+                if (nextPage == null) {
+                    throw new IOException("No more values in column '" + decoder.column.column.getName() + "'");
+                }
+                page = nextPage;
+                pagePos = 0;
+            }
+            Object value = page[pagePos];
+            // Release value, the consumer keeps its own reference
+            page[pagePos++] = null;
+            return value;
+        }
+    }
+
+    /**
+     * Decodes pages of a column chunk one by one
+     */
+    private static class ChunkDecoder {
+        private final ColumnInfo column;
+        private final int codec;
+        private final byte[] chunkData;
+        private final int rows;
+        private Object[] dictionary;
+        private int valueIndex;
+        private int pos;
+
+        ChunkDecoder(@NotNull ColumnInfo column, int codec, @NotNull byte[] chunkData, int rows) {
+            this.column = column;
+            this.codec = codec;
+            this.chunkData = chunkData;
+            this.rows = rows;
+        }
+
+        /**
+         * Returns values of the next data page or null if all values were read
+         */
+        @Nullable
+        Object[] nextPage() throws IOException {
+            try {
+                return decodeNextPage();
+            } catch (IOException e) {
+                throw new IOException("Error reading column '" + column.column.getName() + "': " + e.getMessage(), e);
+            } catch (RuntimeException e) {
+                throw new IOException("Bad data of column '" + column.column.getName() + "'", e);
+            }
+        }
+
+        @Nullable
+        private Object[] decodeNextPage() throws IOException {
+            while (valueIndex < rows && pos < chunkData.length) {
+                ThriftCompactReader headerReader = new ThriftCompactReader(chunkData, pos, chunkData.length - pos);
+                ThriftStruct pageHeader = headerReader.readStruct();
+                pos = headerReader.getPosition();
+                int uncompressedSize = pageHeader.getInt(2, 0);
+                int compressedSize = pageHeader.getInt(3, 0);
+                if (compressedSize < 0 || uncompressedSize < 0 || compressedSize > chunkData.length - pos) {
+                    throw new IOException("Bad page size");
+                }
+                int pageOffset = pos;
+                pos += compressedSize;
+
+                switch (pageHeader.getInt(1, -1)) {
+                    case ParquetConstants.PAGE_DICTIONARY: {
+                        ThriftStruct dictionaryHeader = pageHeader.getStruct(7);
+                        int count = dictionaryHeader == null ? 0 : dictionaryHeader.getInt(1, 0);
+                        PageData data = decompress(codec, chunkData, pageOffset, compressedSize, uncompressedSize);
+                        dictionary = new Object[count];
+                        decodePlain(column, data, dictionary);
+                        break;
+                    }
+                    case ParquetConstants.PAGE_DATA: {
+                        ThriftStruct dataHeader = pageHeader.getStruct(5);
+                        if (dataHeader == null) {
+                            throw new IOException("Data page header is missing");
+                        }
+                        int count = checkValueCount(dataHeader.getInt(1, 0));
+                        PageData data = decompress(codec, chunkData, pageOffset, compressedSize, uncompressedSize);
+                        int[] levels = null;
+                        if (column.maxDefinitionLevel > 0) {
+                            if (dataHeader.getInt(3, ParquetConstants.ENCODING_RLE) != ParquetConstants.ENCODING_RLE) {
+                                throw new IOException("Unsupported definition levels encoding");
+                            }
+                            int levelsLength = data.readIntLE();
+                            levels = decodeHybrid(data.bytes, data.pos, data.pos + levelsLength, 1, count);
+                            data.skip(levelsLength);
+                        }
+                        valueIndex += count;
+                        return decodeValues(column, data, dataHeader.getInt(2, ParquetConstants.ENCODING_PLAIN), levels, count, dictionary);
+                    }
+                    case ParquetConstants.PAGE_DATA_V2: {
+                        ThriftStruct dataHeader = pageHeader.getStruct(8);
+                        if (dataHeader == null) {
+                            throw new IOException("Data page header is missing");
+                        }
+                        int count = checkValueCount(dataHeader.getInt(1, 0));
+                        int definitionLength = dataHeader.getInt(5, 0);
+                        int repetitionLength = dataHeader.getInt(6, 0);
+                        if (definitionLength < 0 || repetitionLength < 0 || definitionLength + repetitionLength > compressedSize) {
+                            throw new IOException("Bad levels size");
+                        }
+                        // Levels are never compressed in v2 pages
+                        int levelsOffset = pageOffset + repetitionLength;
+                        int[] levels = null;
+                        if (column.maxDefinitionLevel > 0) {
+                            levels = decodeHybrid(chunkData, levelsOffset, levelsOffset + definitionLength, 1, count);
+                        }
+                        int valuesOffset = levelsOffset + definitionLength;
+                        int valuesLength = compressedSize - repetitionLength - definitionLength;
+                        PageData data = dataHeader.getBoolean(7, true) ?
+                            decompress(codec, chunkData, valuesOffset, valuesLength, uncompressedSize - repetitionLength - definitionLength) :
+                            new PageData(chunkData, valuesOffset, valuesLength);
+                        valueIndex += count;
+                        return decodeValues(column, data, dataHeader.getInt(4, ParquetConstants.ENCODING_PLAIN), levels, count, dictionary);
+                    }
+                    default:
+                        // Index pages are skipped
+                        break;
+                }
+            }
+            if (valueIndex != rows) {
+                throw new IOException("Expected " + rows + " values but read " + valueIndex);
+            }
+            return null;
+        }
+
+        private int checkValueCount(int count) throws IOException {
+            if (count < 0 || count > rows - valueIndex) {
+                throw new IOException("Too many values in column chunk");
+            }
+            return count;
+        }
+    }
+
+    @NotNull
+    private static Object[] decodeValues(
+        @NotNull ColumnInfo column,
+        @NotNull PageData data,
+        int encoding,
+        @Nullable int[] levels,
+        int count,
+        @Nullable Object[] dictionary
+    ) throws IOException {
+        int nonNullCount = count;
+        if (levels != null) {
+            nonNullCount = 0;
+            for (int level : levels) {
+                if (level == column.maxDefinitionLevel) {
+                    nonNullCount++;
+                }
+            }
+        }
+        Object[] pageValues = new Object[nonNullCount];
+        if (nonNullCount > 0) {
+            switch (encoding) {
+                case ParquetConstants.ENCODING_PLAIN:
+                    decodePlain(column, data, pageValues);
+                    break;
+                case ParquetConstants.ENCODING_PLAIN_DICTIONARY:
+                case ParquetConstants.ENCODING_RLE_DICTIONARY: {
+                    if (dictionary == null) {
+                        throw new IOException("Dictionary page is missing");
+                    }
+                    int bitWidth = data.readByte();
+                    int[] indexes = decodeHybrid(data.bytes, data.pos, data.end, bitWidth, nonNullCount);
+                    for (int i = 0; i < nonNullCount; i++) {
+                        if (indexes[i] < 0 || indexes[i] >= dictionary.length) {
+                            throw new IOException("Bad dictionary index: " + indexes[i]);
+                        }
+                        pageValues[i] = dictionary[indexes[i]];
+                    }
+                    break;
+                }
+                case ParquetConstants.ENCODING_RLE: {
+                    if (column.physicalType != ParquetConstants.TYPE_BOOLEAN) {
+                        throw new IOException("RLE encoding is supported only for boolean values");
+                    }
+                    int length = data.readIntLE();
+                    int[] bits = decodeHybrid(data.bytes, data.pos, data.pos + length, 1, nonNullCount);
+                    for (int i = 0; i < nonNullCount; i++) {
+                        pageValues[i] = bits[i] != 0;
+                    }
+                    break;
+                }
+                default:
+                    throw new IOException("Unsupported Parquet encoding: " + encoding);
+            }
+        }
+        if (levels == null) {
+            return pageValues;
+        }
+        Object[] values = new Object[count];
+        for (int i = 0, k = 0; i < count; i++) {
+            values[i] = levels[i] == column.maxDefinitionLevel ? pageValues[k++] : null;
+        }
+        return values;
+    }
+
+    private static void decodePlain(@NotNull ColumnInfo column, @NotNull PageData data, @NotNull Object[] values) throws IOException {
+        int count = values.length;
+        switch (column.physicalType) {
+            case ParquetConstants.TYPE_BOOLEAN: {
+                data.checkAvailable((count + 7) / 8);
+                for (int i = 0; i < count; i++) {
+                    values[i] = ((data.bytes[data.pos + (i >> 3)] >> (i & 7)) & 1) != 0;
+                }
+                data.skip((count + 7) / 8);
+                break;
+            }
+            case ParquetConstants.TYPE_INT32:
+                for (int i = 0; i < count; i++) {
+                    values[i] = column.convertInt(data.readIntLE());
+                }
+                break;
+            case ParquetConstants.TYPE_INT64:
+                for (int i = 0; i < count; i++) {
+                    values[i] = column.convertLong(data.readLongLE());
+                }
+                break;
+            case ParquetConstants.TYPE_INT96:
+                for (int i = 0; i < count; i++) {
+                    long nanosOfDay = data.readLongLE();
+                    long epochDay = data.readIntLE() - JULIAN_EPOCH_DAY;
+                    values[i] = Timestamp.from(Instant.ofEpochSecond(epochDay * SECONDS_PER_DAY, nanosOfDay));
+                }
+                break;
+            case ParquetConstants.TYPE_FLOAT:
+                for (int i = 0; i < count; i++) {
+                    values[i] = Float.intBitsToFloat(data.readIntLE());
+                }
+                break;
+            case ParquetConstants.TYPE_DOUBLE:
+                for (int i = 0; i < count; i++) {
+                    values[i] = Double.longBitsToDouble(data.readLongLE());
+                }
+                break;
+            case ParquetConstants.TYPE_BYTE_ARRAY:
+                for (int i = 0; i < count; i++) {
+                    values[i] = column.convertBytes(data.readBytes(data.readIntLE()));
+                }
+                break;
+            case ParquetConstants.TYPE_FIXED_LEN_BYTE_ARRAY:
+                for (int i = 0; i < count; i++) {
+                    values[i] = column.convertBytes(data.readBytes(column.typeLength));
+                }
+                break;
+            default:
+                throw new IOException("Unsupported physical type: " + column.physicalType);
+        }
+    }
+
+    /**
+     * Decodes RLE/bit-packed hybrid encoded integers
+     */
+    @NotNull
+    private static int[] decodeHybrid(@NotNull byte[] data, int pos, int end, int bitWidth, int count) throws IOException {
+        if (bitWidth < 0 || bitWidth > 32 || end > data.length) {
+            throw new IOException("Bad RLE data");
+        }
+        int[] result = new int[count];
+        int byteWidth = (bitWidth + 7) / 8;
+        long mask = (1L << bitWidth) - 1;
+        int index = 0;
+        while (index < count) {
+            // Run header (unsigned varint)
+            int header = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (pos >= end || shift > 28) {
+                    throw new IOException("Unexpected end of RLE data");
+                }
+                int b = data[pos++] & 0xff;
+                header |= (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            if ((header & 1) == 0) {
+                // RLE run
+                int runLength = header >>> 1;
+                if (pos + byteWidth > end) {
+                    throw new IOException("Unexpected end of RLE data");
+                }
+                int value = 0;
+                for (int i = 0; i < byteWidth; i++) {
+                    value |= (data[pos++] & 0xff) << (i * 8);
+                }
+                int runEnd = Math.min(count, index + runLength);
+                Arrays.fill(result, index, runEnd, value);
+                index = runEnd;
+            } else {
+                // Bit-packed groups of 8 values, LSB first. Last group may be truncated
+                int valueCount = (header >>> 1) * 8;
+                long buffer = 0;
+                int bufferBits = 0;
+                int bytePos = pos;
+                for (int i = 0; i < valueCount && index < count; i++) {
+                    while (bufferBits < bitWidth) {
+                        buffer |= (long) (bytePos < end ? data[bytePos] & 0xff : 0) << bufferBits;
+                        bytePos++;
+                        bufferBits += 8;
+                    }
+                    result[index++] = (int) (buffer & mask);
+                    buffer >>>= bitWidth;
+                    bufferBits -= bitWidth;
+                }
+                pos += (header >>> 1) * bitWidth;
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static PageData decompress(int codec, @NotNull byte[] data, int offset, int length, int uncompressedSize) throws IOException {
+        switch (codec) {
+            case ParquetConstants.CODEC_UNCOMPRESSED:
+                return new PageData(data, offset, length);
+            case ParquetConstants.CODEC_SNAPPY: {
+                byte[] result = SnappyDecompressor.decompress(data, offset, length);
+                return new PageData(result, 0, result.length);
+            }
+            case ParquetConstants.CODEC_GZIP: {
+                byte[] result = new byte[uncompressedSize];
+                try (InputStream stream = new GZIPInputStream(new ByteArrayInputStream(data, offset, length))) {
+                    if (stream.readNBytes(result, 0, uncompressedSize) != uncompressedSize) {
+                        throw new IOException("Unexpected end of compressed page");
+                    }
+                }
+                return new PageData(result, 0, result.length);
+            }
+            default:
+                String codecName = codec >= 0 && codec < ParquetConstants.CODEC_NAMES.length ?
+                    ParquetConstants.CODEC_NAMES[codec] : String.valueOf(codec);
+                throw new IOException("Parquet compression codec " + codecName + " is not supported");
+        }
+    }
+
+    /**
+     * Page content with bounds checked little-endian reads
+     */
+    private static class PageData {
+        private final byte[] bytes;
+        private final int end;
+        private int pos;
+
+        PageData(@NotNull byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.pos = offset;
+            this.end = offset + length;
+        }
+
+        void checkAvailable(int count) throws IOException {
+            if (count < 0 || count > end - pos) {
+                throw new IOException("Unexpected end of page data");
+            }
+        }
+
+        void skip(int count) throws IOException {
+            checkAvailable(count);
+            pos += count;
+        }
+
+        int readByte() throws IOException {
+            checkAvailable(1);
+            return bytes[pos++] & 0xff;
+        }
+
+        int readIntLE() throws IOException {
+            checkAvailable(4);
+            int value = (bytes[pos] & 0xff) | (bytes[pos + 1] & 0xff) << 8 | (bytes[pos + 2] & 0xff) << 16 | (bytes[pos + 3] & 0xff) << 24;
+            pos += 4;
+            return value;
+        }
+
+        long readLongLE() throws IOException {
+            long low = readIntLE() & 0xffffffffL;
+            return low | ((long) readIntLE() << 32);
+        }
+
+        @NotNull
+        byte[] readBytes(int count) throws IOException {
+            checkAvailable(count);
+            byte[] result = Arrays.copyOfRange(bytes, pos, pos + count);
+            pos += count;
+            return result;
+        }
+    }
+
+    /**
+     * Column schema and conversion of physical values to Java values
+     */
+    private static class ColumnInfo {
+        private final ParquetColumn column;
+        private final int physicalType;
+        private final int typeLength;
+        private final int maxDefinitionLevel;
+        // Units per second of time/timestamp values
+        private long timeUnitsPerSecond = 1000000;
+        private boolean unsigned;
+        private boolean uuid;
+
+        ColumnInfo(@NotNull ThriftStruct element) throws IOException {
+            String name = element.getString(4);
+            if (name == null) {
+                throw new IOException("Parquet column name is missing");
+            }
+            if (element.getInt(5, 0) > 0 || !element.hasField(1)) {
+                throw new IOException("Nested Parquet column '" + name + "' is not supported");
+            }
+            int repetition = element.getInt(3, ParquetConstants.REPETITION_REQUIRED);
+            if (repetition == ParquetConstants.REPETITION_REPEATED) {
+                throw new IOException("Repeated Parquet column '" + name + "' is not supported");
+            }
+            this.physicalType = element.getInt(1, -1);
+            this.typeLength = element.getInt(2, 0);
+            this.maxDefinitionLevel = repetition == ParquetConstants.REPETITION_OPTIONAL ? 1 : 0;
+
+            int convertedType = element.getInt(6, -1);
+            ThriftStruct logicalType = element.getStruct(10);
+            int precision = element.getInt(8, 0);
+            int scale = element.getInt(7, 0);
+            ParquetColumnType type;
+            if (logicalType != null && logicalType.getStruct(ParquetConstants.LOGICAL_DECIMAL) != null) {
+                ThriftStruct decimalType = logicalType.getStruct(ParquetConstants.LOGICAL_DECIMAL);
+                scale = decimalType.getInt(1, 0);
+                precision = decimalType.getInt(2, 0);
+                type = ParquetColumnType.DECIMAL;
+            } else if (convertedType == ParquetConstants.CONVERTED_DECIMAL) {
+                type = ParquetColumnType.DECIMAL;
+            } else {
+                type = getColumnType(convertedType, logicalType);
+            }
+            try {
+                this.column = new ParquetColumn(name, type, precision, scale);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Bad type of Parquet column '" + name + "': " + e.getMessage());
+            }
+        }
+
+        @NotNull
+        private ParquetColumnType getColumnType(int convertedType, @Nullable ThriftStruct logicalType) throws IOException {
+            boolean isString = convertedType == ParquetConstants.CONVERTED_UTF8 ||
+                convertedType == ParquetConstants.CONVERTED_ENUM ||
+                convertedType == ParquetConstants.CONVERTED_JSON;
+            boolean isDate = convertedType == ParquetConstants.CONVERTED_DATE;
+            boolean isTime = convertedType == ParquetConstants.CONVERTED_TIME_MILLIS || convertedType == ParquetConstants.CONVERTED_TIME_MICROS;
+            boolean isTimestamp = convertedType == ParquetConstants.CONVERTED_TIMESTAMP_MILLIS || convertedType == ParquetConstants.CONVERTED_TIMESTAMP_MICROS;
+            // Legacy time types are adjusted to UTC
+            boolean adjustedToUTC = true;
+            if (convertedType == ParquetConstants.CONVERTED_TIME_MILLIS || convertedType == ParquetConstants.CONVERTED_TIMESTAMP_MILLIS) {
+                timeUnitsPerSecond = 1000;
+            }
+            unsigned = convertedType >= ParquetConstants.CONVERTED_UINT_8 && convertedType <= ParquetConstants.CONVERTED_UINT_64;
+
+            if (logicalType != null) {
+                if (logicalType.hasField(ParquetConstants.LOGICAL_STRING) ||
+                    logicalType.hasField(ParquetConstants.LOGICAL_ENUM) ||
+                    logicalType.hasField(ParquetConstants.LOGICAL_JSON)) {
+                    isString = true;
+                } else if (logicalType.hasField(ParquetConstants.LOGICAL_UUID)) {
+                    isString = true;
+                    uuid = true;
+                } else if (logicalType.hasField(ParquetConstants.LOGICAL_DATE)) {
+                    isDate = true;
+                } else if (logicalType.getStruct(ParquetConstants.LOGICAL_INTEGER) != null) {
+                    unsigned = !logicalType.getStruct(ParquetConstants.LOGICAL_INTEGER).getBoolean(2, true);
+                } else {
+                    ThriftStruct timeType = logicalType.getStruct(ParquetConstants.LOGICAL_TIME);
+                    ThriftStruct timestampType = logicalType.getStruct(ParquetConstants.LOGICAL_TIMESTAMP);
+                    if (timeType != null || timestampType != null) {
+                        ThriftStruct temporalType = timeType != null ? timeType : timestampType;
+                        isTime = timeType != null;
+                        isTimestamp = timestampType != null;
+                        adjustedToUTC = temporalType.getBoolean(1, true);
+                        ThriftStruct unit = temporalType.getStruct(2);
+                        if (unit != null) {
+                            if (unit.hasField(ParquetConstants.TIME_UNIT_MILLIS)) {
+                                timeUnitsPerSecond = 1000;
+                            } else if (unit.hasField(ParquetConstants.TIME_UNIT_NANOS)) {
+                                timeUnitsPerSecond = NANOS_PER_SECOND;
+                            }
+                        }
+                    }
+                }
+            }
+
+            switch (physicalType) {
+                case ParquetConstants.TYPE_BOOLEAN:
+                    return ParquetColumnType.BOOLEAN;
+                case ParquetConstants.TYPE_INT32:
+                    if (isDate) {
+                        return ParquetColumnType.DATE;
+                    } else if (isTime) {
+                        return ParquetColumnType.TIME;
+                    }
+                    return unsigned ? ParquetColumnType.INT64 : ParquetColumnType.INT32;
+                case ParquetConstants.TYPE_INT64:
+                    if (isTimestamp) {
+                        return adjustedToUTC ? ParquetColumnType.TIMESTAMP_TZ : ParquetColumnType.TIMESTAMP;
+                    } else if (isTime) {
+                        return ParquetColumnType.TIME;
+                    }
+                    return ParquetColumnType.INT64;
+                case ParquetConstants.TYPE_INT96:
+                    return ParquetColumnType.TIMESTAMP_TZ;
+                case ParquetConstants.TYPE_FLOAT:
+                    return ParquetColumnType.FLOAT;
+                case ParquetConstants.TYPE_DOUBLE:
+                    return ParquetColumnType.DOUBLE;
+                case ParquetConstants.TYPE_BYTE_ARRAY:
+                case ParquetConstants.TYPE_FIXED_LEN_BYTE_ARRAY:
+                    return isString ? ParquetColumnType.STRING : ParquetColumnType.BINARY;
+                default:
+                    throw new IOException("Unsupported Parquet physical type: " + physicalType);
+            }
+        }
+
+        @NotNull
+        Object convertInt(int value) {
+            switch (column.getType()) {
+                case DATE:
+                    return java.sql.Date.valueOf(LocalDate.ofEpochDay(value));
+                case DECIMAL:
+                    return BigDecimal.valueOf(value, column.getScale());
+                case TIME:
+                    return makeTime(value);
+                case INT64:
+                    // Unsigned int
+                    return Integer.toUnsignedLong(value);
+                default:
+                    return value;
+            }
+        }
+
+        @NotNull
+        Object convertLong(long value) {
+            switch (column.getType()) {
+                case DECIMAL:
+                    return BigDecimal.valueOf(value, column.getScale());
+                case TIME:
+                    return makeTime(value);
+                case TIMESTAMP:
+                case TIMESTAMP_TZ: {
+                    long seconds = Math.floorDiv(value, timeUnitsPerSecond);
+                    int nanos = (int) (Math.floorMod(value, timeUnitsPerSecond) * (NANOS_PER_SECOND / timeUnitsPerSecond));
+                    if (column.getType() == ParquetColumnType.TIMESTAMP_TZ) {
+                        return Timestamp.from(Instant.ofEpochSecond(seconds, nanos));
+                    }
+                    return Timestamp.valueOf(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+                }
+                default:
+                    if (unsigned && value < 0) {
+                        return new BigInteger(Long.toUnsignedString(value));
+                    }
+                    return value;
+            }
+        }
+
+        @NotNull
+        Object convertBytes(@NotNull byte[] value) {
+            switch (column.getType()) {
+                case STRING:
+                    if (uuid && value.length == 16) {
+                        ByteBuffer buffer = ByteBuffer.wrap(value);
+                        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+                    }
+                    return new String(value, StandardCharsets.UTF_8);
+                case DECIMAL:
+                    return new BigDecimal(value.length == 0 ? BigInteger.ZERO : new BigInteger(value), column.getScale());
+                default:
+                    return value;
+            }
+        }
+
+        @NotNull
+        private Time makeTime(long value) {
+            long nanosOfDay = Math.floorMod(value, SECONDS_PER_DAY * timeUnitsPerSecond) * (NANOS_PER_SECOND / timeUnitsPerSecond);
+            return Time.valueOf(LocalTime.ofNanoOfDay(nanosOfDay));
+        }
+    }
+
+}
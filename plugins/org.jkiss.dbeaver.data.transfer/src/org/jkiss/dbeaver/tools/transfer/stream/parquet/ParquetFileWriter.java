@@ -0,0 +1,704 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes rows in Apache Parquet format.
+ *
+ * Rows are buffered in column vectors and written as row groups. Column chunks are split into PLAIN encoded data pages,
+ * so only one page per column is kept unencoded.
+ * All columns are optional, so nulls are encoded with definition levels.
+ */
+public class ParquetFileWriter {
+
+    public enum Compression {
+        NONE(ParquetConstants.CODEC_UNCOMPRESSED),
+        GZIP(ParquetConstants.CODEC_GZIP);
+
+        private final int codec;
+
+        Compression(int codec) {
+            this.codec = codec;
+        }
+    }
+
+    public static final int DEFAULT_ROW_GROUP_SIZE = 100000;
+
+    // Row group is flushed earlier if buffered column data exceeds this size
+    private static final long MAX_ROW_GROUP_BYTES = 128L * 1024 * 1024;
+    // Data page is finished when its values exceed this size
+    private static final int PAGE_SIZE = 1024 * 1024;
+    private static final String CREATED_BY = "DBeaver";
+
+    private final OutputStream out;
+    private final ParquetColumn[] columns;
+    private final ColumnBuffer[] buffers;
+    private final Compression compression;
+    private final int rowGroupSize;
+    private final List<RowGroupInfo> rowGroups = new ArrayList<>();
+
+    private long position;
+    private long totalRows;
+    private int rowGroupRows;
+    private boolean finished;
+
+    public ParquetFileWriter(
+        @NotNull OutputStream out,
+        @NotNull List<ParquetColumn> columns,
+        @NotNull Compression compression,
+        int rowGroupSize
+    ) throws IOException {
+        this.out = out;
+        this.columns = columns.toArray(new ParquetColumn[0]);
+        this.compression = compression;
+        this.rowGroupSize = rowGroupSize > 0 ? rowGroupSize : DEFAULT_ROW_GROUP_SIZE;
+        this.buffers = new ColumnBuffer[this.columns.length];
+        for (int i = 0; i < this.columns.length; i++) {
+            buffers[i] = new ColumnBuffer(this.columns[i], compression);
+        }
+        write(ParquetConstants.MAGIC);
+    }
+
+    @NotNull
+    public ParquetColumn[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * Adds row to the current row group. Values are converted to column types.
+     */
+    public void writeRow(@NotNull Object[] values) throws IOException {
+        if (finished) {
+            throw new IOException("Parquet file is already finished");
+        }
+        long bufferedSize = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            try {
+                buffers[i].add(values[i]);
+            } catch (IOException e) {
+                // Keep column vectors aligned
+                for (int k = 0; k < i; k++) {
+                    buffers[k].removeLast();
+                }
+                throw e;
+            }
+            bufferedSize += buffers[i].getBufferedSize();
+        }
+        rowGroupRows++;
+        if (rowGroupRows >= rowGroupSize || bufferedSize >= MAX_ROW_GROUP_BYTES) {
+            flushRowGroup();
+        }
+    }
+
+    /**
+     * Writes buffered rows and file footer. Doesn't close the underlying stream.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (rowGroupRows > 0) {
+            flushRowGroup();
+        }
+        byte[] footer = serializeFileMetaData();
+        write(footer);
+        DataBuffer tail = new DataBuffer(8);
+        tail.writeIntLE(footer.length);
+        tail.write(ParquetConstants.MAGIC);
+        write(tail.toByteArray());
+        out.flush();
+    }
+
+    private void flushRowGroup() throws IOException {
+        RowGroupInfo rowGroup = new RowGroupInfo(rowGroupRows, columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            ColumnBuffer buffer = buffers[i];
+            buffer.flushPage();
+
+            ColumnChunkInfo chunk = new ColumnChunkInfo();
+            chunk.dataPageOffset = position;
+            chunk.numValues = buffer.chunkRows;
+            chunk.uncompressedSize = buffer.chunkUncompressedSize;
+            chunk.compressedSize = buffer.pages.size();
+            out.write(buffer.pages.getBuffer(), 0, buffer.pages.size());
+            position += buffer.pages.size();
+            rowGroup.columns[i] = chunk;
+            rowGroup.totalByteSize += chunk.uncompressedSize;
+
+            buffer.clear();
+        }
+        rowGroups.add(rowGroup);
+        totalRows += rowGroupRows;
+        rowGroupRows = 0;
+    }
+
+    @NotNull
+    private static byte[] compress(@NotNull byte[] data, @NotNull Compression compression) throws IOException {
+        if (compression == Compression.GZIP) {
+            ByteArrayOutputStream result = new ByteArrayOutputStream(data.length / 2 + 64);
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(result, 64 * 1024)) {
+                gzipStream.write(data);
+            }
+            return result.toByteArray();
+        }
+        return data;
+    }
+
+    private void write(@NotNull byte[] data) throws IOException {
+        out.write(data);
+        position += data.length;
+    }
+
+    @NotNull
+    private static byte[] serializePageHeader(int valueCount, int uncompressedSize, int compressedSize) {
+        ThriftCompactWriter writer = new ThriftCompactWriter();
+        writer.beginStruct();
+        writer.writeI32Field(1, ParquetConstants.PAGE_DATA);
+        writer.writeI32Field(2, uncompressedSize);
+        writer.writeI32Field(3, compressedSize);
+        // DataPageHeader
+        writer.beginStructField(5);
+        writer.writeI32Field(1, valueCount);
+        writer.writeI32Field(2, ParquetConstants.ENCODING_PLAIN);
+        writer.writeI32Field(3, ParquetConstants.ENCODING_RLE);
+        writer.writeI32Field(4, ParquetConstants.ENCODING_RLE);
+        writer.endStruct();
+        writer.endStruct();
+        return writer.toByteArray();
+    }
+
+    @NotNull
+    private byte[] serializeFileMetaData() {
+        ThriftCompactWriter writer = new ThriftCompactWriter();
+        writer.beginStruct();
+        writer.writeI32Field(1, ParquetConstants.FILE_FORMAT_VERSION);
+        // Schema: root element followed by columns
+        writer.beginListField(2, ThriftCompactWriter.TYPE_STRUCT, columns.length + 1);
+        writer.beginStruct();
+        writer.writeStringField(4, "schema");
+        writer.writeI32Field(5, columns.length);
+        writer.endStruct();
+        for (ParquetColumn column : columns) {
+            serializeSchemaElement(writer, column);
+        }
+        writer.writeI64Field(3, totalRows);
+        // Row groups
+        writer.beginListField(4, ThriftCompactWriter.TYPE_STRUCT, rowGroups.size());
+        for (RowGroupInfo rowGroup : rowGroups) {
+            writer.beginStruct();
+            writer.beginListField(1, ThriftCompactWriter.TYPE_STRUCT, columns.length);
+            for (int i = 0; i < columns.length; i++) {
+                serializeColumnChunk(writer, columns[i], rowGroup.columns[i]);
+            }
+            writer.writeI64Field(2, rowGroup.totalByteSize);
+            writer.writeI64Field(3, rowGroup.numRows);
+            writer.endStruct();
+        }
+        writer.writeStringField(6, CREATED_BY);
+        writer.endStruct();
+        return writer.toByteArray();
+    }
+
+    private void serializeSchemaElement(@NotNull ThriftCompactWriter writer, @NotNull ParquetColumn column) {
+        writer.beginStruct();
+        writer.writeI32Field(1, column.getPhysicalType());
+        writer.writeI32Field(3, ParquetConstants.REPETITION_OPTIONAL);
+        writer.writeStringField(4, column.getName());
+        switch (column.getType()) {
+            case STRING:
+                writer.writeI32Field(6, ParquetConstants.CONVERTED_UTF8);
+                writer.beginStructField(10);
+                writeEmptyStructField(writer, ParquetConstants.LOGICAL_STRING);
+                writer.endStruct();
+                break;
+            case DECIMAL:
+                writer.writeI32Field(6, ParquetConstants.CONVERTED_DECIMAL);
+                writer.writeI32Field(7, column.getScale());
+                writer.writeI32Field(8, column.getPrecision());
+                writer.beginStructField(10);
+                writer.beginStructField(ParquetConstants.LOGICAL_DECIMAL);
+                writer.writeI32Field(1, column.getScale());
+                writer.writeI32Field(2, column.getPrecision());
+                writer.endStruct();
+                writer.endStruct();
+                break;
+            case DATE:
+                writer.writeI32Field(6, ParquetConstants.CONVERTED_DATE);
+                writer.beginStructField(10);
+                writeEmptyStructField(writer, ParquetConstants.LOGICAL_DATE);
+                writer.endStruct();
+                break;
+            case TIME:
+                // Local time of day. Legacy TIME_MICROS type means UTC adjusted time, so it is not set
+                writer.beginStructField(10);
+                writeTimeType(writer, ParquetConstants.LOGICAL_TIME, false);
+                writer.endStruct();
+                break;
+            case TIMESTAMP:
+                writer.beginStructField(10);
+                writeTimeType(writer, ParquetConstants.LOGICAL_TIMESTAMP, false);
+                writer.endStruct();
+                break;
+            case TIMESTAMP_TZ:
+                writer.writeI32Field(6, ParquetConstants.CONVERTED_TIMESTAMP_MICROS);
+                writer.beginStructField(10);
+                writeTimeType(writer, ParquetConstants.LOGICAL_TIMESTAMP, true);
+                writer.endStruct();
+                break;
+            default:
+                break;
+        }
+        writer.endStruct();
+    }
+
+    private static void writeTimeType(@NotNull ThriftCompactWriter writer, int logicalType, boolean adjustedToUTC) {
+        writer.beginStructField(logicalType);
+        writer.writeBooleanField(1, adjustedToUTC);
+        writer.beginStructField(2);
+        writeEmptyStructField(writer, ParquetConstants.TIME_UNIT_MICROS);
+        writer.endStruct();
+        writer.endStruct();
+    }
+
+    private static void writeEmptyStructField(@NotNull ThriftCompactWriter writer, int fieldId) {
+        writer.beginStructField(fieldId);
+        writer.endStruct();
+    }
+
+    private void serializeColumnChunk(@NotNull ThriftCompactWriter writer, @NotNull ParquetColumn column, @NotNull ColumnChunkInfo chunk) {
+        writer.beginStruct();
+        writer.writeI64Field(2, chunk.dataPageOffset);
+        // ColumnMetaData
+        writer.beginStructField(3);
+        writer.writeI32Field(1, column.getPhysicalType());
+        writer.beginListField(2, ThriftCompactWriter.TYPE_I32, 2);
+        writer.writeI32(ParquetConstants.ENCODING_PLAIN);
+        writer.writeI32(ParquetConstants.ENCODING_RLE);
+        writer.beginListField(3, ThriftCompactWriter.TYPE_BINARY, 1);
+        writer.writeString(column.getName());
+        writer.writeI32Field(4, compression.codec);
+        writer.writeI64Field(5, chunk.numValues);
+        writer.writeI64Field(6, chunk.uncompressedSize);
+        writer.writeI64Field(7, chunk.compressedSize);
+        writer.writeI64Field(9, chunk.dataPageOffset);
+        writer.endStruct();
+        writer.endStruct();
+    }
+
+    private static class RowGroupInfo {
+        final long numRows;
+        final ColumnChunkInfo[] columns;
+        long totalByteSize;
+
+        RowGroupInfo(long numRows, int columnCount) {
+            this.numRows = numRows;
+            this.columns = new ColumnChunkInfo[columnCount];
+        }
+    }
+
+    private static class ColumnChunkInfo {
+        long dataPageOffset;
+        long numValues;
+        long uncompressedSize;
+        long compressedSize;
+    }
+
+    /**
+     * Column vector: definition levels and PLAIN encoded non-null values of the current page
+     * followed by finished pages of the column chunk
+     */
+    private static class ColumnBuffer {
+        private final ParquetColumn column;
+        private final int physicalType;
+        private final Compression compression;
+        private final DataBuffer values = new DataBuffer(1024);
+        private boolean[] defined = new boolean[1024];
+        private int rowCount;
+        private int lastValueOffset;
+        // Finished pages (headers and compressed data)
+        private final DataBuffer pages = new DataBuffer(1024);
+        private long chunkRows;
+        private long chunkUncompressedSize;
+
+        ColumnBuffer(@NotNull ParquetColumn column, @NotNull Compression compression) {
+            this.column = column;
+            this.physicalType = column.getPhysicalType();
+            this.compression = compression;
+        }
+
+        long getBufferedSize() {
+            return pages.size() + values.size();
+        }
+
+        void add(@Nullable Object value) throws IOException {
+            if (values.size() >= PAGE_SIZE) {
+                // Page is finished before the next value is added, so the last value can still be removed
+                flushPage();
+            }
+            if (rowCount == defined.length) {
+                boolean[] newDefined = new boolean[defined.length * 2];
+                System.arraycopy(defined, 0, newDefined, 0, rowCount);
+                defined = newDefined;
+            }
+            lastValueOffset = values.size();
+            if (value != null) {
+                try {
+                    writeValue(value);
+                } catch (NumberFormatException | ArithmeticException | DateTimeParseException e) {
+                    values.truncate(lastValueOffset);
+                    throw new IOException(
+                        "Can't convert value '" + value + "' to Parquet " + column.getType() + " (column " + column.getName() + ")", e);
+                }
+            }
+            defined[rowCount++] = value != null;
+        }
+
+        void removeLast() {
+            rowCount--;
+            values.truncate(lastValueOffset);
+        }
+
+        void clear() {
+            rowCount = 0;
+            values.truncate(0);
+            pages.truncate(0);
+            chunkRows = 0;
+            chunkUncompressedSize = 0;
+        }
+
+        void flushPage() throws IOException {
+            if (rowCount == 0) {
+                return;
+            }
+            byte[] pageData = buildPage();
+            byte[] compressedData = compress(pageData, compression);
+            byte[] pageHeader = serializePageHeader(rowCount, pageData.length, compressedData.length);
+            pages.write(pageHeader);
+            pages.write(compressedData);
+            chunkRows += rowCount;
+            chunkUncompressedSize += pageHeader.length + pageData.length;
+            rowCount = 0;
+            values.truncate(0);
+        }
+
+        private void writeValue(@NotNull Object value) throws IOException {
+            switch (column.getType()) {
+                case BOOLEAN:
+                    // Packed to bits when page is built
+                    values.write(toBoolean(value) ? 1 : 0);
+                    break;
+                case INT32:
+                    values.writeIntLE(Math.toIntExact(toLongExact(value)));
+                    break;
+                case INT64:
+                    values.writeLongLE(toLongExact(value));
+                    break;
+                case FLOAT:
+                    values.writeIntLE(Float.floatToIntBits(toNumber(value).floatValue()));
+                    break;
+                case DOUBLE:
+                    values.writeLongLE(Double.doubleToLongBits(toNumber(value).doubleValue()));
+                    break;
+                case DECIMAL:
+                    writeDecimal(toBigDecimal(value));
+                    break;
+                case DATE:
+                    values.writeIntLE(Math.toIntExact(toLocalDate(value).toEpochDay()));
+                    break;
+                case TIME:
+                    values.writeLongLE(toLocalTime(value).toNanoOfDay() / 1000);
+                    break;
+                case TIMESTAMP: {
+                    LocalDateTime dateTime = toLocalDateTime(value);
+                    values.writeLongLE(toMicros(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano()));
+                    break;
+                }
+                case TIMESTAMP_TZ: {
+                    Instant instant = toInstant(value);
+                    values.writeLongLE(toMicros(instant.getEpochSecond(), instant.getNano()));
+                    break;
+                }
+                default:
+                    byte[] bytes = value instanceof byte[] ?
+                        (byte[]) value :
+                        value.toString().getBytes(StandardCharsets.UTF_8);
+                    values.writeIntLE(bytes.length);
+                    values.write(bytes);
+                    break;
+            }
+        }
+
+        private void writeDecimal(@NotNull BigDecimal value) throws IOException {
+            BigDecimal scaled = value.setScale(column.getScale(), RoundingMode.HALF_UP);
+            if (scaled.precision() > column.getPrecision()) {
+                throw new IOException("Value " + value + " doesn't fit DECIMAL(" + column.getPrecision() + "," + column.getScale() + ")");
+            }
+            BigInteger unscaled = scaled.unscaledValue();
+            switch (physicalType) {
+                case ParquetConstants.TYPE_INT32:
+                    values.writeIntLE(unscaled.intValueExact());
+                    break;
+                case ParquetConstants.TYPE_INT64:
+                    values.writeLongLE(unscaled.longValueExact());
+                    break;
+                default:
+                    // Big-endian two's complement
+                    byte[] bytes = unscaled.toByteArray();
+                    values.writeIntLE(bytes.length);
+                    values.write(bytes);
+                    break;
+            }
+        }
+
+        @NotNull
+        byte[] buildPage() {
+            DataBuffer page = new DataBuffer(values.size() + rowCount / 4 + 16);
+            // Definition levels (RLE/bit-packed hybrid encoding, bit width 1) prefixed with their length
+            int levelsOffset = page.size();
+            page.writeIntLE(0);
+            for (int i = 0; i < rowCount; ) {
+                boolean level = defined[i];
+                int runEnd = i + 1;
+                while (runEnd < rowCount && defined[runEnd] == level) {
+                    runEnd++;
+                }
+                page.writeUnsignedVarInt((runEnd - i) << 1);
+                page.write(level ? 1 : 0);
+                i = runEnd;
+            }
+            page.setIntLE(levelsOffset, page.size() - levelsOffset - 4);
+
+            if (physicalType == ParquetConstants.TYPE_BOOLEAN) {
+                // Bit-packed, LSB first
+                byte[] valueBytes = values.getBuffer();
+                int valueCount = values.size();
+                byte[] packed = new byte[(valueCount + 7) / 8];
+                for (int i = 0; i < valueCount; i++) {
+                    if (valueBytes[i] != 0) {
+                        packed[i >> 3] |= (byte) (1 << (i & 7));
+                    }
+                }
+                page.write(packed);
+            } else {
+                page.write(values.getBuffer(), 0, values.size());
+            }
+            return page.toByteArray();
+        }
+    }
+
+    private static long toMicros(long epochSecond, int nanos) {
+        return Math.addExact(Math.multiplyExact(epochSecond, 1000000L), nanos / 1000);
+    }
+
+    @NotNull
+    private static Number toNumber(@NotNull Object value) {
+        if (value instanceof Number number) {
+            return number;
+        } else if (value instanceof Boolean bool) {
+            return bool ? 1 : 0;
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    /**
+     * Integer columns never truncate or wrap: fractions and out of range values (e.g. unsigned BIGINT) are rejected.
+     */
+    private static long toLongExact(@NotNull Object value) {
+        Number number = toNumber(value);
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return number.longValue();
+        } else if (number instanceof BigInteger bigInteger) {
+            return bigInteger.longValueExact();
+        } else if (number instanceof BigDecimal bigDecimal) {
+            return bigDecimal.longValueExact();
+        }
+        return new BigDecimal(number.toString()).longValueExact();
+    }
+
+    private static boolean toBoolean(@NotNull Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        } else if (value instanceof Number number) {
+            return number.intValue() != 0;
+        }
+        String strValue = value.toString().trim();
+        return strValue.equalsIgnoreCase("true") || strValue.equalsIgnoreCase("yes") || strValue.equals("1");
+    }
+
+    @NotNull
+    private static BigDecimal toBigDecimal(@NotNull Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        } else if (value instanceof BigInteger bigInteger) {
+            return new BigDecimal(bigInteger);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Boolean bool) {
+            return bool ? BigDecimal.ONE : BigDecimal.ZERO;
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    @NotNull
+    private static LocalDate toLocalDate(@NotNull Object value) throws IOException {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        } else if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return toLocalDateTime(value).toLocalDate();
+    }
+
+    @NotNull
+    private static LocalTime toLocalTime(@NotNull Object value) throws IOException {
+        if (value instanceof LocalTime localTime) {
+            return localTime;
+        } else if (value instanceof OffsetTime offsetTime) {
+            return offsetTime.toLocalTime();
+        } else if (value instanceof String strValue && strValue.indexOf(':') == 2) {
+            return LocalTime.parse(strValue.trim());
+        }
+        return toLocalDateTime(value).toLocalTime();
+    }
+
+    @NotNull
+    private static LocalDateTime toLocalDateTime(@NotNull Object value) throws IOException {
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        } else if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        } else if (value instanceof Date date) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), ZoneId.systemDefault());
+        } else if (value instanceof LocalDate localDate) {
+            return localDate.atStartOfDay();
+        } else if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toLocalDateTime();
+        } else if (value instanceof ZonedDateTime zonedDateTime) {
+            return zonedDateTime.toLocalDateTime();
+        } else if (value instanceof Instant instant) {
+            return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        } else if (value instanceof String strValue) {
+            return parseLocalDateTime(strValue.trim());
+        }
+        throw new IOException("Unsupported date/time value type: " + value.getClass().getName());
+    }
+
+    @NotNull
+    private static Instant toInstant(@NotNull Object value) throws IOException {
+        if (value instanceof Instant instant) {
+            return instant;
+        } else if (value instanceof Date date) {
+            return value instanceof Timestamp timestamp ? timestamp.toInstant() : Instant.ofEpochMilli(date.getTime());
+        } else if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        } else if (value instanceof ZonedDateTime zonedDateTime) {
+            return zonedDateTime.toInstant();
+        } else if (value instanceof String strValue) {
+            try {
+                return OffsetDateTime.parse(strValue.trim()).toInstant();
+            } catch (DateTimeParseException e) {
+                // Not an ISO date with offset
+            }
+        }
+        return toLocalDateTime(value).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    @NotNull
+    private static LocalDateTime parseLocalDateTime(@NotNull String value) {
+        if (value.length() <= 10) {
+            return LocalDate.parse(value).atStartOfDay();
+        }
+        if (value.indexOf('T') > 0) {
+            return LocalDateTime.parse(value);
+        }
+        try {
+            return Timestamp.valueOf(value).toLocalDateTime();
+        } catch (IllegalArgumentException e) {
+            throw new DateTimeParseException("Bad timestamp format", value, 0, e);
+        }
+    }
+
+    /**
+     * Byte buffer with little-endian writes and direct access to its content
+     */
+    private static class DataBuffer extends ByteArrayOutputStream {
+
+        DataBuffer(int size) {
+            super(size);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+
+        void truncate(int size) {
+            count = size;
+        }
+
+        @Override
+        public void write(@NotNull byte[] b) {
+            write(b, 0, b.length);
+        }
+
+        void writeIntLE(int value) {
+            write(value);
+            write(value >> 8);
+            write(value >> 16);
+            write(value >> 24);
+        }
+
+        void writeLongLE(long value) {
+            writeIntLE((int) value);
+            writeIntLE((int) (value >> 32));
+        }
+
+        void setIntLE(int offset, int value) {
+            buf[offset] = (byte) value;
+            buf[offset + 1] = (byte) (value >> 8);
+            buf[offset + 2] = (byte) (value >> 16);
+            buf[offset + 3] = (byte) (value >> 24);
+        }
+
+        void writeUnsignedVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Decompressor of raw Snappy format (default compression codec of most Parquet writers)
+ */
+class SnappyDecompressor {
+
+    private SnappyDecompressor() {
+    }
+
+    @NotNull
+    static byte[] decompress(@NotNull byte[] input, int offset, int length) throws IOException {
+        int end = offset + length;
+        int pos = offset;
+        // Uncompressed length (varint)
+        long uncompressedLength = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (pos >= end || shift > 28) {
+                throw new IOException("Bad Snappy data header");
+            }
+            int b = input[pos++] & 0xff;
+            uncompressedLength |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (uncompressedLength > Integer.MAX_VALUE) {
+            throw new IOException("Snappy data is too large");
+        }
+        byte[] output = new byte[(int) uncompressedLength];
+        int outPos = 0;
+        while (pos < end) {
+            int tag = input[pos++] & 0xff;
+            switch (tag & 3) {
+                case 0: {
+                    // Literal
+                    int literalLength = tag >>> 2;
+                    if (literalLength >= 60) {
+                        int lengthBytes = literalLength - 59;
+                        if (pos + lengthBytes > end) {
+                            throw new IOException("Bad Snappy literal");
+                        }
+                        literalLength = 0;
+                        for (int i = 0; i < lengthBytes; i++) {
+                            literalLength |= (input[pos++] & 0xff) << (i * 8);
+                        }
+                    }
+                    literalLength++;
+                    if (literalLength <= 0 || pos + literalLength > end || outPos + literalLength > output.length) {
+                        throw new IOException("Bad Snappy literal");
+                    }
+                    System.arraycopy(input, pos, output, outPos, literalLength);
+                    pos += literalLength;
+                    outPos += literalLength;
+                    continue;
+                }
+                case 1: {
+                    if (pos >= end) {
+                        throw new IOException("Bad Snappy copy");
+                    }
+                    int copyLength = ((tag >>> 2) & 7) + 4;
+                    int copyOffset = ((tag >>> 5) << 8) | (input[pos++] & 0xff);
+                    outPos = copy(output, outPos, copyOffset, copyLength);
+                    break;
+                }
+                case 2: {
+                    if (pos + 2 > end) {
+                        throw new IOException("Bad Snappy copy");
+                    }
+                    int copyOffset = (input[pos] & 0xff) | (input[pos + 1] & 0xff) << 8;
+                    pos += 2;
+                    outPos = copy(output, outPos, copyOffset, (tag >>> 2) + 1);
+                    break;
+                }
+                default: {
+                    if (pos + 4 > end) {
+                        throw new IOException("Bad Snappy copy");
+                    }
+                    int copyOffset = (input[pos] & 0xff) | (input[pos + 1] & 0xff) << 8 |
+                        (input[pos + 2] & 0xff) << 16 | (input[pos + 3] & 0xff) << 24;
+                    pos += 4;
+                    outPos = copy(output, outPos, copyOffset, (tag >>> 2) + 1);
+                    break;
+                }
+            }
+        }
+        if (outPos != output.length) {
+            throw new IOException("Bad Snappy data length");
+        }
+        return output;
+    }
+
+    private static int copy(byte[] output, int outPos, int copyOffset, int copyLength) throws IOException {
+        if (copyOffset <= 0 || copyOffset > outPos || outPos + copyLength > output.length) {
+            throw new IOException("Bad Snappy copy");
+        }
+        int srcPos = outPos - copyOffset;
+        if (copyOffset >= copyLength) {
+            System.arraycopy(output, srcPos, output, outPos, copyLength);
+        } else {
+            // Overlapping copy repeats the pattern
+            for (int i = 0; i < copyLength; i++) {
+                output[outPos + i] = output[srcPos + i];
+            }
+        }
+        return outPos + copyLength;
+    }
+
+}
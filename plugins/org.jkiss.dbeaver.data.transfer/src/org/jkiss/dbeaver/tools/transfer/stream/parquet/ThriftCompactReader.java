@@ -0,0 +1,233 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Minimal reader of Thrift compact protocol. Structures are read generically into field id/value maps.
+ */
+class ThriftCompactReader {
+
+    private static final int MAX_NESTING = 64;
+
+    private final byte[] data;
+    private final int end;
+    private int position;
+    private int depth;
+
+    ThriftCompactReader(@NotNull byte[] data, int offset, int length) {
+        this.data = data;
+        this.position = offset;
+        this.end = offset + length;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    @NotNull
+    ThriftStruct readStruct() throws IOException {
+        if (++depth > MAX_NESTING) {
+            throw new IOException("Thrift structure nesting is too deep");
+        }
+        Map<Integer, Object> fields = new HashMap<>();
+        int lastFieldId = 0;
+        while (true) {
+            int header = readByte();
+            int type = header & 0x0f;
+            if (type == ThriftCompactWriter.TYPE_STOP) {
+                break;
+            }
+            int delta = (header >> 4) & 0x0f;
+            int fieldId = delta != 0 ? lastFieldId + delta : (int) readZigZag();
+            lastFieldId = fieldId;
+            Object value;
+            if (type == ThriftCompactWriter.TYPE_BOOLEAN_TRUE) {
+                value = Boolean.TRUE;
+            } else if (type == ThriftCompactWriter.TYPE_BOOLEAN_FALSE) {
+                value = Boolean.FALSE;
+            } else {
+                value = readValue(type);
+            }
+            fields.put(fieldId, value);
+        }
+        depth--;
+        return new ThriftStruct(fields);
+    }
+
+    @NotNull
+    private Object readValue(int type) throws IOException {
+        switch (type) {
+            case ThriftCompactWriter.TYPE_BOOLEAN_TRUE:
+            case ThriftCompactWriter.TYPE_BOOLEAN_FALSE:
+                // Collection element
+                return readByte() == ThriftCompactWriter.TYPE_BOOLEAN_TRUE;
+            case ThriftCompactWriter.TYPE_BYTE:
+                return (int) (byte) readByte();
+            case ThriftCompactWriter.TYPE_I16:
+            case ThriftCompactWriter.TYPE_I32:
+                return (int) readZigZag();
+            case ThriftCompactWriter.TYPE_I64:
+                return readZigZag();
+            case ThriftCompactWriter.TYPE_DOUBLE: {
+                checkAvailable(8);
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits |= (data[position++] & 0xffL) << (i * 8);
+                }
+                return Double.longBitsToDouble(bits);
+            }
+            case ThriftCompactWriter.TYPE_BINARY: {
+                int length = readLength();
+                checkAvailable(length);
+                byte[] value = Arrays.copyOfRange(data, position, position + length);
+                position += length;
+                return value;
+            }
+            case ThriftCompactWriter.TYPE_LIST:
+            case ThriftCompactWriter.TYPE_SET: {
+                int header = readByte();
+                int size = (header >> 4) & 0x0f;
+                if (size == 15) {
+                    size = readLength();
+                }
+                int elementType = header & 0x0f;
+                List<Object> list = new ArrayList<>(Math.min(size, end - position));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(elementType));
+                }
+                return list;
+            }
+            case ThriftCompactWriter.TYPE_MAP: {
+                int size = readLength();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                if (size > 0) {
+                    int types = readByte();
+                    for (int i = 0; i < size; i++) {
+                        Object key = readValue((types >> 4) & 0x0f);
+                        map.put(key, readValue(types & 0x0f));
+                    }
+                }
+                return map;
+            }
+            case ThriftCompactWriter.TYPE_STRUCT:
+                return readStruct();
+            default:
+                throw new IOException("Bad Thrift value type: " + type);
+        }
+    }
+
+    private int readByte() throws IOException {
+        checkAvailable(1);
+        return data[position++] & 0xff;
+    }
+
+    private int readLength() throws IOException {
+        long length = readVarint();
+        if (length < 0 || length > end - position) {
+            throw new IOException("Bad Thrift data length: " + length);
+        }
+        return (int) length;
+    }
+
+    private long readZigZag() throws IOException {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Bad Thrift varint");
+    }
+
+    private void checkAvailable(int count) throws IOException {
+        if (position + count > end) {
+            throw new IOException("Unexpected end of Thrift data");
+        }
+    }
+
+    /**
+     * Thrift structure: field values by field id
+     */
+    static class ThriftStruct {
+        private final Map<Integer, Object> fields;
+
+        ThriftStruct(@NotNull Map<Integer, Object> fields) {
+            this.fields = fields;
+        }
+
+        boolean hasField(int fieldId) {
+            return fields.containsKey(fieldId);
+        }
+
+        int getInt(int fieldId, int defaultValue) {
+            Object value = fields.get(fieldId);
+            return value instanceof Number number ? number.intValue() : defaultValue;
+        }
+
+        long getLong(int fieldId, long defaultValue) {
+            Object value = fields.get(fieldId);
+            return value instanceof Number number ? number.longValue() : defaultValue;
+        }
+
+        boolean getBoolean(int fieldId, boolean defaultValue) {
+            Object value = fields.get(fieldId);
+            return value instanceof Boolean bool ? bool : defaultValue;
+        }
+
+        @Nullable
+        String getString(int fieldId) {
+            Object value = fields.get(fieldId);
+            return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : null;
+        }
+
+        @Nullable
+        ThriftStruct getStruct(int fieldId) {
+            Object value = fields.get(fieldId);
+            return value instanceof ThriftStruct struct ? struct : null;
+        }
+
+        @NotNull
+        List<ThriftStruct> getStructList(int fieldId) {
+            Object value = fields.get(fieldId);
+            if (!(value instanceof List<?> list)) {
+                return Collections.emptyList();
+            }
+            List<ThriftStruct> result = new ArrayList<>(list.size());
+            for (Object item : list) {
+                if (item instanceof ThriftStruct struct) {
+                    result.add(struct);
+                }
+            }
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.clickhouse.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCBulkLoader;
+
+/**
+ * Clickhouse bulk loader.
+ * Uses INSERT with input() table function. For such statements Clickhouse JDBC driver
+ * doesn't render SQL for batch rows but streams them to the server in RowBinary format:
+ *
+ * //        INSERT INTO table1 (c1,c2) SELECT c1,c2 FROM input('c1 Int32, c2 String')
+ */
+public class ClickhouseBulkLoader extends JDBCBulkLoader {
+
+    @NotNull
+    @Override
+    protected String makeInsertQuery() {
+        String columnList = getColumnList();
+        StringBuilder structure = new StringBuilder();
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) {
+                structure.append(", ");
+            }
+            structure.append(DBUtils.getQuotedIdentifier(table.getDataSource(), attributes[i].getName()))
+                .append(" ").append(attributes[i].getFullTypeName());
+        }
+        return "INSERT INTO " + getTableName() + " (" + columnList + ") SELECT " + columnList +
+            " FROM input('" + structure.toString().replace("'", "\\'") + "')";
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.duckdb.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
+import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk loader based on DuckDB Appender.
+ *
+ * //        DuckDBAppender appender = ((DuckDBConnection) conn).createAppender("main", "table1");
+ * //        appender.beginRow(); appender.append(1); appender.append("a"); appender.endRow();
+ * //        appender.close();
+ *
+ * Appender writes all table columns in table order, so it can't skip columns.
+ * If some table columns are not mapped then rows are loaded with INSERT, so column defaults and sequences are applied.
+ */
+public class DuckDBAppenderLoader extends JDBCBulkLoader {
+
+    private static final Log log = Log.getLog(DuckDBAppenderLoader.class);
+
+    private static final String DUCKDB_CONNECTION_CLASS = "org.duckdb.DuckDBConnection";
+    private static final String DEFAULT_SCHEMA = "main";
+
+    private static final Map<Class<?>, Class<?>> APPEND_TYPES = new HashMap<>();
+
+    static {
+        APPEND_TYPES.put(Boolean.class, Boolean.TYPE);
+        APPEND_TYPES.put(Byte.class, Byte.TYPE);
+        APPEND_TYPES.put(Short.class, Short.TYPE);
+        APPEND_TYPES.put(Integer.class, Integer.TYPE);
+        APPEND_TYPES.put(Long.class, Long.TYPE);
+        APPEND_TYPES.put(Float.class, Float.TYPE);
+        APPEND_TYPES.put(Double.class, Double.TYPE);
+        APPEND_TYPES.put(BigDecimal.class, BigDecimal.class);
+        APPEND_TYPES.put(String.class, String.class);
+        APPEND_TYPES.put(byte[].class, byte[].class);
+    }
+
+    // Not all table columns are mapped, rows are loaded with INSERT
+    private boolean insertMode;
+    private Object appender;
+    // Index of source attribute for each table column
+    private int[] columnSourceIndexes;
+    private Method beginRowMethod;
+    private Method endRowMethod;
+    private Method flushMethod;
+    private Method closeMethod;
+    private Method appendStringMethod;
+    private Method appendLocalDateTimeMethod;
+    // Resolved append methods. Null value means that value should be appended as string.
+    private final Map<Class<?>, Method> appendMethods = new HashMap<>();
+
+    @Override
+    protected void initBulkLoad(@NotNull JDBCSession session, Map<String, Object> options) throws DBCException {
+        try {
+            List<? extends DBSEntityAttribute> tableAttributes = CommonUtils.safeList(table.getAttributes(session.getProgressMonitor()));
+            columnSourceIndexes = new int[tableAttributes.size()];
+            for (int i = 0; i < tableAttributes.size(); i++) {
+                DBSEntityAttribute tableAttribute = tableAttributes.get(i);
+                int sourceIndex = ArrayUtils.indexOf(attributes, tableAttribute);
+                if (sourceIndex < 0) {
+                    for (int k = 0; k < attributes.length; k++) {
+                        if (attributes[k].getName().equalsIgnoreCase(tableAttribute.getName())) {
+                            sourceIndex = k;
+                            break;
+                        }
+                    }
+                }
+                if (sourceIndex < 0) {
+                    insertMode = true;
+                }
+                columnSourceIndexes[i] = sourceIndex;
+            }
+        } catch (DBException e) {
+            throw new DBCException("Error reading table columns", e);
+        }
+        if (insertMode) {
+            log.debug("Not all columns of '" + table.getName() + "' are mapped. Load rows with INSERT instead of appender.");
+            return;
+        }
+
+        Class<?> connectionClass = findDriverClass(session, DUCKDB_CONNECTION_CLASS);
+        if (connectionClass == null) {
+            throw new DBCException("DuckDB appender is not supported by driver");
+        }
+        String schemaName = table.getParentObject() instanceof DBSSchema ? table.getParentObject().getName() : DEFAULT_SCHEMA;
+        try {
+            Connection connection = session.getOriginal();
+            Object duckConnection = connection.unwrap(connectionClass);
+            appender = connectionClass.getMethod("createAppender", String.class, String.class)
+                .invoke(duckConnection, schemaName, table.getName());
+            Class<?> appenderClass = appender.getClass();
+            beginRowMethod = appenderClass.getMethod("beginRow");
+            endRowMethod = appenderClass.getMethod("endRow");
+            flushMethod = appenderClass.getMethod("flush");
+            closeMethod = appenderClass.getMethod("close");
+            appendStringMethod = appenderClass.getMethod("append", String.class);
+            appendLocalDateTimeMethod = findMethod(appenderClass, "appendLocalDateTime", LocalDateTime.class);
+        } catch (Throwable e) {
+            throw new DBCException("Error creating DuckDB appender", unwrapException(e));
+        }
+    }
+
+    @Override
+    protected void loadRows(@NotNull JDBCSession session, @NotNull List<Object[]> rows) throws DBCException {
+        if (insertMode) {
+            super.loadRows(session, rows);
+            return;
+        }
+        try {
+            for (Object[] row : rows) {
+                beginRowMethod.invoke(appender);
+                for (int sourceIndex : columnSourceIndexes) {
+                    appendValue(sourceIndex, sourceIndex < 0 ? null : getRawValue(row[sourceIndex]));
+                }
+                endRowMethod.invoke(appender);
+            }
+            flushMethod.invoke(appender);
+        } catch (Throwable e) {
+            throw new DBCException("Error appending rows", unwrapException(e));
+        }
+    }
+
+    @Override
+    protected void endBulkLoad(@NotNull JDBCSession session) throws DBCException {
+        try {
+            closeAppender();
+        } catch (Throwable e) {
+            throw new DBCException("Error closing DuckDB appender", unwrapException(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        try {
+            closeAppender();
+        } catch (Throwable e) {
+            log.debug("Error closing DuckDB appender", unwrapException(e));
+        }
+    }
+
+    private void closeAppender() throws Exception {
+        if (appender != null) {
+            Object closingAppender = appender;
+            appender = null;
+            closeMethod.invoke(closingAppender);
+        }
+    }
+
+    private void appendValue(int sourceIndex, @Nullable Object value) throws Exception {
+        if (value == null) {
+            // append(String) appends NULL for null values
+            appendStringMethod.invoke(appender, (Object) null);
+            return;
+        }
+        if (value instanceof Timestamp) {
+            value = ((Timestamp) value).toLocalDateTime();
+        }
+        if (value instanceof LocalDateTime && appendLocalDateTimeMethod != null) {
+            appendLocalDateTimeMethod.invoke(appender, value);
+            return;
+        }
+        Class<?> valueClass = value.getClass();
+        Method appendMethod;
+        if (appendMethods.containsKey(valueClass)) {
+            appendMethod = appendMethods.get(valueClass);
+        } else {
+            Class<?> appendType = APPEND_TYPES.get(valueClass);
+            appendMethod = appendType == null ? null : findMethod(appender.getClass(), "append", appendType);
+            appendMethods.put(valueClass, appendMethod);
+        }
+        if (appendMethod != null) {
+            appendMethod.invoke(appender, value);
+        } else {
+            // Appender casts strings to the column type
+            String strValue = value instanceof LocalDateTime ? value.toString() :
+                valueHandlers[sourceIndex].getValueDisplayString(attributes[sourceIndex], value, DBDDisplayFormat.NATIVE);
+            appendStringMethod.invoke(appender, strValue);
+        }
+    }
+
+    @Nullable
+    private static Method findMethod(@NotNull Class<?> objectClass, @NotNull String name, @NotNull Class<?> paramType) {
+        try {
+            return objectClass.getMethod(name, paramType);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Throwable unwrapException(Throwable e) {
+        if (e instanceof InvocationTargetException) {
+            return ((InvocationTargetException) e).getTargetException();
+        }
+        return e;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mssql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk loader based on SQLServerBulkCopy (Microsoft JDBC driver only).
+ *
+ * //        SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(connection);
+ * //        bulkCopy.setDestinationTableName("[dbo].[table1]");
+ * //        bulkCopy.writeToServer(bulkData);
+ *
+ * Driver classes are accessed with reflection, rows are provided with a dynamic proxy of ISQLServerBulkData.
+ */
+public class SQLServerBulkCopyLoader extends JDBCBulkLoader {
+
+    private static final String BULK_COPY_CLASS = "com.microsoft.sqlserver.jdbc.SQLServerBulkCopy";
+    private static final String BULK_COPY_OPTIONS_CLASS = "com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions";
+    private static final String BULK_DATA_CLASS = "com.microsoft.sqlserver.jdbc.ISQLServerBulkData";
+    // Older drivers
+    private static final String BULK_RECORD_CLASS = "com.microsoft.sqlserver.jdbc.ISQLServerBulkRecord";
+
+    private Class<?> bulkCopyClass;
+    private Class<?> bulkCopyOptionsClass;
+    private Class<?> bulkDataClass;
+
+    @Override
+    protected void initBulkLoad(@NotNull JDBCSession session, Map<String, Object> options) throws DBCException {
+        bulkCopyClass = findDriverClass(session, BULK_COPY_CLASS);
+        bulkCopyOptionsClass = findDriverClass(session, BULK_COPY_OPTIONS_CLASS);
+        bulkDataClass = findDriverClass(session, BULK_DATA_CLASS);
+        if (bulkDataClass == null) {
+            bulkDataClass = findDriverClass(session, BULK_RECORD_CLASS);
+        }
+        if (bulkCopyClass == null || bulkCopyOptionsClass == null || bulkDataClass == null) {
+            throw new DBCException("Bulk copy is not supported by driver. Use Microsoft SQL Server JDBC driver.");
+        }
+    }
+
+    @Override
+    protected void loadRows(@NotNull JDBCSession session, @NotNull List<Object[]> rows) throws DBCException {
+        Object bulkCopy = null;
+        try {
+            Connection connection = session.getOriginal();
+            bulkCopy = bulkCopyClass.getConstructor(Connection.class).newInstance(connection);
+
+            Object copyOptions = bulkCopyOptionsClass.getConstructor().newInstance();
+            bulkCopyOptionsClass.getMethod("setBatchSize", Integer.TYPE).invoke(copyOptions, rows.size());
+            // Bulk copy participates in connection transaction
+            bulkCopyOptionsClass.getMethod("setUseInternalTransaction", Boolean.TYPE).invoke(copyOptions, false);
+            bulkCopyClass.getMethod("setBulkCopyOptions", bulkCopyOptionsClass).invoke(bulkCopy, copyOptions);
+            bulkCopyClass.getMethod("setDestinationTableName", String.class).invoke(bulkCopy, getTableName());
+            for (int i = 0; i < attributes.length; i++) {
+                bulkCopyClass.getMethod("addColumnMapping", Integer.TYPE, String.class)
+                    .invoke(bulkCopy, i + 1, attributes[i].getName());
+            }
+
+            Object bulkData = Proxy.newProxyInstance(
+                bulkDataClass.getClassLoader(),
+                new Class[] { bulkDataClass },
+                new BulkDataHandler(rows.iterator()));
+            bulkCopyClass.getMethod("writeToServer", bulkDataClass).invoke(bulkCopy, bulkData);
+        } catch (Throwable e) {
+            if (e instanceof InvocationTargetException) {
+                e = ((InvocationTargetException) e).getTargetException();
+            }
+            throw new DBCException("Error copying dataset on remote server", e);
+        } finally {
+            if (bulkCopy != null) {
+                try {
+                    bulkCopyClass.getMethod("close").invoke(bulkCopy);
+                } catch (Throwable e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Implements ISQLServerBulkData (and old ISQLServerBulkRecord) methods used by bulk copy
+     */
+    private class BulkDataHandler implements InvocationHandler {
+        private final Iterator<Object[]> rowIterator;
+        private Object[] currentRow;
+
+        BulkDataHandler(Iterator<Object[]> rowIterator) {
+            this.rowIterator = rowIterator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "next":
+                    if (!rowIterator.hasNext()) {
+                        currentRow = null;
+                        return false;
+                    }
+                    currentRow = rowIterator.next();
+                    return true;
+                case "getRowData": {
+                    Object[] rowData = new Object[currentRow.length];
+                    for (int i = 0; i < currentRow.length; i++) {
+                        rowData[i] = getRawValue(currentRow[i]);
+                    }
+                    return rowData;
+                }
+                case "getColumnOrdinals": {
+                    Set<Integer> ordinals = new LinkedHashSet<>();
+                    for (int i = 0; i < attributes.length; i++) {
+                        ordinals.add(i + 1);
+                    }
+                    return ordinals;
+                }
+                case "getColumnName":
+                    return getAttribute(args).getName();
+                case "getColumnType":
+                    return getAttribute(args).getTypeID();
+                case "getPrecision": {
+                    DBSAttributeBase attribute = getAttribute(args);
+                    DBPDataKind dataKind = attribute.getDataKind();
+                    if (dataKind == DBPDataKind.STRING || dataKind == DBPDataKind.BINARY) {
+                        return (int) Math.min(attribute.getMaxLength(), Integer.MAX_VALUE);
+                    }
+                    return CommonUtils.toInt(attribute.getPrecision());
+                }
+                case "getScale":
+                    return CommonUtils.toInt(getAttribute(args).getScale());
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Bulk data of " + getTableName();
+                default:
+                    // Optional methods (isAutoIncrement, etc)
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == Boolean.TYPE) {
+                        return false;
+                    } else if (returnType == Integer.TYPE) {
+                        return 0;
+                    }
+                    return null;
+            }
+        }
+
+        private DBSAttributeBase getAttribute(Object[] args) {
+            return attributes[(Integer) args[0] - 1];
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mysql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.exec.DBCStatementType;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCBulkLoader;
+
+import java.util.List;
+
+/**
+ * MySQL bulk loader.
+ *
+ * LOAD DATA LOCAL INFILE can't be used because local infile is disabled in all MySQL connections
+ * (it lets server read client files). Instead, rows are loaded with multi-row INSERT statements:
+ * each statement inserts up to {@link #MAX_ROWS_PER_STATEMENT} rows in one round trip.
+ */
+public class MySQLBulkLoader extends JDBCBulkLoader {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    // MySQL protocol limit of prepared statement parameters
+    private static final int MAX_PARAMETERS = 65535;
+
+    @Override
+    protected void loadRows(@NotNull JDBCSession session, @NotNull List<Object[]> rows) throws DBCException {
+        int rowsPerStatement = Math.max(1, Math.min(MAX_ROWS_PER_STATEMENT, MAX_PARAMETERS / attributes.length));
+        DBCStatement statement = null;
+        try {
+            for (int offset = 0; offset < rows.size(); offset += rowsPerStatement) {
+                int rowCount = Math.min(rowsPerStatement, rows.size() - offset);
+                if (statement == null || rowCount != rowsPerStatement) {
+                    // Statement for full chunk is reused, the last chunk needs its own statement
+                    if (statement != null) {
+                        statement.close();
+                    }
+                    statement = session.prepareStatement(DBCStatementType.QUERY, makeMultiRowInsertQuery(rowCount), false, false, false);
+                    statement.setStatementSource(executionSource);
+                }
+                int paramIndex = 0;
+                for (int i = 0; i < rowCount; i++) {
+                    Object[] row = rows.get(offset + i);
+                    for (int k = 0; k < attributes.length; k++) {
+                        valueHandlers[k].bindValueObject(session, statement, attributes[k], paramIndex++, row[k]);
+                    }
+                }
+                statement.executeStatement();
+                if (session.getProgressMonitor().isCanceled()) {
+                    break;
+                }
+            }
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+        }
+    }
+
+    @NotNull
+    private String makeMultiRowInsertQuery(int rowCount) {
+        StringBuilder query = new StringBuilder();
+        query.append("INSERT INTO ").append(getTableName()).append(" (").append(getColumnList()).append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                query.append(",");
+            }
+            query.append("(");
+            for (int k = 0; k < attributes.length; k++) {
+                if (k > 0) {
+                    query.append(",");
+                }
+                query.append("?");
+            }
+            query.append(")");
+        }
+        return query.toString();
+    }
+}
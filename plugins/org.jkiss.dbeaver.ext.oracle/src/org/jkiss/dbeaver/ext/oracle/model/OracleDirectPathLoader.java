@@ -0,0 +1,51 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.oracle.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCBulkLoader;
+
+import java.util.List;
+
+/**
+ * Oracle bulk loader.
+ * Each batch of rows is bound as parameter arrays of a single direct-path INSERT (with APPEND_VALUES hint).
+ * Direct-path insert writes data above the high water mark and locks the table.
+ * Table can't be modified again in the same transaction (ORA-12838), so each batch is committed.
+ */
+public class OracleDirectPathLoader extends JDBCBulkLoader {
+
+    @NotNull
+    @Override
+    protected String makeInsertQuery() {
+        return super.makeInsertQuery().replaceFirst("INSERT ", "INSERT /*+ APPEND_VALUES */ ");
+    }
+
+    @Override
+    protected void loadRows(@NotNull JDBCSession session, @NotNull List<Object[]> rows) throws DBCException {
+        super.loadRows(session, rows);
+
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            txnManager.commit(session);
+        }
+    }
+}
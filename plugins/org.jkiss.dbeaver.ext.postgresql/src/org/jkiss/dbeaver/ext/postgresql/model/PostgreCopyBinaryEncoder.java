@@ -0,0 +1,392 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDValue;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.temporal.Temporal;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Encoder of COPY ... (FORMAT BINARY) stream.
+ * Supports only basic types, see {@link #isTypeSupported(long)}.
+ *
+ * Stream format: header, tuples (int16 field count, then int32 length and value bytes for each field, -1 length for NULL),
+ * trailer (int16 -1). Values use the same binary representation as type send functions.
+ */
+class PostgreCopyBinaryEncoder {
+
+    private static final byte[] HEADER = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    // 2000-01-01 00:00:00 UTC
+    private static final long PG_EPOCH_SECONDS = 946684800L;
+    private static final long PG_EPOCH_DAYS = 10957L;
+
+    private static final short NUMERIC_POS = 0x0000;
+    private static final short NUMERIC_NEG = 0x4000;
+    private static final short NUMERIC_NAN = (short) 0xC000;
+    private static final BigInteger NBASE = BigInteger.valueOf(10000);
+
+    private final DataOutputStream out;
+
+    PostgreCopyBinaryEncoder(@NotNull OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    static boolean isTypeSupported(long typeId) {
+        switch ((int) typeId) {
+            case PostgreOid.INT2:
+            case PostgreOid.INT4:
+            case PostgreOid.INT8:
+            case PostgreOid.FLOAT4:
+            case PostgreOid.FLOAT8:
+            case PostgreOid.NUMERIC:
+            case PostgreOid.BOOL:
+            case PostgreOid.TEXT:
+            case PostgreOid.VARCHAR:
+            case PostgreOid.BPCHAR:
+            case PostgreOid.BYTEA:
+            case PostgreOid.DATE:
+            case PostgreOid.TIMESTAMP:
+            case PostgreOid.TIMESTAMPTZ:
+            case PostgreOid.UUID:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    void writeHeader() throws IOException {
+        out.write(HEADER);
+        // Flags
+        out.writeInt(0);
+        // Header extension length
+        out.writeInt(0);
+    }
+
+    void writeTrailer() throws IOException {
+        out.writeShort(-1);
+        out.flush();
+    }
+
+    void startTuple(int fieldCount) throws IOException {
+        out.writeShort(fieldCount);
+    }
+
+    void writeNull() throws IOException {
+        out.writeInt(-1);
+    }
+
+    /**
+     * Writes not null value of the specified type.
+     *
+     * @param monitor progress monitor used to read content (LOB) values
+     * @param stringValue provides string representation of values which are written as text
+     */
+    void writeValue(@NotNull DBRProgressMonitor monitor, long typeId, @NotNull Object value, @NotNull StringValueProvider stringValue) throws IOException {
+        switch ((int) typeId) {
+            case PostgreOid.INT2:
+                out.writeInt(2);
+                out.writeShort(toShortExact(value));
+                break;
+            case PostgreOid.INT4:
+                out.writeInt(4);
+                out.writeInt(toIntExact(value));
+                break;
+            case PostgreOid.INT8:
+                out.writeInt(8);
+                out.writeLong(toLongExact(value));
+                break;
+            case PostgreOid.FLOAT4:
+                out.writeInt(4);
+                out.writeFloat(toNumber(value).floatValue());
+                break;
+            case PostgreOid.FLOAT8:
+                out.writeInt(8);
+                out.writeDouble(toNumber(value).doubleValue());
+                break;
+            case PostgreOid.NUMERIC:
+                writeNumeric(toNumber(value));
+                break;
+            case PostgreOid.BOOL:
+                out.writeInt(1);
+                out.writeByte(toBoolean(value) ? 1 : 0);
+                break;
+            case PostgreOid.BYTEA:
+                writeBytes(toBytes(monitor, value));
+                break;
+            case PostgreOid.DATE:
+                out.writeInt(4);
+                out.writeInt((int) (toLocalDate(value).toEpochDay() - PG_EPOCH_DAYS));
+                break;
+            case PostgreOid.TIMESTAMP:
+                out.writeInt(8);
+                out.writeLong(toMicros(toLocalDateTime(value).toInstant(ZoneOffset.UTC)));
+                break;
+            case PostgreOid.TIMESTAMPTZ:
+                out.writeInt(8);
+                out.writeLong(toMicros(toInstant(value)));
+                break;
+            case PostgreOid.UUID: {
+                UUID uuid = value instanceof UUID ? (UUID) value : UUID.fromString(value.toString());
+                out.writeInt(16);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+                break;
+            }
+            default:
+                // Text types
+                String strValue = value instanceof String ? (String) value : stringValue.getString(value);
+                writeBytes(strValue.getBytes(StandardCharsets.UTF_8));
+                break;
+        }
+    }
+
+    private void writeBytes(@NotNull byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Numeric is written as base 10000 digits: ndigits, weight (of the first digit), sign, dscale, digits.
+     */
+    private void writeNumeric(@NotNull Number number) throws IOException {
+        if (number instanceof Double || number instanceof Float) {
+            double doubleValue = number.doubleValue();
+            if (Double.isNaN(doubleValue)) {
+                out.writeInt(8);
+                out.writeShort(0);
+                out.writeShort(0);
+                out.writeShort(NUMERIC_NAN);
+                out.writeShort(0);
+                return;
+            }
+            if (Double.isInfinite(doubleValue)) {
+                throw new IOException("Infinite value can't be written as numeric");
+            }
+        }
+        BigDecimal value = toBigDecimal(number);
+        int dscale = Math.max(value.scale(), 0);
+        if (value.signum() == 0) {
+            out.writeInt(8);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(NUMERIC_POS);
+            out.writeShort(dscale);
+            return;
+        }
+        BigInteger unscaled = value.unscaledValue().abs();
+        int scale = value.scale();
+        if (scale < 0) {
+            unscaled = unscaled.multiply(BigInteger.TEN.pow(-scale));
+            scale = 0;
+        }
+        // Align decimal point to base 10000 digits boundary
+        int pad = (4 - scale % 4) % 4;
+        if (pad > 0) {
+            unscaled = unscaled.multiply(BigInteger.TEN.pow(pad));
+            scale += pad;
+        }
+        short[] digits = new short[unscaled.bitLength() / 13 + 2];
+        int digitCount = 0;
+        while (unscaled.signum() != 0) {
+            BigInteger[] divRem = unscaled.divideAndRemainder(NBASE);
+            digits[digitCount++] = divRem[1].shortValue();
+            unscaled = divRem[0];
+        }
+        int weight = digitCount - 1 - scale / 4;
+        // Trailing zero digits are not stored
+        int lastDigit = 0;
+        while (lastDigit < digitCount && digits[lastDigit] == 0) {
+            lastDigit++;
+        }
+        int ndigits = digitCount - lastDigit;
+
+        out.writeInt(8 + ndigits * 2);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(value.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS);
+        out.writeShort(dscale);
+        for (int i = digitCount - 1; i >= lastDigit; i--) {
+            out.writeShort(digits[i]);
+        }
+    }
+
+    private static long toMicros(@NotNull Instant instant) {
+        return (instant.getEpochSecond() - PG_EPOCH_SECONDS) * 1000000L + instant.getNano() / 1000;
+    }
+
+    @NotNull
+    private static Number toNumber(@NotNull Object value) throws IOException {
+        if (value instanceof Number) {
+            return (Number) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Bad numeric value '" + value + "'", e);
+        }
+    }
+
+    /**
+     * Converts value to long. Fractional and out of range values are rejected instead of being truncated.
+     */
+    private static long toLongExact(@NotNull Object value) throws IOException {
+        Number number = toNumber(value);
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return number.longValue();
+        }
+        try {
+            if (number instanceof BigInteger) {
+                return ((BigInteger) number).longValueExact();
+            }
+            return toBigDecimal(number).longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IOException("Value " + value + " is out of range for bigint", e);
+        }
+    }
+
+    private static int toIntExact(@NotNull Object value) throws IOException {
+        long longValue = toLongExact(value);
+        if (longValue < Integer.MIN_VALUE || longValue > Integer.MAX_VALUE) {
+            throw new IOException("Value " + value + " is out of range for integer");
+        }
+        return (int) longValue;
+    }
+
+    private static short toShortExact(@NotNull Object value) throws IOException {
+        long longValue = toLongExact(value);
+        if (longValue < Short.MIN_VALUE || longValue > Short.MAX_VALUE) {
+            throw new IOException("Value " + value + " is out of range for smallint");
+        }
+        return (short) longValue;
+    }
+
+    @NotNull
+    private static BigDecimal toBigDecimal(@NotNull Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(value.longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(value.doubleValue());
+        } else {
+            return new BigDecimal(value.toString());
+        }
+    }
+
+    private static boolean toBoolean(@NotNull Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        }
+        return CommonUtils.toBoolean(value);
+    }
+
+    @NotNull
+    private static byte[] toBytes(@NotNull DBRProgressMonitor monitor, @NotNull Object value) throws IOException {
+        if (value instanceof DBDContent) {
+            // Content may be backed by a LOB locator, so it is read from the content storage
+            byte[] bytes;
+            try {
+                bytes = ContentUtils.getContentBinaryValue(monitor, (DBDContent) value);
+            } catch (DBCException e) {
+                throw new IOException("Error reading content value", e);
+            }
+            if (bytes == null) {
+                throw new IOException("Content value can't be written as bytea");
+            }
+            return bytes;
+        } else if (value instanceof DBDValue) {
+            value = ((DBDValue) value).getRawValue();
+        }
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        } else if (value instanceof String) {
+            return ((String) value).getBytes(StandardCharsets.UTF_8);
+        }
+        throw new IOException("Value of type " + (value == null ? "NULL" : value.getClass().getName()) + " can't be written as bytea");
+    }
+
+    @NotNull
+    private static LocalDate toLocalDate(@NotNull Object value) throws IOException {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        } else if (value instanceof LocalDate) {
+            return (LocalDate) value;
+        }
+        return toLocalDateTime(value).toLocalDate();
+    }
+
+    @NotNull
+    private static LocalDateTime toLocalDateTime(@NotNull Object value) throws IOException {
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime();
+        } else if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().atStartOfDay();
+        } else if (value instanceof Date) {
+            return new java.sql.Timestamp(((Date) value).getTime()).toLocalDateTime();
+        } else if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).atStartOfDay();
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toLocalDateTime();
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toLocalDateTime();
+        }
+        throw new IOException("Value of type " + value.getClass().getName() + " can't be written as timestamp");
+    }
+
+    @NotNull
+    private static Instant toInstant(@NotNull Object value) throws IOException {
+        if (value instanceof Date && !(value instanceof java.sql.Date)) {
+            return ((Date) value).toInstant();
+        } else if (value instanceof Instant) {
+            return (Instant) value;
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toInstant();
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toInstant();
+        } else if (value instanceof Temporal || value instanceof java.sql.Date) {
+            return toLocalDateTime(value).atZone(ZoneId.systemDefault()).toInstant();
+        }
+        throw new IOException("Value of type " + value.getClass().getName() + " can't be written as timestamptz");
+    }
+
+    interface StringValueProvider {
+        @NotNull
+        String getString(@NotNull Object value);
+    }
+}
@@ -27,34 +27,36 @@ import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
-import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
-import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.Reader;
-import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Bulk loader based on CopyManager
+ * Bulk loader based on CopyManager.
  *
- * //        new CopyManager((BaseConnection) conn)
- * //            .copyIn(
- * //                "COPY table1 FROM STDIN (FORMAT csv)",
- * //                new BufferedReader(new FileReader("data.csv"))
- * //            );
+ * Rows are encoded into a bounded in-memory buffer which is written to the server
+ * each time it fills up, so load starts immediately and doesn't need temporary files:
+ *
+ * //        CopyIn copyIn = new CopyManager((BaseConnection) conn).copyIn("COPY table1 (c1,c2) FROM STDIN (FORMAT csv)");
+ * //        copyIn.writeToCopy(buffer, 0, length);
+ * //        ...
+ * //        copyIn.endCopy();
+ *
+ * Binary COPY format is used if requested in options and all columns have types supported
+ * by {@link PostgreCopyBinaryEncoder}.
  */
 public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
 
@@ -64,12 +66,18 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
     private PostgreTableReal table;
     private Object copyManager;
     private Method copyInMethod;
-    private Writer csvWriter;
-    private Path csvFile;
+    private Method writeToCopyMethod;
+    private Method flushCopyMethod;
+    private Method endCopyMethod;
+    private Method cancelCopyMethod;
+    private Object copyIn;
 
     private AttrMapping[] mappings;
+    private boolean binaryFormat;
+    private PostgreCopyBinaryEncoder binaryEncoder;
 
     private int copyBufferSize = 100 * 1024;
+    private final ByteArrayOutputStream copyBuffer = new ByteArrayOutputStream(copyBufferSize);
 
     private static class AttrMapping {
         PostgreTableColumn tableAttr;
@@ -81,6 +89,10 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
             this.valueHandler = valueHandler;
             this.srcPos = srcPos;
         }
+
+        String getValueString(Object value) {
+            return valueHandler.getValueDisplayString(tableAttr, value, DBDDisplayFormat.NATIVE);
+        }
     }
 
     public PostgreCopyLoader(PostgreDataSource dataSource) {
@@ -105,38 +117,40 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
             Class<?> baseConnectionClass = Class.forName("org.postgresql.core.BaseConnection", true, driverClassLoader);
             Class<?> copyManagerClass = Class.forName("org.postgresql.copy.CopyManager", true, driverClassLoader);
+            Class<?> copyInClass = Class.forName("org.postgresql.copy.CopyIn", true, driverClassLoader);
 
-            // Get method copyIn(final String sql, Reader from, int bufferSize)
-            copyInMethod = copyManagerClass.getMethod("copyIn", String.class, Reader.class, Integer.TYPE);
+            // Get method copyIn(final String sql)
+            copyInMethod = copyManagerClass.getMethod("copyIn", String.class);
+            writeToCopyMethod = copyInClass.getMethod("writeToCopy", byte[].class, Integer.TYPE, Integer.TYPE);
+            flushCopyMethod = copyInClass.getMethod("flushCopy");
+            endCopyMethod = copyInClass.getMethod("endCopy");
+            cancelCopyMethod = copyInClass.getMethod("cancelCopy");
 
             copyManager = copyManagerClass.getConstructor(baseConnectionClass).newInstance(pgConnection);
 
-            Path tempFolder = DBWorkbench.getPlatform().getTempFolder(session.getProgressMonitor(), "postgesql-copy-datasets");
-            csvFile = tempFolder.resolve(CommonUtils.escapeFileName(table.getFullyQualifiedName(DBPEvaluationContext.DML)) + "-" + System.currentTimeMillis() + ".csv");  //$NON-NLS-1$ //$NON-NLS-2$
-            try {
-                Files.createFile(csvFile);
-            } catch (IOException ex) {
-                throw new IOException("Can't create CSV file " + csvFile);
+            List<AttrMapping> attrMappings = new ArrayList<>();
+            boolean binarySupported = true;
+            for (PostgreTableColumn attr : CommonUtils.safeList(table.getAttributes(session.getProgressMonitor()))) {
+                int srcPos = ArrayUtils.indexOf(attributes, attr);
+                if (attr.getOrdinalPosition() < 0 || srcPos < 0) {
+                    // Not mapped columns are excluded from COPY columns list and get default values
+                    continue;
+                }
+                attrMappings.add(new AttrMapping(attr, DBUtils.findValueHandler(session, attr), srcPos));
+                if (!PostgreCopyBinaryEncoder.isTypeSupported(attr.getTypeId())) {
+                    binarySupported = false;
+                }
             }
+            mappings = attrMappings.toArray(new AttrMapping[0]);
 
-            csvWriter = new BufferedWriter(
-                Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8),
-                copyBufferSize
-                );
-
-            List<? extends PostgreTableColumn> tableAttrs = CommonUtils.safeList(table.getAttributes(session.getProgressMonitor()));
-            tableAttrs.removeIf(a -> a.getOrdinalPosition() < 0);
-            mappings = new AttrMapping[tableAttrs.size()];
-
-            for (int i = 0; i < tableAttrs.size(); i++) {
-                PostgreTableColumn attr = tableAttrs.get(i);
-                DBDValueHandler valueHandler = DBUtils.findValueHandler(session, attr);
-                AttrMapping mapping = new AttrMapping(
-                    attr,
-                    valueHandler,
-                    ArrayUtils.indexOf(attributes, attr)
-                );
-                mappings[i] = mapping;
+            binaryFormat = CommonUtils.getBoolean(options.get(DBSDataBulkLoader.OPTION_BINARY_FORMAT), false);
+            if (binaryFormat && !binarySupported) {
+                log.debug("Table " + table.getFullyQualifiedName(DBPEvaluationContext.DML) +
+                    " has columns which can't be loaded in binary format. Use CSV format.");
+                binaryFormat = false;
+            }
+            if (binaryFormat) {
+                binaryEncoder = new PostgreCopyBinaryEncoder(copyBuffer);
             }
         } catch (Exception e) {
             throw new DBCException("Can't instantiate CopyManager", e);
@@ -146,32 +160,57 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
     @Override
     public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        if (copyIn == null) {
+            startCopy(session);
+        }
+        try {
+            if (binaryFormat) {
+                writeBinaryRow(session.getProgressMonitor(), attributeValues);
+            } else {
+                writeCsvRow(attributeValues);
+            }
+        } catch (IOException e) {
+            throw new DBCException("Error encoding COPY row", e);
+        }
+        if (copyBuffer.size() >= copyBufferSize) {
+            writeCopyBuffer();
+        }
+    }
+
+    private void writeCsvRow(@NotNull Object[] attributeValues) {
         StringBuilder line = new StringBuilder();
-        boolean hasCell = false;
-        for (AttrMapping mapping : mappings) {
-            if (mapping.srcPos >= 0) {
-                if (hasCell) {
-                    line.append(",");
-                }
-                Object srcValue = attributeValues[mapping.srcPos];
-                if (!DBUtils.isNullValue(srcValue)) {
-                    if (srcValue instanceof Number) {
-                        line.append(srcValue);
-                    } else {
-                        String strValue = mapping.valueHandler.getValueDisplayString(
-                            mapping.tableAttr, srcValue, DBDDisplayFormat.NATIVE);
-                        strValue = convertStringValueToCell(strValue);
-                        line.append(strValue);
-                    }
+        for (int i = 0; i < mappings.length; i++) {
+            AttrMapping mapping = mappings[i];
+            if (i > 0) {
+                line.append(",");
+            }
+            Object srcValue = attributeValues[mapping.srcPos];
+            if (!DBUtils.isNullValue(srcValue)) {
+                if (srcValue instanceof Number) {
+                    line.append(srcValue);
+                } else {
+                    line.append(convertStringValueToCell(mapping.getValueString(srcValue)));
                 }
-                hasCell = true;
             }
         }
         line.append("\n");
-        try {
-            csvWriter.write(line.toString());
-        } catch (IOException e) {
-            throw new DBCException("Error writing CSV line", e);
+        byte[] lineBytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        copyBuffer.write(lineBytes, 0, lineBytes.length);
+    }
+
+    private void writeBinaryRow(@NotNull DBRProgressMonitor monitor, @NotNull Object[] attributeValues) throws IOException, DBCException {
+        binaryEncoder.startTuple(mappings.length);
+        for (AttrMapping mapping : mappings) {
+            Object srcValue = attributeValues[mapping.srcPos];
+            if (DBUtils.isNullValue(srcValue)) {
+                binaryEncoder.writeNull();
+            } else {
+                try {
+                    binaryEncoder.writeValue(monitor, mapping.tableAttr.getTypeId(), srcValue, mapping::getValueString);
+                } catch (IOException e) {
+                    throw new DBCException("Error encoding value of column '" + mapping.tableAttr.getName() + "': " + e.getMessage(), e);
+                }
+            }
         }
     }
 
@@ -181,36 +220,73 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
             '"';
     }
 
+    private void startCopy(@NotNull DBCSession session) throws DBCException {
+        String tableFQN = table.getFullyQualifiedName(DBPEvaluationContext.DML);
+        session.getProgressMonitor().subTask("Copy into " + tableFQN);
+
+        StringBuilder queryText = new StringBuilder();
+        queryText.append("COPY ").append(tableFQN).append(" (");
+        for (int i = 0; i < mappings.length; i++) {
+            if (i > 0) {
+                queryText.append(",");
+            }
+            queryText.append(DBUtils.getQuotedIdentifier(mappings[i].tableAttr));
+        }
+        queryText.append(") FROM STDIN ");
+        if (binaryFormat) {
+            queryText.append("(FORMAT BINARY)");
+        } else {
+            queryText.append("(FORMAT CSV, ESCAPE '\\')");
+        }
+        try {
+            copyIn = copyInMethod.invoke(copyManager, queryText.toString());
+            if (binaryFormat) {
+                binaryEncoder.writeHeader();
+            }
+        } catch (Throwable e) {
+            throw new DBCException("Error starting COPY on remote server", unwrapException(e));
+        }
+    }
+
+    private void writeCopyBuffer() throws DBCException {
+        if (copyBuffer.size() == 0) {
+            return;
+        }
+        try {
+            writeToCopyMethod.invoke(copyIn, copyBuffer.toByteArray(), 0, copyBuffer.size());
+        } catch (Throwable e) {
+            throw new DBCException("Error copying dataset on remote server", unwrapException(e));
+        } finally {
+            copyBuffer.reset();
+        }
+    }
+
     @Override
     public void flushRows(@NotNull DBCSession session) throws DBCException {
+        if (copyIn == null) {
+            return;
+        }
+        writeCopyBuffer();
         try {
-            csvWriter.flush();
-        } catch (IOException e) {
-            throw new DBCException("Error saving CSV data", e);
+            flushCopyMethod.invoke(copyIn);
+        } catch (Throwable e) {
+            throw new DBCException("Error copying dataset on remote server", unwrapException(e));
         }
     }
 
     @Override
     public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
-        try {
-            csvWriter.flush();
-            csvWriter.close();
-        } catch (IOException e) {
-            log.debug(e);
+        if (copyIn == null) {
+            // No rows
+            return;
         }
-        csvWriter = null;
-
-        String tableFQN = table.getFullyQualifiedName(DBPEvaluationContext.DML);
-
-        session.getProgressMonitor().subTask("Copy into " + tableFQN);
-
-        String queryText = "COPY " + tableFQN + " FROM STDIN (FORMAT CSV, ESCAPE '\\')";
-
         try {
-            Object rowCount;
-            try (Reader csvReader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
-                rowCount = copyInMethod.invoke(copyManager, queryText, csvReader, copyBufferSize);
+            if (binaryFormat) {
+                binaryEncoder.writeTrailer();
             }
+            writeCopyBuffer();
+            Object rowCount = endCopyMethod.invoke(copyIn);
+            copyIn = null;
 
             // Commit changes
             DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
@@ -219,25 +295,30 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
                 txnManager.commit(session);
             }
 
-            log.debug("CSV has been imported (" + rowCount + ")");
+            log.debug("Dataset has been copied (" + rowCount + ")");
         } catch (Throwable e) {
-            if (e instanceof InvocationTargetException) {
-                e = ((InvocationTargetException) e).getTargetException();
-            }
-            throw new DBCException("Error copying dataset on remote server", e);
+            throw new DBCException("Error copying dataset on remote server", unwrapException(e));
         }
     }
 
     @Override
-
     public void close() {
-        if (csvFile != null && Files.exists(csvFile)) {
+        copyBuffer.reset();
+        if (copyIn != null) {
+            // Load wasn't finished. Cancel copy to release connection.
             try {
-                Files.delete(csvFile);
-            } catch (IOException e) {
-                log.debug("Error deleting CSV file " + csvFile, e);
-                csvFile.toFile().deleteOnExit();
+                cancelCopyMethod.invoke(copyIn);
+            } catch (Throwable e) {
+                log.debug("Error canceling COPY", unwrapException(e));
             }
+            copyIn = null;
+        }
+    }
+
+    private static Throwable unwrapException(Throwable e) {
+        if (e instanceof InvocationTargetException) {
+            return ((InvocationTargetException) e).getTargetException();
         }
+        return e;
     }
 }
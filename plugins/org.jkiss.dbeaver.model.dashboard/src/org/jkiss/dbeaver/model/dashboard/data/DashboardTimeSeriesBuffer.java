@@ -0,0 +1,239 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.dashboard.data;
+
+/**
+ * Fixed-capacity time series of dashboard item values.
+ *
+ * Items are kept in primitive ring buffers ordered by timestamp. When buffer is full the oldest item is dropped.
+ * Items older than max age (relative to the newest item) are dropped as well.
+ * Delta values are calculated in place, from the previous raw value.
+ */
+public class DashboardTimeSeriesBuffer {
+
+    private long[] timestamps;
+    private double[] values;
+    // Index of the oldest item
+    private int start;
+    private int size;
+    private long maxAge;
+    // Raw value of the previous delta item
+    private double lastRawValue = Double.NaN;
+    // Modifications counter
+    private int version;
+
+    /**
+     * @param capacity max number of items
+     * @param maxAge max item age in milliseconds. Zero means no limit.
+     */
+    public DashboardTimeSeriesBuffer(int capacity, long maxAge) {
+        capacity = Math.max(capacity, 1);
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+        this.maxAge = maxAge;
+    }
+
+    public int getCapacity() {
+        return timestamps.length;
+    }
+
+    /**
+     * Changes buffer capacity. The newest items are kept.
+     */
+    public void setCapacity(int capacity) {
+        capacity = Math.max(capacity, 1);
+        if (capacity == timestamps.length) {
+            return;
+        }
+        int newSize = Math.min(size, capacity);
+        long[] newTimestamps = new long[capacity];
+        double[] newValues = new double[capacity];
+        for (int i = 0; i < newSize; i++) {
+            int index = physicalIndex(size - newSize + i);
+            newTimestamps[i] = timestamps[index];
+            newValues[i] = values[index];
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        start = 0;
+        size = newSize;
+        version++;
+    }
+
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(long maxAge) {
+        this.maxAge = maxAge;
+        removeExpiredItems();
+        version++;
+    }
+
+    public int getItemCount() {
+        return size;
+    }
+
+    /**
+     * Returns item timestamp. Index 0 is the oldest item.
+     */
+    public long getTimestamp(int index) {
+        return timestamps[physicalIndex(index)];
+    }
+
+    public double getValue(int index) {
+        return values[physicalIndex(index)];
+    }
+
+    /**
+     * Returns modifications counter. It may be used to invalidate data derived from this buffer.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Adds new item or updates value of the item with the same timestamp.
+     */
+    public void addOrUpdate(long timestamp, double value) {
+        if (size > 0 && timestamp <= getTimestamp(size - 1)) {
+            insertOrUpdate(timestamp, value);
+        } else {
+            if (size == timestamps.length) {
+                // Drop the oldest item
+                start = physicalIndex(1);
+                size--;
+            }
+            int index = physicalIndex(size);
+            timestamps[index] = timestamp;
+            values[index] = value;
+            size++;
+        }
+        removeExpiredItems();
+        version++;
+    }
+
+    /**
+     * Adds difference between the specified and the previous raw value divided by period.
+     * Returns false if there is no previous value yet.
+     */
+    public boolean addDelta(long timestamp, double rawValue, double period, boolean round) {
+        double prevValue = lastRawValue;
+        lastRawValue = rawValue;
+        if (Double.isNaN(prevValue)) {
+            return false;
+        }
+        double delta = (rawValue - prevValue) / period;
+        if (round) {
+            delta = Math.round(delta);
+        }
+        addOrUpdate(timestamp, delta);
+        return true;
+    }
+
+    public void clear() {
+        start = 0;
+        size = 0;
+        lastRawValue = Double.NaN;
+        version++;
+    }
+
+    /**
+     * Copies items to the specified arrays. If there are more than {@code maxItems} items then adjacent items
+     * are merged: each output item has the average value and the last timestamp of merged items.
+     * Buckets are aligned to the newest item, so it is always present as is.
+     *
+     * @return number of output items
+     */
+    public int downsample(int maxItems, long[] timestampsOut, double[] valuesOut) {
+        if (size <= maxItems) {
+            for (int i = 0; i < size; i++) {
+                timestampsOut[i] = getTimestamp(i);
+                valuesOut[i] = getValue(i);
+            }
+            return size;
+        }
+        int bucketSize = (size + maxItems - 1) / maxItems;
+        int count = (size + bucketSize - 1) / bucketSize;
+        int bucketEnd = size;
+        for (int bucket = count - 1; bucket >= 0; bucket--) {
+            int bucketStart = Math.max(bucketEnd - bucketSize, 0);
+            double sum = 0;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                sum += getValue(i);
+            }
+            timestampsOut[bucket] = getTimestamp(bucketEnd - 1);
+            valuesOut[bucket] = sum / (bucketEnd - bucketStart);
+            bucketEnd = bucketStart;
+        }
+        return count;
+    }
+
+    private int physicalIndex(int index) {
+        int physical = start + index;
+        return physical < timestamps.length ? physical : physical - timestamps.length;
+    }
+
+    private void insertOrUpdate(long timestamp, double value) {
+        // Binary search of the item position
+        int low = 0, high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midTimestamp = getTimestamp(mid);
+            if (midTimestamp < timestamp) {
+                low = mid + 1;
+            } else if (midTimestamp > timestamp) {
+                high = mid - 1;
+            } else {
+                values[physicalIndex(mid)] = value;
+                return;
+            }
+        }
+        int position = low;
+        if (size == timestamps.length) {
+            if (position == 0) {
+                // Older than all items of the full buffer
+                return;
+            }
+            start = physicalIndex(1);
+            size--;
+            position--;
+        }
+        // Shift newer items
+        for (int i = size; i > position; i--) {
+            int to = physicalIndex(i), from = physicalIndex(i - 1);
+            timestamps[to] = timestamps[from];
+            values[to] = values[from];
+        }
+        int index = physicalIndex(position);
+        timestamps[index] = timestamp;
+        values[index] = value;
+        size++;
+    }
+
+    private void removeExpiredItems() {
+        if (maxAge <= 0 || size == 0) {
+            return;
+        }
+        long newestTimestamp = getTimestamp(size - 1);
+        while (size > 0 && newestTimestamp - getTimestamp(0) > maxAge) {
+            start = physicalIndex(1);
+            size--;
+        }
+    }
+
+}
@@ -22,12 +22,14 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPAdaptable;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCSavepointImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCStatementCache;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
@@ -65,6 +67,8 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Integer transactionIsolationLevel;
     private transient volatile boolean txnIsolationLevelReadInProgress;
     private final ReentrantLock queryExecutionLock;
+    private final boolean statementCacheEnabled;
+    private volatile JDBCStatementCache statementCache;
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, String purpose) {
         super(instance.getDataSource(), purpose);
@@ -74,12 +78,14 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         } else {
             queryExecutionLock = null;
         }
+        statementCacheEnabled = true;
     }
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, boolean test) {
         super(instance.getDataSource(), "Test for " + instance);
         this.instance = instance;
         queryExecutionLock = null;
+        statementCacheEnabled = false;
     }
 
     @Override
@@ -200,6 +206,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         synchronized (this) {
+            invalidateStatementCache();
             // If we cannot determine if connection is in autocommit mode, assume that it is not
             if (connection != null && !dataSource.closeConnection(connection, purpose, !isAutoCommit(false))) {
                 log.debug("Connection close timeout");
@@ -235,6 +242,48 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         return connection;
     }
 
+    /**
+     * Cache of prepared statements. Null if statements caching is disabled.
+     */
+    @Nullable
+    public JDBCStatementCache getStatementCache() {
+        JDBCStatementCache cache = statementCache;
+        if (cache == null && statementCacheEnabled) {
+            int cacheSize = dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.META_STATEMENT_CACHE_SIZE);
+            if (cacheSize > 0) {
+                synchronized (this) {
+                    cache = statementCache;
+                    if (cache == null) {
+                        cache = statementCache = new JDBCStatementCache(cacheSize);
+                    }
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Closes all cached statements. Must be called when connection state which affects
+     * queries compilation (e.g. active catalog or schema) is changed outside of context defaults.
+     */
+    public void invalidateStatementCache() {
+        JDBCStatementCache cache = statementCache;
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * Invalidates statement cache if successfully executed query could change objects or session state
+     * (DDL, SET search_path, USE, etc).
+     */
+    public void handleQueryExecuted(@Nullable String query) {
+        JDBCStatementCache cache = statementCache;
+        if (cache != null && JDBCStatementCache.isCacheInvalidatingQuery(dataSource.getSQLDialect(), query)) {
+            cache.invalidate();
+        }
+    }
+
     @NotNull
     @Override
     public JDBCSession openSession(@NotNull DBRProgressMonitor monitor, @NotNull DBCExecutionPurpose purpose, @NotNull String taskTitle) {
@@ -58,6 +58,7 @@ public abstract class JDBCCompositeCache<
 {
     protected static final Log log = Log.getLog(JDBCCompositeCache.class);
     private static final String DEFAULT_OBJECT_NAME = "#DBOBJ";
+    private static final Object FULL_LOAD_KEY = new Object();
 
     private final JDBCStructCache<OWNER,?,?> parentCache;
     private final Class<PARENT> parentType;
@@ -65,6 +66,11 @@ public abstract class JDBCCompositeCache<
     private final Object objectColumnName;
 
     private final Map<PARENT, List<OBJECT>> objectCache = new IdentityHashMap<>();
+    // Immutable copy of objectCache used by lock-free readers in read-optimized mode
+    private volatile Map<PARENT, List<OBJECT>> objectCacheSnapshot;
+    // Concurrent loads of the same parent wait for each other
+    private final JDBCLoadLocks loadLocks = new JDBCLoadLocks();
+    private final JDBCPrefetchPlanner prefetchPlanner = new JDBCPrefetchPlanner();
 
     protected JDBCCompositeCache(
         JDBCStructCache<OWNER,?,?> parentCache,
@@ -76,6 +82,9 @@ public abstract class JDBCCompositeCache<
         this.parentType = parentType;
         this.parentColumnName = parentColumnName;
         this.objectColumnName = objectColumnName;
+        // Indexes and constraints are read by navigator, completion and semantic analysis much more often
+        // than they are loaded, so readers use lock-free snapshots.
+        setReadOptimized(true);
     }
 
     @NotNull
@@ -108,6 +117,12 @@ public abstract class JDBCCompositeCache<
         return false;
     }
 
+    // Checks whether objects of all parents may be read at once when objects of many separate parents are requested.
+    // Should be disabled if reading of all owner objects is much slower than reading of a single parent objects.
+    protected boolean isPrefetchEnabled() {
+        return true;
+    }
+
     @NotNull
     @Override
     public List<OBJECT> getAllObjects(@NotNull DBRProgressMonitor monitor, @Nullable OWNER owner)
@@ -143,6 +158,20 @@ public abstract class JDBCCompositeCache<
     @Override
     public List<OBJECT> getCachedObjects(@Nullable PARENT forParent)
     {
+        if (isReadOptimized()) {
+            Map<PARENT, List<OBJECT>> cacheSnapshot = getObjectCacheSnapshot();
+            if (forParent != null) {
+                return cacheSnapshot.get(forParent);
+            }
+            if (!cacheSnapshot.isEmpty()) {
+                List<OBJECT> allChildren = new ArrayList<>();
+                for (List<OBJECT> children : cacheSnapshot.values()) {
+                    allChildren.addAll(children);
+                }
+                return allChildren;
+            }
+            return getCachedObjects();
+        }
         if (forParent == null) {
             synchronized (objectCache) {
                 if (!objectCache.isEmpty()) {
@@ -177,6 +206,8 @@ public abstract class JDBCCompositeCache<
         loadObjects(monitor, owner, forParent);
         if (forParent == null) {
             return getCachedObject(objectName);
+        } else if (isReadOptimized()) {
+            return DBUtils.findObject(getObjectCacheSnapshot().get(forParent), objectName);
         } else {
             synchronized (objectCache) {
                 return DBUtils.findObject(objectCache.get(forParent), objectName);
@@ -196,6 +227,7 @@ public abstract class JDBCCompositeCache<
                 objectCache.put(parent, objects);
             }
             objects.add(object);
+            updateObjectCacheSnapshot(parent);
         }
     }
 
@@ -213,6 +245,7 @@ public abstract class JDBCCompositeCache<
                     subCache.remove(object);
                 }
             }
+            updateObjectCacheSnapshot(parent);
         }
     }
 
@@ -221,9 +254,16 @@ public abstract class JDBCCompositeCache<
     {
         if (forParent == null) {
             super.clearCache();
-            objectCache.clear();
+            synchronized (objectCache) {
+                objectCache.clear();
+                objectCacheSnapshot = null;
+            }
         } else {
-            List<OBJECT> removedObjects = objectCache.remove(forParent);
+            List<OBJECT> removedObjects;
+            synchronized (objectCache) {
+                removedObjects = objectCache.remove(forParent);
+                updateObjectCacheSnapshot(forParent);
+            }
             if (removedObjects != null) {
                 for (OBJECT obj : removedObjects) {
                     super.removeObject(obj, false);
@@ -241,7 +281,9 @@ public abstract class JDBCCompositeCache<
     {
         synchronized (objectCache) {
             this.objectCache.clear();
+            this.objectCacheSnapshot = null;
         }
+        prefetchPlanner.reset();
         super.clearCache();
     }
 
@@ -259,6 +301,45 @@ public abstract class JDBCCompositeCache<
                 }
                 parentObjects.add(object);
             }
+            objectCacheSnapshot = null;
+        }
+    }
+
+    /**
+     * Publishes new snapshot with the changed objects list of the specified parent.
+     * Other parents' lists are shared with the previous snapshot. Called under objectCache lock.
+     */
+    private void updateObjectCacheSnapshot(PARENT parent) {
+        Map<PARENT, List<OBJECT>> cacheSnapshot = objectCacheSnapshot;
+        if (cacheSnapshot == null) {
+            return;
+        }
+        cacheSnapshot = new IdentityHashMap<>(cacheSnapshot);
+        List<OBJECT> objects = objectCache.get(parent);
+        if (objects == null) {
+            cacheSnapshot.remove(parent);
+        } else {
+            cacheSnapshot.put(parent, Collections.unmodifiableList(new ArrayList<>(objects)));
+        }
+        objectCacheSnapshot = cacheSnapshot;
+    }
+
+    @NotNull
+    private Map<PARENT, List<OBJECT>> getObjectCacheSnapshot() {
+        Map<PARENT, List<OBJECT>> cacheSnapshot = objectCacheSnapshot;
+        if (cacheSnapshot != null) {
+            return cacheSnapshot;
+        }
+        synchronized (objectCache) {
+            cacheSnapshot = objectCacheSnapshot;
+            if (cacheSnapshot == null) {
+                cacheSnapshot = new IdentityHashMap<>(objectCache.size());
+                for (Map.Entry<PARENT, List<OBJECT>> entry : objectCache.entrySet()) {
+                    cacheSnapshot.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+                }
+                objectCacheSnapshot = cacheSnapshot;
+            }
+            return cacheSnapshot;
         }
     }
 
@@ -274,18 +355,46 @@ public abstract class JDBCCompositeCache<
         }
     }
 
+    private boolean isLoaded(DBRProgressMonitor monitor, PARENT forParent) {
+        synchronized (objectCache) {
+            return monitor.isForceCacheUsage() ||
+                (forParent == null && isFullyCached()) ||
+                (forParent != null && (!forParent.isPersisted() || objectCache.containsKey(forParent)));
+        }
+    }
+
     protected void loadObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
         throws DBException
     {
-        synchronized (objectCache) {
-            if (monitor.isForceCacheUsage() ||
-                (forParent == null && isFullyCached()) ||
-                (forParent != null && (!forParent.isPersisted() || objectCache.containsKey(forParent))))
-            {
+        if (isLoaded(monitor, forParent)) {
+            return;
+        }
+        loadLocks.runLocked(forParent == null ? FULL_LOAD_KEY : forParent, () -> {
+            // The same objects may be read by another thread while we were waiting
+            if (isLoaded(monitor, forParent)) {
                 return;
             }
-        }
+            if (forParent != null && isPrefetchEnabled() && prefetchPlanner.registerLoad(owner)) {
+                // Objects of many parents were requested recently. Read objects of all parents at once.
+                try {
+                    loadObjects(monitor, owner, null);
+                } catch (DBException e) {
+                    log.debug("Error prefetching " + getClass().getSimpleName() + " of '" + owner.getName() + "'", e);
+                    prefetchPlanner.disable();
+                }
+                if (monitor.isCanceled() || isLoaded(monitor, forParent)) {
+                    return;
+                }
+                // Parent is missing in the owner level result
+                prefetchPlanner.disable();
+            }
+            readObjects(monitor, owner, forParent);
+        });
+    }
 
+    private void readObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
+        throws DBException
+    {
         // Load tables and columns first
         if (forParent == null) {
             parentCache.loadObjects(monitor, owner);
@@ -455,6 +564,11 @@ public abstract class JDBCCompositeCache<
                 } else if (!parentObjectMap.containsKey(forParent) && !objectCache.containsKey(forParent)) {
                     objectCache.put(forParent, new ArrayList<>());
                 }
+                if (forParent == null) {
+                    objectCacheSnapshot = null;
+                } else {
+                    updateObjectCacheSnapshot(forParent);
+                }
             }
             // Cache children lists (we do it in the end because children caching may operate with other model objects)
             for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
@@ -0,0 +1,77 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Serializes metadata loads with the same key (e.g. loads of indexes of one table).
+ * A thread which requests a load which is already in progress waits for it and
+ * then may reuse its result instead of running a duplicate query.
+ * Loads with different keys run in parallel.
+ */
+public class JDBCLoadLocks {
+
+    @FunctionalInterface
+    public interface Loader {
+        void load() throws DBException;
+    }
+
+    private static class LoadLock {
+        int refCount;
+    }
+
+    // Locks of loads which are in progress. Keys are compared by identity.
+    private final Map<Object, LoadLock> loadLocks = new IdentityHashMap<>();
+
+    /**
+     * Runs loader exclusively for the specified key.
+     * Loader should check whether objects were loaded by the previous lock holder.
+     */
+    public void runLocked(@NotNull Object key, @NotNull Loader loader) throws DBException {
+        LoadLock loadLock;
+        synchronized (loadLocks) {
+            loadLock = loadLocks.computeIfAbsent(key, k -> new LoadLock());
+            loadLock.refCount++;
+        }
+        try {
+            synchronized (loadLock) {
+                loader.load();
+            }
+        } finally {
+            synchronized (loadLocks) {
+                if (--loadLock.refCount == 0) {
+                    loadLocks.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns number of keys which are being loaded or waited for.
+     */
+    public int getActiveLoadCount() {
+        synchronized (loadLocks) {
+            return loadLocks.size();
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.utils.CommonUtils;
+
+/**
+ * Watches metadata loads of separate objects (e.g. columns of one table).
+ * If several different objects of the same owner are loaded within a short period of time
+ * then it is cheaper to load metadata of all owner objects with a single query.
+ * <p>
+ * Prefetch is opt-in: it is used only for drivers which declare the
+ * {@link DBConstants#DRIVER_PARAM_META_PREFETCH} driver parameter.
+ */
+public class JDBCPrefetchPlanner {
+
+    // Time window in which separate loads are counted
+    public static final long PREFETCH_TIME_WINDOW = 3000;
+
+    private final long timeWindow;
+    private Object lastOwner;
+    private long windowStart;
+    private int loadCount;
+    private boolean disabled;
+
+    public JDBCPrefetchPlanner() {
+        this(PREFETCH_TIME_WINDOW);
+    }
+
+    public JDBCPrefetchPlanner(long timeWindow) {
+        this.timeWindow = timeWindow;
+    }
+
+    /**
+     * Registers load of a single object metadata.
+     * Returns true if metadata of all owner objects should be loaded instead.
+     */
+    public boolean registerLoad(@NotNull DBSObject owner) {
+        return registerLoad(owner, getPrefetchThreshold(owner), System.currentTimeMillis());
+    }
+
+    /**
+     * Registers load of a single object metadata at the specified time.
+     * Returns true if more than {@code threshold} loads of the same owner happened within the time window.
+     */
+    public synchronized boolean registerLoad(@NotNull Object owner, int threshold, long currentTime) {
+        if (disabled || threshold <= 0) {
+            return false;
+        }
+        if (owner != lastOwner || currentTime - windowStart > timeWindow) {
+            lastOwner = owner;
+            windowStart = currentTime;
+            loadCount = 0;
+        }
+        loadCount++;
+        if (loadCount > threshold) {
+            loadCount = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Disables prefetch. Called when owner level load is not supported or failed.
+     */
+    public synchronized void disable() {
+        disabled = true;
+        lastOwner = null;
+    }
+
+    public synchronized void reset() {
+        disabled = false;
+        lastOwner = null;
+        loadCount = 0;
+    }
+
+    private static int getPrefetchThreshold(@NotNull DBSObject owner) {
+        DBPDataSource dataSource = owner.getDataSource();
+        if (dataSource == null) {
+            return 0;
+        }
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (!CommonUtils.toBoolean(container.getDriver().getDriverParameter(DBConstants.DRIVER_PARAM_META_PREFETCH))) {
+            return 0;
+        }
+        return container.getPreferenceStore().getInt(ModelPreferences.META_PREFETCH_THRESHOLD);
+    }
+
+}
@@ -50,6 +50,7 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
     private final Object objectNameColumn;
     private volatile boolean childrenCached = false;
     private final Map<OBJECT, SimpleObjectCache<OBJECT, CHILD>> childrenCache = new IdentityHashMap<>();
+    private final JDBCPrefetchPlanner prefetchPlanner = new JDBCPrefetchPlanner();
 
     abstract protected JDBCStatement prepareChildrenStatement(@NotNull JDBCSession session, @NotNull OWNER owner, @Nullable OBJECT forObject)
         throws SQLException;
@@ -59,6 +60,9 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
 
     protected JDBCStructCache(Object objectNameColumn) {
         this.objectNameColumn = objectNameColumn;
+        // Structure caches (tables, views, etc) are read by navigator, completion and semantic analysis
+        // much more often than they are modified, so readers use lock-free snapshots.
+        setReadOptimized(true);
     }
 
     /**
@@ -77,6 +81,20 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
             (forObject != null && (!forObject.isPersisted() || isChildrenCached(forObject)))) {
             return;
         }
+        if (forObject != null && !this.childrenCached && isPrefetchEnabled() && prefetchPlanner.registerLoad(owner)) {
+            // Children of many objects were requested recently. Read children of all objects at once.
+            try {
+                loadChildren(monitor, owner, null);
+            } catch (DBException e) {
+                log.debug("Error prefetching children of '" + owner.getName() + "'", e);
+                prefetchPlanner.disable();
+            }
+            if (monitor.isCanceled() || isChildrenCached(forObject)) {
+                return;
+            }
+            // Children of all objects can't be read or object is missing in the result
+            prefetchPlanner.disable();
+        }
         if (forObject == null) {
             // If we have some child objects read before that - do not clear them.
             // We have to reuse them because there could be some references in cached model
@@ -182,9 +200,16 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
     @Override
     public void clearCache() {
         this.clearChildrenCache(null);
+        prefetchPlanner.reset();
         super.clearCache();
     }
 
+    // Checks whether children of all objects may be read at once when children of many separate objects are requested.
+    // Should be disabled if reading of all owner children is much slower than reading of a single object children.
+    protected boolean isPrefetchEnabled() {
+        return true;
+    }
+
     /**
      * Returns cache for child objects. Creates cache i it doesn't exists
      *
@@ -0,0 +1,213 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDValue;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base JDBC bulk loader.
+ * Collects rows and loads them with {@link #loadRows(JDBCSession, List)} each time batch is full
+ * or when consumer flushes rows.
+ *
+ * Default implementation executes single prepared INSERT with a JDBC batch of all collected rows.
+ * Database-specific loaders override query or entire load procedure.
+ */
+public abstract class JDBCBulkLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(JDBCBulkLoader.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 10000;
+
+    protected DBSEntity table;
+    protected DBSAttributeBase[] attributes;
+    protected DBDValueHandler[] valueHandlers;
+    protected DBCExecutionSource executionSource;
+    protected int batchSize;
+    protected final List<Object[]> rows = new ArrayList<>();
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(dataContainer instanceof DBSEntity)) {
+            throw new DBCException("Bulk load is not supported for " + DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.UI));
+        }
+        this.table = (DBSEntity) dataContainer;
+        for (DBSAttributeBase attribute : attributes) {
+            if (DBUtils.isPseudoAttribute(attribute)) {
+                throw new DBCException("Bulk load of pseudo attribute '" + attribute.getName() + "' is not supported");
+            }
+        }
+        this.attributes = attributes;
+        this.valueHandlers = new DBDValueHandler[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            valueHandlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+        }
+        this.executionSource = source;
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        initBulkLoad((JDBCSession) session, options);
+        return this;
+    }
+
+    /**
+     * Validates driver capabilities and prepares loader. Called once before any rows are added.
+     */
+    protected void initBulkLoad(@NotNull JDBCSession session, Map<String, Object> options) throws DBCException {
+    }
+
+    /**
+     * Loads collected rows into the table
+     */
+    protected void loadRows(@NotNull JDBCSession session, @NotNull List<Object[]> rows) throws DBCException {
+        executeBatchInsert(session, makeInsertQuery(), rows);
+    }
+
+    /**
+     * Finishes load. Called after the last rows were loaded.
+     */
+    protected void endBulkLoad(@NotNull JDBCSession session) throws DBCException {
+    }
+
+    @NotNull
+    protected String makeInsertQuery() {
+        StringBuilder query = new StringBuilder();
+        query.append("INSERT INTO ").append(getTableName()).append(" (").append(getColumnList()).append(") VALUES (");
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) {
+                query.append(",");
+            }
+            query.append("?");
+        }
+        query.append(")");
+        return query.toString();
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        rows.add(attributeValues);
+        if (rows.size() >= batchSize) {
+            flushRows(session);
+        }
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            loadRows((JDBCSession) session, rows);
+        } finally {
+            rows.clear();
+        }
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        flushRows(session);
+        endBulkLoad((JDBCSession) session);
+
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            session.getProgressMonitor().subTask("Commit bulk load");
+            txnManager.commit(session);
+        }
+    }
+
+    @Override
+    public void close() {
+        rows.clear();
+    }
+
+    protected void executeBatchInsert(@NotNull JDBCSession session, @NotNull String query, @NotNull List<Object[]> rows) throws DBCException {
+        try (DBCStatement statement = session.prepareStatement(DBCStatementType.QUERY, query, false, false, false)) {
+            statement.setStatementSource(executionSource);
+            for (Object[] row : rows) {
+                for (int i = 0; i < attributes.length; i++) {
+                    valueHandlers[i].bindValueObject(session, statement, attributes[i], i, row[i]);
+                }
+                statement.addToBatch();
+            }
+            statement.executeStatementBatch();
+        }
+    }
+
+    @NotNull
+    protected String getTableName() {
+        return DBUtils.getObjectFullName(table, DBPEvaluationContext.DML);
+    }
+
+    @NotNull
+    protected String getColumnList() {
+        StringBuilder columns = new StringBuilder();
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) {
+                columns.append(",");
+            }
+            columns.append(DBUtils.getQuotedIdentifier(table.getDataSource(), attributes[i].getName()));
+        }
+        return columns.toString();
+    }
+
+    /**
+     * Unwraps complex values (e.g. LOBs) for driver APIs which accept only plain Java values
+     */
+    @Nullable
+    protected static Object getRawValue(@Nullable Object value) {
+        if (value instanceof DBDValue) {
+            DBDValue dbdValue = (DBDValue) value;
+            return dbdValue.isNull() ? null : dbdValue.getRawValue();
+        }
+        return value;
+    }
+
+    /**
+     * Returns driver class by name or null if driver doesn't have such class
+     */
+    @Nullable
+    protected static Class<?> findDriverClass(@NotNull JDBCSession session, @NotNull String className) {
+        try {
+            ClassLoader driverClassLoader = session.getOriginal().getClass().getClassLoader();
+            return Class.forName(className, true, driverClassLoader);
+        } catch (Throwable e) {
+            log.debug("Driver class '" + className + "' not found: " + e.getMessage());
+            return null;
+        }
+    }
+}
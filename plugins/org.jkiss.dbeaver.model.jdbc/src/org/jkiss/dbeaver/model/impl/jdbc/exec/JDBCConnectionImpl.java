@@ -32,6 +32,8 @@ import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
+import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 
 import java.sql.*;
 import java.util.Map;
@@ -191,7 +193,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
                 JDBCPreparedStatement dbStat;
                 try {
                     // Generic prepared statement
-                    dbStat = prepareStatement(
+                    dbStat = prepareCachedStatement(
                         sqlQuery,
                         scrollable ? ResultSet.TYPE_SCROLL_INSENSITIVE : ResultSet.TYPE_FORWARD_ONLY,
                         updatable ? ResultSet.CONCUR_UPDATABLE : ResultSet.CONCUR_READ_ONLY);
@@ -214,6 +216,39 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         }
     }
 
+    /**
+     * Takes prepared statement from the execution context statement cache or prepares a new one.
+     * Statement is returned to the cache on close.
+     */
+    @NotNull
+    private JDBCPreparedStatement prepareCachedStatement(String sql, int resultSetType, int resultSetConcurrency)
+        throws SQLException
+    {
+        JDBCStatementCache cache = context.getStatementCache();
+        if (cache == null || !JDBCStatementCache.isCacheableQuery(context.getDataSource().getSQLDialect(), sql)) {
+            return resultSetType == JDBCStatementCache.DEFAULT_RESULT_SET_OPTIONS ?
+                createPreparedStatementImpl(getOriginal().prepareStatement(sql), sql) :
+                prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+        DBCExecutionContextDefaults<?, ?> contextDefaults = context.getContextDefaults();
+        DBSCatalog defaultCatalog = contextDefaults == null ? null : contextDefaults.getDefaultCatalog();
+        DBSSchema defaultSchema = contextDefaults == null ? null : contextDefaults.getDefaultSchema();
+        JDBCStatementCache.Key cacheKey = new JDBCStatementCache.Key(
+            sql,
+            resultSetType,
+            resultSetConcurrency,
+            defaultCatalog == null ? null : defaultCatalog.getName(),
+            defaultSchema == null ? null : defaultSchema.getName());
+        int cacheVersion = cache.getVersion();
+        PreparedStatement original = cache.acquire(cacheKey);
+        if (original == null) {
+            original = resultSetType == JDBCStatementCache.DEFAULT_RESULT_SET_OPTIONS ?
+                getOriginal().prepareStatement(sql) :
+                getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+        return new JDBCPreparedStatementCachedImpl(this, original, cache, cacheKey, cacheVersion, !isLoggingEnabled());
+    }
+
     private static boolean isInternalDriverError(Throwable e) {
         return !(e instanceof SQLException) || e instanceof SQLFeatureNotSupportedException;
     }
@@ -261,7 +296,11 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql)
         throws SQLException
     {
-        return createPreparedStatementImpl(getOriginal().prepareStatement(sql), sql);
+        // Metadata readers use this method directly
+        return prepareCachedStatement(
+            sql,
+            JDBCStatementCache.DEFAULT_RESULT_SET_OPTIONS,
+            JDBCStatementCache.DEFAULT_RESULT_SET_OPTIONS);
     }
 
     @NotNull
@@ -373,6 +412,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         throws SQLException
     {
         getOriginal().setCatalog(catalog);
+        context.invalidateStatementCache();
     }
 
     @Override
@@ -580,6 +620,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public void setSchema(String schema) throws SQLException
     {
         getOriginal().setSchema(schema);
+        context.invalidateStatementCache();
     }
 
     @Override
@@ -16,20 +16,127 @@
  */
 package org.jkiss.dbeaver.model.impl.jdbc.exec;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement which original statement is taken from the execution context statement cache.
+ * On close the original statement is returned to the cache instead of closing.
+ * If statement options (max rows, fetch size, timeouts, etc) were changed then the original statement is closed.
+ */
 public class JDBCPreparedStatementCachedImpl extends JDBCPreparedStatementImpl {
 
-	public JDBCPreparedStatementCachedImpl(JDBCPreparedStatementImpl statment){
-		super(statment.getSession(), statment.original, statment.query, statment.disableLogging);
-	}
-
-	@Override
-	public void close() {
-		// For cached statement close() do nothing
-	}
-	
-	public void drop(){
-		super.close();
-	}
-	
+    @NotNull
+    private final JDBCStatementCache cache;
+    @NotNull
+    private final JDBCStatementCache.Key cacheKey;
+    private final int cacheVersion;
+    private boolean modified;
+
+    public JDBCPreparedStatementCachedImpl(
+        @NotNull JDBCSession session,
+        @NotNull PreparedStatement original,
+        @NotNull JDBCStatementCache cache,
+        @NotNull JDBCStatementCache.Key cacheKey,
+        int cacheVersion,
+        boolean disableLogging)
+    {
+        super(session, original, cacheKey.query(), disableLogging);
+        this.cache = cache;
+        this.cacheKey = cacheKey;
+        this.cacheVersion = cacheVersion;
+    }
+
+    @Override
+    protected void closeOriginal() {
+        if (modified || !cache.release(cacheKey, getOriginal(), cacheVersion)) {
+            super.closeOriginal();
+        }
+    }
+
+    /**
+     * Closes original statement. It won't be returned to the cache.
+     */
+    public void drop() {
+        modified = true;
+        close();
+    }
+
+    @Override
+    protected SQLException handleExecuteError(Throwable ex) {
+        // Statement state is unknown after error (e.g. server-side plan is invalid)
+        modified = true;
+        return super.handleExecuteError(ex);
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        modified = true;
+        super.setMaxFieldSize(max);
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        modified = true;
+        super.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        modified = true;
+        super.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        modified = true;
+        super.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        modified = true;
+        super.setCursorName(name);
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        modified = true;
+        super.setFetchDirection(direction);
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        modified = true;
+        super.setFetchSize(rows);
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        modified = true;
+        super.setPoolable(poolable);
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        modified = true;
+        super.closeOnCompletion();
+    }
+
+    @Override
+    public void setStatementTimeout(int timeout) throws DBCException {
+        modified = true;
+        super.setStatementTimeout(timeout);
+    }
+
+    @Override
+    public void setResultsFetchSize(int fetchSize) throws DBCException {
+        modified = true;
+        super.setResultsFetchSize(fetchSize);
+    }
+
 }
@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSetMetaData;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.exec.metrics.DBCExecutionMetrics;
 import org.jkiss.dbeaver.model.impl.AbstractResultSet;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCTrace;
 import org.jkiss.dbeaver.model.qm.QMUtils;
@@ -50,6 +51,11 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
     private long maxRows = -1;
     private final boolean fake;
     private final boolean disableLogging;
+    // Execution metrics
+    private final boolean collectMetrics;
+    private long openTime;
+    private long firstRowTime = -1;
+    private long bytesFetched;
 
     public static JDBCResultSet makeResultSet(@NotNull JDBCSession session, @Nullable JDBCStatement statement, @NotNull ResultSet original, String description, boolean disableLogging)
         throws SQLException
@@ -64,6 +70,10 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         this.disableLogging = disableLogging;
         this.description = description;
         this.fake = statement == null;
+        this.collectMetrics = !fake && DBCExecutionMetrics.isEnabled();
+        if (collectMetrics) {
+            this.openTime = System.nanoTime();
+        }
 
         if (!disableLogging) {
             // Notify handler
@@ -146,7 +156,7 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         checkNotEmpty();
         try {
             // JDBC uses 1-based indexes
-            return original.getObject(index + 1);
+            return countFetchedBytes(original.getObject(index + 1));
         }
         catch (SQLException e) {
             throw new DBCException(e, session.getExecutionContext());
@@ -157,13 +167,27 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
     public Object getAttributeValue(String name) throws DBCException {
         checkNotEmpty();
         try {
-            return original.getObject(name);
+            return countFetchedBytes(original.getObject(name));
         }
         catch (SQLException e) {
             throw new DBCException(e, session.getExecutionContext());
         }
     }
 
+    /**
+     * Accounts size of string and binary values in execution metrics
+     */
+    private <T> T countFetchedBytes(T value) {
+        if (collectMetrics) {
+            if (value instanceof String str) {
+                bytesFetched += str.length();
+            } else if (value instanceof byte[] bytes) {
+                bytesFetched += bytes.length;
+            }
+        }
+        return value;
+    }
+
     private void checkNotEmpty()
     {
         if (original == null) {
@@ -274,6 +298,9 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
             boolean fetched = original.next();
             if (fetched) {
                 rowsFetched++;
+                if (collectMetrics && firstRowTime < 0) {
+                    firstRowTime = System.nanoTime() - openTime;
+                }
             }
             if (fetched && JDBCTrace.isApiTraceEnabled()) {
                 JDBCTrace.dumpResultSetRow(this.original);
@@ -303,6 +330,10 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
                 // Handle close
                 QMUtils.getDefaultHandler().handleResultSetClose(this, rowsFetched);
             }
+            if (collectMetrics && statement instanceof JDBCStatementImpl<?> statementImpl) {
+                statementImpl.getMetricsRecorder().recordFetch(
+                    firstRowTime, System.nanoTime() - openTime, rowsFetched, bytesFetched);
+            }
 
             // Close result set
             try {
@@ -333,7 +364,7 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         throws SQLException
     {
         checkNotEmpty();
-        return original.getString(columnIndex);
+        return countFetchedBytes(original.getString(columnIndex));
     }
 
     private static void traceGetValue(int columnIndex, String value) {
@@ -410,7 +441,7 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         throws SQLException
     {
         checkNotEmpty();
-        return original.getBytes(columnIndex);
+        return countFetchedBytes(original.getBytes(columnIndex));
     }
 
     @Override
@@ -467,7 +498,7 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         throws SQLException
     {
         checkNotEmpty();
-        return original.getString(columnLabel);
+        return countFetchedBytes(original.getString(columnLabel));
     }
 
     @Override
@@ -540,7 +571,7 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         throws SQLException
     {
         checkNotEmpty();
-        return original.getBytes(columnLabel);
+        return countFetchedBytes(original.getBytes(columnLabel));
     }
 
     @Override
@@ -626,7 +657,7 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         throws SQLException
     {
         checkNotEmpty();
-        return original.getObject(columnIndex);
+        return countFetchedBytes(original.getObject(columnIndex));
     }
 
     @Override
@@ -634,7 +665,7 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         throws SQLException
     {
         checkNotEmpty();
-        return original.getObject(columnLabel);
+        return countFetchedBytes(original.getObject(columnLabel));
     }
 
     @Override
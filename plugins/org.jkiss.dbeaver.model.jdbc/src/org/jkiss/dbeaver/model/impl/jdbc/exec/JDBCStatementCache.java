@@ -0,0 +1,199 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * LRU cache of prepared statements of one execution context.
+ *
+ * Cached statement is used exclusively: it is removed from the cache when acquired
+ * and returned back when its wrapper is closed (see {@link JDBCPreparedStatementCachedImpl}).
+ * Statements are keyed by query text, result set options and context default catalog/schema.
+ * Only queries and DML are cached. Execution of any other statement (DDL, SET, USE, etc.) invalidates the cache
+ * because it may change objects or session state which cached statements were compiled against.
+ */
+public class JDBCStatementCache {
+
+    private static final Log log = Log.getLog(JDBCStatementCache.class);
+
+    /**
+     * Result set type and concurrency of statements prepared without result set options
+     */
+    public static final int DEFAULT_RESULT_SET_OPTIONS = 0;
+
+    private static final Set<String> CACHEABLE_KEYWORDS = Set.of(
+        "SELECT", "WITH", "INSERT", "UPDATE", "DELETE", "MERGE");
+    // Statements which don't change schema or session state
+    private static final Set<String> NON_INVALIDATING_KEYWORDS = Set.of(
+        "SELECT", "WITH", "INSERT", "UPDATE", "DELETE", "MERGE", "VALUES",
+        "SHOW", "EXPLAIN", "DESCRIBE", "DESC",
+        "COMMIT", "ROLLBACK", "SAVEPOINT", "RELEASE");
+
+    public record Key(
+        @NotNull String query,
+        int resultSetType,
+        int resultSetConcurrency,
+        @Nullable String defaultCatalog,
+        @Nullable String defaultSchema
+    ) {
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    // Incremented on each invalidate. Statements acquired before invalidate are not returned to the cache.
+    private volatile int version;
+
+    public JDBCStatementCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Removes statement from the cache and returns it. Returns null if there is no cached statement for this key.
+     */
+    @Nullable
+    public PreparedStatement acquire(@NotNull Key key) {
+        PreparedStatement statement;
+        synchronized (statements) {
+            statement = statements.remove(key);
+        }
+        try {
+            if (statement != null && statement.isClosed()) {
+                return null;
+            }
+        } catch (SQLException e) {
+            closeStatement(statement);
+            return null;
+        }
+        return statement;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns statement back to the cache.
+     * Returns false if statement can't be cached. In this case caller must close it.
+     *
+     * @param acquireVersion cache version at the moment when statement was acquired
+     */
+    public boolean release(@NotNull Key key, @NotNull PreparedStatement statement, int acquireVersion) {
+        if (acquireVersion != version) {
+            return false;
+        }
+        try {
+            statement.clearParameters();
+        } catch (Throwable e) {
+            log.debug("Can't reset cached statement parameters", e);
+            return false;
+        }
+        try {
+            statement.clearBatch();
+            statement.clearWarnings();
+        } catch (Throwable e) {
+            // Not supported by some drivers
+        }
+        List<PreparedStatement> evicted = null;
+        synchronized (statements) {
+            if (acquireVersion != version || statements.containsKey(key)) {
+                return false;
+            }
+            statements.put(key, statement);
+            for (Iterator<PreparedStatement> iter = statements.values().iterator(); statements.size() > maxSize && iter.hasNext(); ) {
+                if (evicted == null) {
+                    evicted = new ArrayList<>();
+                }
+                evicted.add(iter.next());
+                iter.remove();
+            }
+        }
+        if (evicted != null) {
+            evicted.forEach(JDBCStatementCache::closeStatement);
+        }
+        return true;
+    }
+
+    /**
+     * Closes all cached statements. Called on context close, invalidate and default schema change.
+     */
+    public void invalidate() {
+        List<PreparedStatement> closed;
+        synchronized (statements) {
+            version++;
+            if (statements.isEmpty()) {
+                return;
+            }
+            closed = new ArrayList<>(statements.values());
+            statements.clear();
+        }
+        closed.forEach(JDBCStatementCache::closeStatement);
+    }
+
+    /**
+     * Checks whether statement of this query may be cached
+     */
+    public static boolean isCacheableQuery(@NotNull SQLDialect dialect, @Nullable String query) {
+        String keyword = getQueryKeyword(dialect, query);
+        return keyword != null && CACHEABLE_KEYWORDS.contains(keyword);
+    }
+
+    /**
+     * Checks whether execution of this query must invalidate the cache
+     */
+    public static boolean isCacheInvalidatingQuery(@NotNull SQLDialect dialect, @Nullable String query) {
+        String keyword = getQueryKeyword(dialect, query);
+        return keyword != null && !NON_INVALIDATING_KEYWORDS.contains(keyword);
+    }
+
+    @Nullable
+    private static String getQueryKeyword(@NotNull SQLDialect dialect, @Nullable String query) {
+        if (CommonUtils.isEmptyTrimmed(query)) {
+            return null;
+        }
+        String keyword = SQLUtils.getFirstKeyword(dialect, query);
+        int length = 0;
+        while (length < keyword.length() && Character.isLetter(keyword.charAt(length))) {
+            length++;
+        }
+        return length == 0 ? null : keyword.substring(0, length).toUpperCase(Locale.ENGLISH);
+    }
+
+    public int getSize() {
+        synchronized (statements) {
+            return statements.size();
+        }
+    }
+
+    private static void closeStatement(@NotNull PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (Throwable e) {
+            log.debug("Can't close cached statement", e);
+        }
+    }
+
+}
@@ -25,6 +25,7 @@ import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.exec.metrics.DBCExecutionMetrics;
 import org.jkiss.dbeaver.model.impl.AbstractStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCTrace;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
@@ -57,6 +58,11 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
     private long updateCount;
     private Throwable executeError;
 
+    private boolean collectMetrics;
+    private long executeStartTime;
+    private DBCExecutionMetrics.Recorder metricsRecorder;
+    private String metricsQuery;
+
     public JDBCStatementImpl(@NotNull JDBCSession connection, @NotNull STATEMENT original, boolean disableLogging)
     {
         super(connection);
@@ -311,9 +317,19 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
             JDBCTrace.traceQueryBegin(getQueryString());
         }
         this.startBlock();
+        this.collectMetrics = DBCExecutionMetrics.isEnabled();
+        if (collectMetrics) {
+            this.executeStartTime = System.nanoTime();
+        }
     }
 
     protected void afterExecute() {
+        if (collectMetrics) {
+            getMetricsRecorder().recordExecute(System.nanoTime() - executeStartTime, executeError != null);
+        }
+        if (executeError == null) {
+            this.connection.getExecutionContext().handleQueryExecuted(getQueryString());
+        }
         this.connection.getExecutionContext().unlockQueryExecution();
 
         this.endBlock();
@@ -322,6 +338,21 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         }
     }
 
+    /**
+     * Returns execution metrics recorder of the current query
+     */
+    @NotNull
+    DBCExecutionMetrics.Recorder getMetricsRecorder() {
+        String queryString = getQueryString();
+        if (metricsRecorder == null || !CommonUtils.equalObjects(metricsQuery, queryString)) {
+            metricsRecorder = DBCExecutionMetrics.getInstance().getRecorder(
+                connection.getDataSource().getContainer(),
+                queryString);
+            metricsQuery = queryString;
+        }
+        return metricsRecorder;
+    }
+
     ////////////////////////////////////
     // Executions
 
@@ -498,7 +529,10 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
             QMUtils.getDefaultHandler().handleStatementClose(this, updateCount);
         }
 
-        // Close statement
+        closeOriginal();
+    }
+
+    protected void closeOriginal() {
         try {
             getOriginal().close();
         }
@@ -0,0 +1,192 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Run of single-row INSERT statements into the same table.
+ *
+ * Statements are merged into one multi-row INSERT, so the whole batch takes a single round trip.
+ * Only simple statements are merged: {@code INSERT INTO table [(columns)] VALUES (values)}
+ * without parameters, sub-queries in the target or trailing clauses.
+ */
+public class SQLScriptInsertBatch {
+
+    private static final Pattern INSERT_PATTERN = Pattern.compile(
+        "^\\s*INSERT\\s+INTO\\s+([^()]+?)\\s*(\\([^()]*\\))?\\s*VALUES\\s*\\(",
+        Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    // Max length of merged query text
+    private static final int MAX_TEXT_LENGTH = 1024 * 1024;
+
+    public static class InsertStatement {
+        final SQLQuery query;
+        final String target;
+        final String values;
+
+        InsertStatement(SQLQuery query, String target, String values) {
+            this.query = query;
+            this.target = target;
+            this.values = values;
+        }
+    }
+
+    private final int maxSize;
+    private final List<InsertStatement> statements = new ArrayList<>();
+    private int textLength;
+
+    public SQLScriptInsertBatch(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns parsed INSERT statement if the element may be merged with other inserts.
+     */
+    @Nullable
+    public static InsertStatement parseInsert(@NotNull SQLScriptElement element) {
+        if (!(element instanceof SQLQuery query) || !CommonUtils.isEmpty(query.getParameters())) {
+            return null;
+        }
+        String text = query.getText();
+        Matcher matcher = INSERT_PATTERN.matcher(text);
+        if (!matcher.find()) {
+            return null;
+        }
+        int valuesStart = matcher.end() - 1;
+        int valuesEnd = findClosingParenthesis(text, valuesStart);
+        if (valuesEnd < 0) {
+            return null;
+        }
+        // Nothing but the statement delimiter is allowed after the values (e.g. no RETURNING or ON CONFLICT)
+        for (int i = valuesEnd + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c) && c != ';') {
+                return null;
+            }
+        }
+        String columns = matcher.group(2);
+        String target = matcher.group(1).trim() + (columns == null ? "" : " " + columns.replaceAll("\\s+", " "));
+        return new InsertStatement(query, target, text.substring(valuesStart, valuesEnd + 1));
+    }
+
+    public boolean isEmpty() {
+        return statements.isEmpty();
+    }
+
+    /**
+     * Checks whether statement inserts into the same table (and columns) as the batch and batch is not full yet.
+     */
+    public boolean canAdd(@NotNull InsertStatement statement) {
+        if (statements.isEmpty()) {
+            return true;
+        }
+        return statements.size() < maxSize &&
+            textLength + statement.values.length() < MAX_TEXT_LENGTH &&
+            statements.get(0).target.equals(statement.target);
+    }
+
+    public void add(@NotNull InsertStatement statement) {
+        statements.add(statement);
+        textLength += statement.values.length() + 1;
+    }
+
+    @NotNull
+    public List<SQLQuery> getQueries() {
+        List<SQLQuery> queries = new ArrayList<>(statements.size());
+        for (InsertStatement statement : statements) {
+            queries.add(statement.query);
+        }
+        return queries;
+    }
+
+    /**
+     * Makes multi-row INSERT of all batch statements
+     */
+    @NotNull
+    public SQLQuery makeMergedQuery(@Nullable DBPDataSource dataSource) {
+        InsertStatement first = statements.get(0);
+        StringBuilder text = new StringBuilder(textLength + first.target.length() + 32);
+        text.append("INSERT INTO ").append(first.target).append(" VALUES ");
+        for (int i = 0; i < statements.size(); i++) {
+            if (i > 0) {
+                text.append(",\n");
+            }
+            text.append(statements.get(i).values);
+        }
+        return new SQLQuery(dataSource, text.toString(), first.query, false);
+    }
+
+    public void clear() {
+        statements.clear();
+        textLength = 0;
+    }
+
+    /**
+     * Returns position of parenthesis which closes the one at the specified position or -1.
+     * Parentheses inside quoted strings and identifiers are skipped.
+     * Returns -1 for text with comments or backslashes inside strings, such statements are not merged.
+     */
+    private static int findClosingParenthesis(@NotNull String text, int start) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    // Backslash escaping depends on the dialect and its settings. Do not merge such statements.
+                    return -1;
+                }
+                if (c == quote) {
+                    // Doubled quote is an escaped quote. Then next char opens quote again.
+                    quote = 0;
+                }
+                continue;
+            }
+            switch (c) {
+                case '\'', '"', '`' -> quote = c;
+                case '-', '/' -> {
+                    // Comments inside values. Do not merge such statements.
+                    if (i + 1 < text.length() && text.charAt(i + 1) == (c == '-' ? '-' : '*')) {
+                        return -1;
+                    }
+                }
+                case '(' -> depth++;
+                case ')' -> {
+                    depth--;
+                    if (depth == 0) {
+                        return i;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return -1;
+    }
+
+}
@@ -16,7 +16,9 @@
  */
 package org.jkiss.dbeaver.model.sql.exec;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBFetchProgress;
@@ -28,9 +30,12 @@ import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.*;
 import org.jkiss.dbeaver.model.sql.data.SQLQueryDataContainer;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptStreamParser;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -40,7 +45,10 @@ public class SQLScriptProcessor {
     private static final String STAT_LOG_PREFIX = "-----------------> ";
 
     private final DBCExecutionContext executionContext;
+    @Nullable
     private final List<SQLScriptElement> queries;
+    @Nullable
+    private final SQLScriptStreamParser scriptParser;
     private final SQLScriptContext scriptContext;
     private final DBDDataReceiver dataReceiver;
     private final Log log;
@@ -54,6 +62,8 @@ public class SQLScriptProcessor {
     private long fetchFlags;
     private SQLScriptCommitType commitType = SQLScriptCommitType.AUTOCOMMIT;
     private SQLScriptErrorHandling errorHandling = SQLScriptErrorHandling.STOP_ROLLBACK;
+    @Nullable
+    private SQLScriptInsertBatch insertBatch;
 
     public SQLScriptProcessor(
         @NotNull DBCExecutionContext executionContext,
@@ -63,6 +73,25 @@ public class SQLScriptProcessor {
         @NotNull Log log) {
         this.executionContext = executionContext;
         this.queries = queries;
+        this.scriptParser = null;
+        this.scriptContext = scriptContext;
+        this.dataReceiver = dataReceiver;
+        this.log = log;
+    }
+
+    /**
+     * Creates processor which executes queries as soon as they are parsed by the script parser.
+     * Parser is not closed by processor.
+     */
+    public SQLScriptProcessor(
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull SQLScriptStreamParser scriptParser,
+        @NotNull SQLScriptContext scriptContext,
+        @NotNull DBDDataReceiver dataReceiver,
+        @NotNull Log log) {
+        this.executionContext = executionContext;
+        this.queries = null;
+        this.scriptParser = scriptParser;
         this.scriptContext = scriptContext;
         this.dataReceiver = dataReceiver;
         this.log = log;
@@ -92,6 +121,14 @@ public class SQLScriptProcessor {
         this.errorHandling = errorHandling;
     }
 
+    /**
+     * Enables merging of consecutive single-row INSERTs into the same table into multi-row INSERTs.
+     * Batch size 0 or 1 disables merging.
+     */
+    public void setInsertBatchSize(int insertBatchSize) {
+        this.insertBatch = insertBatchSize > 1 ? new SQLScriptInsertBatch(insertBatchSize) : null;
+    }
+
     public void runScript(DBRProgressMonitor monitor) throws DBCException {
         RuntimeUtils.setThreadName("SQL script execution");
         statistics = new DBCStatistics();
@@ -109,29 +146,53 @@ public class SQLScriptProcessor {
                     txnManager.setAutoCommit(monitor, newAutoCommit);
                 }
 
-                monitor.beginTask("Execute queries (" + queries.size() + ")", queries.size());
+                if (queries != null) {
+                    monitor.beginTask("Execute queries (" + queries.size() + ")", queries.size());
+                } else {
+                    // Number of queries is unknown until the whole script is parsed
+                    monitor.beginTask("Execute queries", IProgressMonitor.UNKNOWN);
+                }
 
-                for (SQLScriptElement query : queries) {
+                Iterator<SQLScriptElement> queryIterator = queries == null ? null : queries.iterator();
+                boolean scriptStopped = false;
+                for (SQLScriptElement query = nextQuery(queryIterator); query != null; query = nextQuery(queryIterator)) {
                     if (monitor.isCanceled()) {
                         break;
                     }
+                    if (scriptParser != null) {
+                        monitor.subTask("Execute query " + scriptParser.getQueryCount());
+                    }
                     // Execute query
-                    boolean runNext = executeSingleQuery(session, query);
-                    if (!runNext) {
-                        if (lastError == null) {
-                            // Execution cancel
-                            break;
-                        }
-                        if (errorHandling != SQLScriptErrorHandling.IGNORE) {
-                            log.error(lastError);
-                            break;
-                        } else {
-                            log.warn("Query failed: " + lastError.getMessage());
+                    boolean runNext;
+                    SQLScriptInsertBatch.InsertStatement insert = insertBatch == null ? null : SQLScriptInsertBatch.parseInsert(query);
+                    if (insert != null && insertBatch.canAdd(insert)) {
+                        // Will be executed with the next statements
+                        insertBatch.add(insert);
+                        runNext = true;
+                    } else {
+                        runNext = executeInsertBatch(session);
+                        if (runNext) {
+                            if (insert != null) {
+                                insertBatch.add(insert);
+                            } else {
+                                runNext = executeSingleQuery(session, query);
+                            }
                         }
                     }
+                    if (!checkQueryResult(runNext)) {
+                        scriptStopped = true;
+                        break;
+                    }
 
                     monitor.worked(1);
                 }
+                if (!scriptStopped && !monitor.isCanceled()) {
+                    // Execute the rest of inserts
+                    checkQueryResult(executeInsertBatch(session));
+                }
+                if (insertBatch != null) {
+                    insertBatch.clear();
+                }
                 monitor.done();
 
                 // Commit data
@@ -169,6 +230,95 @@ public class SQLScriptProcessor {
         }
     }
 
+    @Nullable
+    private SQLScriptElement nextQuery(@Nullable Iterator<SQLScriptElement> queryIterator) throws IOException {
+        if (scriptParser != null) {
+            return scriptParser.nextQuery();
+        }
+        return queryIterator != null && queryIterator.hasNext() ? queryIterator.next() : null;
+    }
+
+    /**
+     * Returns true if script execution should be continued after query execution
+     */
+    private boolean checkQueryResult(boolean runNext) {
+        if (!runNext) {
+            if (lastError == null) {
+                // Execution cancel
+                return false;
+            }
+            if (errorHandling != SQLScriptErrorHandling.IGNORE) {
+                log.error(lastError);
+                return false;
+            } else {
+                log.warn("Query failed: " + lastError.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes pending inserts as one multi-row INSERT.
+     * If merged statement fails then inserts are executed one by one, so errors are reported per statement.
+     */
+    private boolean executeInsertBatch(@NotNull DBCSession session) {
+        if (insertBatch == null || insertBatch.isEmpty()) {
+            return true;
+        }
+        List<SQLQuery> batchQueries = insertBatch.getQueries();
+        SQLQuery mergedQuery = insertBatch.makeMergedQuery(session.getDataSource());
+        insertBatch.clear();
+        if (batchQueries.size() == 1) {
+            return executeSingleQuery(session, batchQueries.get(0));
+        }
+
+        // Failed statement aborts the whole transaction in some databases. Use savepoint to recover.
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(executionContext);
+        DBCSavepoint savepoint = null;
+        try {
+            if (txnManager != null && txnManager.isSupportsTransactions() && !txnManager.isAutoCommit() && txnManager.supportsSavepoints()) {
+                savepoint = txnManager.setSavepoint(session.getProgressMonitor(), null);
+            }
+        } catch (Throwable e) {
+            log.debug("Can't set savepoint before merged INSERT", e);
+        }
+
+        boolean runNext = executeSingleQuery(session, mergedQuery);
+        if (lastError == null) {
+            releaseSavepoint(session, txnManager, savepoint);
+            return runNext;
+        }
+        log.warn("Merged INSERT of " + batchQueries.size() + " rows failed, execute statements one by one: " + lastError.getMessage());
+        if (savepoint != null) {
+            try {
+                txnManager.rollback(session, savepoint);
+            } catch (Throwable e) {
+                log.debug("Can't rollback to savepoint", e);
+            }
+            releaseSavepoint(session, txnManager, savepoint);
+        }
+        for (SQLQuery query : batchQueries) {
+            if (session.getProgressMonitor().isCanceled()) {
+                lastError = null;
+                return false;
+            }
+            if (!executeSingleQuery(session, query)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void releaseSavepoint(@NotNull DBCSession session, @Nullable DBCTransactionManager txnManager, @Nullable DBCSavepoint savepoint) {
+        if (txnManager != null && savepoint != null) {
+            try {
+                txnManager.releaseSavepoint(session.getProgressMonitor(), savepoint);
+            } catch (Throwable e) {
+                log.debug("Can't release savepoint", e);
+            }
+        }
+    }
+
     private boolean executeSingleQuery(@NotNull DBCSession session, @NotNull SQLScriptElement element) {
         if (element instanceof SQLControlCommand) {
             log.debug(STAT_LOG_PREFIX + "Execute command\n" + element.getText());
@@ -0,0 +1,166 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.format.SQLFormatterConfiguration;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalizes query text, so queries which differ only in literal values have the same text.
+ * Literals are replaced with '?', IN-lists of literals are collapsed to a single '?',
+ * comments are removed, whitespaces are collapsed and keywords are upper-cased.
+ *
+ * Normalizer is not thread safe.
+ */
+public class SQLQueryNormalizer {
+
+    public static final String PARAMETER_MARK = "?";
+
+    private final SQLTokensParser parser;
+    private final String[][] identifierQuoteStrings;
+    private final StringBuilder buffer = new StringBuilder();
+
+    public SQLQueryNormalizer(@NotNull SQLSyntaxManager syntaxManager) {
+        this.parser = new SQLTokensParser(new SQLFormatterConfiguration(null, syntaxManager, ""));
+        this.identifierQuoteStrings = syntaxManager.getIdentifierQuoteStrings();
+    }
+
+    @NotNull
+    public String normalize(@NotNull String query) {
+        List<FormatterToken> tokens;
+        try {
+            tokens = parser.parse(query);
+        } catch (RuntimeException e) {
+            // Tokenizer fails on some malformed queries (e.g. unclosed comments)
+            return query.trim();
+        }
+        buffer.setLength(0);
+        boolean space = false;
+        FormatterToken prevToken = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            FormatterToken token = tokens.get(i);
+            TokenType type = token.getType();
+            if (type == TokenType.SPACE || type == TokenType.COMMENT) {
+                space = true;
+                continue;
+            }
+            if (space && !buffer.isEmpty()) {
+                buffer.append(' ');
+            }
+            space = false;
+
+            if (type == TokenType.KEYWORD || (type == TokenType.NAME && token.getString().equalsIgnoreCase("IN"))) {
+                buffer.append(token.getString().toUpperCase(Locale.ENGLISH));
+                if (token.getString().equalsIgnoreCase("IN")) {
+                    int listEnd = getValueListEnd(tokens, i + 1);
+                    if (listEnd > 0) {
+                        buffer.append(" (").append(PARAMETER_MARK).append(')');
+                        i = listEnd;
+                    }
+                }
+            } else if (type == TokenType.VALUE && !isQuotedIdentifier(token)) {
+                buffer.append(PARAMETER_MARK);
+            } else if (isSignedNumber(tokens, i, prevToken)) {
+                buffer.append(PARAMETER_MARK);
+                i = nextSignificant(tokens, i + 1);
+            } else {
+                buffer.append(token.getString());
+            }
+            prevToken = tokens.get(i);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Returns index of closing parenthesis of a list which contains only literals or parameters.
+     * Returns -1 if there is no such list at the specified position.
+     */
+    private int getValueListEnd(@NotNull List<FormatterToken> tokens, int start) {
+        int pos = nextSignificant(tokens, start);
+        if (pos >= tokens.size() || !isSymbol(tokens.get(pos), "(")) {
+            return -1;
+        }
+        for (pos++; pos < tokens.size(); pos++) {
+            FormatterToken token = tokens.get(pos);
+            switch (token.getType()) {
+                case SPACE, COMMENT:
+                    break;
+                case VALUE:
+                    if (isQuotedIdentifier(token)) {
+                        return -1;
+                    }
+                    break;
+                case SYMBOL:
+                    if (isSymbol(token, ")")) {
+                        return pos;
+                    } else if (!isSymbol(token, ",") && !isSymbol(token, "-") && !isSymbol(token, PARAMETER_MARK)) {
+                        return -1;
+                    }
+                    break;
+                default:
+                    return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Unary minus followed by a number
+     */
+    private boolean isSignedNumber(@NotNull List<FormatterToken> tokens, int pos, FormatterToken prevToken) {
+        if (!isSymbol(tokens.get(pos), "-") && !isSymbol(tokens.get(pos), "+")) {
+            return false;
+        }
+        if (prevToken != null && prevToken.getType() != TokenType.KEYWORD &&
+            (prevToken.getType() != TokenType.SYMBOL || isSymbol(prevToken, ")"))
+        ) {
+            // Binary operator
+            return false;
+        }
+        int next = nextSignificant(tokens, pos + 1);
+        return next < tokens.size() && tokens.get(next).getType() == TokenType.VALUE && !isQuotedIdentifier(tokens.get(next));
+    }
+
+    private boolean isQuotedIdentifier(@NotNull FormatterToken token) {
+        String value = token.getString();
+        if (identifierQuoteStrings != null && !value.isEmpty() && value.charAt(0) != '\'') {
+            for (String[] quoteString : identifierQuoteStrings) {
+                if (value.startsWith(quoteString[0])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int nextSignificant(@NotNull List<FormatterToken> tokens, int pos) {
+        while (pos < tokens.size() && (tokens.get(pos).getType() == TokenType.SPACE || tokens.get(pos).getType() == TokenType.COMMENT)) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isSymbol(@NotNull FormatterToken token, @NotNull String symbol) {
+        return token.getType() == TokenType.SYMBOL && token.getString().equals(symbol);
+    }
+
+}
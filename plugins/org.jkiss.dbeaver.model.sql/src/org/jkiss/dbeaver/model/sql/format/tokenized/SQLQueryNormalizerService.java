@@ -0,0 +1,70 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.metrics.DBCQueryNormalizer;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Query normalizer service based on {@link SQLQueryNormalizer}.
+ * Keeps one normalizer per data source container. Normalizers are not thread safe so each one is used under its own lock.
+ */
+public class SQLQueryNormalizerService implements DBCQueryNormalizer {
+
+    // Normalizers by data source container ID
+    private final Map<String, SQLQueryNormalizer> normalizers = new ConcurrentHashMap<>();
+    private volatile SQLQueryNormalizer defaultNormalizer;
+
+    @NotNull
+    @Override
+    public String normalizeQuery(@Nullable DBPDataSourceContainer container, @NotNull String query) {
+        SQLQueryNormalizer normalizer = getNormalizer(container);
+        synchronized (normalizer) {
+            return normalizer.normalize(query);
+        }
+    }
+
+    @NotNull
+    private SQLQueryNormalizer getNormalizer(@Nullable DBPDataSourceContainer container) {
+        DBPDataSource dataSource = container == null ? null : container.getDataSource();
+        if (dataSource != null) {
+            return normalizers.computeIfAbsent(container.getId(), id -> {
+                SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+                syntaxManager.init(dataSource.getSQLDialect(), container.getPreferenceStore());
+                return new SQLQueryNormalizer(syntaxManager);
+            });
+        }
+        SQLQueryNormalizer normalizer = defaultNormalizer;
+        if (normalizer == null) {
+            SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+            syntaxManager.init(BasicSQLDialect.INSTANCE, DBWorkbench.getPlatform().getPreferenceStore());
+            normalizer = new SQLQueryNormalizer(syntaxManager);
+            defaultNormalizer = normalizer;
+        }
+        return normalizer;
+    }
+
+}
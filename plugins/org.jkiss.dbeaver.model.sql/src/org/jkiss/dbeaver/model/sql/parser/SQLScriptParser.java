@@ -941,28 +941,53 @@ public class SQLScriptParser {
         boolean keepDelimiters,
         boolean parseParameters
     ) {
-        // LinkedList is crucial to prevent copy on expand and for many-to-one replacements efficiency
-        List<SQLScriptElement> queryList = new LinkedList<>();
-
         IDocument document = parserContext.getDocument();
         if (document.getLength() == 0) {
-            return queryList;
+            return new LinkedList<>();
         }
 
+        List<SQLScriptElement> queryList;
         parserContext.startScriptEvaluation();
         try {
-            for (int queryOffset = startOffset; ; ) {
-                SQLScriptElement query = parseQueryImpl(parserContext, queryOffset, startOffset + length, queryOffset, scriptMode, keepDelimiters);
-                if (query == null) {
-                    break;
-                }
-                queryList.add(query);
-                queryOffset = query.getOffset() + query.getLength();
-            }
+            queryList = parseScriptQueries(parserContext, startOffset, length, scriptMode, keepDelimiters);
         } finally {
             parserContext.endScriptEvaluation();
         }
+        finishScriptQueries(parserContext, queryList, parseParameters);
+        return queryList;
+    }
+
+    /**
+     * Parses script queries. Script evaluation must be started in parser context.
+     */
+    static List<SQLScriptElement> parseScriptQueries(
+        @NotNull SQLParserContext parserContext,
+        int startOffset,
+        int length,
+        boolean scriptMode,
+        boolean keepDelimiters
+    ) {
+        // LinkedList is crucial to prevent copy on expand and for many-to-one replacements efficiency
+        List<SQLScriptElement> queryList = new LinkedList<>();
+        for (int queryOffset = startOffset; ; ) {
+            SQLScriptElement query = parseQueryImpl(parserContext, queryOffset, startOffset + length, queryOffset, scriptMode, keepDelimiters);
+            if (query == null) {
+                break;
+            }
+            queryList.add(query);
+            queryOffset = query.getOffset() + query.getLength();
+        }
+        return queryList;
+    }
 
+    /**
+     * Merges smart-delimited queries and parses query parameters
+     */
+    static void finishScriptQueries(
+        @NotNull SQLParserContext parserContext,
+        @NotNull List<SQLScriptElement> queryList,
+        boolean parseParameters
+    ) {
         if (parserContext.getSyntaxManager().getStatementDelimiterMode().useSmart) {
             expandQueries(parserContext, queryList);
         }
@@ -975,7 +1000,6 @@ public class SQLScriptParser {
                 }
             }
         }
-        return queryList;
     }
 
     private static void expandQueries(@NotNull SQLParserContext parserContext, @NotNull List<SQLScriptElement> queryList) {
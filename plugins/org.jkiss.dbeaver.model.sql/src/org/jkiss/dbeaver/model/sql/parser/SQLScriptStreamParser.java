@@ -0,0 +1,139 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.Document;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Incremental SQL script parser.
+ *
+ * Script is read from the reader and parsed by chunks, so memory usage doesn't depend on the script size
+ * and the first queries are available before the whole script is read.
+ * The last query of each chunk may be incomplete, so it is parsed again together with the next chunk.
+ * Parsed text is dropped right away and script evaluation state (e.g. delimiter redefinitions) is kept between chunks.
+ * Queries longer than a chunk make the next read twice as large, so such queries are re-parsed
+ * only a logarithmic number of times and overall parsing stays linear.
+ */
+public class SQLScriptStreamParser implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    @NotNull
+    private final Reader reader;
+    private final int chunkSize;
+    private final char[] readBuffer;
+    private final Document document;
+    private final SQLParserContext parserContext;
+    // Script text which wasn't parsed yet
+    private final StringBuilder scriptText = new StringBuilder();
+    private final Deque<SQLScriptElement> parsedQueries = new ArrayDeque<>();
+    private boolean endOfScript;
+    private int queryCount;
+
+    public SQLScriptStreamParser(@NotNull DBPDataSource dataSource, @NotNull Reader reader) {
+        this(dataSource, reader, DEFAULT_CHUNK_SIZE);
+    }
+
+    public SQLScriptStreamParser(@NotNull DBPDataSource dataSource, @NotNull Reader reader, int chunkSize) {
+        this.reader = reader;
+        this.chunkSize = chunkSize;
+        this.readBuffer = new char[Math.min(chunkSize, 64 * 1024)];
+
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(dataSource.getSQLDialect(), dataSource.getContainer().getPreferenceStore());
+        SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
+        ruleManager.loadRules(dataSource, false);
+
+        this.document = new Document();
+        this.parserContext = new SQLParserContext(dataSource, syntaxManager, ruleManager, document);
+        this.parserContext.startScriptEvaluation();
+    }
+
+    /**
+     * Returns number of queries returned so far
+     */
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Returns next script query or null if end of script was reached
+     */
+    @Nullable
+    public SQLScriptElement nextQuery() throws IOException {
+        while (parsedQueries.isEmpty() && (!endOfScript || !scriptText.isEmpty())) {
+            parseNextChunk();
+        }
+        SQLScriptElement query = parsedQueries.poll();
+        if (query != null) {
+            queryCount++;
+        }
+        return query;
+    }
+
+    private void parseNextChunk() throws IOException {
+        // Previous chunk remainder is re-parsed with at least as much new text as its own length.
+        int minLength = scriptText.length() + Math.max(chunkSize, scriptText.length());
+        while (!endOfScript && scriptText.length() < minLength) {
+            int count = reader.read(readBuffer);
+            if (count < 0) {
+                endOfScript = true;
+            } else {
+                scriptText.append(readBuffer, 0, count);
+            }
+        }
+        if (scriptText.isEmpty()) {
+            return;
+        }
+
+        document.set(scriptText.toString());
+        List<SQLScriptElement> queries = SQLScriptParser.parseScriptQueries(parserContext, 0, document.getLength(), true, false);
+        SQLScriptParser.finishScriptQueries(parserContext, queries, true);
+
+        int parsedLength = document.getLength();
+        if (!endOfScript) {
+            if (queries.isEmpty()) {
+                // Chunk ends inside a comment or there are no complete queries yet
+                parsedLength = 0;
+            } else {
+                // Last query may continue in the next chunk
+                SQLScriptElement lastQuery = queries.remove(queries.size() - 1);
+                parsedLength = lastQuery.getOffset();
+            }
+        }
+        parsedQueries.addAll(queries);
+        scriptText.delete(0, parsedLength);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parserContext.endScriptEvaluation();
+        document.set("");
+        reader.close();
+    }
+
+}
@@ -0,0 +1,300 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.metrics.DBCExecutionMetrics;
+import org.jkiss.dbeaver.model.exec.metrics.DBCQueryNormalizer;
+import org.jkiss.dbeaver.model.qm.QMEventAction;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.QMMetaListener;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Aggregated statistics of executed user queries.
+ *
+ * Queries are grouped by fingerprint - hash of the normalized query text (see {@link DBCQueryNormalizer}).
+ * Statistics are updated by QM events dispatcher. Hashes of known query texts are mapped directly to their groups,
+ * so repeated queries are accounted without parsing. Original query texts are not kept.
+ */
+public class SQLQueryStatistics implements QMMetaListener {
+
+    private static final int MAX_QUERIES = 1000;
+    private static final int MAX_QUERY_TEXTS = 5000;
+    private static final int MAX_PENDING_FETCHES = 1000;
+
+    private static final SQLQueryStatistics instance = new SQLQueryStatistics();
+
+    public enum SortBy {
+        TOTAL_TIME(Comparator.comparingLong(QueryStats::getTotalTime)),
+        AVG_TIME(Comparator.comparingDouble(QueryStats::getAvgTime)),
+        MAX_TIME(Comparator.comparingLong(QueryStats::getMaxTime)),
+        EXECUTE_COUNT(Comparator.comparingLong(QueryStats::getExecuteCount)),
+        TOTAL_ROWS(Comparator.comparingLong(QueryStats::getTotalRows));
+
+        private final Comparator<QueryStats> comparator;
+
+        SortBy(Comparator<QueryStats> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    /**
+     * Statistics of one query fingerprint. Times are in milliseconds.
+     */
+    public static class QueryStats {
+        private final long fingerprint;
+        private final String queryText;
+        private long executeCount;
+        private long errorCount;
+        private long totalTime;
+        private long maxTime;
+        private long totalRows;
+        private long maxRows;
+        private long lastExecuteTime;
+
+        QueryStats(long fingerprint, @NotNull String queryText) {
+            this.fingerprint = fingerprint;
+            this.queryText = queryText;
+        }
+
+        QueryStats(@NotNull QueryStats source) {
+            this.fingerprint = source.fingerprint;
+            this.queryText = source.queryText;
+            this.executeCount = source.executeCount;
+            this.errorCount = source.errorCount;
+            this.totalTime = source.totalTime;
+            this.maxTime = source.maxTime;
+            this.totalRows = source.totalRows;
+            this.maxRows = source.maxRows;
+            this.lastExecuteTime = source.lastExecuteTime;
+        }
+
+        public long getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Normalized query text
+         */
+        @NotNull
+        public String getQueryText() {
+            return queryText;
+        }
+
+        public long getExecuteCount() {
+            return executeCount;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        public double getAvgTime() {
+            return executeCount == 0 ? 0 : (double) totalTime / executeCount;
+        }
+
+        public long getMaxTime() {
+            return maxTime;
+        }
+
+        public long getTotalRows() {
+            return totalRows;
+        }
+
+        public double getAvgRows() {
+            return executeCount == 0 ? 0 : (double) totalRows / executeCount;
+        }
+
+        public long getMaxRows() {
+            return maxRows;
+        }
+
+        public long getLastExecuteTime() {
+            return lastExecuteTime;
+        }
+
+        void update(@NotNull QMMStatementExecuteInfo exec) {
+            long duration = Math.max(exec.getDuration(), 0);
+            long rows = Math.max(exec.getFetchRowCount(), exec.getUpdateRowCount());
+            executeCount++;
+            if (exec.hasError()) {
+                errorCount++;
+            }
+            totalTime += duration;
+            maxTime = Math.max(maxTime, duration);
+            if (rows > 0) {
+                totalRows += rows;
+                maxRows = Math.max(maxRows, rows);
+            }
+            lastExecuteTime = exec.getOpenTime();
+        }
+
+        @Override
+        public String toString() {
+            return queryText + " [count=" + executeCount + ", total=" + totalTime + "ms, max=" + maxTime + "ms]";
+        }
+    }
+
+    // Fingerprint -> statistics
+    private final Map<Long, QueryStats> queries = new HashMap<>();
+    // Original query text hash -> statistics. Cache of normalized texts.
+    private final Map<Long, QueryStats> queryTexts = new HashMap<>();
+    private final Set<QMMStatementExecuteInfo> pendingFetches = new LinkedHashSet<>();
+
+    @NotNull
+    public static SQLQueryStatistics getInstance() {
+        return instance;
+    }
+
+    private SQLQueryStatistics() {
+    }
+
+    @Override
+    public synchronized void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events) {
+        for (QMMetaEvent event : events) {
+            if (event.getObject() instanceof QMMStatementExecuteInfo exec &&
+                exec.getStatement().getPurpose().isUser() &&
+                !CommonUtils.isEmpty(exec.getQueryString()) &&
+                isExecutionFinished(event, exec)
+            ) {
+                getQueryStats(exec).update(exec);
+            }
+        }
+    }
+
+    /**
+     * Returns copies of statistics of the top queries
+     */
+    @NotNull
+    public synchronized List<QueryStats> getTopQueries(@NotNull SortBy sortBy, int maxCount) {
+        List<QueryStats> result = new ArrayList<>(queries.values());
+        result.sort(sortBy.comparator.reversed());
+        if (result.size() > maxCount) {
+            result = result.subList(0, maxCount);
+        }
+        result.replaceAll(QueryStats::new);
+        return result;
+    }
+
+    public synchronized void reset() {
+        queries.clear();
+        queryTexts.clear();
+        pendingFetches.clear();
+    }
+
+    public synchronized void dispose() {
+        reset();
+    }
+
+    /**
+     * Execution is accounted when it ends. If results are fetched at this moment then it is accounted when fetch ends.
+     */
+    private boolean isExecutionFinished(@NotNull QMMetaEvent event, @NotNull QMMStatementExecuteInfo exec) {
+        if (event.getAction() == QMEventAction.END) {
+            if (exec.isFetching()) {
+                if (pendingFetches.size() >= MAX_PENDING_FETCHES) {
+                    // Result sets which were never closed
+                    Iterator<QMMStatementExecuteInfo> iterator = pendingFetches.iterator();
+                    iterator.next();
+                    iterator.remove();
+                }
+                pendingFetches.add(exec);
+                return false;
+            }
+            return true;
+        }
+        return event.getAction() == QMEventAction.UPDATE && !exec.isFetching() && pendingFetches.remove(exec);
+    }
+
+    @NotNull
+    private QueryStats getQueryStats(@NotNull QMMStatementExecuteInfo exec) {
+        String queryString = exec.getQueryString();
+        long textHash = getFingerprint(queryString);
+        QueryStats stats = queryTexts.get(textHash);
+        if (stats != null) {
+            return stats;
+        }
+        String normalizedText = DBCExecutionMetrics.getQueryFingerprint(getDataSourceContainer(exec.getConnection()), queryString);
+        long fingerprint = getFingerprint(normalizedText);
+        stats = queries.get(fingerprint);
+        if (stats == null) {
+            if (queries.size() >= MAX_QUERIES) {
+                evictQuery();
+            }
+            stats = new QueryStats(fingerprint, normalizedText);
+            queries.put(fingerprint, stats);
+        }
+        if (queryTexts.size() >= MAX_QUERY_TEXTS) {
+            queryTexts.clear();
+        }
+        queryTexts.put(textHash, stats);
+        return stats;
+    }
+
+    /**
+     * Removes query with the least total time
+     */
+    private void evictQuery() {
+        QueryStats minStats = null;
+        for (QueryStats stats : queries.values()) {
+            if (minStats == null || stats.totalTime < minStats.totalTime) {
+                minStats = stats;
+            }
+        }
+        if (minStats != null) {
+            QueryStats evicted = minStats;
+            queries.remove(evicted.fingerprint);
+            queryTexts.values().removeIf(stats -> stats == evicted);
+        }
+    }
+
+    @Nullable
+    private static DBPDataSourceContainer getDataSourceContainer(@Nullable QMMConnectionInfo connection) {
+        if (connection == null || connection.getContainerId() == null) {
+            return null;
+        }
+        return DBUtils.findDataSource(
+            connection.getProjectInfo() == null ? null : connection.getProjectInfo().getName(),
+            connection.getContainerId());
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the query text
+     */
+    static long getFingerprint(@NotNull String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+}
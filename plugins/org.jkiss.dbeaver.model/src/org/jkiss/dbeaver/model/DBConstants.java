@@ -153,6 +153,7 @@ public class DBConstants {
 
     public static final String DRIVER_PARAM_DISABLE_NETWORK_PARAMETERS = "disableNetworkParameters";
     public static final String DRIVER_PARAM_ENABLE_NETWORK_PARAMETERS = "enableNetworkParameters";
+    public static final String DRIVER_PARAM_META_PREFETCH = "metaPrefetch";
     public static final String PROP_HOST = "host"; //$NON-NLS-1$
     public static final String PROP_PORT = "port"; //$NON-NLS-1$
     public static final String PROP_DATABASE = "database"; //$NON-NLS-1$
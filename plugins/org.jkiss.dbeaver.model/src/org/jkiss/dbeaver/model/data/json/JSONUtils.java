@@ -27,6 +27,7 @@ import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.sql.Timestamp;
@@ -97,25 +98,53 @@ public class JSONUtils {
         StringBuilder result = new StringBuilder(str.length());
         for (int i = 0; i < str.length(); i++) {
             char c = str.charAt(i);
-            switch (c) {
-                case '\n' -> result.append("\\n");
-                case '\r' -> result.append("\\r");
-                case '\t' -> result.append("\\t");
-                case '\f' -> result.append("\\f");
-                case '\b' -> result.append("\\b");
-                case '"', '\\', '/' -> result.append("\\").append(c);
-                default -> {
-                    if ((int) c < 32) {
-                        result.append(String.format("\\u%04x", (int) c));
-                    } else {
-                        result.append(c);
-                    }
-                }
+            String escaped = getEscapeSequence(c);
+            if (escaped != null) {
+                result.append(escaped);
+            } else {
+                result.append(c);
             }
         }
         return result.toString();
     }
 
+    /**
+     * Writes escaped string directly to the writer without creating intermediate strings.
+     * Unescaped chunks of the string are written as is.
+     */
+    public static void escapeJsonString(@NotNull Writer out, @NotNull String str) throws IOException {
+        final int length = str.length();
+        int chunkStart = 0;
+        for (int i = 0; i < length; i++) {
+            String escaped = getEscapeSequence(str.charAt(i));
+            if (escaped != null) {
+                if (i > chunkStart) {
+                    out.write(str, chunkStart, i - chunkStart);
+                }
+                out.write(escaped);
+                chunkStart = i + 1;
+            }
+        }
+        if (chunkStart < length) {
+            out.write(str, chunkStart, length - chunkStart);
+        }
+    }
+
+    @Nullable
+    private static String getEscapeSequence(char c) {
+        return switch (c) {
+            case '\n' -> "\\n";
+            case '\r' -> "\\r";
+            case '\t' -> "\\t";
+            case '\f' -> "\\f";
+            case '\b' -> "\\b";
+            case '"' -> "\\\"";
+            case '\\' -> "\\\\";
+            case '/' -> "\\/";
+            default -> c < 32 ? String.format("\\u%04x", (int) c) : null;
+        };
+    }
+
     @NotNull
     public static JsonWriter field(@NotNull JsonWriter json, @NotNull String name, @Nullable String value) throws IOException {
         json.name(name);
@@ -0,0 +1,234 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec.metrics;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.CommonUtils;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statement execution metrics.
+ *
+ * Metrics are grouped by connection, by statement type (the first query keyword) and by query fingerprint
+ * (query text without literals, comments and extra whitespaces, see {@link DBCQueryNormalizer}).
+ * Collection is disabled by default. It is enabled by the {@code dbeaver.exec.metrics} system property
+ * or programmatically. Enabled metrics are also exposed via JMX as {@link #MBEAN_NAME}.
+ */
+public class DBCExecutionMetrics {
+
+    private static final Log log = Log.getLog(DBCExecutionMetrics.class);
+
+    public static final String PROP_METRICS_ENABLED = "dbeaver.exec.metrics";
+    public static final String MBEAN_NAME = "org.jkiss.dbeaver:type=ExecutionMetrics";
+
+    public enum Dimension {
+        CONNECTION,
+        STATEMENT_TYPE,
+        QUERY
+    }
+
+    // Max number of distinct query fingerprints. Other queries are accounted in a single group.
+    private static final int MAX_QUERY_GROUPS = 500;
+    private static final int MAX_FINGERPRINT_LENGTH = 2000;
+    private static final String OTHER_QUERIES = "<other>";
+    private static final String OTHER_STATEMENTS = "OTHER";
+
+    private static final DBCExecutionMetrics instance = new DBCExecutionMetrics();
+    private static volatile boolean enabled;
+    private static boolean mbeanRegistered;
+    private static volatile DBCQueryNormalizer queryNormalizer;
+    private static volatile boolean queryNormalizerResolved;
+
+    static {
+        if (CommonUtils.toBoolean(System.getProperty(PROP_METRICS_ENABLED))) {
+            setEnabled(true);
+        }
+    }
+
+    private final Map<String, DBCExecutionMetricsGroup> connectionGroups = new ConcurrentHashMap<>();
+    private final Map<String, DBCExecutionMetricsGroup> statementTypeGroups = new ConcurrentHashMap<>();
+    private final Map<String, DBCExecutionMetricsGroup> queryGroups = new ConcurrentHashMap<>();
+
+    /**
+     * Records metrics of one statement into all its groups
+     */
+    public static final class Recorder {
+        private final DBCExecutionMetricsGroup[] groups;
+
+        private Recorder(DBCExecutionMetricsGroup... groups) {
+            this.groups = groups;
+        }
+
+        public void recordExecute(long executeNanos, boolean error) {
+            for (DBCExecutionMetricsGroup group : groups) {
+                group.recordExecute(executeNanos, error);
+            }
+        }
+
+        /**
+         * @param firstRowNanos time till the first row or -1 if there are no rows
+         */
+        public void recordFetch(long firstRowNanos, long fetchNanos, long rows, long bytes) {
+            for (DBCExecutionMetricsGroup group : groups) {
+                group.recordFetch(firstRowNanos, fetchNanos, rows, bytes);
+            }
+        }
+    }
+
+    private DBCExecutionMetrics() {
+    }
+
+    @NotNull
+    public static DBCExecutionMetrics getInstance() {
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static synchronized void setEnabled(boolean enabled) {
+        DBCExecutionMetrics.enabled = enabled;
+        if (enabled && !mbeanRegistered) {
+            mbeanRegistered = true;
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBeanImpl(), new ObjectName(MBEAN_NAME));
+            } catch (Exception e) {
+                log.debug("Can't register execution metrics MBean: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns metrics recorder for the specified query
+     */
+    @NotNull
+    public Recorder getRecorder(@Nullable DBPDataSourceContainer container, @Nullable String queryText) {
+        String fingerprint = CommonUtils.isEmpty(queryText) ? "" : getQueryFingerprint(container, queryText);
+        DBCExecutionMetricsGroup queryGroup = queryGroups.get(fingerprint);
+        if (queryGroup == null) {
+            if (queryGroups.size() >= MAX_QUERY_GROUPS) {
+                fingerprint = OTHER_QUERIES;
+            }
+            queryGroup = queryGroups.computeIfAbsent(fingerprint, DBCExecutionMetricsGroup::new);
+        }
+        return new Recorder(
+            getConnectionGroup(container),
+            statementTypeGroups.computeIfAbsent(getStatementType(fingerprint), DBCExecutionMetricsGroup::new),
+            queryGroup);
+    }
+
+    @NotNull
+    private DBCExecutionMetricsGroup getConnectionGroup(@Nullable DBPDataSourceContainer container) {
+        if (container == null) {
+            return connectionGroups.computeIfAbsent("", DBCExecutionMetricsGroup::new);
+        }
+        // Connection names are not unique
+        return connectionGroups.computeIfAbsent(container.getId(), id -> new DBCExecutionMetricsGroup(container.getName()));
+    }
+
+    @NotNull
+    public Collection<DBCExecutionMetricsGroup> getGroups(@NotNull Dimension dimension) {
+        return switch (dimension) {
+            case CONNECTION -> connectionGroups.values();
+            case STATEMENT_TYPE -> statementTypeGroups.values();
+            case QUERY -> queryGroups.values();
+        };
+    }
+
+    public void reset() {
+        connectionGroups.clear();
+        statementTypeGroups.clear();
+        queryGroups.clear();
+    }
+
+    /**
+     * Returns normalized query text (see {@link DBCQueryNormalizer}).
+     * Queries which differ only in literal values have the same fingerprint.
+     * If normalizer service is not available then trimmed query text is used.
+     */
+    @NotNull
+    public static String getQueryFingerprint(@Nullable DBPDataSourceContainer container, @NotNull String queryText) {
+        DBCQueryNormalizer normalizer = getQueryNormalizer();
+        String fingerprint = normalizer == null ? queryText.trim() : normalizer.normalizeQuery(container, queryText);
+        return fingerprint.length() > MAX_FINGERPRINT_LENGTH ? fingerprint.substring(0, MAX_FINGERPRINT_LENGTH) : fingerprint;
+    }
+
+    @Nullable
+    private static DBCQueryNormalizer getQueryNormalizer() {
+        if (!queryNormalizerResolved) {
+            try {
+                queryNormalizer = DBWorkbench.getService(DBCQueryNormalizer.class);
+            } catch (Exception e) {
+                log.debug("Query normalizer is not available: " + e.getMessage());
+            }
+            queryNormalizerResolved = true;
+        }
+        return queryNormalizer;
+    }
+
+    @NotNull
+    private static String getStatementType(@NotNull String fingerprint) {
+        int length = 0;
+        while (length < fingerprint.length() && Character.isLetter(fingerprint.charAt(length))) {
+            length++;
+        }
+        return length == 0 ? OTHER_STATEMENTS : fingerprint.substring(0, length).toUpperCase();
+    }
+
+    private static class MXBeanImpl implements DBCExecutionMetricsMXBean {
+        @Override
+        public List<DBCExecutionMetricsSnapshot> getConnectionMetrics() {
+            return makeSnapshots(Dimension.CONNECTION);
+        }
+
+        @Override
+        public List<DBCExecutionMetricsSnapshot> getStatementTypeMetrics() {
+            return makeSnapshots(Dimension.STATEMENT_TYPE);
+        }
+
+        @Override
+        public List<DBCExecutionMetricsSnapshot> getQueryMetrics() {
+            return makeSnapshots(Dimension.QUERY);
+        }
+
+        @Override
+        public void reset() {
+            instance.reset();
+        }
+
+        private static List<DBCExecutionMetricsSnapshot> makeSnapshots(Dimension dimension) {
+            List<DBCExecutionMetricsSnapshot> result = new ArrayList<>();
+            for (DBCExecutionMetricsGroup group : instance.getGroups(dimension)) {
+                result.add(group.makeSnapshot());
+            }
+            return result;
+        }
+    }
+
+}
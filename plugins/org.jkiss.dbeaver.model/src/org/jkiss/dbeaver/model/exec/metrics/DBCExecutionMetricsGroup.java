@@ -0,0 +1,127 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec.metrics;
+
+import org.jkiss.code.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution metrics of a group of statements (e.g. of one connection or one query fingerprint).
+ * Times are kept in microseconds.
+ */
+public class DBCExecutionMetricsGroup {
+
+    private final String name;
+    private final DBCLatencyHistogram executeTime = new DBCLatencyHistogram();
+    private final DBCLatencyHistogram firstRowTime = new DBCLatencyHistogram();
+    private final DBCLatencyHistogram fetchTime = new DBCLatencyHistogram();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder rowsFetched = new LongAdder();
+    private final LongAdder bytesFetched = new LongAdder();
+
+    DBCExecutionMetricsGroup(@NotNull String name) {
+        this.name = name;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Statement execution time
+     */
+    @NotNull
+    public DBCLatencyHistogram getExecuteTime() {
+        return executeTime;
+    }
+
+    /**
+     * Time from result set open till the first row is fetched
+     */
+    @NotNull
+    public DBCLatencyHistogram getFirstRowTime() {
+        return firstRowTime;
+    }
+
+    /**
+     * Time from result set open till result set close
+     */
+    @NotNull
+    public DBCLatencyHistogram getFetchTime() {
+        return fetchTime;
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched.sum();
+    }
+
+    public long getBytesFetched() {
+        return bytesFetched.sum();
+    }
+
+    void recordExecute(long executeNanos, boolean error) {
+        executeTime.record(TimeUnit.NANOSECONDS.toMicros(executeNanos));
+        if (error) {
+            errorCount.increment();
+        }
+    }
+
+    void recordFetch(long firstRowNanos, long fetchNanos, long rows, long bytes) {
+        if (firstRowNanos >= 0) {
+            firstRowTime.record(TimeUnit.NANOSECONDS.toMicros(firstRowNanos));
+        }
+        fetchTime.record(TimeUnit.NANOSECONDS.toMicros(fetchNanos));
+        rowsFetched.add(rows);
+        bytesFetched.add(bytes);
+    }
+
+    @NotNull
+    public DBCExecutionMetricsSnapshot makeSnapshot() {
+        return new DBCExecutionMetricsSnapshot(
+            name,
+            executeTime.getCount(),
+            getErrorCount(),
+            executeTime.getValueAtPercentile(50),
+            executeTime.getValueAtPercentile(99),
+            executeTime.getMax(),
+            firstRowTime.getValueAtPercentile(50),
+            firstRowTime.getValueAtPercentile(99),
+            fetchTime.getCount(),
+            fetchTime.getValueAtPercentile(50),
+            fetchTime.getValueAtPercentile(99),
+            fetchTime.getMax(),
+            getRowsFetched(),
+            getBytesFetched());
+    }
+
+    void reset() {
+        executeTime.reset();
+        firstRowTime.reset();
+        fetchTime.reset();
+        errorCount.reset();
+        rowsFetched.reset();
+        bytesFetched.reset();
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec.metrics;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Immutable copy of execution metrics group values. Times are in microseconds.
+ * It is exposed via JMX as composite data.
+ */
+public class DBCExecutionMetricsSnapshot {
+
+    private final String name;
+    private final long executeCount;
+    private final long errorCount;
+    private final long executeP50;
+    private final long executeP99;
+    private final long executeMax;
+    private final long firstRowP50;
+    private final long firstRowP99;
+    private final long fetchCount;
+    private final long fetchP50;
+    private final long fetchP99;
+    private final long fetchMax;
+    private final long rowsFetched;
+    private final long bytesFetched;
+
+    @ConstructorParameters({
+        "name", "executeCount", "errorCount", "executeP50", "executeP99", "executeMax", "firstRowP50", "firstRowP99",
+        "fetchCount", "fetchP50", "fetchP99", "fetchMax", "rowsFetched", "bytesFetched"})
+    public DBCExecutionMetricsSnapshot(
+        String name,
+        long executeCount,
+        long errorCount,
+        long executeP50,
+        long executeP99,
+        long executeMax,
+        long firstRowP50,
+        long firstRowP99,
+        long fetchCount,
+        long fetchP50,
+        long fetchP99,
+        long fetchMax,
+        long rowsFetched,
+        long bytesFetched
+    ) {
+        this.name = name;
+        this.executeCount = executeCount;
+        this.errorCount = errorCount;
+        this.executeP50 = executeP50;
+        this.executeP99 = executeP99;
+        this.executeMax = executeMax;
+        this.firstRowP50 = firstRowP50;
+        this.firstRowP99 = firstRowP99;
+        this.fetchCount = fetchCount;
+        this.fetchP50 = fetchP50;
+        this.fetchP99 = fetchP99;
+        this.fetchMax = fetchMax;
+        this.rowsFetched = rowsFetched;
+        this.bytesFetched = bytesFetched;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getExecuteCount() {
+        return executeCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getExecuteP50() {
+        return executeP50;
+    }
+
+    public long getExecuteP99() {
+        return executeP99;
+    }
+
+    public long getExecuteMax() {
+        return executeMax;
+    }
+
+    public long getFirstRowP50() {
+        return firstRowP50;
+    }
+
+    public long getFirstRowP99() {
+        return firstRowP99;
+    }
+
+    public long getFetchCount() {
+        return fetchCount;
+    }
+
+    public long getFetchP50() {
+        return fetchP50;
+    }
+
+    public long getFetchP99() {
+        return fetchP99;
+    }
+
+    public long getFetchMax() {
+        return fetchMax;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public long getBytesFetched() {
+        return bytesFetched;
+    }
+
+    @Override
+    public String toString() {
+        return name + " [executions=" + executeCount + ", p50=" + executeP50 + "us, p99=" + executeP99 + "us]";
+    }
+
+}
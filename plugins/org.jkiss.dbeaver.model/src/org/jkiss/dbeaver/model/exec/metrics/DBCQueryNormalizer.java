@@ -0,0 +1,39 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec.metrics;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+
+/**
+ * Query normalizer service.
+ * Produces query text without literals, comments and extra whitespaces,
+ * so queries which differ only in literal values have the same text.
+ *
+ * Implementation must be thread safe.
+ */
+public interface DBCQueryNormalizer {
+
+    /**
+     * Returns normalized query text.
+     * @param container data source container which dialect is used for parsing. Default dialect is used if it is null or not connected.
+     */
+    @NotNull
+    String normalizeQuery(@Nullable DBPDataSourceContainer container, @NotNull String query);
+
+}
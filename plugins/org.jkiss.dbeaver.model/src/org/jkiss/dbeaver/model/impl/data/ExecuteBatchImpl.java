@@ -47,10 +47,20 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
 
     private static final Log log = Log.getLog(ExecuteBatchImpl.class);
 
+    // Adaptive JDBC batch size bounds (used in NULL binding mode)
+    private static final int MIN_BATCH_SIZE = 50;
+    private static final int MAX_BATCH_SIZE = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    // Batch round trip time ranges (ms). Batch grows while it is faster and shrinks when it is slower.
+    private static final long BATCH_FAST_TIME = 100;
+    private static final long BATCH_SLOW_TIME = 1000;
+
     protected final DBSAttributeBase[] attributes;
     protected final List<Object[]> values = new ArrayList<>();
     protected final DBDDataReceiver keysReceiver;
     protected final boolean reuseStatement;
+    protected boolean bindNulls;
+    private int adaptiveBatchSize = DEFAULT_BATCH_SIZE;
 
     /**
      * Constructs new batch
@@ -116,6 +126,8 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         if (skipBindValues) {
             useBatch = false;
         }
+        bindNulls = !skipBindValues && reuseStatement && supportsNullsBinding() &&
+            CommonUtils.toBoolean(options.get(DBSDataManipulator.OPTION_BIND_NULLS));
 
         DBCStatistics statistics = new DBCStatistics();
         DBCStatement statement = null;
@@ -140,7 +152,13 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                 }
 
                 boolean reuse = !skipBindValues && reuseStatement;
-                if (reuse) {
+                if (bindNulls) {
+                    // Statement doesn't depend on NULLs. Just split too large batches.
+                    if (statementsInBatch >= adaptiveBatchSize && actions == null) {
+                        adjustBatchSize(flushBatch(statistics, statement), statementsInBatch);
+                        statementsInBatch = 0;
+                    }
+                } else if (reuse) {
                     for (int i = 0; i < rowValues.length; i++) {
                         nulls[i] = DBUtils.isNullValue(rowValues[i]);
                     }
@@ -285,10 +303,37 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return formatted.toString();
     }
 
-    void flushBatch(DBCStatistics statistics, DBCStatement statement) throws DBCException {
+    /**
+     * Returns true if this batch can bind NULLs as parameters without changing statement semantics
+     * (see {@link DBSDataManipulator#OPTION_BIND_NULLS}).
+     */
+    protected boolean supportsNullsBinding() {
+        return false;
+    }
+
+    /**
+     * Adjusts batch size by measured batch round trip time
+     */
+    private void adjustBatchSize(long flushTime, int batchSize) {
+        if (batchSize < adaptiveBatchSize) {
+            return;
+        }
+        if (flushTime < BATCH_FAST_TIME) {
+            adaptiveBatchSize = Math.min(adaptiveBatchSize * 2, MAX_BATCH_SIZE);
+        } else if (flushTime > BATCH_SLOW_TIME) {
+            adaptiveBatchSize = Math.max(adaptiveBatchSize / 2, MIN_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Executes statement batch
+     * @return execution time
+     */
+    long flushBatch(DBCStatistics statistics, DBCStatement statement) throws DBCException {
         long startTime = System.currentTimeMillis();
         long[] updatedRows = statement.executeStatementBatch();
-        statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+        long executeTime = System.currentTimeMillis() - startTime;
+        statistics.addExecuteTime(executeTime);
         if (!ArrayUtils.isEmpty(updatedRows)) {
             for (long rows : updatedRows) {
                 if (rows < 0) {
@@ -304,6 +349,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             }
         }
         saveExecuteWarnings(statistics, statement);
+        return executeTime;
     }
 
     protected void executeStatement(DBCStatistics statistics, DBCStatement statement) throws DBCException {
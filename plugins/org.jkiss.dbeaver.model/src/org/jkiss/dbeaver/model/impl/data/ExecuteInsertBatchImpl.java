@@ -65,7 +65,7 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
     protected int getNextUsedParamIndex(Object[] attributeValues, int paramIndex) {
         paramIndex++;
         DBSAttributeBase attribute = attributes[paramIndex];
-        while (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[paramIndex]))) {
+        while (DBUtils.isPseudoAttribute(attribute) || (!allNulls && !bindNulls && DBUtils.isNullValue(attributeValues[paramIndex]))) {
             paramIndex++;
         }
         return paramIndex;
@@ -96,7 +96,7 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         int paramIndex = 0;
         for (int k = 0; k < handlers.length; k++) {
             DBSAttributeBase attribute = attributes[k];
-            if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[k]))) {
+            if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && !bindNulls && DBUtils.isNullValue(attributeValues[k]))) {
                 continue;
             }
             if (allNulls && attributeHasDefaultValue(attribute)) {
@@ -140,8 +140,9 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         query.append(" ").append(tableName).append(" ("); //$NON-NLS-1$ //$NON-NLS-2$
 
 
-        allNulls = true;
-        for (int i = 0; i < attributes.length; i++) {
+        // In NULL binding mode all rows use the same statement, so it never depends on row values
+        allNulls = !bindNulls;
+        for (int i = 0; allNulls && i < attributes.length; i++) {
             if (!DBUtils.isNullValue(attributeValues[i])) {
                 allNulls = false;
                 break;
@@ -158,7 +159,7 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         List<Integer> usedAttributes = new ArrayList<Integer>();
         for (int i = 0; i < attributes.length; i++) {
             DBSAttributeBase attribute = attributes[i];
-            if (DBUtils.isPseudoAttribute(attribute) || (!useMultiRowInsert && (!allNulls && DBUtils.isNullValue(attributeValues[i])))) {
+            if (DBUtils.isPseudoAttribute(attribute) || (!useMultiRowInsert && !bindNulls && (!allNulls && DBUtils.isNullValue(attributeValues[i])))) {
                 continue;
             }
             if (hasKey) query.append(","); //$NON-NLS-1$
@@ -202,6 +203,13 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         return query;
     }
 
+    @Override
+    protected boolean supportsNullsBinding() {
+        // NULLs are excluded from INSERT only to let column defaults work.
+        // Update/delete batches (base implementation) use NULLs in conditions so they can't bind them.
+        return true;
+    }
+
     private boolean attributeHasDefaultValue(@NotNull DBSAttributeBase attribute) {
         if (DBUtils.isPseudoAttribute(attribute) || DBUtils.isHiddenObject(attribute)) {
             return false;
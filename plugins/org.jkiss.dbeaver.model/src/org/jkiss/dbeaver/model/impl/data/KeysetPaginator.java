@@ -0,0 +1,272 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination.
+ * Reads entity data page by page ordered by unique key. Each next page starts after the last key
+ * of the previous page: {@code WHERE k1 > ? OR (k1 = ? AND k2 > ?) ORDER BY k1, k2},
+ * so the database doesn't need to scan and skip rows of previous pages like with OFFSET.
+ * Pages are read with the container's own {@link DBSDataContainer#readData}, the key condition
+ * is a part of the page data filter.
+ *
+ * Usage: call {@link #readPage} until it returns less rows than page size.
+ */
+public class KeysetPaginator {
+
+    @NotNull
+    private final DBSDataContainer dataContainer;
+    @NotNull
+    private final List<DBSEntityAttribute> keyAttributes;
+    @Nullable
+    private final DBDDataFilter baseFilter;
+    @Nullable
+    private Object[] lastKey;
+
+    public KeysetPaginator(
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull List<? extends DBSEntityAttribute> keyAttributes,
+        @Nullable DBDDataFilter baseFilter
+    ) {
+        this.dataContainer = dataContainer;
+        this.keyAttributes = new ArrayList<>(keyAttributes);
+        this.baseFilter = baseFilter;
+    }
+
+    /**
+     * Creates paginator for the specified entity.
+     *
+     * @return paginator or null if entity has no suitable unique key or the filter has its own ordering.
+     * In this case caller should fall back to OFFSET based pagination.
+     */
+    @Nullable
+    public static KeysetPaginator create(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSEntity entity,
+        @Nullable DBDDataFilter baseFilter
+    ) throws DBException {
+        if (!(entity instanceof DBSDataContainer dataContainer) || entity.getDataSource() == null) {
+            return null;
+        }
+        if (baseFilter != null &&
+            (baseFilter.hasOrdering() || baseFilter.isAnyConstraint() || baseFilter.isUseDisjunctiveNormalForm()))
+        {
+            // Key condition can't be added to ORed constraints
+            return null;
+        }
+        List<? extends DBSEntityAttribute> identifier = DBUtils.getBestTableIdentifier(monitor, entity);
+        if (CommonUtils.isEmpty(identifier)) {
+            return null;
+        }
+        for (DBSEntityAttribute attribute : identifier) {
+            // Rows with NULL keys can't be reached by key comparison
+            if (!attribute.isRequired() || !isComparable(attribute.getDataKind())) {
+                return null;
+            }
+        }
+        return new KeysetPaginator(dataContainer, identifier, baseFilter);
+    }
+
+    @NotNull
+    public List<DBSEntityAttribute> getKeyAttributes() {
+        return keyAttributes;
+    }
+
+    /**
+     * Returns last key read by {@link #readPage} or null if no rows were read yet
+     */
+    @Nullable
+    public Object[] getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * Reads the next page. Receiver gets rows of this page only.
+     *
+     * @return statistics of the page query, fetched rows count less than page size means that all rows were read
+     */
+    @NotNull
+    public DBCStatistics readPage(
+        @Nullable DBCExecutionSource source,
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver dataReceiver,
+        long pageSize,
+        long flags,
+        int fetchSize
+    ) throws DBCException {
+        return dataContainer.readData(
+            source, session, new KeyTrackingReceiver(dataReceiver), makePageFilter(), 0, pageSize, flags, fetchSize);
+    }
+
+    /**
+     * Makes data filter of the next page: base filter plus key condition and key ordering.
+     * The first key column gets a plain range constraint so the database may seek by index,
+     * other key columns are compared in the filter's where condition.
+     */
+    @NotNull
+    public DBDDataFilter makePageFilter() {
+        DBDDataFilter filter = baseFilter == null ? new DBDDataFilter() : new DBDDataFilter(baseFilter);
+
+        StringBuilder order = new StringBuilder();
+        for (DBSEntityAttribute attribute : keyAttributes) {
+            if (order.length() > 0) {
+                order.append(",");
+            }
+            order.append(DBUtils.getQuotedIdentifier(attribute));
+        }
+        filter.setOrder(order.toString());
+
+        Object[] key = lastKey;
+        if (key != null) {
+            boolean compositeKey = keyAttributes.size() > 1;
+            List<DBDAttributeConstraint> keyConstraints = new ArrayList<>(1);
+            keyConstraints.add(makeKeyConstraint(0, compositeKey ? DBCLogicalOperator.GREATER_EQUALS : DBCLogicalOperator.GREATER, key[0]));
+            filter.addConstraints(keyConstraints);
+            if (compositeKey) {
+                String keyCondition = makeKeyCondition(key);
+                if (CommonUtils.isEmpty(filter.getWhere())) {
+                    filter.setWhere(keyCondition);
+                } else {
+                    filter.setWhere("(" + filter.getWhere() + ") AND (" + keyCondition + ")");
+                }
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Row value comparison {@code (k1,k2) > (v1,v2)} is not supported by all dialects,
+     * so it is expanded to {@code k1 > v1 OR (k1 = v1 AND k2 > v2)}.
+     * Values are formatted by the dialect the same way as the other filter constraints.
+     */
+    @NotNull
+    private String makeKeyCondition(@NotNull Object[] key) {
+        DBPDataSource dataSource = dataContainer.getDataSource();
+        StringBuilder condition = new StringBuilder();
+        for (int i = 0; i < keyAttributes.size(); i++) {
+            if (i > 0) {
+                condition.append(" OR ");
+            }
+            condition.append("(");
+            for (int k = 0; k <= i; k++) {
+                if (k > 0) {
+                    condition.append(" AND ");
+                }
+                DBDAttributeConstraint constraint = makeKeyConstraint(k, k == i ? DBCLogicalOperator.GREATER : DBCLogicalOperator.EQUALS, key[k]);
+                condition.append(DBUtils.getQuotedIdentifier(keyAttributes.get(k)))
+                    .append(' ')
+                    .append(SQLUtils.getConstraintCondition(dataSource, constraint, null, true));
+            }
+            condition.append(")");
+        }
+        return condition.toString();
+    }
+
+    @NotNull
+    private DBDAttributeConstraint makeKeyConstraint(int keyIndex, @NotNull DBCLogicalOperator operator, @NotNull Object value) {
+        DBSEntityAttribute attribute = keyAttributes.get(keyIndex);
+        DBDAttributeConstraint constraint = new DBDAttributeConstraint(attribute, attribute.getOrdinalPosition());
+        constraint.setOperator(operator);
+        constraint.setValue(value);
+        return constraint;
+    }
+
+    private static boolean isComparable(@NotNull DBPDataKind dataKind) {
+        return dataKind == DBPDataKind.NUMERIC || dataKind == DBPDataKind.STRING || dataKind == DBPDataKind.DATETIME;
+    }
+
+    private class KeyTrackingReceiver implements DBDDataReceiver {
+        @NotNull
+        private final DBDDataReceiver delegate;
+        private int[] keyIndexes;
+
+        KeyTrackingReceiver(@NotNull DBDDataReceiver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+            List<? extends DBCAttributeMetaData> attributes = resultSet.getMeta().getAttributes();
+            keyIndexes = new int[keyAttributes.size()];
+            for (int i = 0; i < keyAttributes.size(); i++) {
+                keyIndexes[i] = -1;
+                String keyName = keyAttributes.get(i).getName();
+                for (int k = 0; k < attributes.size(); k++) {
+                    DBCAttributeMetaData attribute = attributes.get(k);
+                    if (keyName.equalsIgnoreCase(attribute.getName()) || keyName.equalsIgnoreCase(attribute.getLabel())) {
+                        keyIndexes[i] = k;
+                        break;
+                    }
+                }
+                if (keyIndexes[i] < 0) {
+                    throw new DBCException("Key column '" + keyName + "' not found in result set");
+                }
+            }
+            delegate.fetchStart(session, resultSet, offset, maxRows);
+        }
+
+        @Override
+        public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+            delegate.fetchRow(session, resultSet);
+            Object[] key = new Object[keyIndexes.length];
+            for (int i = 0; i < keyIndexes.length; i++) {
+                key[i] = resultSet.getAttributeValue(keyIndexes[i]);
+                if (DBUtils.isNullValue(key[i])) {
+                    // Next page condition would never match and the rest of the data would be lost
+                    throw new DBCException("NULL value in key column '" + keyAttributes.get(i).getName() + "'");
+                }
+            }
+            lastKey = key;
+        }
+
+        @Override
+        public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+            delegate.fetchEnd(session, resultSet);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        @NotNull
+        @Override
+        public DBCStatistics getStatistics() {
+            return delegate.getStatistics();
+        }
+    }
+}
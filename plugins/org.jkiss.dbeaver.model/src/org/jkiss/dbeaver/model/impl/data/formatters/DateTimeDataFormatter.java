@@ -37,6 +37,11 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Date/time formatter.
+ * Formatter is shared between threads. java.time values are formatted with immutable DateTimeFormatter,
+ * legacy dates are formatted with per-thread copies of DateFormat.
+ */
 public class DateTimeDataFormatter implements DBDDataFormatter {
 
     public static final String PROP_PATTERN = "pattern";
@@ -45,10 +50,19 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
     private String pattern;
     private ZoneId zone;
     private DateFormat dateFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
+    private ThreadLocal<FormatState> threadState;
     private DateTimeFormatter dateTimeFormatter;
 
+    private static class FormatState {
+        final DateFormat dateFormat;
+        final StringBuffer buffer = new StringBuffer();
+        final FieldPosition position = new FieldPosition(0);
+
+        FormatState(DateFormat dateFormat) {
+            this.dateFormat = dateFormat;
+        }
+    }
+
     @Override
     public void init(DBSTypedObject type, Locale locale, Map<String, Object> properties)
     {
@@ -56,23 +70,29 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
         final String timezone = CommonUtils.toString(properties.get(PROP_TIMEZONE));
         zone = CommonUtils.isEmptyTrimmed(timezone) ? null : ZoneId.of(timezone);
         String sdfPattern = pattern.replace("n", "f");
-        dateFormat = new ExtendedDateFormat(
-            sdfPattern,
-            locale);
-        // We shouldn't use lenient formatter (#7244)
-        dateFormat.setLenient(false);
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
+        dateFormat = createDateFormat(sdfPattern, locale);
+        threadState = ThreadLocal.withInitial(() -> new FormatState(createDateFormat(sdfPattern, locale)));
         // DateTimeFormatter pattern for nanoseconds is "n" but old "f" (ExtendedDateFormat)
         String java8DatePattern = pattern.replaceAll("f+", "n");
         dateTimeFormatter = DateTimeFormatter.ofPattern(java8DatePattern);
     }
 
+    @NotNull
+    private static DateFormat createDateFormat(@NotNull String sdfPattern, @NotNull Locale locale) {
+        DateFormat dateFormat = new ExtendedDateFormat(sdfPattern, locale);
+        // We shouldn't use lenient formatter (#7244)
+        dateFormat.setLenient(false);
+        return dateFormat;
+    }
+
     @Nullable
     public ZoneId getZone() {
         return zone;
     }
 
+    /**
+     * Returns date format prototype. DateFormat isn't thread safe so it must not be used concurrently.
+     */
     @NotNull
     public DateFormat getDateFormat() {
         return dateFormat;
@@ -104,10 +124,12 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
             }
             return dateTimeFormatter.format((TemporalAccessor) value);
         }
-        synchronized (dateFormat) {
-            buffer.setLength(0);
-            return value == null ? null : dateFormat.format(value, buffer, position).toString();
+        if (value == null) {
+            return null;
         }
+        FormatState state = threadState.get();
+        state.buffer.setLength(0);
+        return state.dateFormat.format(value, state.buffer, state.position).toString();
     }
 
     @Override
@@ -129,7 +151,7 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
                 }
             }
         }
-        return dateFormat.parse(value);
+        return threadState.get().dateFormat.parse(value);
     }
 
 }
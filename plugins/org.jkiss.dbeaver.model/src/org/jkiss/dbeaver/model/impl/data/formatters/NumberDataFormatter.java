@@ -26,23 +26,47 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.FieldPosition;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Number formatter.
+ * Formatter is shared between threads so each thread uses its own copy of DecimalFormat.
+ * Integer values are formatted without DecimalFormat if format doesn't have any special settings.
+ */
 public class NumberDataFormatter implements DBDDataFormatter {
 
     public static final int MAX_DEFAULT_FRACTIONS_DIGITS = 16;
 
     private static final Log log = Log.getLog(NumberDataFormatter.class);
 
+    // Format prototype. Threads use its copies.
     private DecimalFormat numberFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
+    private ThreadLocal<FormatState> threadState;
     private boolean nativeSpecialValues;
 
+    private boolean fastIntegerFormat;
+    private char zeroDigit;
+    private char minusSign;
+    private char groupingSeparator;
+    private int groupingSize;
+
+    private static class FormatState {
+        final DecimalFormat numberFormat;
+        final StringBuffer buffer = new StringBuffer();
+        final FieldPosition position = new FieldPosition(0);
+        // Enough for Long.MIN_VALUE with grouping separators
+        final char[] digits = new char[40];
+
+        FormatState(DecimalFormat numberFormat) {
+            this.numberFormat = numberFormat;
+        }
+    }
+
     public NumberDataFormatter() {
     }
 
@@ -113,9 +137,30 @@ public class NumberDataFormatter implements DBDDataFormatter {
                 numberFormat.setGroupingUsed(false);
             }
         }
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
         nativeSpecialValues = CommonUtils.toBoolean(properties.get(NumberFormatSample.PROP_NATIVE_SPECIAL_VALUES));
+
+        DecimalFormatSymbols symbols = numberFormat.getDecimalFormatSymbols();
+        this.zeroDigit = symbols.getZeroDigit();
+        this.minusSign = symbols.getMinusSign();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.groupingSize = numberFormat.isGroupingUsed() ? numberFormat.getGroupingSize() : 0;
+        this.fastIntegerFormat =
+            numberFormat.getMinimumIntegerDigits() <= 1 &&
+            numberFormat.getMaximumIntegerDigits() >= 20 &&
+            numberFormat.getMinimumFractionDigits() == 0 &&
+            numberFormat.getMultiplier() == 1 &&
+            !numberFormat.isDecimalSeparatorAlwaysShown() &&
+            numberFormat.getPositivePrefix().isEmpty() &&
+            numberFormat.getPositiveSuffix().isEmpty() &&
+            numberFormat.getNegativePrefix().equals(String.valueOf(minusSign)) &&
+            numberFormat.getNegativeSuffix().isEmpty();
+
+        DecimalFormat prototype = numberFormat;
+        threadState = ThreadLocal.withInitial(() -> {
+            synchronized (prototype) {
+                return new FormatState((DecimalFormat) prototype.clone());
+            }
+        });
     }
 
     @Nullable
@@ -132,6 +177,9 @@ public class NumberDataFormatter implements DBDDataFormatter {
         if (value == null) {
             return null;
         }
+        if (fastIntegerFormat && (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+            return formatLong(((Number) value).longValue(), threadState.get().digits);
+        }
         if (CommonUtils.isNaN(value) || CommonUtils.isInfinite(value)) {
             if (nativeSpecialValues) {
                 return value.toString();
@@ -143,60 +191,85 @@ public class NumberDataFormatter implements DBDDataFormatter {
             return value.toString();
         }
         try {
-            synchronized (this) {
-                buffer.setLength(0);
-                try {
-                    return numberFormat.format(value, buffer, position).toString();
-                } catch (ArithmeticException e) {
-                    if (numberFormat.getRoundingMode() == RoundingMode.UNNECESSARY) {
-                        // This type can't use UNNECESSARY rounding. Let's set default one
-                        log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
+            FormatState state = threadState.get();
+            state.buffer.setLength(0);
+            try {
+                return state.numberFormat.format(value, state.buffer, state.position).toString();
+            } catch (ArithmeticException e) {
+                if (state.numberFormat.getRoundingMode() == RoundingMode.UNNECESSARY) {
+                    // This type can't use UNNECESSARY rounding. Let's set default one
+                    log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
+                    state.numberFormat.setRoundingMode(RoundingMode.HALF_EVEN);
+                    synchronized (numberFormat) {
                         numberFormat.setRoundingMode(RoundingMode.HALF_EVEN);
                     }
-                    return numberFormat.format(value, buffer, position).toString();
                 }
+                state.buffer.setLength(0);
+                return state.numberFormat.format(value, state.buffer, state.position).toString();
             }
         } catch (Exception e) {
             return value.toString();
         }
     }
 
+    /**
+     * Formats integer value the same way as DecimalFormat without fraction digits does.
+     */
+    private String formatLong(long value, char[] digits) {
+        int pos = digits.length;
+        boolean negative = value < 0;
+        // Use negative remainder to handle Long.MIN_VALUE
+        long rest = negative ? value : -value;
+        int digitCount = 0;
+        do {
+            if (groupingSize > 0 && digitCount > 0 && digitCount % groupingSize == 0) {
+                digits[--pos] = groupingSeparator;
+            }
+            digits[--pos] = (char) (zeroDigit - (rest % 10));
+            rest /= 10;
+            digitCount++;
+        } while (rest != 0);
+        if (negative) {
+            digits[--pos] = minusSign;
+        }
+        return new String(digits, pos, digits.length - pos);
+    }
+
     @Override
     public Object parseValue(String value, @Nullable Class<?> typeHint) throws ParseException
     {
-        synchronized (this) {
-            numberFormat.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
-            Number number = numberFormat.parse(value);
-            if (number != null && typeHint != null) {
-                boolean isFloat = number instanceof Double || number instanceof Float;
-                if (typeHint == Byte.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.byteValue();
-                } else if (typeHint == Short.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.shortValue();
-                } else if (typeHint == Integer.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.intValue();
-                } else if (typeHint == Long.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.longValue();
-                } else if (typeHint == Float.class) {
-                    return number.floatValue();
-                } else if (typeHint == Double.class) {
-                    return number.doubleValue();
+        DecimalFormat format = threadState.get().numberFormat;
+        format.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
+        Number number = format.parse(value);
+        if (number != null && typeHint != null) {
+            boolean isFloat = number instanceof Double || number instanceof Float;
+            if (typeHint == Byte.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.byteValue();
+            } else if (typeHint == Short.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.shortValue();
+            } else if (typeHint == Integer.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.intValue();
+            } else if (typeHint == Long.class) {
+                if (isFloat) {
+                    return number;
                 }
+                return number.longValue();
+            } else if (typeHint == Float.class) {
+                return number.floatValue();
+            } else if (typeHint == Double.class) {
+                return number.doubleValue();
             }
-            return number;
         }
+        return number;
     }
 
 }
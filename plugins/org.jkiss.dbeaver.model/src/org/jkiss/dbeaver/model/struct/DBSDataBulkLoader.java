@@ -29,6 +29,9 @@ import java.util.Map;
  */
 public interface DBSDataBulkLoader {
 
+    // Use database-specific binary data format if loader supports it
+    String OPTION_BINARY_FORMAT = "bulkLoad.binaryFormat";//$NON-NLS-1$
+
     interface BulkLoadManager extends AutoCloseable {
         void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException;
 
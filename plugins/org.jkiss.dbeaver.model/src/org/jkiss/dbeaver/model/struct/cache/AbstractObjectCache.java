@@ -31,6 +31,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Various objects cache
@@ -48,6 +49,14 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     // Use this monitor to void entire cache object locking
     private final Object cacheSync = new Object();
 
+    // Read-optimized mode: readers never lock cacheSync.
+    // Name index is a concurrent copy of objectMap which writers update in place, so lookups mixed with
+    // caching of single objects (lookup caches) do not rebuild it. Objects list snapshot is immutable,
+    // writers drop it and it is rebuilt once on the next read.
+    private volatile boolean readOptimized = false;
+    private volatile List<OBJECT> listSnapshot;
+    private volatile NameIndex<OBJECT> nameIndex;
+
     protected AbstractObjectCache() {
     }
 
@@ -56,7 +65,26 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     }
 
     public void setCaseSensitive(boolean caseSensitive) {
-        this.caseSensitive = caseSensitive;
+        synchronized (cacheSync) {
+            this.caseSensitive = caseSensitive;
+            resetSnapshot();
+        }
+    }
+
+    public boolean isReadOptimized() {
+        return readOptimized;
+    }
+
+    /**
+     * Enables read-optimized (copy-on-write) mode.
+     * In this mode getCachedObject/getCachedObjects/getCacheSize do not take cache lock
+     * and lists returned by getCachedObjects are immutable.
+     */
+    public void setReadOptimized(boolean readOptimized) {
+        synchronized (cacheSync) {
+            this.readOptimized = readOptimized;
+            resetSnapshot();
+        }
     }
 
     public Comparator<OBJECT> getListOrderComparator() {
@@ -70,6 +98,9 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @NotNull
     @Override
     public List<OBJECT> getCachedObjects() {
+        if (readOptimized) {
+            return getListSnapshot();
+        }
         synchronized (cacheSync) {
             return objectList == null ? Collections.emptyList() : objectList;
         }
@@ -89,12 +120,22 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Nullable
     @Override
     public OBJECT getCachedObject(@Nullable String name) {
+        if (readOptimized) {
+            if (name == null) {
+                return null;
+            }
+            NameIndex<OBJECT> index = getNameIndex();
+            return index.objects().get(index.caseSensitive() ? name : name.toUpperCase());
+        }
         synchronized (cacheSync) {
             return objectList == null || name == null ? null : getObjectMap().get(caseSensitive ? name : name.toUpperCase());
         }
     }
 
     public int getCacheSize() {
+        if (readOptimized) {
+            return getListSnapshot().size();
+        }
         synchronized (cacheSync) {
             return objectList == null ? 0 : objectList.size();
         }
@@ -112,8 +153,12 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
                 String name = getObjectName(object);
                 if (checkDuplicateName(name, object)) {
                     this.objectMap.put(name, object);
+                    indexObject(name, object);
                 }
+            } else {
+                this.nameIndex = null;
             }
+            this.listSnapshot = null;
         }
     }
 
@@ -124,12 +169,15 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
                 detectCaseSensitivity(object);
                 this.objectList.remove(object);
                 if (this.objectMap != null) {
-                    this.objectMap.remove(getObjectName(object));
+                    String name = getObjectName(object);
+                    this.objectMap.remove(name);
+                    unindexObject(name);
                 }
             }
             if (resetFullCache) {
                 fullCache = false;
             }
+            this.listSnapshot = null;
         }
     }
 
@@ -143,6 +191,8 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
                 }
                 if (this.objectMap.remove(oldName) == object) {
                     this.objectMap.put(newName, object);
+                    unindexObject(oldName);
+                    indexObject(newName, object);
                 }
             }
         }
@@ -173,6 +223,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
             this.objectList = null;
             this.objectMap = null;
             this.fullCache = false;
+            resetSnapshot();
         }
     }
 
@@ -181,6 +232,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
             this.objectList = objects;
             this.objectMap = null;
             this.fullCache = true;
+            resetSnapshot();
         }
     }
 
@@ -245,6 +297,88 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         }
     }
 
+    /**
+     * Drops read snapshot and name index. Called under cacheSync when cache is replaced or modified in bulk.
+     */
+    private void resetSnapshot() {
+        this.listSnapshot = null;
+        this.nameIndex = null;
+    }
+
+    /**
+     * Updates name index after object was put in objectMap. Called under cacheSync.
+     */
+    private void indexObject(@Nullable String name, @NotNull OBJECT object) {
+        NameIndex<OBJECT> index = this.nameIndex;
+        if (index == null) {
+            return;
+        }
+        if (index.caseSensitive() != caseSensitive) {
+            // Case sensitivity was detected after index was built
+            this.nameIndex = null;
+        } else if (name != null) {
+            index.objects().put(name, object);
+        }
+    }
+
+    /**
+     * Updates name index after object was removed from objectMap. Called under cacheSync.
+     */
+    private void unindexObject(@Nullable String name) {
+        NameIndex<OBJECT> index = this.nameIndex;
+        if (index == null) {
+            return;
+        }
+        if (index.caseSensitive() != caseSensitive) {
+            this.nameIndex = null;
+        } else if (name != null) {
+            index.objects().remove(name);
+        }
+    }
+
+    @NotNull
+    private List<OBJECT> getListSnapshot() {
+        List<OBJECT> objects = this.listSnapshot;
+        if (objects != null) {
+            return objects;
+        }
+        synchronized (cacheSync) {
+            objects = this.listSnapshot;
+            if (objects == null) {
+                objects = objectList == null ?
+                    Collections.emptyList() :
+                    Collections.unmodifiableList(new ArrayList<>(objectList));
+                this.listSnapshot = objects;
+            }
+            return objects;
+        }
+    }
+
+    @NotNull
+    private NameIndex<OBJECT> getNameIndex() {
+        NameIndex<OBJECT> index = this.nameIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (cacheSync) {
+            index = this.nameIndex;
+            if (index == null) {
+                // Name index is built once and then maintained by writers
+                Map<String, OBJECT> objects = new ConcurrentHashMap<>();
+                if (objectList != null) {
+                    for (Map.Entry<String, OBJECT> entry : getObjectMap().entrySet()) {
+                        if (entry.getKey() != null) {
+                            objects.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                }
+                index = new NameIndex<>(objects, caseSensitive);
+                this.nameIndex = index;
+            }
+            return index;
+        }
+    }
+
     private boolean checkDuplicateName(String name, OBJECT object) {
         if (this.objectMap.containsKey(name)) {
             log.debug("Duplicate object name '" + name + "' in cache " + this.getClass().getSimpleName() + ". Last value: " + DBUtils.getObjectFullName(object, DBPEvaluationContext.DDL));
@@ -292,6 +426,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
                     i++;
                 }
             }
+            resetSnapshot();
         }
     }
 
@@ -385,9 +520,16 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
             if (objectMap != null) {
                 objectMap.remove(getObjectName(curObject));
             }
+            resetSnapshot();
         }
     }
 
+    private record NameIndex<T>(
+        @NotNull Map<String, T> objects,
+        boolean caseSensitive
+    ) {
+    }
+
     public static boolean isPropertyGroupField(Field field) {
         String getterName = "get" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
         for (Method getter : field.getDeclaringClass().getMethods()) {
@@ -0,0 +1,482 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceListener;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.qm.*;
+import org.jkiss.dbeaver.model.qm.filters.QMCursorFilter;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMProjectInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Persistent query manager history.
+ *
+ * Finished query executions are appended to binary journal segments in the workspace metadata folder.
+ * Each segment consists of four files:
+ * <ul>
+ *     <li>data file - length-prefixed execution records</li>
+ *     <li>connections file - connections referenced by the segment records</li>
+ *     <li>index file - fixed-size entries, one per record, in the order of records. Entry keeps record offset,
+ *     start time, duration, connection number, query purpose, status flags and trigram signature of the query text</li>
+ *     <li>signatures file - trigram signatures of long query texts. Their size depends on the text length,
+ *     so they do not saturate. Index entry refers to such signature instead of keeping it inline</li>
+ * </ul>
+ * History search scans index entries and reads only records which may match the criteria,
+ * so journal size doesn't affect heap usage.
+ * Segment is rotated when its data file exceeds the size limit. Segments older than history days are deleted
+ * on start and then periodically.
+ */
+public class QMEventJournal implements QMMetaListener, DBPPreferenceListener {
+
+    private static final Log log = Log.getLog(QMEventJournal.class);
+
+    static final String JOURNAL_FOLDER = "qm-history";
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String DATA_FILE_EXT = ".qmd";
+    static final String CONNECTIONS_FILE_EXT = ".qmc";
+    static final String INDEX_FILE_EXT = ".qmi";
+    static final String SIGNATURES_FILE_EXT = ".qms";
+
+    static final int INDEX_MAGIC = 0x514D4A49; // QMJI
+    // Version 2 adds external signatures. Version 1 segments are readable as is.
+    static final int INDEX_VERSION = 2;
+    static final int INDEX_HEADER_SIZE = 8;
+    static final int INDEX_ENTRY_SIZE = 96;
+    // Offset of external signature length in index entry
+    static final int EXT_SIGNATURE_LENGTH_OFFSET = 28;
+    // Inline trigram signature is 512 bits
+    static final int SIGNATURE_LENGTH = 8;
+    static final int SIGNATURE_OFFSET = INDEX_ENTRY_SIZE - SIGNATURE_LENGTH * Long.BYTES;
+    // Max external signature is 64K bits
+    private static final int MAX_EXT_SIGNATURE_LENGTH = 1024;
+    // Signature keeps false positive rate low while at most 1/4 of its bits are set
+    private static final int SIGNATURE_BITS_PER_TRIGRAM = 4;
+
+    static final int FLAG_ERROR = 1;
+    static final int FLAG_TRANSACTIONAL = 2;
+    // Signature is stored in the signatures file
+    static final int FLAG_EXT_SIGNATURE = 4;
+
+    private static final long MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final long PURGE_PERIOD = 60 * 60 * 1000;
+    private static final int MAX_STRING_LENGTH = 64 * 1024 * 1024;
+    // Max number of executions which fetch results at the moment
+    private static final int MAX_PENDING_FETCHES = 1000;
+
+    private final Path journalFolder;
+    private final boolean usePreferences;
+    private volatile boolean enabled;
+    private int historyDays;
+    private long lastPurgeTime;
+    @Nullable
+    private QMEventFilter eventFilter;
+
+    private Path segmentPath;
+    private DataOutputStream dataStream;
+    private DataOutputStream connectionsStream;
+    private DataOutputStream indexStream;
+    private DataOutputStream signaturesStream;
+    private long dataSize;
+    private long signaturesSize;
+    // Connection object ID -> connection number in the current segment
+    private final Map<Long, Integer> segmentConnections = new HashMap<>();
+    // Executions which were finished while their results were fetched. They are written when fetch ends.
+    private final Set<QMMStatementExecuteInfo> pendingFetches = new LinkedHashSet<>();
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(1024);
+    private final DataOutputStream recordStream = new DataOutputStream(recordBuffer);
+    private final long[] signatureBuffer = new long[SIGNATURE_LENGTH];
+
+    public QMEventJournal() {
+        this(GeneralUtils.getMetadataFolder().resolve(JOURNAL_FOLDER), true);
+        DBWorkbench.getPlatform().getPreferenceStore().addPropertyChangeListener(this);
+        initJournal();
+    }
+
+    /**
+     * Creates enabled journal in the specified folder. It doesn't depend on preferences and keeps all query executions.
+     */
+    public QMEventJournal(@NotNull Path journalFolder, int historyDays) {
+        this(journalFolder, false);
+        this.enabled = true;
+        this.historyDays = historyDays;
+        purgeOldSegments();
+    }
+
+    private QMEventJournal(@NotNull Path journalFolder, boolean usePreferences) {
+        this.journalFolder = journalFolder;
+        this.usePreferences = usePreferences;
+    }
+
+    public void dispose() {
+        if (usePreferences) {
+            DBWorkbench.getPlatform().getPreferenceStore().removePropertyChangeListener(this);
+        }
+        synchronized (this) {
+            closeSegment();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens cursor over the journal events. Only query executions are kept in the journal.
+     */
+    @NotNull
+    public QMEventCursor openCursor(@NotNull QMCursorFilter cursorFilter) {
+        return new QMEventJournalCursor(getSegments(), cursorFilter);
+    }
+
+    private synchronized void initJournal() {
+        final DBPPreferenceStore preferences = DBWorkbench.getPlatform().getPreferenceStore();
+        closeSegment();
+        enabled = preferences.getBoolean(QMConstants.PROP_STORE_HISTORY);
+        historyDays = preferences.getInt(QMConstants.PROP_HISTORY_DAYS);
+        if (enabled) {
+            purgeOldSegments();
+        }
+        eventFilter = new DefaultEventFilter();
+    }
+
+    @Override
+    public synchronized void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            boolean written = false;
+            for (QMMetaEvent event : events) {
+                if (event.getObject() instanceof QMMStatementExecuteInfo exec && isExecutionFinished(event, exec)) {
+                    if (!CommonUtils.isEmpty(exec.getQueryString()) && (eventFilter == null || eventFilter.accept(event))) {
+                        writeExecution(exec);
+                        written = true;
+                    }
+                }
+            }
+            if (written) {
+                // Connections, data and signatures first, so index never refers to missing records
+                connectionsStream.flush();
+                dataStream.flush();
+                signaturesStream.flush();
+                indexStream.flush();
+            }
+        } catch (IOException e) {
+            log.warn("IO error writing QM history journal. Disable journal", e);
+            closeSegment();
+            enabled = false;
+        }
+    }
+
+    @Override
+    public void preferenceChange(PreferenceChangeEvent event) {
+        if (event.getProperty().startsWith(QMConstants.PROP_PREFIX)) {
+            initJournal();
+        }
+    }
+
+    /**
+     * Execution is written when it ends. If results are fetched at this moment then it is written when fetch ends.
+     */
+    private boolean isExecutionFinished(@NotNull QMMetaEvent event, @NotNull QMMStatementExecuteInfo exec) {
+        if (event.getAction() == QMEventAction.END) {
+            if (exec.isFetching()) {
+                if (pendingFetches.size() >= MAX_PENDING_FETCHES) {
+                    // Result sets which were never closed
+                    Iterator<QMMStatementExecuteInfo> iterator = pendingFetches.iterator();
+                    iterator.next();
+                    iterator.remove();
+                }
+                pendingFetches.add(exec);
+                return false;
+            }
+            return true;
+        }
+        return event.getAction() == QMEventAction.UPDATE && !exec.isFetching() && pendingFetches.remove(exec);
+    }
+
+    private void writeExecution(@NotNull QMMStatementExecuteInfo exec) throws IOException {
+        if (dataStream == null) {
+            openSegment();
+        } else if (dataSize >= MAX_SEGMENT_SIZE) {
+            closeSegment();
+            openSegment();
+        }
+        if (System.currentTimeMillis() - lastPurgeTime >= PURGE_PERIOD) {
+            purgeOldSegments();
+        }
+        int connectionNumber = getConnectionNumber(exec.getStatement().getConnection());
+        String queryText = exec.getQueryString();
+
+        recordBuffer.reset();
+        recordStream.writeLong(exec.getOpenTime());
+        recordStream.writeLong(exec.getCloseTime());
+        recordStream.writeLong(exec.getFetchBeginTime());
+        recordStream.writeLong(exec.getFetchEndTime());
+        recordStream.writeLong(exec.getUpdateRowCount());
+        recordStream.writeLong(exec.getFetchRowCount());
+        recordStream.writeInt(exec.getErrorCode());
+        writeString(recordStream, exec.getErrorMessage());
+        writeString(recordStream, exec.getSchema());
+        writeString(recordStream, exec.getCatalog());
+        writeString(recordStream, queryText);
+        recordStream.flush();
+
+        long recordOffset = dataSize;
+        dataStream.writeInt(recordBuffer.size());
+        recordBuffer.writeTo(dataStream);
+        dataSize += Integer.BYTES + recordBuffer.size();
+
+        int flags = 0;
+        if (exec.hasError()) {
+            flags |= FLAG_ERROR;
+        }
+        if (exec.isTransactional()) {
+            flags |= FLAG_TRANSACTIONAL;
+        }
+        String signatureText = queryText.toLowerCase(Locale.ROOT);
+        int signatureLength = getSignatureLength(signatureText.length());
+        long[] signature = signatureLength == SIGNATURE_LENGTH ? signatureBuffer : new long[signatureLength];
+        makeSignature(signatureText, signature);
+        long signatureOffset = signaturesSize;
+        if (signature != signatureBuffer) {
+            flags |= FLAG_EXT_SIGNATURE;
+            for (long bits : signature) {
+                signaturesStream.writeLong(bits);
+            }
+            signaturesSize += (long) signatureLength * Long.BYTES;
+        }
+
+        indexStream.writeLong(recordOffset);
+        indexStream.writeLong(exec.getOpenTime());
+        indexStream.writeInt((int) Math.min(Math.max(exec.getDuration(), 0), Integer.MAX_VALUE));
+        indexStream.writeInt(connectionNumber);
+        indexStream.writeByte(exec.getStatement().getPurpose().getId());
+        indexStream.writeByte(flags);
+        // Reserved
+        indexStream.writeShort(0);
+        if ((flags & FLAG_EXT_SIGNATURE) != 0) {
+            // External signature length and offset instead of inline signature
+            indexStream.writeInt(signatureLength);
+            indexStream.writeLong(signatureOffset);
+            for (int i = 1; i < SIGNATURE_LENGTH; i++) {
+                indexStream.writeLong(0);
+            }
+        } else {
+            indexStream.writeInt(0);
+            for (long bits : signatureBuffer) {
+                indexStream.writeLong(bits);
+            }
+        }
+    }
+
+    private int getConnectionNumber(@NotNull QMMConnectionInfo connection) throws IOException {
+        Integer number = segmentConnections.get(connection.getObjectId());
+        if (number != null) {
+            return number;
+        }
+        QMMProjectInfo projectInfo = connection.getProjectInfo();
+        connectionsStream.writeLong(connection.getOpenTime());
+        writeString(connectionsStream, connection.getContainerId());
+        writeString(connectionsStream, connection.getContainerName());
+        writeString(connectionsStream, connection.getDriverId());
+        writeString(connectionsStream, connection.getContextName());
+        writeString(connectionsStream, connection.getInstanceId());
+        writeString(connectionsStream, connection.getConnectionUserName());
+        writeString(connectionsStream, connection.getConnectionUrl());
+        connectionsStream.writeBoolean(connection.isTransactional());
+        writeString(connectionsStream, projectInfo == null ? null : projectInfo.getId());
+        writeString(connectionsStream, projectInfo == null ? null : projectInfo.getName());
+        writeString(connectionsStream, projectInfo == null ? null : projectInfo.getPath());
+
+        number = segmentConnections.size();
+        segmentConnections.put(connection.getObjectId(), number);
+        return number;
+    }
+
+    private void openSegment() throws IOException {
+        Files.createDirectories(journalFolder);
+        List<Path> segments = getSegments();
+        int segmentNumber = segments.isEmpty() ? 1 : getSegmentNumber(segments.get(segments.size() - 1)) + 1;
+        segmentPath = journalFolder.resolve(SEGMENT_PREFIX + String.format("%06d", segmentNumber));
+
+        connectionsStream = openStream(getSegmentFile(segmentPath, CONNECTIONS_FILE_EXT));
+        dataStream = openStream(getSegmentFile(segmentPath, DATA_FILE_EXT));
+        signaturesStream = openStream(getSegmentFile(segmentPath, SIGNATURES_FILE_EXT));
+        indexStream = openStream(getSegmentFile(segmentPath, INDEX_FILE_EXT));
+        indexStream.writeInt(INDEX_MAGIC);
+        indexStream.writeInt(INDEX_VERSION);
+        indexStream.flush();
+        dataSize = 0;
+        signaturesSize = 0;
+        segmentConnections.clear();
+    }
+
+    private void closeSegment() {
+        if (indexStream != null) {
+            ContentUtils.close(indexStream);
+            indexStream = null;
+        }
+        if (dataStream != null) {
+            ContentUtils.close(dataStream);
+            dataStream = null;
+        }
+        if (signaturesStream != null) {
+            ContentUtils.close(signaturesStream);
+            signaturesStream = null;
+        }
+        if (connectionsStream != null) {
+            ContentUtils.close(connectionsStream);
+            connectionsStream = null;
+        }
+        segmentPath = null;
+        segmentConnections.clear();
+        pendingFetches.clear();
+    }
+
+    private void purgeOldSegments() {
+        lastPurgeTime = System.currentTimeMillis();
+        long minTime = lastPurgeTime - historyDays * 24L * 60 * 60 * 1000;
+        for (Path segment : getSegments()) {
+            if (segment.equals(segmentPath)) {
+                // Current segment
+                continue;
+            }
+            try {
+                Path indexFile = getSegmentFile(segment, INDEX_FILE_EXT);
+                if (!Files.exists(indexFile) || Files.getLastModifiedTime(indexFile).toMillis() < minTime) {
+                    Files.deleteIfExists(indexFile);
+                    Files.deleteIfExists(getSegmentFile(segment, DATA_FILE_EXT));
+                    Files.deleteIfExists(getSegmentFile(segment, SIGNATURES_FILE_EXT));
+                    Files.deleteIfExists(getSegmentFile(segment, CONNECTIONS_FILE_EXT));
+                }
+            } catch (IOException e) {
+                log.debug("Unable to purge the old history segment '" + segment + "': " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns journal segments (paths without file extension) ordered from the oldest to the newest
+     */
+    @NotNull
+    private List<Path> getSegments() {
+        if (!Files.isDirectory(journalFolder)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> list = Files.list(journalFolder)) {
+            return list
+                .filter(file -> {
+                    String fileName = file.getFileName().toString();
+                    return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(INDEX_FILE_EXT);
+                })
+                .map(file -> {
+                    String fileName = file.getFileName().toString();
+                    return file.resolveSibling(fileName.substring(0, fileName.length() - INDEX_FILE_EXT.length()));
+                })
+                .filter(segment -> getSegmentNumber(segment) > 0)
+                .sorted(Comparator.comparingInt(QMEventJournal::getSegmentNumber))
+                .toList();
+        } catch (IOException e) {
+            log.debug("Error reading history journal folder: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static int getSegmentNumber(@NotNull Path segment) {
+        return CommonUtils.toInt(segment.getFileName().toString().substring(SEGMENT_PREFIX.length()), -1);
+    }
+
+    @NotNull
+    static Path getSegmentFile(@NotNull Path segment, @NotNull String extension) {
+        return segment.resolveSibling(segment.getFileName() + extension);
+    }
+
+    @NotNull
+    private static DataOutputStream openStream(@NotNull Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file.toFile(), true)));
+    }
+
+    static void writeString(@NotNull DataOutput output, @Nullable String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    @Nullable
+    static String readString(@NotNull DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_STRING_LENGTH) {
+            throw new IOException("Bad string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns signature length (in longs) for the text of the specified length.
+     * Short texts have inline signature, longer texts get a bigger signature (power of two) so it doesn't saturate.
+     */
+    static int getSignatureLength(int textLength) {
+        long bits = (long) Math.max(textLength - 2, 0) * SIGNATURE_BITS_PER_TRIGRAM;
+        if (bits <= SIGNATURE_LENGTH * Long.SIZE) {
+            return SIGNATURE_LENGTH;
+        }
+        int length = Integer.highestOneBit((int) Math.min((bits - 1) / Long.SIZE, MAX_EXT_SIGNATURE_LENGTH)) << 1;
+        return Math.min(length, MAX_EXT_SIGNATURE_LENGTH);
+    }
+
+    /**
+     * Sets a signature bit for each trigram of the text. Signature length must be a power of two.
+     * Text contains a string only if its signature contains all bits of the string signature of the same length.
+     */
+    static void makeSignature(@NotNull String text, @NotNull long[] signature) {
+        Arrays.fill(signature, 0);
+        int shift = Integer.SIZE - Integer.numberOfTrailingZeros(signature.length * Long.SIZE);
+        for (int i = 2; i < text.length(); i++) {
+            int hash = ((text.charAt(i - 2) * 31) + text.charAt(i - 1)) * 31 + text.charAt(i);
+            int bit = (hash * 0x9E3779B9) >>> shift;
+            signature[bit / Long.SIZE] |= 1L << (bit % Long.SIZE);
+        }
+    }
+
+}
@@ -0,0 +1,505 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.*;
+import org.jkiss.dbeaver.model.qm.filters.QMCursorFilter;
+import org.jkiss.dbeaver.model.qm.filters.QMEventCriteria;
+import org.jkiss.dbeaver.model.qm.filters.QMEventStatus;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMProjectInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cursor over query manager history journal.
+ *
+ * Segments are read one by one, index entries are read by blocks.
+ * Records are read and decoded only for index entries which match the criteria.
+ * If criteria do not need record data then scroll skips entries without reading records.
+ */
+class QMEventJournalCursor implements QMEventCursor {
+
+    private static final Log log = Log.getLog(QMEventJournalCursor.class);
+
+    private static final int ENTRIES_PER_READ = 1024;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    private final List<Path> segments;
+    private final QMCursorFilter cursorFilter;
+    private final QMEventCriteria criteria;
+    @Nullable
+    private final QMEventFilter filter;
+    // Lower-cased search string
+    @Nullable
+    private final String searchString;
+    // Search string signatures by signature length
+    private final Map<Integer, long[]> searchSignatures = new HashMap<>();
+    private final boolean desc;
+    // Whether records must be read to check the criteria
+    private final boolean recordCriteria;
+
+    // Current segment
+    private int segmentIndex = -1;
+    private FileChannel indexChannel;
+    private FileChannel dataChannel;
+    @Nullable
+    private FileChannel signaturesChannel;
+    private final List<QMMConnectionInfo> connections = new ArrayList<>();
+    private final List<Boolean> connectionMatches = new ArrayList<>();
+    private int entryCount;
+    // Number of processed segment entries
+    private int processedCount;
+    private final ByteBuffer indexBuffer = ByteBuffer.allocate(ENTRIES_PER_READ * QMEventJournal.INDEX_ENTRY_SIZE);
+    private int bufferFirstEntry;
+    private int bufferEntryCount;
+    private final ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+    private ByteBuffer signatureBuffer;
+
+    // Current index entry
+    private int entryNumber;
+    private long recordOffset;
+    private int connectionNumber;
+    private DBCExecutionPurpose purpose;
+
+    private QMMetaEventEntity nextEvent;
+    // Number of events returned or skipped
+    private int position;
+    private long totalSize = -1;
+
+    QMEventJournalCursor(@NotNull List<Path> segments, @NotNull QMCursorFilter cursorFilter) {
+        this.segments = segments;
+        this.cursorFilter = cursorFilter;
+        this.criteria = cursorFilter.getCriteria();
+        this.filter = cursorFilter.getFilter();
+        this.desc = criteria.isDesc();
+        this.searchString = CommonUtils.isEmpty(criteria.getSearchString()) ? null : criteria.getSearchString().toLowerCase(Locale.ROOT);
+        this.recordCriteria = searchString != null || filter != null ||
+            !CommonUtils.isEmpty(criteria.getSchemas()) || !CommonUtils.isEmpty(criteria.getCatalogs());
+    }
+
+    /**
+     * Counts all matching events. It reads the whole journal index.
+     */
+    @Override
+    public long getTotalSize() {
+        if (totalSize < 0) {
+            long count = 0;
+            try (QMEventJournalCursor cursor = new QMEventJournalCursor(segments, cursorFilter)) {
+                DBRProgressMonitor monitor = new VoidProgressMonitor();
+                while (cursor.skipEvent(monitor)) {
+                    count++;
+                }
+            } catch (DBException e) {
+                log.debug("Error counting history events: " + e.getMessage());
+            }
+            totalSize = count;
+        }
+        return totalSize;
+    }
+
+    /**
+     * Scrolls forward from the current position. Scroll backward restarts the cursor.
+     */
+    @Override
+    public void scroll(int position, DBRProgressMonitor monitor) throws DBException {
+        if (position < this.position) {
+            closeSegment();
+            segmentIndex = -1;
+            nextEvent = null;
+            this.position = 0;
+        }
+        while (this.position < position) {
+            if (!skipEvent(monitor)) {
+                throw new DBException("Position is out of range (" + this.position + ")");
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNextEvent(DBRProgressMonitor monitor) throws DBException {
+        if (nextEvent == null) {
+            nextEvent = findNextEvent(monitor);
+        }
+        return nextEvent != null;
+    }
+
+    @Override
+    public QMMetaEventEntity nextEvent(DBRProgressMonitor monitor) throws DBException {
+        if (!hasNextEvent(monitor)) {
+            throw new DBException("No more events in query history");
+        }
+        QMMetaEventEntity event = nextEvent;
+        nextEvent = null;
+        position++;
+        return event;
+    }
+
+    @Override
+    public void close() {
+        closeSegment();
+        segmentIndex = segments.size();
+    }
+
+    /**
+     * Skips the next event. Records are not read if criteria can be checked by index entries only.
+     * In this case records which can't be read (e.g. truncated by a crash) are counted too.
+     */
+    private boolean skipEvent(@NotNull DBRProgressMonitor monitor) throws DBException {
+        if (nextEvent != null) {
+            nextEvent = null;
+        } else if (recordCriteria) {
+            if (findNextEvent(monitor) == null) {
+                return false;
+            }
+        } else {
+            try {
+                if (!findNextEntry(monitor)) {
+                    return false;
+                }
+            } catch (IOException e) {
+                throw new DBException("Error reading query history journal", e);
+            }
+        }
+        position++;
+        return true;
+    }
+
+    @Nullable
+    private QMMetaEventEntity findNextEvent(@NotNull DBRProgressMonitor monitor) throws DBException {
+        try {
+            while (findNextEntry(monitor)) {
+                QMMStatementExecuteInfo exec = readRecord(recordOffset, connections.get(connectionNumber), purpose);
+                if (exec == null || !matchesRecord(exec)) {
+                    continue;
+                }
+                long eventId = ((long) segmentIndex << 32) | entryNumber;
+                QMMetaEventEntity event = new QMMetaEventEntity(exec, QMEventAction.END, eventId, null, null);
+                if (filter != null && !filter.accept(event)) {
+                    continue;
+                }
+                return event;
+            }
+            return null;
+        } catch (IOException e) {
+            throw new DBException("Error reading query history journal", e);
+        }
+    }
+
+    /**
+     * Moves to the next index entry which matches the criteria
+     */
+    private boolean findNextEntry(@NotNull DBRProgressMonitor monitor) throws IOException {
+        while (!monitor.isCanceled()) {
+            if (indexChannel == null || processedCount >= entryCount) {
+                closeSegment();
+                if (!openNextSegment()) {
+                    return false;
+                }
+                continue;
+            }
+            entryNumber = desc ? entryCount - processedCount - 1 : processedCount;
+            processedCount++;
+            int entryOffset = getEntryOffset(entryNumber);
+
+            recordOffset = indexBuffer.getLong(entryOffset);
+            connectionNumber = indexBuffer.getInt(entryOffset + 20);
+            purpose = DBCExecutionPurpose.getById(indexBuffer.get(entryOffset + 24));
+            int flags = indexBuffer.get(entryOffset + 25);
+            if (matchesIndexEntry(entryOffset, connectionNumber, purpose, flags)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesIndexEntry(int entryOffset, int connectionNumber, @NotNull DBCExecutionPurpose purpose, int flags) throws IOException {
+        if (connectionNumber < 0 || connectionNumber >= connections.size() || !connectionMatches.get(connectionNumber)) {
+            return false;
+        }
+        if (criteria.hasQueryTypes() && !criteria.hasQueryType(purpose)) {
+            return false;
+        }
+        if (criteria.hasEventStatuses() &&
+            !criteria.getEventStatuses().contains((flags & QMEventJournal.FLAG_ERROR) != 0 ? QMEventStatus.FAILED : QMEventStatus.SUCCESS))
+        {
+            return false;
+        }
+        if (searchString != null) {
+            if ((flags & QMEventJournal.FLAG_EXT_SIGNATURE) != 0) {
+                return matchesExtSignature(
+                    indexBuffer.getInt(entryOffset + QMEventJournal.EXT_SIGNATURE_LENGTH_OFFSET),
+                    indexBuffer.getLong(entryOffset + QMEventJournal.SIGNATURE_OFFSET));
+            }
+            return matchesSignature(indexBuffer, entryOffset + QMEventJournal.SIGNATURE_OFFSET, getSearchSignature(QMEventJournal.SIGNATURE_LENGTH));
+        }
+        return true;
+    }
+
+    private boolean matchesExtSignature(int signatureLength, long signatureOffset) throws IOException {
+        if (signaturesChannel == null || signatureLength <= 0 || Integer.bitCount(signatureLength) != 1 ||
+            signatureOffset + (long) signatureLength * Long.BYTES > signaturesChannel.size())
+        {
+            // Can't check it, the record will be checked
+            return true;
+        }
+        int size = signatureLength * Long.BYTES;
+        if (signatureBuffer == null || signatureBuffer.capacity() < size) {
+            signatureBuffer = ByteBuffer.allocate(size);
+        }
+        signatureBuffer.clear();
+        signatureBuffer.limit(size);
+        readFully(signaturesChannel, signatureBuffer, signatureOffset);
+        return matchesSignature(signatureBuffer, 0, getSearchSignature(signatureLength));
+    }
+
+    private static boolean matchesSignature(@NotNull ByteBuffer buffer, int offset, @NotNull long[] searchSignature) {
+        for (int i = 0; i < searchSignature.length; i++) {
+            long bits = buffer.getLong(offset + i * Long.BYTES);
+            if ((bits & searchSignature[i]) != searchSignature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    private long[] getSearchSignature(int signatureLength) {
+        return searchSignatures.computeIfAbsent(signatureLength, length -> {
+            long[] signature = new long[length];
+            QMEventJournal.makeSignature(searchString, signature);
+            return signature;
+        });
+    }
+
+    private boolean matchesRecord(@NotNull QMMStatementExecuteInfo exec) {
+        if (searchString != null && !exec.getQueryString().toLowerCase(Locale.ROOT).contains(searchString)) {
+            return false;
+        }
+        if (!CommonUtils.isEmpty(criteria.getSchemas()) && !criteria.getSchemas().contains(exec.getSchema())) {
+            return false;
+        }
+        return CommonUtils.isEmpty(criteria.getCatalogs()) || criteria.getCatalogs().contains(exec.getCatalog());
+    }
+
+    private boolean matchesConnection(@NotNull QMMConnectionInfo connection) {
+        if (!CommonUtils.isEmpty(criteria.getContainerId()) && !criteria.getContainerId().equals(connection.getContainerId())) {
+            return false;
+        }
+        if (criteria.hasDriverIds() && !criteria.getDriverIds().contains(connection.getDriverId())) {
+            return false;
+        }
+        return !criteria.hasProjectIds() ||
+            (connection.getProjectInfo() != null && criteria.getProjectIds().contains(connection.getProjectInfo().getId()));
+    }
+
+    /**
+     * Returns offset of the entry in the index buffer. Reads index block if needed.
+     */
+    private int getEntryOffset(int entryNumber) throws IOException {
+        if (entryNumber < bufferFirstEntry || entryNumber >= bufferFirstEntry + bufferEntryCount) {
+            // Read block in the scan direction
+            int firstEntry = desc ? Math.max(entryNumber - ENTRIES_PER_READ + 1, 0) : entryNumber;
+            int count = Math.min(ENTRIES_PER_READ, entryCount - firstEntry);
+            indexBuffer.clear();
+            indexBuffer.limit(count * QMEventJournal.INDEX_ENTRY_SIZE);
+            readFully(indexChannel, indexBuffer, QMEventJournal.INDEX_HEADER_SIZE + (long) firstEntry * QMEventJournal.INDEX_ENTRY_SIZE);
+            bufferFirstEntry = firstEntry;
+            bufferEntryCount = count;
+        }
+        return (entryNumber - bufferFirstEntry) * QMEventJournal.INDEX_ENTRY_SIZE;
+    }
+
+    @Nullable
+    private QMMStatementExecuteInfo readRecord(
+        long recordOffset,
+        @NotNull QMMConnectionInfo connection,
+        @NotNull DBCExecutionPurpose purpose
+    ) throws IOException {
+        lengthBuffer.clear();
+        readFully(dataChannel, lengthBuffer, recordOffset);
+        int length = lengthBuffer.getInt(0);
+        if (length <= 0 || length > MAX_RECORD_SIZE || recordOffset + Integer.BYTES + length > dataChannel.size()) {
+            log.debug("Bad query history record at " + recordOffset + " in " + segments.get(segmentIndex));
+            return null;
+        }
+        ByteBuffer recordBuffer = ByteBuffer.allocate(length);
+        readFully(dataChannel, recordBuffer, recordOffset + Integer.BYTES);
+
+        long openTime, closeTime, fetchBeginTime, fetchEndTime, updateRowCount, fetchRowCount;
+        int errorCode;
+        String errorMessage, schema, catalog, queryText;
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(recordBuffer.array()))) {
+            openTime = input.readLong();
+            closeTime = input.readLong();
+            fetchBeginTime = input.readLong();
+            fetchEndTime = input.readLong();
+            updateRowCount = input.readLong();
+            fetchRowCount = input.readLong();
+            errorCode = input.readInt();
+            errorMessage = QMEventJournal.readString(input);
+            schema = QMEventJournal.readString(input);
+            catalog = QMEventJournal.readString(input);
+            queryText = QMEventJournal.readString(input);
+        } catch (IOException e) {
+            log.debug("Corrupted query history record at " + recordOffset + ": " + e.getMessage());
+            return null;
+        }
+        if (queryText == null) {
+            return null;
+        }
+
+        QMMStatementInfo statement = new QMMStatementInfo(openTime, closeTime, connection, purpose);
+        return new QMMStatementExecuteInfo(
+            openTime,
+            closeTime,
+            statement,
+            queryText,
+            fetchRowCount > 0 ? fetchRowCount : updateRowCount,
+            errorCode,
+            errorMessage,
+            fetchBeginTime,
+            fetchEndTime,
+            updateRowCount > 0,
+            schema,
+            catalog);
+    }
+
+    private boolean openNextSegment() {
+        while (segmentIndex + 1 < segments.size()) {
+            segmentIndex++;
+            Path segment = segments.get(desc ? segments.size() - segmentIndex - 1 : segmentIndex);
+            try {
+                indexChannel = FileChannel.open(QMEventJournal.getSegmentFile(segment, QMEventJournal.INDEX_FILE_EXT), StandardOpenOption.READ);
+                ByteBuffer header = ByteBuffer.allocate(QMEventJournal.INDEX_HEADER_SIZE);
+                readFully(indexChannel, header, 0);
+                if (header.getInt(0) != QMEventJournal.INDEX_MAGIC || header.getInt(4) < 1 || header.getInt(4) > QMEventJournal.INDEX_VERSION) {
+                    log.debug("Unsupported query history segment " + segment);
+                    closeSegment();
+                    continue;
+                }
+                dataChannel = FileChannel.open(QMEventJournal.getSegmentFile(segment, QMEventJournal.DATA_FILE_EXT), StandardOpenOption.READ);
+                Path signaturesFile = QMEventJournal.getSegmentFile(segment, QMEventJournal.SIGNATURES_FILE_EXT);
+                if (Files.exists(signaturesFile)) {
+                    signaturesChannel = FileChannel.open(signaturesFile, StandardOpenOption.READ);
+                }
+                readConnections(QMEventJournal.getSegmentFile(segment, QMEventJournal.CONNECTIONS_FILE_EXT));
+                // Entries appended after this moment are ignored
+                entryCount = (int) ((indexChannel.size() - QMEventJournal.INDEX_HEADER_SIZE) / QMEventJournal.INDEX_ENTRY_SIZE);
+                processedCount = 0;
+                bufferFirstEntry = 0;
+                bufferEntryCount = 0;
+                return true;
+            } catch (IOException e) {
+                log.debug("Error opening query history segment " + segment + ": " + e.getMessage());
+                closeSegment();
+            }
+        }
+        return false;
+    }
+
+    private void readConnections(@NotNull Path connectionsFile) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(connectionsFile)))) {
+            for (;;) {
+                long openTime = input.readLong();
+                String containerId = QMEventJournal.readString(input);
+                String containerName = QMEventJournal.readString(input);
+                String driverId = QMEventJournal.readString(input);
+                String contextName = QMEventJournal.readString(input);
+                String instanceId = QMEventJournal.readString(input);
+                String userName = QMEventJournal.readString(input);
+                String url = QMEventJournal.readString(input);
+                boolean transactional = input.readBoolean();
+                String projectId = QMEventJournal.readString(input);
+                String projectName = QMEventJournal.readString(input);
+                String projectPath = QMEventJournal.readString(input);
+
+                QMMConnectionInfo connection = QMMConnectionInfo.builder()
+                    .setProjectInfo(projectId == null ? null : QMMProjectInfo.builder()
+                        .setId(projectId)
+                        .setName(projectName)
+                        .setPath(projectPath)
+                        .build())
+                    .setContainerId(containerId)
+                    .setContainerName(containerName)
+                    .setDriverId(driverId)
+                    .setContextName(contextName)
+                    .setInstanceId(instanceId)
+                    .setConnectionUserName(userName)
+                    .setConnectionUrl(url)
+                    .setTransactional(transactional)
+                    .setOpenTime(openTime)
+                    .build();
+                connections.add(connection);
+                connectionMatches.add(matchesConnection(connection));
+            }
+        } catch (EOFException e) {
+            // End of connections or incomplete connection record which is being written now
+        }
+    }
+
+    private void closeSegment() {
+        if (indexChannel != null) {
+            ContentUtils.close(indexChannel);
+            indexChannel = null;
+        }
+        if (dataChannel != null) {
+            ContentUtils.close(dataChannel);
+            dataChannel = null;
+        }
+        if (signaturesChannel != null) {
+            ContentUtils.close(signaturesChannel);
+            signaturesChannel = null;
+        }
+        connections.clear();
+        connectionMatches.clear();
+        entryCount = 0;
+        processedCount = 0;
+    }
+
+    private static void readFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of query history file");
+            }
+            position += count;
+        }
+    }
+
+}
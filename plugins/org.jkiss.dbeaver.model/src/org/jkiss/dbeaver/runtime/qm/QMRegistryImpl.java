@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.runtime.qm;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.qm.*;
@@ -47,6 +48,8 @@ public class QMRegistryImpl implements QMRegistry {
     private final List<QMExecutionHandler> handlers = new ArrayList<>();
     private QMEventBrowser eventBrowser;
     private DefaultEventBrowser defaultEventBrowser = new DefaultEventBrowser();
+    private final JournalEventBrowser journalEventBrowser = new JournalEventBrowser();
+    private volatile QMEventJournal eventJournal;
 
     public QMRegistryImpl() {
         defaultHandler = (QMExecutionHandler) Proxy.newProxyInstance(
@@ -98,10 +101,21 @@ public class QMRegistryImpl implements QMRegistry {
                 this.eventBrowser = defaultEventBrowser;
             }
         }
+        if (eventBrowser == defaultEventBrowser && eventJournal != null && eventJournal.isEnabled()) {
+            // Persistent history
+            return journalEventBrowser;
+        }
 
         return eventBrowser;
     }
 
+    /**
+     * Sets persistent history journal. It is used by event browser if there is no custom browser.
+     */
+    public void setEventJournal(@Nullable QMEventJournal eventJournal) {
+        this.eventJournal = eventJournal;
+    }
+
     @Override
     public void registerHandler(QMExecutionHandler handler) {
         synchronized (handlers) {
@@ -236,4 +250,18 @@ public class QMRegistryImpl implements QMRegistry {
                 return ArrayUtils.contains(objectTypes, QMObjectType.query);
         }
     }
+
+    private class JournalEventBrowser implements QMEventBrowser {
+        @NotNull
+        @Override
+        public QMEventCursor getQueryHistoryCursor(@NotNull QMCursorFilter cursorFilter) throws DBException {
+            QMEventJournal journal = eventJournal;
+            var criteria = cursorFilter.getCriteria();
+            if (journal == null || (criteria.hasObjectTypes() && !criteria.hasObjectType(QMObjectType.query))) {
+                // Journal keeps queries only
+                return defaultEventBrowser.getQueryHistoryCursor(cursorFilter);
+            }
+            return journal.openCursor(cursorFilter);
+        }
+    }
 }
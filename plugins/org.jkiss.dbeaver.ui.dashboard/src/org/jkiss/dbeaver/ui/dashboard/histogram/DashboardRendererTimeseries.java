@@ -34,6 +34,7 @@ import org.jkiss.dbeaver.model.dashboard.DBDashboardInterval;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardValueType;
 import org.jkiss.dbeaver.model.dashboard.data.DashboardDataset;
 import org.jkiss.dbeaver.model.dashboard.data.DashboardDatasetRow;
+import org.jkiss.dbeaver.model.dashboard.data.DashboardTimeSeriesBuffer;
 import org.jkiss.dbeaver.model.dashboard.registry.DashboardItemConfiguration;
 import org.jkiss.dbeaver.ui.AWTUtils;
 import org.jkiss.dbeaver.ui.UIStyles;
@@ -63,8 +64,7 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
     public DashboardChartComposite createDashboard(@NotNull Composite composite, @NotNull DashboardItemContainer container, @NotNull DashboardContainer viewContainer, @NotNull Point preferredSize) {
         DashboardItemConfiguration dashboard = container.getItemDescriptor();
 
-        TimeSeriesCollection dataset = new TimeSeriesCollection();
-        //generateSampleSeries(container, dataset);
+        DashboardTimeSeriesDataset dataset = new DashboardTimeSeriesDataset();
 
         DashboardItemViewSettings viewConfig = container.getItemConfiguration();
 
@@ -192,7 +192,7 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
         }
         JFreeChart chart = chartComposite.getChart();
         XYPlot plot = (XYPlot) chart.getPlot();
-        TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
+        DashboardTimeSeriesDataset chartDataset = (DashboardTimeSeriesDataset) plot.getDataset();
 
         DashboardItemConfiguration dashboard = container.getItemDescriptor();
         if (dashboard.getFetchType() == DBDashboardFetchType.stats) {
@@ -206,20 +206,16 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
             secondsPassed = 1;
         }
 
-        DashboardDatasetRow lastRow = (DashboardDatasetRow) chartComposite.getData("last_row");
-
         List<DashboardDatasetRow> rows = dataset.getRows();
 
         String[] srcSeries = dataset.getColumnNames();
         for (int i = 0; i < srcSeries.length; i++) {
             String seriesName = srcSeries[i];
 
-            TimeSeries series = chartDataset.getSeries(seriesName);
+            DashboardTimeSeriesBuffer series = chartDataset.getSeries(seriesName);
             if (series == null) {
-                series = new TimeSeries(seriesName);
-                series.setMaximumItemCount(container.getDashboardMaxItems());
-                series.setMaximumItemAge(container.getDashboardMaxAge());
-                chartDataset.addSeries(series);
+                series = new DashboardTimeSeriesBuffer(container.getDashboardMaxItems(), container.getDashboardMaxAge());
+                chartDataset.addSeries(seriesName, series);
                 plot.getRenderer().setSeriesStroke(chartDataset.getSeriesCount() - 1, plot.getRenderer().getDefaultStroke());
             }
 
@@ -242,30 +238,22 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
                         }
                         Object value = row.getValues()[i];
                         if (value instanceof Number) {
-                            series.addOrUpdate(makeDataItem(container, row), (Number) value);
+                            series.addOrUpdate(getPeriodStart(container, row), ((Number) value).doubleValue());
                         }
                     }
                     break;
                 }
                 case delta: {
-                    if (lastUpdateTime == null) {
-                        return;
-                    }
-                    //System.out.println("LAST=" + lastUpdateTime + "; CUR=" + new Date());
+                    // Delta is calculated from the previous raw value of the series
+                    boolean roundDelta = dashboard.getValueType() != DBDashboardValueType.decimal;
                     for (DashboardDatasetRow row : rows) {
-                        if (lastRow != null) {
-                            Object prevValue = lastRow.getValues()[i];
-                            Object newValue = row.getValues()[i];
-                            if (newValue instanceof Number && prevValue instanceof Number) {
-                                double deltaValue = ((Number) newValue).doubleValue() - ((Number) prevValue).doubleValue();
-                                deltaValue /= secondsPassed;
-                                if (dashboard.getValueType() != DBDashboardValueType.decimal) {
-                                    deltaValue = Math.round(deltaValue);
-                                }
-                                series.addOrUpdate(
-                                    makeDataItem(container, row),
-                                    deltaValue);
-                            }
+                        Object newValue = row.getValues()[i];
+                        if (newValue instanceof Number) {
+                            series.addDelta(
+                                getPeriodStart(container, row),
+                                ((Number) newValue).doubleValue(),
+                                secondsPassed,
+                                roundDelta);
                         }
                     }
                     break;
@@ -273,9 +261,13 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
             }
         }
 
-        if (!rows.isEmpty()) {
-            chartComposite.setData("last_row", rows.get(rows.size() - 1));
-        }
+        // Downsample series which have more items than the chart width
+        chartDataset.setMaxVisibleItems(chartComposite.getSize().x);
+        chartDataset.seriesChanged();
+    }
+
+    private long getPeriodStart(DashboardItemContainer container, DashboardDatasetRow row) {
+        return makeDataItem(container, row).getFirstMillisecond();
     }
 
     private RegularTimePeriod makeDataItem(DashboardItemContainer container, DashboardDatasetRow row) {
@@ -295,7 +287,7 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
     public void resetDashboardData(@NotNull DashboardItemContainer container, Date lastUpdateTime) {
         XYPlot plot = getDashboardPlot(container);
         if (plot != null) {
-            TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
+            DashboardTimeSeriesDataset chartDataset = (DashboardTimeSeriesDataset) plot.getDataset();
             chartDataset.removeAllSeries();
         }
     }
@@ -316,12 +308,12 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
 
                 chartComposite.getChart().getLegend().setVisible(dashboardConfig.isLegendVisible());
 
-                TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
-                for (int i = 0; i < chartDataset.getSeriesCount(); i++) {
-                    TimeSeries series = chartDataset.getSeries(i);
-                    series.setMaximumItemCount(dashboardConfig.getMaxItems());
-                    series.setMaximumItemAge(dashboardConfig.getMaxAge());
+                DashboardTimeSeriesDataset chartDataset = (DashboardTimeSeriesDataset) plot.getDataset();
+                for (DashboardTimeSeriesBuffer series : chartDataset.getAllSeries()) {
+                    series.setCapacity(dashboardConfig.getMaxItems());
+                    series.setMaxAge(dashboardConfig.getMaxAge());
                 }
+                chartDataset.seriesChanged();
             }
         }
         dashboardItem.getParent().layout(true, true);
@@ -0,0 +1,160 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.dashboard.histogram;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.dashboard.data.DashboardTimeSeriesBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chart dataset backed by dashboard time series buffers.
+ *
+ * If series has more items than chart may show (roughly one item per pixel) then the chart gets downsampled items.
+ * Downsampled items are cached until series is changed.
+ */
+class DashboardTimeSeriesDataset extends AbstractXYDataset {
+
+    private static final int DEFAULT_MAX_VISIBLE_ITEMS = 1000;
+    private static final int MIN_VISIBLE_ITEMS = 50;
+
+    private static class SeriesInfo {
+        final String name;
+        final DashboardTimeSeriesBuffer buffer;
+        // Visible (downsampled) items
+        long[] timestamps = new long[0];
+        double[] values = new double[0];
+        int itemCount;
+        int bufferVersion = -1;
+        int maxVisibleItems;
+
+        SeriesInfo(String name, DashboardTimeSeriesBuffer buffer) {
+            this.name = name;
+            this.buffer = buffer;
+        }
+    }
+
+    private final List<SeriesInfo> series = new ArrayList<>();
+    private int maxVisibleItems = DEFAULT_MAX_VISIBLE_ITEMS;
+
+    @Nullable
+    DashboardTimeSeriesBuffer getSeries(@NotNull String name) {
+        for (SeriesInfo si : series) {
+            if (si.name.equals(name)) {
+                return si.buffer;
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    List<DashboardTimeSeriesBuffer> getAllSeries() {
+        List<DashboardTimeSeriesBuffer> result = new ArrayList<>(series.size());
+        for (SeriesInfo si : series) {
+            result.add(si.buffer);
+        }
+        return result;
+    }
+
+    void addSeries(@NotNull String name, @NotNull DashboardTimeSeriesBuffer buffer) {
+        series.add(new SeriesInfo(name, buffer));
+        fireDatasetChanged();
+    }
+
+    void removeAllSeries() {
+        if (!series.isEmpty()) {
+            series.clear();
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Sets max number of items shown for each series. Usually it is the chart width.
+     */
+    void setMaxVisibleItems(int maxVisibleItems) {
+        this.maxVisibleItems = Math.max(maxVisibleItems, MIN_VISIBLE_ITEMS);
+    }
+
+    /**
+     * Notifies chart about series data change
+     */
+    void seriesChanged() {
+        fireDatasetChanged();
+    }
+
+    @Override
+    public int getSeriesCount() {
+        return series.size();
+    }
+
+    @Override
+    public Comparable<?> getSeriesKey(int seriesIndex) {
+        return series.get(seriesIndex).name;
+    }
+
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public int getItemCount(int seriesIndex) {
+        return getVisibleItems(seriesIndex).itemCount;
+    }
+
+    @Override
+    public Number getX(int seriesIndex, int item) {
+        return getXValue(seriesIndex, item);
+    }
+
+    @Override
+    public double getXValue(int seriesIndex, int item) {
+        return getVisibleItems(seriesIndex).timestamps[item];
+    }
+
+    @Override
+    public Number getY(int seriesIndex, int item) {
+        return getYValue(seriesIndex, item);
+    }
+
+    @Override
+    public double getYValue(int seriesIndex, int item) {
+        return getVisibleItems(seriesIndex).values[item];
+    }
+
+    private SeriesInfo getVisibleItems(int seriesIndex) {
+        SeriesInfo si = series.get(seriesIndex);
+        DashboardTimeSeriesBuffer buffer = si.buffer;
+        if (si.bufferVersion != buffer.getVersion() || si.maxVisibleItems != maxVisibleItems) {
+            int itemCount = Math.min(buffer.getItemCount(), maxVisibleItems);
+            if (si.timestamps.length < itemCount) {
+                int length = Math.min(buffer.getCapacity(), maxVisibleItems);
+                si.timestamps = new long[length];
+                si.values = new double[length];
+            }
+            si.itemCount = buffer.downsample(maxVisibleItems, si.timestamps, si.values);
+            si.bufferVersion = buffer.getVersion();
+            si.maxVisibleItems = maxVisibleItems;
+        }
+        return si;
+    }
+
+}
@@ -17,22 +17,28 @@
 package org.jkiss.dbeaver.ui.dashboard.view;
 
 import org.apache.commons.jexl3.JexlContext;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.ui.*;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
-import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardDataType;
+import org.jkiss.dbeaver.model.dashboard.DBDashboardFetchType;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardMapQuery;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardQuery;
 import org.jkiss.dbeaver.model.dashboard.DashboardConstants;
 import org.jkiss.dbeaver.model.dashboard.data.DashboardDataset;
 import org.jkiss.dbeaver.model.dashboard.data.DashboardDatasetRow;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.dashboard.control.DashboardListViewer;
 import org.jkiss.dbeaver.ui.dashboard.model.DashboardContainer;
 import org.jkiss.dbeaver.ui.dashboard.model.DashboardGroupContainer;
@@ -43,10 +49,23 @@ import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Dashboards updater.
+ *
+ * Dashboards are grouped by connection and each connection is updated by its own job,
+ * so slow queries of one connection do not delay dashboards of other connections.
+ * Dashboards which are still being updated are skipped.
+ * Query shared by several dashboards of the same connection is executed once per update.
+ */
 public class DashboardUpdater {
 
     private static final Log log = Log.getLog(DashboardUpdater.class);
+
+    // Dashboards which are being updated right now
+    private static final Set<DashboardItemContainer> updatingDashboards = ConcurrentHashMap.newKeySet();
+
     private final Map<DBPDataSourceContainer, List<MapQueryInfo>> mapQueries = new HashMap<>();
 
     private static class MapQueryInfo {
@@ -63,6 +82,40 @@ public class DashboardUpdater {
         }
     }
 
+    private static class DataSourceUpdateJob extends AbstractJob {
+        private final DBPDataSourceContainer dataSourceContainer;
+        private final List<DashboardItemContainer> dashboards;
+
+        DataSourceUpdateJob(DBPDataSourceContainer dataSourceContainer, List<DashboardItemContainer> dashboards) {
+            super("Update '" + dataSourceContainer.getName() + "' dashboards");
+            this.dataSourceContainer = dataSourceContainer;
+            this.dashboards = dashboards;
+            setSystem(true);
+            // Done is also reported for jobs cancelled before they started to run
+            addJobChangeListener(new JobChangeAdapter() {
+                @Override
+                public void done(IJobChangeEvent event) {
+                    // Dashboard data is applied in UI thread. Dashboards are ready for the next update after that.
+                    UIUtils.asyncExec(() -> dashboards.forEach(updatingDashboards::remove));
+                }
+            });
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                new DashboardUpdater().updateDashboards(monitor, dashboards);
+            } catch (Exception e) {
+                log.error("Error updating '" + dataSourceContainer.getName() + "' dashboards", e);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    // Query is shared only by dashboards of the same data source
+    private record QueryKey(@NotNull DBPDataSourceContainer dataSourceContainer, @NotNull String queryText) {
+    }
+
     public DashboardUpdater() {
     }
 
@@ -76,7 +129,17 @@ public class DashboardUpdater {
             return true;
         }
 
-        updateDashboards(monitor, dashboards);
+        Map<DBPDataSourceContainer, List<DashboardItemContainer>> dataSourceDashboards = new LinkedHashMap<>();
+        for (DashboardItemContainer dashboard : dashboards) {
+            if (!dashboard.isAutoUpdateEnabled() || !updatingDashboards.add(dashboard)) {
+                // Previous update is still in progress
+                continue;
+            }
+            dataSourceDashboards.computeIfAbsent(dashboard.getDataSourceContainer(), k -> new ArrayList<>()).add(dashboard);
+        }
+        for (Map.Entry<DBPDataSourceContainer, List<DashboardItemContainer>> entry : dataSourceDashboards.entrySet()) {
+            new DataSourceUpdateJob(entry.getKey(), entry.getValue()).schedule();
+        }
         
         return false;
     }
@@ -135,8 +198,23 @@ public class DashboardUpdater {
             }
         }
 
+        // Max number of rows to fetch for each query. The same query may be used by several dashboards.
+        Map<QueryKey, Integer> queryMaxRows = new HashMap<>();
         for (DashboardItemContainer dashboard : dashboards) {
-            if (!dashboard.isAutoUpdateEnabled()) {
+            if (dashboard.getMapQuery() == null) {
+                for (DBDashboardQuery query : dashboard.getQueryList()) {
+                    queryMaxRows.merge(
+                        new QueryKey(dashboard.getDataSourceContainer(), query.getQueryText()),
+                        dashboard.getDashboardMaxItems(),
+                        Math::max);
+                }
+            }
+        }
+        // Results of queries executed during this update
+        Map<QueryKey, DashboardDataset> queryResults = new HashMap<>();
+
+        for (DashboardItemContainer dashboard : dashboards) {
+            if (!dashboard.isAutoUpdateEnabled() || monitor.isCanceled()) {
                 continue;
             }
             DBPDataSource dataSource = dashboard.getDataSourceContainer().getDataSource();
@@ -146,7 +224,7 @@ public class DashboardUpdater {
             try {
                 DBExecUtils.tryExecuteRecover(dashboards, dataSource, param -> {
                     try {
-                        updateDashboard(monitor, dashboard);
+                        updateDashboard(monitor, dashboard, queryMaxRows, queryResults);
                     } catch (Throwable e) {
                         log.debug("Datasource '" + dashboard.getDataSourceContainer().getName() + "' dashboard query failed. Stopping update of dashboards for this datasource.");
                         dashboard.disableAutoUpdate();
@@ -186,7 +264,12 @@ public class DashboardUpdater {
         }
     }
 
-    private void updateDashboard(DBRProgressMonitor monitor, DashboardItemContainer dashboard) throws DBCException {
+    private void updateDashboard(
+        DBRProgressMonitor monitor,
+        DashboardItemContainer dashboard,
+        Map<QueryKey, Integer> queryMaxRows,
+        Map<QueryKey, DashboardDataset> queryResults
+    ) throws DBCException {
         if (!dashboard.getDataSourceContainer().isConnected() || DBWorkbench.getPlatform().isShuttingDown()) {
             return;
         }
@@ -204,40 +287,49 @@ public class DashboardUpdater {
         if (executionContext == null) {
             return;
         }
+        for (DBDashboardQuery query : queries) {
+            String queryText = query.getQueryText();
+            QueryKey queryKey = new QueryKey(dashboard.getDataSourceContainer(), queryText);
+            DashboardDataset queryResult = queryResults.get(queryKey);
+            if (queryResult == null) {
+                queryResult = readQueryData(
+                    monitor,
+                    dashboard,
+                    executionContext,
+                    queryText,
+                    queryMaxRows.getOrDefault(queryKey, dashboard.getDashboardMaxItems()));
+                if (queryResult == null) {
+                    continue;
+                }
+                queryResults.put(queryKey, queryResult);
+            }
+            fetchDashboardData(dashboard, queryResult);
+        }
+    }
+
+    private DashboardDataset readQueryData(
+        DBRProgressMonitor monitor,
+        DashboardItemContainer dashboard,
+        DBCExecutionContext executionContext,
+        String queryText,
+        int maxRows
+    ) throws DBCException {
         try (DBCSession session = executionContext.openSession(
             monitor, DBCExecutionPurpose.UTIL, "Read dashboard '" + dashboard.getItemDescriptor().getName() + "' data")) {
             session.enableLogging(false);
-
-            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
-            boolean revertTxn = false;
-            if (false) {
-                // FIXME: dashboards must be queued in auto-commit mode?
-                // FIXME: we can't switch to auto-commit because connection may be used by another tasks (e.g. SQL editor)
-                if (txnManager != null && txnManager.isSupportsTransactions() && !txnManager.isAutoCommit()) {
-                    txnManager.setAutoCommit(monitor, true);
-                    revertTxn = true;
-                }
-            }
-            try {
-                for (DBDashboardQuery query : queries) {
-                    try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.getQueryText(), false, false, false)) {
-                        if (dbStat.executeStatement()) {
-                            try (DBCResultSet dbResults = dbStat.openResultSet()) {
-                                if (dbResults != null) {
-                                    fetchDashboardData(dashboard, dbResults);
-                                }
-                            }
+            try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, queryText, false, false, false)) {
+                if (dbStat.executeStatement()) {
+                    try (DBCResultSet dbResults = dbStat.openResultSet()) {
+                        if (dbResults != null) {
+                            return readDashboardData(dbResults, maxRows);
                         }
-                    } catch (Exception e) {
-                        throw new DBCException("Error updating dashboard " + dashboard.getItemDescriptor().getId(), e, session.getExecutionContext());
                     }
                 }
-            } finally {
-                if (revertTxn) {
-                    txnManager.setAutoCommit(monitor, false);
-                }
+            } catch (Exception e) {
+                throw new DBCException("Error updating dashboard " + dashboard.getItemDescriptor().getId(), e, session.getExecutionContext());
             }
         }
+        return null;
     }
 
     private void fetchDashboardMapData(DBRProgressMonitor monitor, DashboardItemContainer dashboard) {
@@ -315,7 +407,7 @@ public class DashboardUpdater {
         }
     }
 
-    private void fetchDashboardData(DashboardItemContainer dashboardContainer, DBCResultSet dbResults) throws DBCException {
+    private DashboardDataset readDashboardData(DBCResultSet dbResults, int maxRows) throws DBCException {
         DBCResultSetMetaData meta = dbResults.getMeta();
         List<? extends DBCAttributeMetaData> rsAttrs = meta.getAttributes();
         List<String> colNames = new ArrayList<>();
@@ -345,48 +437,56 @@ public class DashboardUpdater {
                 values[i] = dbResults.getAttributeValue(colNames.get(i));
             }
             dataset.addRow(new DashboardDatasetRow(timestamp, values));
-            if (dataset.getRows().size() >= dashboardContainer.getDashboardMaxItems()) {
+            if (dataset.getRows().size() >= maxRows) {
                 break;
             }
         }
+        return dataset;
+    }
 
-        switch (dashboardContainer.getItemDescriptor().getFetchType()) {
-            case rows:
-                dataset = transposeDataset(dataset);
-                break;
+    private void fetchDashboardData(DashboardItemContainer dashboardContainer, DashboardDataset queryResult) {
+        // Query result may be shared with other dashboards. Make own dataset.
+        List<DashboardDatasetRow> rows = queryResult.getRows();
+        int rowCount = Math.min(rows.size(), dashboardContainer.getDashboardMaxItems());
+        DashboardDataset dataset;
+        if (dashboardContainer.getItemDescriptor().getFetchType() == DBDashboardFetchType.rows) {
+            dataset = transposeDataset(queryResult, rowCount);
+        } else {
+            dataset = new DashboardDataset(queryResult.getColumnNames());
+            for (int i = 0; i < rowCount; i++) {
+                dataset.addRow(rows.get(i));
+            }
         }
         dashboardContainer.updateDashboardData(dataset);
     }
 
-    private DashboardDataset transposeDataset(DashboardDataset dataset) {
+    /**
+     * Makes dataset from the first rows of the source dataset. Source rows become columns.
+     */
+    private DashboardDataset transposeDataset(DashboardDataset dataset, int rowCount) {
         int oldColumnCount = dataset.getColumnNames().length;
-        if (oldColumnCount < 2) {
+        if (oldColumnCount < 2 || rowCount == 0) {
             // Something went wrong
             return dataset;
         }
         // Column names don't matter. Get everything from rows.
         // First column in row is actually column name. The rest are row values (usually 1)
-        List<String> colNamesFromRows = new ArrayList<>();
+        String[] colNamesFromRows = new String[rowCount];
         List<DashboardDatasetRow> oldRows = dataset.getRows();
         Date oldTimestamp = oldRows.get(0).getTimestamp();
-        DashboardDatasetRow[] newRows = new DashboardDatasetRow[oldColumnCount - 1];
+        Object[][] newValues = new Object[oldColumnCount - 1][rowCount];
 
-        for (int i = 0; i < oldRows.size(); i++) {
-            DashboardDatasetRow oldRow = oldRows.get(i);
-            colNamesFromRows.add(CommonUtils.toString(oldRow.getValues()[0], String.valueOf(i + 1)));
+        for (int i = 0; i < rowCount; i++) {
+            Object[] oldValues = oldRows.get(i).getValues();
+            colNamesFromRows[i] = CommonUtils.toString(oldValues[0], String.valueOf(i + 1));
             for (int colIndex = 1; colIndex < oldColumnCount; colIndex++) {
-                DashboardDatasetRow newRow = newRows[colIndex - 1];
-                if (newRow == null) {
-                    newRow = new DashboardDatasetRow(oldTimestamp, new Object[oldRows.size()]);
-                    newRows[colIndex - 1] = newRow;
-                }
-                newRow.getValues()[i] = oldRow.getValues()[colIndex];
+                newValues[colIndex - 1][i] = oldValues[colIndex];
             }
         }
 
-        DashboardDataset newDataset = new DashboardDataset(colNamesFromRows.toArray(new String[0]));
-        for (DashboardDatasetRow newRow : newRows) {
-            newDataset.addRow(newRow);
+        DashboardDataset newDataset = new DashboardDataset(colNamesFromRows);
+        for (Object[] rowValues : newValues) {
+            newDataset.addRow(new DashboardDatasetRow(oldTimestamp, rowValues));
         }
 
         return newDataset;
@@ -60,6 +60,8 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
     private List<Throwable> errorList = new ArrayList<>();
     private int focusRow;
     private DBSDataContainer targetDataContainer;
+    // Shares equal values between rows. Null if disabled
+    private ResultSetValueDictionary valueDictionary;
     
     ResultSetDataReceiver(@NotNull ResultSetViewer resultSetViewer) {
         this.resultSetViewer = resultSetViewer;
@@ -111,6 +113,9 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
             metaColumns = DBUtils.getAttributeBindings(session, getDataContainer(), metaData);
 
             resultSetViewer.setMetaData(resultSet, metaColumns);
+
+            valueDictionary = resultSetViewer.getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_DEDUPLICATE_VALUES) ?
+                new ResultSetValueDictionary(columnsCount) : null;
         }
     }
 
@@ -128,6 +133,9 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
                     resultSet,
                     metaAttribute,
                     metaColumns[i].getOrdinalPosition());
+                if (valueDictionary != null) {
+                    row[i] = valueDictionary.getValue(i, row[i]);
+                }
             } catch (Throwable e) {
                 // Do not reports the same error multiple times
                 // There are a lot of error could occur during result set fetch
@@ -217,6 +225,10 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
 
         attrErrors.clear();
         rows = new ArrayList<>();
+        if (valueDictionary != null && !hasMoreData) {
+            // No more segments to read
+            valueDictionary = null;
+        }
     }
 
     @Override
@@ -49,6 +49,9 @@ public class ResultSetModel {
 
     private static final Log log = Log.getLog(ResultSetModel.class);
 
+    // Max number of cached local orderings
+    private static final int MAX_CACHED_ORDERINGS = 4;
+
     // Attributes
     private DBDAttributeBinding[] attributes = new DBDAttributeBinding[0];
     private List<DBDAttributeBinding> visibleAttributes = new ArrayList<>();
@@ -64,6 +67,15 @@ public class ResultSetModel {
     private volatile boolean hasData = false;
     // Flag saying that edited values update is in progress
     private volatile DataSourceJob updateInProgress = null;
+    // Incremented on any rows or values change. Used to validate local orderings
+    private int rowsVersion = 0;
+    // Local orderings (rows in sorted order) of the current rows version
+    private final Map<List<Object>, ResultSetRow[]> orderingCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, ResultSetRow[]> eldest) {
+            return size() > MAX_CACHED_ORDERINGS;
+        }
+    };
 
     // Coloring
     private Map<DBDAttributeBinding, List<AttributeColorSettings>> colorMapping = new HashMap<>();
@@ -519,6 +531,7 @@ public class ResultSetModel {
             valueToEdit = value;
         }
         row.values[rootIndex] = valueToEdit;
+        markRowsChanged();
 
         if (updateChanges && row.getState() == ResultSetRow.STATE_NORMAL) {
             changesCount++;
@@ -837,6 +850,7 @@ public class ResultSetModel {
                 new ResultSetRow(firstRowNum + i, rows.get(i)));
         }
         curRows.addAll(newRows);
+        markRowsChanged();
 
         updateRowColors(resetOldRows, newRows);
     }
@@ -844,6 +858,7 @@ public class ResultSetModel {
     void clearData() {
         // Refresh all rows
         this.curRows = new ArrayList<>();
+        markRowsChanged();
         this.totalRowCount = null;
         this.singleSourceEntity = null;
 
@@ -877,6 +892,7 @@ public class ResultSetModel {
         newRow.setState(ResultSetRow.STATE_ADDED);
         shiftRows(newRow, 1);
         curRows.add(rowNum, newRow);
+        markRowsChanged();
         changesCount++;
         return newRow;
     }
@@ -906,6 +922,7 @@ public class ResultSetModel {
         if (this.curRows.size() > index) {
             this.curRows.remove(index);
             this.shiftRows(row, -1);
+            markRowsChanged();
         } else {
             log.debug("Error removing row from list: invalid row index: " + index);
         }
@@ -1068,46 +1085,80 @@ public class ResultSetModel {
         this.dataFilter.setAnyConstraint(filter.isAnyConstraint());
     }
 
+    /**
+     * Sorts rows locally according to the current data filter ordering.
+     * Sorting is done in the current thread, the result set viewer sorts large result sets in background.
+     *
+     * @deprecated ordering is taken from the data filter, column is not used. Use {@link #resetOrdering()}
+     */
+    @Deprecated
     public void resetOrdering(@NotNull DBDAttributeBinding columnElement) {
-        final boolean hasOrdering = dataFilter.hasOrdering();
-
-        // First sort in original order to reset multi-column orderings
-        curRows.sort(Comparator.comparingInt(ResultSetRow::getRowNumber));
-
-        if (hasOrdering) {
-            // Sort locally
-            final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
-            curRows.sort((row1, row2) -> {
-                int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
-                    final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
-                    if (binding == null) {
-                        continue;
-                    }
-                    Object cell1 = getCellValue(new ResultSetCellLocation(binding, row1));
-                    Object cell2 = getCellValue(new ResultSetCellLocation(binding, row2));
-                    Comparator<Object> comparator = columnElement.getValueHandler().getComparator();
-                    if (comparator != null) {
-                        result = comparator.compare(cell1, cell2);
-                    } else if (cell1 instanceof String && cell2 instanceof String) {
-                    	result = (cell1.toString()).compareToIgnoreCase(cell2.toString());
-                    } else {
-                    	result = DBUtils.compareDataValues(cell1, cell2);
-                    }
-                          
-                    if (co.isOrderDescending()) {
-                        result = -result;
-                    }
-                    if (result != 0) {
-                        break;
-                    }
+        resetOrdering();
+    }
+
+    /**
+     * Sorts rows locally according to the current data filter ordering.
+     * Sorting is done in the current thread, the result set viewer sorts large result sets in background.
+     */
+    public void resetOrdering() {
+        ResultSetRowSorter sorter = createRowSorter();
+        if (!sorter.isSorted()) {
+            sorter.sort();
+        }
+        applyOrdering(sorter);
+    }
+
+    /**
+     * Creates sorter for the current data filter ordering.
+     * If the same ordering was already made for the current rows then sorter is returned already sorted.
+     */
+    @NotNull
+    ResultSetRowSorter createRowSorter() {
+        List<ResultSetRowSorter.SortAttribute> sortAttributes = new ArrayList<>();
+        if (dataFilter.hasOrdering()) {
+            for (DBDAttributeConstraint co : dataFilter.getOrderConstraints()) {
+                final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
+                if (binding != null) {
+                    sortAttributes.add(new ResultSetRowSorter.SortAttribute(binding, co.isOrderDescending()));
                 }
-                return result;
-            });
+            }
+        }
+        ResultSetRowSorter sorter = new ResultSetRowSorter(this, sortAttributes, rowsVersion);
+        ResultSetRow[] cachedRows = orderingCache.get(sorter.getOrderingKey());
+        if (cachedRows != null) {
+            sorter.setSortedRows(cachedRows);
         }
+        return sorter;
+    }
+
+    /**
+     * Replaces current rows order with sorted one.
+     *
+     * @return false if rows were changed after the sorter creation. Then rows must be sorted again with a new sorter.
+     */
+    boolean applyOrdering(@NotNull ResultSetRowSorter sorter) {
+        if (sorter.getRowsVersion() != rowsVersion) {
+            return false;
+        }
+        ResultSetRow[] sortedRows = sorter.getSortedRows();
+        if (sortedRows == null) {
+            return true;
+        }
+        orderingCache.put(sorter.getOrderingKey(), sortedRows);
+        curRows.clear();
+        curRows.addAll(Arrays.asList(sortedRows));
         for (int i = 0; i < curRows.size(); i++) {
             curRows.get(i).setVisualNumber(i);
         }
+        return true;
+    }
+
+    /**
+     * Must be called after rows or row values change
+     */
+    void markRowsChanged() {
+        rowsVersion++;
+        orderingCache.clear();
     }
 
     private void fillVisibleAttributes() {
@@ -595,6 +595,7 @@ class ResultSetPersister {
                 DBUtils.releaseValue(row.values[entry.getKey()]);
                 row.values[entry.getKey()] = entry.getValue();
             }
+            model.markRowsChanged();
         }
     }
 
@@ -1115,6 +1116,7 @@ class ResultSetPersister {
                                 rows.get(i).values = refreshValues[i];
                             }
                         }
+                        viewer.getModel().markRowsChanged();
                         viewer.redrawData(false, true);
                     }
                 });
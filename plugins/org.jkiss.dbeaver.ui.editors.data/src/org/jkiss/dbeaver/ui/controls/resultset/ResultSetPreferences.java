@@ -80,6 +80,8 @@ public final class ResultSetPreferences {
     public static final String RESULT_SET_CONFIRM_BEFORE_SAVE = "resultset.confirm.beforeSave"; //$NON-NLS-1$
     public static final String RESULT_SET_SHOW_ERRORS_IN_DIALOG = "resultset.show.errorDialog"; //$NON-NLS-1$
     public static final String RESULT_SET_MARK_CELL_VALUE_OCCURRENCES = "resultset.mark.cell.value.occurrences"; //$NON-NLS-1$
+    public static final String RESULT_SET_DEDUPLICATE_VALUES = "resultset.memory.deduplicateValues"; //$NON-NLS-1$
+    public static final String RESULT_SET_FETCH_ALL_MAX_HEAP_PERCENT = "resultset.memory.fetchAllMaxHeapPercent"; //$NON-NLS-1$
 
     public static final String RESULT_GRID_VALUE_FORMAT = "resultset.grid.value.format"; //$NON-NLS-1$
 
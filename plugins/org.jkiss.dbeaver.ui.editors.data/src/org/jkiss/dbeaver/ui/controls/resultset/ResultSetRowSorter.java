@@ -0,0 +1,166 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Local (client-side) rows sorter.
+ *
+ * Sort keys are extracted from all rows once, then rows are sorted in parallel.
+ * Sorter works on a snapshot of model rows, so it may be executed outside of UI thread.
+ * Result is applied to the model with {@link ResultSetModel#applyOrdering(ResultSetRowSorter)}.
+ * Nulls are greater than any other value.
+ */
+public class ResultSetRowSorter {
+
+    public static class SortAttribute {
+        final DBDAttributeBinding binding;
+        final boolean descending;
+
+        public SortAttribute(@NotNull DBDAttributeBinding binding, boolean descending) {
+            this.binding = binding;
+            this.descending = descending;
+        }
+    }
+
+    private static class SortEntry {
+        final ResultSetRow row;
+        final Object[] keys;
+
+        SortEntry(ResultSetRow row, Object[] keys) {
+            this.row = row;
+            this.keys = keys;
+        }
+    }
+
+    private final ResultSetModel model;
+    private final ResultSetRow[] rows;
+    private final SortAttribute[] sortAttributes;
+    // Cache key of this ordering
+    private final List<Object> orderingKey;
+    private final int rowsVersion;
+    private ResultSetRow[] sortedRows;
+    private volatile boolean canceled;
+
+    public ResultSetRowSorter(@NotNull ResultSetModel model, @NotNull List<SortAttribute> sortAttributes, int rowsVersion) {
+        this.model = model;
+        this.rows = model.getAllRows().toArray(new ResultSetRow[0]);
+        this.sortAttributes = sortAttributes.toArray(new SortAttribute[0]);
+        this.orderingKey = new ArrayList<>();
+        for (SortAttribute sa : sortAttributes) {
+            this.orderingKey.add(sa.binding);
+            this.orderingKey.add(sa.descending);
+        }
+        this.rowsVersion = rowsVersion;
+    }
+
+    @NotNull
+    List<Object> getOrderingKey() {
+        return orderingKey;
+    }
+
+    int getRowsVersion() {
+        return rowsVersion;
+    }
+
+    public boolean isSorted() {
+        return sortedRows != null;
+    }
+
+    @Nullable
+    public ResultSetRow[] getSortedRows() {
+        return sortedRows;
+    }
+
+    void setSortedRows(@NotNull ResultSetRow[] sortedRows) {
+        this.sortedRows = sortedRows;
+    }
+
+    /**
+     * Stops sorting. Canceled sorter remains not sorted.
+     */
+    public void cancel() {
+        canceled = true;
+    }
+
+    public void sort() {
+        // Original order first. Parallel sort is stable so equal rows will keep it
+        ResultSetRow[] orderedRows = rows.clone();
+        Arrays.sort(orderedRows, Comparator.comparingInt(ResultSetRow::getRowNumber));
+
+        if (sortAttributes.length > 0) {
+            SortEntry[] entries = new SortEntry[orderedRows.length];
+            for (int i = 0; i < orderedRows.length; i++) {
+                if (canceled) {
+                    return;
+                }
+                ResultSetRow row = orderedRows[i];
+                Object[] keys = new Object[sortAttributes.length];
+                for (int k = 0; k < sortAttributes.length; k++) {
+                    keys[k] = model.getCellValue(sortAttributes[k].binding, row);
+                }
+                entries[i] = new SortEntry(row, keys);
+            }
+
+            Comparator<?>[] comparators = new Comparator[sortAttributes.length];
+            for (int k = 0; k < sortAttributes.length; k++) {
+                comparators[k] = sortAttributes[k].binding.getValueHandler().getComparator();
+            }
+            Arrays.parallelSort(entries, (entry1, entry2) -> {
+                if (canceled) {
+                    // Parallel sort can't be interrupted, finish it as fast as possible
+                    return 0;
+                }
+                for (int k = 0; k < sortAttributes.length; k++) {
+                    int result = compareKeys(comparators[k], entry1.keys[k], entry2.keys[k]);
+                    if (result != 0) {
+                        return sortAttributes[k].descending ? -result : result;
+                    }
+                }
+                return 0;
+            });
+            if (canceled) {
+                return;
+            }
+            for (int i = 0; i < entries.length; i++) {
+                orderedRows[i] = entries[i].row;
+            }
+        }
+        this.sortedRows = orderedRows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(@Nullable Comparator<?> comparator, @Nullable Object key1, @Nullable Object key2) {
+        if (comparator != null) {
+            return ((Comparator<Object>) comparator).compare(key1, key2);
+        } else if (key1 instanceof String str1 && key2 instanceof String str2) {
+            return str1.compareToIgnoreCase(str2);
+        } else {
+            return DBUtils.compareDataValues(key1, key2);
+        }
+    }
+
+}
@@ -41,6 +41,8 @@ import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
 import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
 
@@ -51,8 +53,48 @@ public class ResultSetUtils
 {
     private static final Log log = Log.getLog(ResultSetUtils.class);
 
+    // Number of rows used for row size estimation
+    private static final int ROW_SIZE_SAMPLE_COUNT = 100;
+
     private static volatile IDialogSettings viewerSettings;
 
+    /**
+     * Estimates average heap size of a row (in bytes). A sample of rows is used.
+     */
+    public static long estimateRowSize(@NotNull List<ResultSetRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int step = Math.max(1, rows.size() / ROW_SIZE_SAMPLE_COUNT);
+        long totalSize = 0;
+        int sampleCount = 0;
+        for (int i = 0; i < rows.size(); i += step) {
+            Object[] values = rows.get(i).values;
+            // Row object, values array header and value references
+            totalSize += 64 + 8L * values.length;
+            for (Object value : values) {
+                totalSize += estimateValueSize(value);
+            }
+            sampleCount++;
+        }
+        return totalSize / sampleCount;
+    }
+
+    private static long estimateValueSize(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof CharSequence str) {
+            return 40 + 2L * str.length();
+        } else if (value instanceof byte[] bytes) {
+            return 16 + bytes.length;
+        } else if (value instanceof Number || value instanceof Boolean) {
+            return value instanceof BigDecimal || value instanceof BigInteger ? 64 : 16;
+        } else {
+            // Dates, complex values, etc
+            return 64;
+        }
+    }
+
     @NotNull
     public static IDialogSettings getViewerSettings(String section) {
         if (viewerSettings == null) {
@@ -0,0 +1,91 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-column dictionary of fetched values.
+ *
+ * Equal immutable values (strings, numbers, java.time values) of different rows share the same instance.
+ * Low-cardinality columns (statuses, types, dates, flags) take much less heap then.
+ * Dictionary of high-cardinality column is dropped as soon as it becomes clear that values do not repeat.
+ */
+class ResultSetValueDictionary {
+
+    // Max number of distinct values in one column dictionary
+    private static final int MAX_DICTIONARY_SIZE = 10000;
+    // Number of values after which column cardinality is checked
+    private static final int CARDINALITY_CHECK_COUNT = 1000;
+    // Dictionary is dropped if more than half of checked values are unique
+    private static final int MAX_UNIQUE_PERCENT = 50;
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+        String.class,
+        Boolean.class, Character.class,
+        Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+        BigInteger.class, BigDecimal.class,
+        LocalDate.class, LocalTime.class, LocalDateTime.class, OffsetTime.class, OffsetDateTime.class, Instant.class,
+        UUID.class
+    );
+
+    private final Map<Object, Object>[] dictionaries;
+    private final int[] valueCounts;
+    private final boolean[] disabled;
+
+    @SuppressWarnings("unchecked")
+    ResultSetValueDictionary(int columnsCount) {
+        this.dictionaries = new Map[columnsCount];
+        this.valueCounts = new int[columnsCount];
+        this.disabled = new boolean[columnsCount];
+    }
+
+    /**
+     * Returns previously fetched value of the column which is equal to the specified value
+     * or the specified value itself.
+     */
+    @Nullable
+    Object getValue(int index, @Nullable Object value) {
+        if (value == null || disabled[index] || !IMMUTABLE_TYPES.contains(value.getClass())) {
+            return value;
+        }
+        Map<Object, Object> dictionary = dictionaries[index];
+        if (dictionary == null) {
+            dictionary = new HashMap<>();
+            dictionaries[index] = dictionary;
+        }
+        Object prevValue = dictionary.putIfAbsent(value, value);
+        int valueCount = ++valueCounts[index];
+        if (dictionary.size() > MAX_DICTIONARY_SIZE ||
+            (valueCount == CARDINALITY_CHECK_COUNT && dictionary.size() * 100 > valueCount * MAX_UNIQUE_PERCENT))
+        {
+            // Values do not repeat. Do not waste memory and time on this column
+            disabled[index] = true;
+            dictionaries[index] = null;
+        }
+        return prevValue != null ? prevValue : value;
+    }
+
+}
@@ -146,6 +146,8 @@ public class ResultSetViewer extends Viewer
     private static final String CONFIRM_SERVER_SIDE_ORDERING_UNAVAILABLE = "org.jkiss.dbeaver.sql.resultset.serverSideOrderingUnavailable";
 
     private static final int THEME_UPDATE_DELAY_MS = 250;
+    // Larger result sets are sorted locally in a background job
+    private static final int BACKGROUND_SORT_MIN_ROWS = 10000;
 
     public static final String EMPTY_TRANSFORMER_NAME = "Default";
     public static final String CONTROL_ID = ResultSetViewer.class.getSimpleName();
@@ -234,6 +236,10 @@ public class ResultSetViewer extends Viewer
     // Theme listener
     private IPropertyChangeListener themeChangeListener;
     private final AbstractJob themeUpdateJob;
+    // Sorter of the last local ordering request
+    private volatile ResultSetRowSorter activeRowSorter;
+    // Background sort job of the active sorter
+    private AbstractJob activeSortJob;
     private long lastThemeUpdateTime;
 
     private volatile boolean nextSegmentReadingBlocked;
@@ -2369,7 +2375,74 @@ public class ResultSetViewer extends Viewer
     private void reorderLocally(DBDAttributeBinding columnElement)
     {
         this.rejectChanges();
-        this.getModel().resetOrdering(columnElement);
+        this.sortLocally();
+    }
+
+    private void sortLocally() {
+        cancelLocalSort();
+        ResultSetRowSorter sorter = model.createRowSorter();
+        activeRowSorter = sorter;
+        if (sorter.isSorted() || model.getRowCount() < BACKGROUND_SORT_MIN_ROWS) {
+            if (!sorter.isSorted()) {
+                sorter.sort();
+            }
+            applyLocalOrdering(sorter);
+            return;
+        }
+        AbstractJob sortJob = new AbstractJob("Sort " + model.getRowCount() + " rows") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                monitor.beginTask("Sort rows", 1);
+                try {
+                    sorter.sort();
+                } finally {
+                    monitor.done();
+                }
+                if (!sorter.isSorted()) {
+                    // Canceled by the next ordering request
+                    return Status.CANCEL_STATUS;
+                }
+                UIUtils.asyncExec(() -> {
+                    if (!getControl().isDisposed() && activeRowSorter == sorter) {
+                        applyLocalOrdering(sorter);
+                    }
+                });
+                return Status.OK_STATUS;
+            }
+
+            @Override
+            protected void canceling() {
+                sorter.cancel();
+                super.canceling();
+            }
+        };
+        sortJob.setUser(false);
+        activeSortJob = sortJob;
+        sortJob.schedule();
+    }
+
+    /**
+     * Cancels background sorting of the previous ordering request, its result won't be used anyway
+     */
+    private void cancelLocalSort() {
+        ResultSetRowSorter sorter = activeRowSorter;
+        if (sorter != null) {
+            sorter.cancel();
+        }
+        if (activeSortJob != null) {
+            activeSortJob.cancel();
+            activeSortJob = null;
+        }
+    }
+
+    private void applyLocalOrdering(@NotNull ResultSetRowSorter sorter) {
+        activeRowSorter = null;
+        activeSortJob = null;
+        if (!this.model.applyOrdering(sorter)) {
+            // Rows were changed while sorting. Sort them again (in background for large result sets)
+            this.sortLocally();
+            return;
+        }
         this.getActivePresentation().refreshData(false, false, true);
         this.updateFiltersText();
     }
@@ -4069,19 +4142,47 @@ public class ResultSetViewer extends Viewer
             dataReceiver.setHasMoreData(false);
             dataReceiver.setNextSegmentRead(true);
 
+            int maxRows = getFetchAllMaxRows();
             runDataPump(
                 dataContainer,
                 model.getDataFilter(),
                 model.getRowCount(),
-                -1,
+                maxRows,
                 curRow == null ? -1 : curRow.getRowNumber(),
                 false,
                 true,
                 true,
-                null);
+                maxRows <= 0 ? null : () -> {
+                    if (dataReceiver.isHasMoreData()) {
+                        // Memory limit reached. The rest can be fetched later as the next segment
+                        setStatus(NLS.bind(ResultSetMessages.controls_resultset_viewer_status_fetch_all_memory_limit, model.getRowCount()),
+                            DBPMessageType.WARNING);
+                    }
+                });
         }
     }
 
+    /**
+     * Returns max number of rows which may be fetched by "fetch all" within the result set heap limit.
+     * Returns -1 if there is no limit.
+     */
+    private int getFetchAllMaxRows() {
+        int maxHeapPercent = getPreferenceStore().getInt(ResultSetPreferences.RESULT_SET_FETCH_ALL_MAX_HEAP_PERCENT);
+        Runtime runtime = Runtime.getRuntime();
+        long maxMemory = runtime.maxMemory();
+        if (maxHeapPercent <= 0 || maxHeapPercent >= 100 || maxMemory == Long.MAX_VALUE) {
+            return -1;
+        }
+        long rowSize = ResultSetUtils.estimateRowSize(model.getAllRows());
+        if (rowSize <= 0) {
+            return -1;
+        }
+        long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+        long availableMemory = maxMemory / 100 * maxHeapPercent - usedMemory;
+        // Fetch at least one more segment
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(availableMemory / rowSize, getSegmentMaxRows()));
+    }
+
     public void updateRowCount() {
         if (rowCountLabel != null) {
             rowCountLabel.executeAction();
@@ -105,6 +105,7 @@ public class ResultSetMessages extends NLS {
     public static String controls_resultset_viewer_status_rows_fetched;
     public static String controls_resultset_viewer_status_rows_updated;
     public static String controls_resultset_viewer_status_rows_size;
+    public static String controls_resultset_viewer_status_fetch_all_memory_limit;
     public static String controls_resultset_viewer_status_rows_time;
     public static String controls_resultset_viewer_status_rows_time_fetch;
     public static String controls_resultset_viewer_status_rows_time_long;
@@ -335,6 +336,10 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_automatic_row_count_tip;
     public static String pref_page_database_resultsets_label_reread_on_scrolling;
     public static String pref_page_database_resultsets_label_reread_on_scrolling_tip;
+    public static String pref_page_database_resultsets_label_deduplicate_values;
+    public static String pref_page_database_resultsets_label_deduplicate_values_tip;
+    public static String pref_page_database_resultsets_label_fetch_all_max_heap;
+    public static String pref_page_database_resultsets_label_fetch_all_max_heap_tip;
     public static String pref_page_database_resultsets_label_use_sql;
     public static String pref_page_database_resultsets_label_use_sql_tip;
     public static String pref_page_database_resultsets_label_order_mode;
@@ -57,6 +57,8 @@ public class PrefPageResultSetMain extends TargetPrefPage
     private Button autoFetchNextSegmentCheck;
     private Button automaticRowCountCheck;
     private Button rereadOnScrollingCheck;
+    private Button deduplicateValuesCheck;
+    private Text fetchAllMaxHeapText;
     private Text resultSetSize;
     private Button resultSetUseSQLCheck;
     private Combo orderingModeCombo;
@@ -92,6 +94,8 @@ public class PrefPageResultSetMain extends TargetPrefPage
         return
             store.contains(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT) ||
             store.contains(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING) ||
+            store.contains(ResultSetPreferences.RESULT_SET_DEDUPLICATE_VALUES) ||
+            store.contains(ResultSetPreferences.RESULT_SET_FETCH_ALL_MAX_HEAP_PERCENT) ||
             store.contains(ModelPreferences.RESULT_SET_MAX_ROWS) ||
             store.contains(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL) ||
             store.contains(ResultSetPreferences.RESULT_SET_AUTOMATIC_ROW_COUNT) ||
@@ -145,6 +149,10 @@ public class PrefPageResultSetMain extends TargetPrefPage
 
             autoFetchNextSegmentCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_auto_fetch_segment, ResultSetMessages.pref_page_database_resultsets_label_auto_fetch_segment_tip, true, 2);
             rereadOnScrollingCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_reread_on_scrolling, ResultSetMessages.pref_page_database_resultsets_label_reread_on_scrolling_tip, true, 2);
+            deduplicateValuesCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_deduplicate_values, ResultSetMessages.pref_page_database_resultsets_label_deduplicate_values_tip, true, 2);
+            fetchAllMaxHeapText = UIUtils.createLabelText(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_fetch_all_max_heap, "0", SWT.BORDER);
+            fetchAllMaxHeapText.setToolTipText(ResultSetMessages.pref_page_database_resultsets_label_fetch_all_max_heap_tip);
+            fetchAllMaxHeapText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
             resultSetUseSQLCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_use_sql, ResultSetMessages.pref_page_database_resultsets_label_use_sql_tip, false, 2);
             automaticRowCountCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_automatic_row_count, ResultSetMessages.pref_page_database_resultsets_label_automatic_row_count_tip, false, 2);
             orderingModeCombo = UIUtils.createLabelCombo(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_order_mode, ResultSetMessages.pref_page_database_resultsets_label_order_mode_tip, SWT.DROP_DOWN | SWT.READ_ONLY);
@@ -250,6 +258,8 @@ public class PrefPageResultSetMain extends TargetPrefPage
         try {
             autoFetchNextSegmentCheck.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT));
             rereadOnScrollingCheck.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING));
+            deduplicateValuesCheck.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_DEDUPLICATE_VALUES));
+            fetchAllMaxHeapText.setText(String.valueOf(store.getInt(ResultSetPreferences.RESULT_SET_FETCH_ALL_MAX_HEAP_PERCENT)));
             useDateTimeEditor.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_USE_DATETIME_EDITOR));
             int rsSegmentSize = store.getInt(ModelPreferences.RESULT_SET_MAX_ROWS);
             if (rsSegmentSize > 0 && rsSegmentSize < ResultSetPreferences.MIN_SEGMENT_SIZE) {
@@ -291,6 +301,8 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.setValue(ModelPreferences.RESULT_SET_USE_DATETIME_EDITOR, useDateTimeEditor.getSelection());
             store.setValue(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT, autoFetchNextSegmentCheck.getSelection());
             store.setValue(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING, rereadOnScrollingCheck.getSelection());
+            store.setValue(ResultSetPreferences.RESULT_SET_DEDUPLICATE_VALUES, deduplicateValuesCheck.getSelection());
+            store.setValue(ResultSetPreferences.RESULT_SET_FETCH_ALL_MAX_HEAP_PERCENT, CommonUtils.toInt(fetchAllMaxHeapText.getText()));
             store.setValue(ModelPreferences.RESULT_SET_MAX_ROWS, resultSetSize.getText());
             store.setValue(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL, resultSetUseSQLCheck.getSelection());
             store.setValue(ResultSetPreferences.RESULT_SET_AUTOMATIC_ROW_COUNT, automaticRowCountCheck.getSelection());
@@ -326,6 +338,8 @@ public class PrefPageResultSetMain extends TargetPrefPage
         store.setToDefault(ModelPreferences.RESULT_SET_USE_DATETIME_EDITOR);
         store.setToDefault(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT);
         store.setToDefault(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_DEDUPLICATE_VALUES);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_FETCH_ALL_MAX_HEAP_PERCENT);
         store.setToDefault(ModelPreferences.RESULT_SET_MAX_ROWS);
         store.setToDefault(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL);
         store.setToDefault(ResultSetPreferences.RESULT_SET_AUTOMATIC_ROW_COUNT);
@@ -355,6 +369,8 @@ public class PrefPageResultSetMain extends TargetPrefPage
         DBPPreferenceStore store = DBWorkbench.getPlatform().getPreferenceStore();
         autoFetchNextSegmentCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT));
         rereadOnScrollingCheck.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING));
+        deduplicateValuesCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_DEDUPLICATE_VALUES));
+        fetchAllMaxHeapText.setText(String.valueOf(store.getDefaultInt(ResultSetPreferences.RESULT_SET_FETCH_ALL_MAX_HEAP_PERCENT)));
         resultSetSize.setText(String.valueOf(store.getDefaultInt(ModelPreferences.RESULT_SET_MAX_ROWS)));
         resultSetUseSQLCheck.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL));
         automaticRowCountCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_AUTOMATIC_ROW_COUNT));
@@ -0,0 +1,148 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class PostgreCopyBinaryEncoderTest {
+
+    @Test
+    public void writeNumeric_whenFractional_thenBase10000Digits() throws IOException {
+        DataInputStream in = encode(PostgreOid.NUMERIC, new BigDecimal("-12345.67"));
+        Assert.assertEquals(14, in.readInt());
+        Assert.assertEquals(3, in.readShort()); // ndigits
+        Assert.assertEquals(1, in.readShort()); // weight
+        Assert.assertEquals(0x4000, in.readShort()); // sign
+        Assert.assertEquals(2, in.readShort()); // dscale
+        Assert.assertEquals(1, in.readShort());
+        Assert.assertEquals(2345, in.readShort());
+        Assert.assertEquals(6700, in.readShort());
+    }
+
+    @Test
+    public void writeNumeric_whenTrailingZeroDigits_thenTheyAreStripped() throws IOException {
+        DataInputStream in = encode(PostgreOid.NUMERIC, 100000000L);
+        Assert.assertEquals(10, in.readInt());
+        Assert.assertEquals(1, in.readShort()); // ndigits
+        Assert.assertEquals(2, in.readShort()); // weight
+        Assert.assertEquals(0, in.readShort()); // sign
+        Assert.assertEquals(0, in.readShort()); // dscale
+        Assert.assertEquals(1, in.readShort());
+    }
+
+    @Test
+    public void writeNumeric_whenSmallFraction_thenNegativeWeight() throws IOException {
+        DataInputStream in = encode(PostgreOid.NUMERIC, new BigDecimal("0.00001"));
+        Assert.assertEquals(10, in.readInt());
+        Assert.assertEquals(1, in.readShort()); // ndigits
+        Assert.assertEquals(-2, in.readShort()); // weight
+        Assert.assertEquals(0, in.readShort()); // sign
+        Assert.assertEquals(5, in.readShort()); // dscale
+        Assert.assertEquals(1000, in.readShort());
+    }
+
+    @Test
+    public void writeTimestamp_whenLocalDateTime_thenMicrosFromPostgresEpoch() throws IOException {
+        DataInputStream in = encode(PostgreOid.TIMESTAMP, LocalDateTime.of(2000, 1, 2, 0, 0, 0, 1000));
+        Assert.assertEquals(8, in.readInt());
+        Assert.assertEquals(86400L * 1000000L + 1, in.readLong());
+    }
+
+    @Test
+    public void writeDate_whenBeforeEpoch_thenNegativeDays() throws IOException {
+        DataInputStream in = encode(PostgreOid.DATE, LocalDate.of(1999, 12, 31));
+        Assert.assertEquals(4, in.readInt());
+        Assert.assertEquals(-1, in.readInt());
+    }
+
+    @Test
+    public void writeUuid_whenString_thenParsed() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        DataInputStream in = encode(PostgreOid.UUID, uuid.toString());
+        Assert.assertEquals(16, in.readInt());
+        Assert.assertEquals(uuid.getMostSignificantBits(), in.readLong());
+        Assert.assertEquals(uuid.getLeastSignificantBits(), in.readLong());
+    }
+
+    @Test
+    public void writeBytea_whenContent_thenReadFromContentStorage() throws IOException, DBCException {
+        byte[] data = {1, 2, 3};
+        DBDContentStorage storage = Mockito.mock(DBDContentStorage.class);
+        Mockito.when(storage.getContentStream()).thenReturn(new ByteArrayInputStream(data));
+        DBDContent content = Mockito.mock(DBDContent.class);
+        Mockito.when(content.getContents(Mockito.any())).thenReturn(storage);
+        Mockito.when(content.getContentLength()).thenReturn((long) data.length);
+        // Raw value of LOB content is a locator which can't be written directly
+        Mockito.when(content.getRawValue()).thenReturn(new Object());
+
+        DataInputStream in = encode(PostgreOid.BYTEA, content);
+        Assert.assertEquals(data.length, in.readInt());
+        byte[] written = new byte[data.length];
+        in.readFully(written);
+        Assert.assertArrayEquals(data, written);
+    }
+
+    @Test
+    public void writeInt_whenInRange_thenExactValue() throws IOException {
+        DataInputStream in = encode(PostgreOid.INT2, new BigDecimal("-32768"));
+        Assert.assertEquals(2, in.readInt());
+        Assert.assertEquals(Short.MIN_VALUE, in.readShort());
+        in = encode(PostgreOid.INT4, "2147483647");
+        Assert.assertEquals(4, in.readInt());
+        Assert.assertEquals(Integer.MAX_VALUE, in.readInt());
+        in = encode(PostgreOid.INT8, 5.0d);
+        Assert.assertEquals(8, in.readInt());
+        Assert.assertEquals(5L, in.readLong());
+    }
+
+    @Test
+    public void writeInt_whenOutOfRange_thenError() {
+        Assert.assertThrows(IOException.class, () -> encode(PostgreOid.INT2, 32768));
+        Assert.assertThrows(IOException.class, () -> encode(PostgreOid.INT4, 2147483648L));
+        Assert.assertThrows(IOException.class, () -> encode(PostgreOid.INT4, new BigDecimal("1.5")));
+        Assert.assertThrows(IOException.class, () -> encode(PostgreOid.INT8, new BigDecimal("9223372036854775808")));
+    }
+
+    @Test
+    public void isTypeSupported_whenArray_thenFalse() {
+        Assert.assertTrue(PostgreCopyBinaryEncoder.isTypeSupported(PostgreOid.INT8));
+        Assert.assertFalse(PostgreCopyBinaryEncoder.isTypeSupported(PostgreOid.INT8_ARRAY));
+    }
+
+    private static DataInputStream encode(long typeId, Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PostgreCopyBinaryEncoder encoder = new PostgreCopyBinaryEncoder(buffer);
+        encoder.writeValue(new VoidProgressMonitor(), typeId, value, String::valueOf);
+        encoder.writeTrailer();
+        return new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.duckdb.model;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBPQualifiedObject;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCStatementType;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DuckDBAppenderLoaderTest {
+
+    @Mock
+    private JDBCSession session;
+    @Mock
+    private JDBCStatement statement;
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private SQLDialect dialect;
+    @Mock
+    private DBDValueHandler valueHandler;
+    @Mock
+    private DBCExecutionSource executionSource;
+
+    private DBSEntity table;
+    private DBSEntityAttribute idColumn;
+    private DBSEntityAttribute nameColumn;
+    private DBSEntityAttribute createdColumn;
+
+    @Before
+    public void init() throws DBException {
+        table = Mockito.mock(DBSEntity.class, Mockito.withSettings().extraInterfaces(DBPQualifiedObject.class));
+        idColumn = mockColumn("id");
+        nameColumn = mockColumn("name");
+        // Column with default value
+        createdColumn = mockColumn("created");
+        Mockito.lenient().when(table.getName()).thenReturn("test");
+        Mockito.lenient().when(((DBPQualifiedObject) table).getFullyQualifiedName(DBPEvaluationContext.DML)).thenReturn("main.test");
+        Mockito.lenient().when(table.getDataSource()).thenReturn(dataSource);
+        Mockito.doReturn(List.of(idColumn, nameColumn, createdColumn)).when(table).getAttributes(Mockito.any());
+        Mockito.lenient().when(dataSource.getSQLDialect()).thenReturn(dialect);
+        Mockito.lenient().when(dialect.getQuotedIdentifier(Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyBoolean()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(session.getProgressMonitor()).thenReturn(new VoidProgressMonitor());
+        Mockito.when(session.getDefaultValueHandler()).thenReturn(valueHandler);
+    }
+
+    @Test
+    public void loadWithInsertWhenColumnsAreNotMapped() throws DBException, SQLException {
+        Mockito.when(session.prepareStatement(
+            Mockito.eq(DBCStatementType.QUERY), Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyBoolean(), Mockito.anyBoolean())
+        ).thenReturn(statement);
+
+        DBSDataBulkLoader.BulkLoadManager loadManager = createBulkLoad(idColumn, nameColumn);
+        loadManager.addRow(session, new Object[]{1, "a"});
+        loadManager.addRow(session, new Object[]{2, "b"});
+        loadManager.flushRows(session);
+        loadManager.close();
+
+        // Appender is not created, unmapped column gets its default value
+        Mockito.verify(session, Mockito.never()).getOriginal();
+        Mockito.verify(session).prepareStatement(
+            DBCStatementType.QUERY, "INSERT INTO main.test (id,name) VALUES (?,?)", false, false, false);
+        Mockito.verify(valueHandler).bindValueObject(session, statement, idColumn, 0, 1);
+        Mockito.verify(valueHandler).bindValueObject(session, statement, nameColumn, 1, "b");
+        Mockito.verify(statement, Mockito.times(2)).addToBatch();
+        Mockito.verify(statement).executeStatementBatch();
+    }
+
+    @Test
+    public void loadWithAppenderWhenAllColumnsAreMapped() {
+        // Driver without appender support. Columns are matched by name case-insensitively.
+        DBSEntityAttribute createdAttribute = mockColumn("CREATED");
+        DBCException error = Assert.assertThrows(
+            DBCException.class,
+            () -> createBulkLoad(nameColumn, createdAttribute, idColumn));
+        Assert.assertTrue(error.getMessage().contains("appender"));
+    }
+
+    private DBSDataBulkLoader.BulkLoadManager createBulkLoad(DBSAttributeBase... attributes) throws DBCException {
+        return new DuckDBAppenderLoader().createBulkLoad(session, table, attributes, executionSource, 100, Map.of());
+    }
+
+    private static DBSEntityAttribute mockColumn(String name) {
+        DBSEntityAttribute column = Mockito.mock(DBSEntityAttribute.class);
+        Mockito.lenient().when(column.getName()).thenReturn(name);
+        return column;
+    }
+}
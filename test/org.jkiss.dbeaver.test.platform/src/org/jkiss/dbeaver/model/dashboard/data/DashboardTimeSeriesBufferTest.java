@@ -0,0 +1,106 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.dashboard.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DashboardTimeSeriesBufferTest {
+
+    @Test
+    public void testOverflow() {
+        DashboardTimeSeriesBuffer buffer = new DashboardTimeSeriesBuffer(3, 0);
+        for (int i = 1; i <= 5; i++) {
+            buffer.addOrUpdate(i * 1000L, i);
+        }
+        // The oldest items are dropped
+        Assert.assertEquals(3, buffer.getItemCount());
+        assertItems(buffer, new long[] {3000, 4000, 5000}, new double[] {3, 4, 5});
+
+        // Update of existing item
+        buffer.addOrUpdate(4000, 40);
+        assertItems(buffer, new long[] {3000, 4000, 5000}, new double[] {3, 40, 5});
+
+        // Late item in the full buffer replaces the oldest one
+        buffer.addOrUpdate(3500, 35);
+        assertItems(buffer, new long[] {3500, 4000, 5000}, new double[] {35, 40, 5});
+
+        // Item older than all items of the full buffer is ignored
+        buffer.addOrUpdate(1000, 1);
+        assertItems(buffer, new long[] {3500, 4000, 5000}, new double[] {35, 40, 5});
+    }
+
+    @Test
+    public void testCapacityChange() {
+        DashboardTimeSeriesBuffer buffer = new DashboardTimeSeriesBuffer(4, 0);
+        for (int i = 1; i <= 6; i++) {
+            buffer.addOrUpdate(i, i);
+        }
+        buffer.setCapacity(2);
+        assertItems(buffer, new long[] {5, 6}, new double[] {5, 6});
+        buffer.setCapacity(3);
+        buffer.addOrUpdate(7, 7);
+        assertItems(buffer, new long[] {5, 6, 7}, new double[] {5, 6, 7});
+    }
+
+    @Test
+    public void testMaxAge() {
+        DashboardTimeSeriesBuffer buffer = new DashboardTimeSeriesBuffer(10, 2000);
+        for (int i = 1; i <= 5; i++) {
+            buffer.addOrUpdate(i * 1000L, i);
+        }
+        assertItems(buffer, new long[] {3000, 4000, 5000}, new double[] {3, 4, 5});
+    }
+
+    @Test
+    public void testDelta() {
+        DashboardTimeSeriesBuffer buffer = new DashboardTimeSeriesBuffer(10, 0);
+        Assert.assertFalse(buffer.addDelta(1000, 10, 1, false));
+        Assert.assertTrue(buffer.addDelta(2000, 15, 2, false));
+        Assert.assertTrue(buffer.addDelta(3000, 20, 3, true));
+        assertItems(buffer, new long[] {2000, 3000}, new double[] {2.5, 2});
+    }
+
+    @Test
+    public void testDownsample() {
+        DashboardTimeSeriesBuffer buffer = new DashboardTimeSeriesBuffer(10, 0);
+        for (int i = 1; i <= 7; i++) {
+            buffer.addOrUpdate(i, i);
+        }
+        long[] timestamps = new long[3];
+        double[] values = new double[3];
+        // Buckets of 3 items aligned to the newest item: [1], [2, 3, 4], [5, 6, 7]
+        Assert.assertEquals(3, buffer.downsample(3, timestamps, values));
+        Assert.assertArrayEquals(new long[] {1, 4, 7}, timestamps);
+        Assert.assertArrayEquals(new double[] {1, 3, 6}, values, 0.0001);
+
+        // No aggregation when items fit
+        timestamps = new long[10];
+        values = new double[10];
+        Assert.assertEquals(7, buffer.downsample(10, timestamps, values));
+        Assert.assertEquals(7, timestamps[6]);
+        Assert.assertEquals(7, values[6], 0.0001);
+    }
+
+    private static void assertItems(DashboardTimeSeriesBuffer buffer, long[] timestamps, double[] values) {
+        Assert.assertEquals(timestamps.length, buffer.getItemCount());
+        for (int i = 0; i < timestamps.length; i++) {
+            Assert.assertEquals(timestamps[i], buffer.getTimestamp(i));
+            Assert.assertEquals(values[i], buffer.getValue(i), 0.0001);
+        }
+    }
+}
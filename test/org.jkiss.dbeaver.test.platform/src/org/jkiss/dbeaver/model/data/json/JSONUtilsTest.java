@@ -21,6 +21,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.*;
 
 public class JSONUtilsTest {
@@ -96,4 +98,18 @@ public class JSONUtilsTest {
 		Assert.assertEquals(Collections.emptyList(), JSONUtils.getObjectList(map3, "Time"));
 	}
 
+	@Test
+	public void escapeJsonStringTest() throws IOException {
+		String value = "a\"b\\c/d\n\te\u0001";
+		Assert.assertEquals("a\\\"b\\\\c\\/d\\n\\te\\u0001", JSONUtils.escapeJsonString(value));
+
+		StringWriter out = new StringWriter();
+		JSONUtils.escapeJsonString(out, value);
+		Assert.assertEquals(JSONUtils.escapeJsonString(value), out.toString());
+
+		out = new StringWriter();
+		JSONUtils.escapeJsonString(out, "plain");
+		Assert.assertEquals("plain", out.toString());
+	}
+
 }
@@ -0,0 +1,104 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec.metrics;
+
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class DBCExecutionMetricsTest {
+
+    @Test
+    public void testHistogramPercentiles() {
+        DBCLatencyHistogram histogram = new DBCLatencyHistogram();
+        Random random = new Random(1);
+        long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextGaussian() * 1.5 + 8);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        Assert.assertEquals(values.length, histogram.getCount());
+        Assert.assertEquals(values[values.length - 1], histogram.getMax());
+        Assert.assertEquals(values[values.length - 1], histogram.getValueAtPercentile(100));
+        assertPercentile(values[values.length / 2 - 1], histogram.getValueAtPercentile(50));
+        assertPercentile(values[values.length * 99 / 100 - 1], histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testHistogramSmallValues() {
+        DBCLatencyHistogram histogram = new DBCLatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        Assert.assertEquals(5, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(10, histogram.getValueAtPercentile(99));
+        Assert.assertEquals(5.5, histogram.getMean(), 0.001);
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testQueryFingerprint() {
+        Assert.assertEquals(
+            "SELECT a.id, ? FROM \"My Tab\" t1 WHERE id IN (?) AND name = ?",
+            DBCExecutionMetrics.getQueryFingerprint(null,
+                "SELECT  a.id, 'x''y'\nFROM \"My Tab\" t1 -- comment\n WHERE id IN (1, 2.5) /* x */ AND name = 'abc'"));
+        Assert.assertEquals(
+            DBCExecutionMetrics.getQueryFingerprint(null, "update t set v = 1 where id = 10"),
+            DBCExecutionMetrics.getQueryFingerprint(null, "UPDATE t SET v = 2  WHERE id = 20"));
+    }
+
+    @Test
+    public void testConnectionGroupsById() {
+        DBCExecutionMetrics metrics = DBCExecutionMetrics.getInstance();
+        metrics.reset();
+        try {
+            DBPDataSourceContainer container1 = mockContainer("id1", "Same name");
+            DBPDataSourceContainer container2 = mockContainer("id2", "Same name");
+            metrics.getRecorder(container1, null);
+            metrics.getRecorder(container2, null);
+            metrics.getRecorder(container1, null);
+            Assert.assertEquals(2, metrics.getGroups(DBCExecutionMetrics.Dimension.CONNECTION).size());
+            for (DBCExecutionMetricsGroup group : metrics.getGroups(DBCExecutionMetrics.Dimension.CONNECTION)) {
+                Assert.assertEquals("Same name", group.getName());
+            }
+        } finally {
+            metrics.reset();
+        }
+    }
+
+    private static DBPDataSourceContainer mockContainer(String id, String name) {
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getId()).thenReturn(id);
+        Mockito.when(container.getName()).thenReturn(name);
+        return container;
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        // Histogram buckets have 1/16 relative width
+        Assert.assertTrue("Expected " + expected + " but was " + actual, actual >= expected && actual <= expected + expected / 16 + 1);
+    }
+
+}
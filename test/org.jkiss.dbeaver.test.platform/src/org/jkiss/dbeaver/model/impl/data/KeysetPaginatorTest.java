@@ -0,0 +1,281 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceInfo;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLQueryGenerator;
+import org.jkiss.dbeaver.model.struct.*;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KeysetPaginatorTest {
+
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private SQLDialect dialect;
+    @Mock
+    private SQLQueryGenerator queryGenerator;
+    @Mock
+    private DBCSession session;
+    @Mock
+    private DBDDataReceiver receiver;
+
+    private DBSDataContainer table;
+    private DBSEntityAttribute id1Column;
+    private DBSEntityAttribute id2Column;
+    private DBSEntityAttribute valueColumn;
+
+    // Table rows (ID1, ID2, VALUE)
+    private final List<Object[]> tableRows = new ArrayList<>();
+    private final List<DBDDataFilter> pageFilters = new ArrayList<>();
+    private final List<Object> receivedValues = new ArrayList<>();
+    private KeysetPaginator paginator;
+
+    @Before
+    public void init() throws DBException {
+        id1Column = mockColumn("ID1", 1);
+        id2Column = mockColumn("ID2", 2);
+        valueColumn = mockColumn("VALUE", 3);
+        table = Mockito.mock(DBSDataContainer.class, Mockito.withSettings().extraInterfaces(DBSEntity.class));
+        Mockito.lenient().when(table.getDataSource()).thenReturn(dataSource);
+        Mockito.lenient().when(dataSource.getSQLDialect()).thenReturn(dialect);
+        Mockito.lenient().when(dialect.getQueryGenerator()).thenReturn(queryGenerator);
+        Mockito.lenient().when(dialect.getQuotedIdentifier(Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyBoolean()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.lenient().when(queryGenerator.getConstraintCondition(
+                Mockito.any(), Mockito.any(DBDAttributeConstraint.class), Mockito.any(), Mockito.anyBoolean()))
+            .thenAnswer(invocation -> {
+                DBDAttributeConstraint constraint = invocation.getArgument(1);
+                return constraint.getOperator().getExpression() + " " + constraint.getValue();
+            });
+        Mockito.lenient().doAnswer(invocation -> readData(invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(5)))
+            .when(table).readData(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong(), Mockito.anyLong(), Mockito.anyLong(), Mockito.anyInt());
+        Mockito.lenient().doAnswer(invocation -> receivedValues.add(((DBCResultSet) invocation.getArgument(1)).getAttributeValue(2)))
+            .when(receiver).fetchRow(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testSingleKeyPages() throws DBCException {
+        for (int i = 1; i <= 5; i++) {
+            tableRows.add(new Object[] { (long) i, 0L, "row" + i });
+        }
+        paginator = new KeysetPaginator(table, List.of(id1Column), null);
+
+        Assert.assertEquals(2, readPage(2));
+        Assert.assertEquals(2, readPage(2));
+        // Last page is not full
+        Assert.assertEquals(1, readPage(2));
+        Assert.assertEquals(List.of("row1", "row2", "row3", "row4", "row5"), receivedValues);
+        Assert.assertArrayEquals(new Object[] { 5L }, paginator.getLastKey());
+
+        // The first page has no key condition
+        Assert.assertFalse(pageFilters.get(0).hasConditions());
+        Assert.assertEquals("ID1", pageFilters.get(0).getOrder());
+        // Next pages continue after the last key with a plain constraint
+        DBDAttributeConstraint keyConstraint = getKeyConstraint(pageFilters.get(1));
+        Assert.assertEquals(DBCLogicalOperator.GREATER, keyConstraint.getOperator());
+        Assert.assertEquals(2L, keyConstraint.getValue());
+        Assert.assertNull(pageFilters.get(1).getWhere());
+        Assert.assertEquals(4L, getKeyConstraint(pageFilters.get(2)).getValue());
+    }
+
+    @Test
+    public void testLastPageIsEmpty() throws DBCException {
+        for (int i = 1; i <= 4; i++) {
+            tableRows.add(new Object[] { (long) i, 0L, "row" + i });
+        }
+        paginator = new KeysetPaginator(table, List.of(id1Column), null);
+
+        Assert.assertEquals(2, readPage(2));
+        Assert.assertEquals(2, readPage(2));
+        Assert.assertEquals(0, readPage(2));
+        Assert.assertEquals(4, receivedValues.size());
+        // Empty page keeps the last key
+        Assert.assertArrayEquals(new Object[] { 4L }, paginator.getLastKey());
+    }
+
+    @Test
+    public void testCompositeKeyPages() throws DBCException {
+        tableRows.add(new Object[] { 1L, 1L, "a" });
+        tableRows.add(new Object[] { 1L, 2L, "b" });
+        tableRows.add(new Object[] { 1L, 3L, "c" });
+        tableRows.add(new Object[] { 2L, 1L, "d" });
+        tableRows.add(new Object[] { 3L, 1L, "e" });
+        DBDDataFilter baseFilter = new DBDDataFilter();
+        baseFilter.setWhere("VALUE <> 'x'");
+        paginator = new KeysetPaginator(table, List.of(id1Column, id2Column), baseFilter);
+
+        Assert.assertEquals(2, readPage(2));
+        Assert.assertEquals(2, readPage(2));
+        Assert.assertEquals(1, readPage(2));
+        Assert.assertEquals(List.of("a", "b", "c", "d", "e"), receivedValues);
+
+        Assert.assertEquals("ID1,ID2", pageFilters.get(0).getOrder());
+        Assert.assertEquals("VALUE <> 'x'", pageFilters.get(0).getWhere());
+        // First key column bound lets database seek by index, the rest is compared in where condition
+        DBDAttributeConstraint keyConstraint = getKeyConstraint(pageFilters.get(1));
+        Assert.assertEquals(DBCLogicalOperator.GREATER_EQUALS, keyConstraint.getOperator());
+        Assert.assertEquals(1L, keyConstraint.getValue());
+        Assert.assertEquals(
+            "(VALUE <> 'x') AND ((ID1 > 1) OR (ID1 = 1 AND ID2 > 2))",
+            pageFilters.get(1).getWhere());
+        Assert.assertEquals(
+            "(VALUE <> 'x') AND ((ID1 > 2) OR (ID1 = 2 AND ID2 > 1))",
+            pageFilters.get(2).getWhere());
+        // Base filter is not modified
+        Assert.assertEquals("VALUE <> 'x'", baseFilter.getWhere());
+        Assert.assertTrue(baseFilter.getConstraints().isEmpty());
+    }
+
+    @Test
+    public void testNullKeyValue() throws DBCException {
+        tableRows.add(new Object[] { 1L, 0L, "a" });
+        tableRows.add(new Object[] { null, 0L, "b" });
+        paginator = new KeysetPaginator(table, List.of(id1Column), null);
+        try {
+            readPage(10);
+            Assert.fail("NULL key must not be accepted");
+        } catch (DBCException e) {
+            Assert.assertTrue(e.getMessage().contains("ID1"));
+        }
+    }
+
+    @Test
+    public void testNullableKeyFallsBackToOffset() throws DBException {
+        DBPDataSourceInfo dataSourceInfo = Mockito.mock(DBPDataSourceInfo.class);
+        Mockito.when(dataSource.getInfo()).thenReturn(dataSourceInfo);
+        Mockito.when(dataSourceInfo.supportsNullableUniqueConstraints()).thenReturn(true);
+
+        DBSEntity entity = (DBSEntity) table;
+        DBSEntityConstraint primaryKey = Mockito.mock(DBSEntityConstraint.class, Mockito.withSettings().extraInterfaces(DBSEntityReferrer.class));
+        DBSEntityAttributeRef keyRef = Mockito.mock(DBSEntityAttributeRef.class);
+        Mockito.when(keyRef.getAttribute()).thenReturn(id1Column);
+        Mockito.when(primaryKey.getConstraintType()).thenReturn(DBSEntityConstraintType.PRIMARY_KEY);
+        Mockito.when(primaryKey.getDataSource()).thenReturn(dataSource);
+        Mockito.doReturn(List.of(keyRef)).when((DBSEntityReferrer) primaryKey).getAttributeReferences(Mockito.any());
+        Mockito.doReturn(List.of(id1Column, id2Column, valueColumn)).when(entity).getAttributes(Mockito.any());
+        Mockito.doReturn(List.of(primaryKey)).when(entity).getConstraints(Mockito.any());
+
+        Assert.assertNotNull(KeysetPaginator.create(new VoidProgressMonitor(), entity, null));
+
+        // Rows with NULL key can't be reached by key comparison
+        Mockito.when(id1Column.isRequired()).thenReturn(false);
+        Assert.assertNull(KeysetPaginator.create(new VoidProgressMonitor(), entity, null));
+    }
+
+    @Test
+    public void testFilterWithOrderingFallsBackToOffset() throws DBException {
+        DBDDataFilter orderedFilter = new DBDDataFilter();
+        orderedFilter.setOrder("VALUE");
+        Assert.assertNull(KeysetPaginator.create(new VoidProgressMonitor(), (DBSEntity) table, orderedFilter));
+
+        DBDDataFilter anyFilter = new DBDDataFilter();
+        anyFilter.setAnyConstraint(true);
+        Assert.assertNull(KeysetPaginator.create(new VoidProgressMonitor(), (DBSEntity) table, anyFilter));
+    }
+
+    private long readPage(long pageSize) throws DBCException {
+        return paginator.readPage(null, session, receiver, pageSize, DBSDataContainer.FLAG_NONE, 0).getRowsFetched();
+    }
+
+    private static DBDAttributeConstraint getKeyConstraint(DBDDataFilter filter) {
+        Assert.assertEquals(1, filter.getConstraints().size());
+        return filter.getConstraints().get(0);
+    }
+
+    /**
+     * Emulates the database: returns rows after the paginator's last key, ordered by key
+     */
+    private DBCStatistics readData(DBDDataReceiver dataReceiver, DBDDataFilter filter, long maxRows) throws DBCException {
+        pageFilters.add(filter);
+        Object[] lastKey = paginator.getLastKey();
+        Comparator<Object[]> keyComparator = Comparator.comparing((Object[] row) -> (Long) row[0], Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(row -> (Long) row[1]);
+        List<Object[]> pageRows = tableRows.stream()
+            .filter(row -> lastKey == null || keyComparator.compare(row, keyOf(lastKey)) > 0)
+            .sorted(keyComparator)
+            .limit(maxRows)
+            .toList();
+
+        Object[][] currentRow = new Object[1][];
+        DBCResultSet resultSet = mockResultSet(currentRow);
+        dataReceiver.fetchStart(session, resultSet, 0, maxRows);
+        try {
+            for (Object[] row : pageRows) {
+                currentRow[0] = row;
+                dataReceiver.fetchRow(session, resultSet);
+            }
+            dataReceiver.fetchEnd(session, resultSet);
+        } finally {
+            dataReceiver.close();
+        }
+        DBCStatistics statistics = new DBCStatistics();
+        statistics.setRowsFetched(pageRows.size());
+        return statistics;
+    }
+
+    private static Object[] keyOf(Object[] lastKey) {
+        return lastKey.length == 1 ? new Object[] { lastKey[0], Long.MAX_VALUE } : lastKey;
+    }
+
+    private static DBCResultSet mockResultSet(Object[][] currentRow) throws DBCException {
+        List<DBCAttributeMetaData> attributes = new ArrayList<>();
+        for (String name : Arrays.asList("ID1", "ID2", "VALUE")) {
+            DBCAttributeMetaData attribute = Mockito.mock(DBCAttributeMetaData.class);
+            Mockito.lenient().when(attribute.getName()).thenReturn(name);
+            attributes.add(attribute);
+        }
+        DBCResultSetMetaData meta = Mockito.mock(DBCResultSetMetaData.class);
+        Mockito.doReturn(attributes).when(meta).getAttributes();
+        DBCResultSet resultSet = Mockito.mock(DBCResultSet.class);
+        Mockito.when(resultSet.getMeta()).thenReturn(meta);
+        Mockito.lenient().when(resultSet.getAttributeValue(Mockito.anyInt()))
+            .thenAnswer(invocation -> currentRow[0][(Integer) invocation.getArgument(0)]);
+        return resultSet;
+    }
+
+    private DBSEntityAttribute mockColumn(String name, int position) {
+        DBSEntityAttribute column = Mockito.mock(DBSEntityAttribute.class);
+        Mockito.lenient().when(column.getName()).thenReturn(name);
+        Mockito.lenient().when(column.getOrdinalPosition()).thenReturn(position);
+        Mockito.lenient().when(column.getDataSource()).thenReturn(dataSource);
+        Mockito.lenient().when(column.getDataKind()).thenReturn(DBPDataKind.NUMERIC);
+        Mockito.lenient().when(column.isRequired()).thenReturn(true);
+        return column;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data.formatters;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class NumberDataFormatterTest {
+
+    private static final long[] VALUES = {
+        0, 1, -1, 999, 1000, -1000, 123456789, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE
+    };
+
+    @Test
+    public void testIntegerFormat() {
+        for (Locale locale : new Locale[]{Locale.ENGLISH, Locale.GERMANY, Locale.FRANCE, new Locale("ar", "EG")}) {
+            for (String useGrouping : new String[]{"true", "false"}) {
+                Map<String, Object> properties = new HashMap<>();
+                properties.put(NumberFormatSample.PROP_USE_GROUPING, useGrouping);
+                NumberDataFormatter formatter = new NumberDataFormatter();
+                formatter.init(null, locale, properties);
+
+                DecimalFormat expectedFormat = (DecimalFormat) NumberFormat.getNumberInstance(locale);
+                expectedFormat.setGroupingUsed(Boolean.parseBoolean(useGrouping));
+                for (long value : VALUES) {
+                    Assert.assertEquals(expectedFormat.format(value), formatter.formatValue(value));
+                }
+                Assert.assertEquals(expectedFormat.format(-12345), formatter.formatValue(-12345));
+                Assert.assertEquals(expectedFormat.format(1234), formatter.formatValue((short) 1234));
+            }
+        }
+    }
+
+    @Test
+    public void testIntegerFormatWithMinDigits() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(NumberFormatSample.PROP_MIN_INT_DIGITS, 5);
+        NumberDataFormatter formatter = new NumberDataFormatter();
+        formatter.init(null, Locale.ENGLISH, properties);
+        Assert.assertEquals("00,012", formatter.formatValue(12L));
+    }
+
+    @Test
+    public void testConcurrentFormat() throws Exception {
+        NumberDataFormatter formatter = new NumberDataFormatter();
+        formatter.init(null, Locale.ENGLISH, new HashMap<>());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final int threadNum = i;
+                results.add(executor.submit(() -> {
+                    for (int k = 0; k < 10000; k++) {
+                        BigDecimal value = BigDecimal.valueOf(threadNum * 1000000L + k, 2);
+                        String expected = NumberFormat.getNumberInstance(Locale.ENGLISH).format(value);
+                        if (!expected.equals(formatter.formatValue(value))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.dbeaver.DBException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JDBCLoadLocksTest {
+
+    @Test
+    public void testSameKeyHandoff() throws Exception {
+        JDBCLoadLocks loadLocks = new JDBCLoadLocks();
+        Object key = new Object();
+        AtomicBoolean loaded = new AtomicBoolean();
+        AtomicInteger queryCount = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        Thread first = new Thread(() -> runLoad(loadLocks, key, () -> {
+            queryCount.incrementAndGet();
+            firstStarted.countDown();
+            await(releaseFirst);
+            loaded.set(true);
+        }));
+        first.start();
+        Assert.assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        AtomicBoolean secondSawLoaded = new AtomicBoolean();
+        Thread second = new Thread(() -> runLoad(loadLocks, key, () -> {
+            // Second thread must enter only after the first load is complete
+            secondSawLoaded.set(loaded.get());
+            if (!loaded.get()) {
+                queryCount.incrementAndGet();
+            }
+        }));
+        second.start();
+        waitForState(second, Thread.State.BLOCKED);
+        Assert.assertEquals(1, loadLocks.getActiveLoadCount());
+
+        releaseFirst.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        Assert.assertTrue(secondSawLoaded.get());
+        Assert.assertEquals(1, queryCount.get());
+        Assert.assertEquals(0, loadLocks.getActiveLoadCount());
+    }
+
+    @Test
+    public void testDifferentKeysRunInParallel() throws Exception {
+        JDBCLoadLocks loadLocks = new JDBCLoadLocks();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Thread first = new Thread(() -> runLoad(loadLocks, new Object(), () -> {
+            bothStarted.countDown();
+            await(bothStarted);
+        }));
+        Thread second = new Thread(() -> runLoad(loadLocks, new Object(), () -> {
+            bothStarted.countDown();
+            await(bothStarted);
+        }));
+        first.start();
+        second.start();
+        Assert.assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+        first.join(5000);
+        second.join(5000);
+        Assert.assertEquals(0, loadLocks.getActiveLoadCount());
+    }
+
+    @Test
+    public void testLockReleasedOnError() {
+        JDBCLoadLocks loadLocks = new JDBCLoadLocks();
+        Object key = new Object();
+        Assert.assertThrows(DBException.class, () -> loadLocks.runLocked(key, () -> {
+            throw new DBException("Load failed");
+        }));
+        Assert.assertEquals(0, loadLocks.getActiveLoadCount());
+    }
+
+    private static void runLoad(JDBCLoadLocks loadLocks, Object key, Runnable loader) {
+        try {
+            loadLocks.runLocked(key, loader::run);
+        } catch (DBException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitForState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != state) {
+            Assert.assertTrue("Thread didn't reach state " + state, System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class JDBCPrefetchPlannerTest {
+
+    @Test
+    public void testThreshold() {
+        JDBCPrefetchPlanner planner = new JDBCPrefetchPlanner(1000);
+        Object owner = new Object();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertFalse(planner.registerLoad(owner, 3, 100 + i));
+        }
+        Assert.assertTrue(planner.registerLoad(owner, 3, 104));
+        // Counter starts over after prefetch
+        Assert.assertFalse(planner.registerLoad(owner, 3, 105));
+    }
+
+    @Test
+    public void testTimeWindow() {
+        JDBCPrefetchPlanner planner = new JDBCPrefetchPlanner(1000);
+        Object owner = new Object();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertFalse(planner.registerLoad(owner, 3, i * 400L));
+        }
+        // Window started at 0 is over, loads are counted from scratch
+        Assert.assertFalse(planner.registerLoad(owner, 3, 1200));
+        Assert.assertFalse(planner.registerLoad(owner, 3, 1300));
+        Assert.assertFalse(planner.registerLoad(owner, 3, 1400));
+        Assert.assertTrue(planner.registerLoad(owner, 3, 1500));
+    }
+
+    @Test
+    public void testOwnerChange() {
+        JDBCPrefetchPlanner planner = new JDBCPrefetchPlanner(1000);
+        Object owner1 = new Object();
+        Object owner2 = new Object();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertFalse(planner.registerLoad(owner1, 3, i));
+        }
+        Assert.assertFalse(planner.registerLoad(owner2, 3, 4));
+        Assert.assertFalse(planner.registerLoad(owner1, 3, 5));
+    }
+
+    @Test
+    public void testDisableAndReset() {
+        JDBCPrefetchPlanner planner = new JDBCPrefetchPlanner(1000);
+        Object owner = new Object();
+        planner.disable();
+        for (int i = 0; i < 5; i++) {
+            Assert.assertFalse(planner.registerLoad(owner, 1, i));
+        }
+        planner.reset();
+        Assert.assertFalse(planner.registerLoad(owner, 1, 10));
+        Assert.assertTrue(planner.registerLoad(owner, 1, 11));
+        // Zero threshold disables prefetch
+        Assert.assertFalse(planner.registerLoad(owner, 0, 12));
+    }
+
+    @Test
+    public void testDriverOptIn() {
+        JDBCPrefetchPlanner planner = new JDBCPrefetchPlanner();
+        DBSObject owner = mockOwner(null);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertFalse(planner.registerLoad(owner));
+        }
+
+        owner = mockOwner(Boolean.TRUE);
+        boolean prefetch = false;
+        for (int i = 0; i < 3 && !prefetch; i++) {
+            prefetch = planner.registerLoad(owner);
+        }
+        Assert.assertTrue(prefetch);
+    }
+
+    private static DBSObject mockOwner(Object prefetchParameter) {
+        DBPDriver driver = Mockito.mock(DBPDriver.class);
+        Mockito.when(driver.getDriverParameter(DBConstants.DRIVER_PARAM_META_PREFETCH)).thenReturn(prefetchParameter);
+        DBPPreferenceStore preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        Mockito.when(preferenceStore.getInt(ModelPreferences.META_PREFETCH_THRESHOLD)).thenReturn(1);
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getDriver()).thenReturn(driver);
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        DBSObject owner = Mockito.mock(DBSObject.class);
+        Mockito.when(owner.getDataSource()).thenReturn(dataSource);
+        return owner;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+public class JDBCStatementCacheTest {
+
+    @Test
+    public void testAcquireRelease() throws Exception {
+        JDBCStatementCache cache = new JDBCStatementCache(2);
+        JDBCStatementCache.Key key = makeKey("SELECT 1", null);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+
+        Assert.assertNull(cache.acquire(key));
+        Assert.assertTrue(cache.release(key, statement, cache.getVersion()));
+        Mockito.verify(statement).clearParameters();
+
+        // Statement is used exclusively
+        Assert.assertSame(statement, cache.acquire(key));
+        Assert.assertNull(cache.acquire(key));
+
+        // Different default schema
+        Assert.assertTrue(cache.release(key, statement, cache.getVersion()));
+        Assert.assertNull(cache.acquire(makeKey("SELECT 1", "other")));
+        Mockito.verify(statement, Mockito.never()).close();
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        JDBCStatementCache cache = new JDBCStatementCache(2);
+        PreparedStatement statement1 = Mockito.mock(PreparedStatement.class);
+        PreparedStatement statement2 = Mockito.mock(PreparedStatement.class);
+        PreparedStatement statement3 = Mockito.mock(PreparedStatement.class);
+
+        cache.release(makeKey("SELECT 1", null), statement1, cache.getVersion());
+        cache.release(makeKey("SELECT 2", null), statement2, cache.getVersion());
+        cache.release(makeKey("SELECT 3", null), statement3, cache.getVersion());
+
+        Assert.assertEquals(2, cache.getSize());
+        Mockito.verify(statement1).close();
+        Assert.assertNull(cache.acquire(makeKey("SELECT 1", null)));
+        Assert.assertSame(statement3, cache.acquire(makeKey("SELECT 3", null)));
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        JDBCStatementCache.Key key = makeKey("SELECT 1", null);
+        PreparedStatement statement1 = Mockito.mock(PreparedStatement.class);
+        PreparedStatement statement2 = Mockito.mock(PreparedStatement.class);
+
+        cache.release(key, statement1, cache.getVersion());
+        int version = cache.getVersion();
+        cache.invalidate();
+
+        Mockito.verify(statement1).close();
+        Assert.assertEquals(0, cache.getSize());
+        // Statement acquired before invalidate must be closed by caller
+        Assert.assertFalse(cache.release(key, statement2, version));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testQueryKinds() {
+        SQLDialect dialect = BasicSQLDialect.INSTANCE;
+        Assert.assertTrue(JDBCStatementCache.isCacheableQuery(dialect, "select * from t where id=?"));
+        Assert.assertTrue(JDBCStatementCache.isCacheableQuery(dialect, "/* meta */\n  WITH q AS (SELECT 1) SELECT * FROM q"));
+        Assert.assertTrue(JDBCStatementCache.isCacheableQuery(dialect, "UPDATE t SET a=? WHERE id=?"));
+        Assert.assertFalse(JDBCStatementCache.isCacheableQuery(dialect, "SET search_path TO s1"));
+        Assert.assertFalse(JDBCStatementCache.isCacheableQuery(dialect, "ALTER TABLE t ADD c INT"));
+        Assert.assertFalse(JDBCStatementCache.isCacheableQuery(dialect, null));
+
+        Assert.assertTrue(JDBCStatementCache.isCacheInvalidatingQuery(dialect, "set search_path to s1"));
+        Assert.assertTrue(JDBCStatementCache.isCacheInvalidatingQuery(dialect, "-- switch\nUSE db2"));
+        Assert.assertTrue(JDBCStatementCache.isCacheInvalidatingQuery(dialect, "DROP TABLE t"));
+        Assert.assertFalse(JDBCStatementCache.isCacheInvalidatingQuery(dialect, "SELECT 1"));
+        Assert.assertFalse(JDBCStatementCache.isCacheInvalidatingQuery(dialect, "DELETE FROM t"));
+        Assert.assertFalse(JDBCStatementCache.isCacheInvalidatingQuery(dialect, "COMMIT"));
+        Assert.assertFalse(JDBCStatementCache.isCacheInvalidatingQuery(dialect, "  "));
+    }
+
+    private static JDBCStatementCache.Key makeKey(String query, String schema) {
+        return new JDBCStatementCache.Key(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, null, schema);
+    }
+
+}
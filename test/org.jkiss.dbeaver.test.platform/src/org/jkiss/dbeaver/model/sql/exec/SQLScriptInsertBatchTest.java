@@ -0,0 +1,139 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.exec;
+
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SQLScriptInsertBatchTest {
+
+    // Batch size used by SQL script tasks
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    public void mergeInserts() {
+        SQLScriptInsertBatch batch = new SQLScriptInsertBatch(BATCH_SIZE);
+        Assert.assertTrue(batch.isEmpty());
+        addAll(batch,
+            "INSERT INTO test (a, b) VALUES (1, 'x');",
+            "insert into test (a,  b)\nvalues (2, NULL)",
+            "INSERT INTO test (a, b) VALUES (3, f(4, 5))");
+        Assert.assertFalse(batch.isEmpty());
+        Assert.assertEquals(3, batch.getQueries().size());
+        Assert.assertEquals(
+            "INSERT INTO test (a, b) VALUES (1, 'x'),\n(2, NULL),\n(3, f(4, 5))",
+            batch.makeMergedQuery(null).getText());
+
+        batch.clear();
+        Assert.assertTrue(batch.isEmpty());
+        Assert.assertTrue(batch.canAdd(parse("INSERT INTO other VALUES (1)")));
+    }
+
+    @Test
+    public void mergeOnlySameColumns() {
+        SQLScriptInsertBatch batch = new SQLScriptInsertBatch(BATCH_SIZE);
+        addAll(batch, "INSERT INTO test (a, b) VALUES (1, 2)");
+        Assert.assertFalse(batch.canAdd(parse("INSERT INTO test (b, a) VALUES (1, 2)")));
+        Assert.assertFalse(batch.canAdd(parse("INSERT INTO test (a) VALUES (1)")));
+        Assert.assertFalse(batch.canAdd(parse("INSERT INTO test VALUES (1, 2)")));
+        Assert.assertFalse(batch.canAdd(parse("INSERT INTO test2 (a, b) VALUES (1, 2)")));
+        Assert.assertTrue(batch.canAdd(parse("INSERT INTO test (a, b) VALUES (3, 4)")));
+    }
+
+    @Test
+    public void mergeQuotedIdentifiers() {
+        SQLScriptInsertBatch batch = new SQLScriptInsertBatch(BATCH_SIZE);
+        addAll(batch,
+            "INSERT INTO \"My Schema\".\"My Table\" (\"Id\", `name`) VALUES (1, 'a')",
+            "INSERT INTO \"My Schema\".\"My Table\" (\"Id\", `name`) VALUES (2, 'b')");
+        Assert.assertFalse(batch.canAdd(parse("INSERT INTO \"my schema\".\"my table\" (\"Id\", `name`) VALUES (3, 'c')")));
+        Assert.assertEquals(
+            "INSERT INTO \"My Schema\".\"My Table\" (\"Id\", `name`) VALUES (1, 'a'),\n(2, 'b')",
+            batch.makeMergedQuery(null).getText());
+        // Parentheses in identifiers are not supported
+        Assert.assertNull(parse("INSERT INTO \"t(1)\" VALUES (1)"));
+        Assert.assertNull(parse("INSERT INTO t (\"a)\") VALUES (1)"));
+    }
+
+    @Test
+    public void mergeStringsWithDelimiters() {
+        SQLScriptInsertBatch batch = new SQLScriptInsertBatch(BATCH_SIZE);
+        addAll(batch,
+            "INSERT INTO test VALUES (1, '),(')",
+            "INSERT INTO test VALUES (2, 'it''s (not) closed')",
+            "INSERT INTO test VALUES (3, \");\")");
+        Assert.assertEquals(
+            "INSERT INTO test VALUES (1, '),('),\n(2, 'it''s (not) closed'),\n(3, \");\")",
+            batch.makeMergedQuery(null).getText());
+        // Backslash escaping depends on the dialect
+        Assert.assertNull(parse("INSERT INTO test VALUES (4, 'a\\'),(b')"));
+    }
+
+    @Test
+    public void skipComments() {
+        Assert.assertNull(parse("INSERT INTO test VALUES (1, -- one\n 2)"));
+        Assert.assertNull(parse("INSERT INTO test VALUES (1, /* two */ 2)"));
+        Assert.assertNull(parse("INSERT INTO test VALUES (1, 2) -- comment"));
+        Assert.assertNull(parse("/* comment */ INSERT INTO test VALUES (1, 2)"));
+        // Comment-like text in strings
+        Assert.assertNotNull(parse("INSERT INTO test VALUES (1, '-- /* text */')"));
+        Assert.assertNotNull(parse("INSERT INTO test VALUES (1 - 2, 4 / 2)"));
+    }
+
+    @Test
+    public void skipNotMergeableStatements() {
+        Assert.assertNull(parse("INSERT INTO test SELECT * FROM other"));
+        Assert.assertNull(parse("INSERT INTO test (a) SELECT a FROM other WHERE b IN (1, 2)"));
+        Assert.assertNull(parse("INSERT INTO test (a) VALUES (1) RETURNING id"));
+        Assert.assertNull(parse("INSERT INTO test (a) VALUES (1) ON CONFLICT (a) DO NOTHING"));
+        Assert.assertNull(parse("INSERT INTO test (a) VALUES (1), (2)"));
+        Assert.assertNull(parse("INSERT INTO test (a) VALUES (1"));
+        Assert.assertNull(parse("UPDATE test SET a = 1"));
+        Assert.assertNull(parse("INSERT INTO test DEFAULT VALUES"));
+    }
+
+    @Test
+    public void batchSizeBoundary() {
+        SQLScriptInsertBatch batch = new SQLScriptInsertBatch(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            SQLScriptInsertBatch.InsertStatement insert = parse("INSERT INTO test VALUES (" + i + ")");
+            Assert.assertTrue("Statement " + i + " doesn't fit the batch", batch.canAdd(insert));
+            batch.add(insert);
+        }
+        Assert.assertFalse(batch.canAdd(parse("INSERT INTO test VALUES (" + BATCH_SIZE + ")")));
+        SQLQuery mergedQuery = batch.makeMergedQuery(null);
+        Assert.assertTrue(mergedQuery.getText().endsWith(",\n(" + (BATCH_SIZE - 1) + ")"));
+        Assert.assertEquals(BATCH_SIZE, mergedQuery.getText().split("\n").length);
+
+        batch.clear();
+        Assert.assertTrue(batch.canAdd(parse("INSERT INTO test VALUES (" + BATCH_SIZE + ")")));
+    }
+
+    private static void addAll(SQLScriptInsertBatch batch, String... queries) {
+        for (String query : queries) {
+            SQLScriptInsertBatch.InsertStatement insert = parse(query);
+            Assert.assertNotNull("Query is not mergeable: " + query, insert);
+            Assert.assertTrue(batch.canAdd(insert));
+            batch.add(insert);
+        }
+    }
+
+    private static SQLScriptInsertBatch.InsertStatement parse(String text) {
+        return SQLScriptInsertBatch.parseInsert(new SQLQuery(null, text));
+    }
+}
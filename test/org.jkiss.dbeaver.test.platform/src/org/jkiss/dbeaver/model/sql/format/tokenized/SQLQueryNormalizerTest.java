@@ -0,0 +1,71 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SQLQueryNormalizerTest {
+
+    @Mock
+    private SQLSyntaxManager syntaxManager;
+
+    private SQLQueryNormalizer normalizer;
+
+    @Before
+    public void init() {
+        Mockito.when(syntaxManager.getDialect()).thenReturn(BasicSQLDialect.INSTANCE);
+        Mockito.when(syntaxManager.getCatalogSeparator()).thenReturn(".");
+        Mockito.when(syntaxManager.getStructSeparator()).thenReturn('.');
+        Mockito.when(syntaxManager.getIdentifierQuoteStrings()).thenReturn(new String[][]{{"\"", "\""}});
+        normalizer = new SQLQueryNormalizer(syntaxManager);
+    }
+
+    @Test
+    public void shouldReplaceLiterals() {
+        assertEquals(
+            "SELECT a.id, ? FROM \"My Tab\" t1 WHERE name = ? AND x = ? AND y = a - ?",
+            normalizer.normalize("select  a.id, 'x''y'\nfrom \"My Tab\" t1 /* comment */ where name = 'abc' and x = -5 and y = a - 1"));
+    }
+
+    @Test
+    public void shouldCollapseInLists() {
+        assertEquals(
+            "SELECT * FROM t WHERE id IN (?) AND v IN (?)",
+            normalizer.normalize("SELECT * FROM t WHERE id IN (1, 2, -3) AND v IN (?,?)"));
+        assertEquals(
+            "SELECT * FROM t WHERE id IN (SELECT id FROM u WHERE v=?)",
+            normalizer.normalize("SELECT * FROM t WHERE id IN (SELECT id FROM u WHERE v=10)"));
+    }
+
+    @Test
+    public void shouldProduceSameTextForDifferentValues() {
+        assertEquals(
+            normalizer.normalize("UPDATE t SET v = 1 WHERE id IN (1,2)"),
+            normalizer.normalize("update t\n\tset v = 20   where id in (3, 4, 5)"));
+    }
+
+}
@@ -42,6 +42,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -742,6 +743,38 @@ public class SQLScriptParserTest {
             WHERE 1=1""", element.getText());
     }
 
+    @Test
+    public void parseScriptByChunks() throws Exception {
+        String script = "CREATE TABLE t1 (id INT, name VARCHAR(100));\n" +
+            "INSERT INTO t1 VALUES (1, 'first; value');\n" +
+            "/* comment; with delimiter */\n" +
+            "CREATE OR REPLACE FUNCTION f1() RETURNS BOOLEAN AS\n" +
+            "$$\n" +
+            "BEGIN\n" +
+            "\tINSERT INTO t1 VALUES (2, 'second');\n" +
+            "\tRETURN TRUE;\n" +
+            "END;\n" +
+            "$$\n" +
+            "LANGUAGE plpgsql;\n" +
+            "DELETE FROM t1 WHERE id = 1;\n" +
+            "DROP TABLE t1";
+        setDialect("postgresql");
+        List<String> expected = SQLScriptParser.parseScript(dataSource, script).stream()
+            .map(SQLScriptElement::getText).collect(Collectors.toList());
+        Assert.assertTrue(expected.size() > 1);
+
+        // Chunk boundaries cut queries, string literals, comments and blocks
+        for (int chunkSize : new int[]{7, 16, 50, 1000}) {
+            List<String> parsed = new ArrayList<>();
+            try (SQLScriptStreamParser parser = new SQLScriptStreamParser(dataSource, new StringReader(script), chunkSize)) {
+                for (SQLScriptElement element = parser.nextQuery(); element != null; element = parser.nextQuery()) {
+                    parsed.add(element.getText());
+                }
+                Assert.assertEquals(expected.size(), parser.getQueryCount());
+            }
+            Assert.assertEquals("Chunk size " + chunkSize, expected, parsed);
+        }
+    }
 
     private void assertParse(String dialectName, String[] expected) throws DBException {
         String source = Arrays.stream(expected).filter(Objects::nonNull).collect(Collectors.joining());
@@ -0,0 +1,139 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct.cache;
+
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class AbstractObjectCacheTest {
+
+    private static DBSObject makeObject(String name) {
+        DBSObject object = Mockito.mock(DBSObject.class);
+        Mockito.when(object.getName()).thenReturn(name);
+        return object;
+    }
+
+    @Test
+    public void readOptimizedCacheReflectsWrites() {
+        SimpleObjectCache<DBSObject, DBSObject> cache = new SimpleObjectCache<>();
+        cache.setReadOptimized(true);
+        Assert.assertEquals(0, cache.getCacheSize());
+        Assert.assertNull(cache.getCachedObject("T1"));
+
+        DBSObject t1 = makeObject("T1");
+        DBSObject t2 = makeObject("T2");
+        List<DBSObject> objects = new ArrayList<>();
+        objects.add(t1);
+        cache.setCache(objects);
+        Assert.assertSame(t1, cache.getCachedObject("T1"));
+
+        cache.cacheObject(t2);
+        Assert.assertEquals(2, cache.getCacheSize());
+        Assert.assertSame(t2, cache.getCachedObject("T2"));
+
+        cache.renameObject(t2, "T2", "T3");
+        Assert.assertNull(cache.getCachedObject("T2"));
+        Assert.assertSame(t2, cache.getCachedObject("T3"));
+
+        cache.removeObject(t1, false);
+        Assert.assertNull(cache.getCachedObject("T1"));
+        Assert.assertEquals(1, cache.getCachedObjects().size());
+
+        cache.clearCache();
+        Assert.assertEquals(0, cache.getCacheSize());
+    }
+
+    @Test
+    public void readOptimizedCacheLookupThenCache() {
+        // Lookup caches check the name first and then cache the single loaded object
+        SimpleObjectCache<DBSObject, DBSObject> cache = new SimpleObjectCache<>();
+        cache.setReadOptimized(true);
+        for (int i = 0; i < 1000; i++) {
+            String name = "T" + i;
+            Assert.assertNull(cache.getCachedObject(name));
+            DBSObject object = makeObject(name);
+            cache.cacheObject(object);
+            Assert.assertSame(object, cache.getCachedObject(name));
+        }
+        Assert.assertEquals(1000, cache.getCacheSize());
+        Assert.assertEquals(1000, cache.getCachedObjects().size());
+        Assert.assertNotNull(cache.getCachedObject("T0"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void readOptimizedCacheListIsImmutable() {
+        SimpleObjectCache<DBSObject, DBSObject> cache = new SimpleObjectCache<>();
+        cache.setReadOptimized(true);
+        cache.cacheObject(makeObject("T1"));
+        cache.getCachedObjects().clear();
+    }
+
+    @Test
+    public void concurrentReadersSeeConsistentSnapshots() throws Exception {
+        for (int readers : new int[] {1, 4, 16}) {
+            checkConcurrentReaders(readers);
+        }
+    }
+
+    private void checkConcurrentReaders(int readerCount) throws Exception {
+        SimpleObjectCache<DBSObject, DBSObject> cache = new SimpleObjectCache<>();
+        cache.setReadOptimized(true);
+        List<DBSObject> objects = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            objects.add(makeObject("T" + i));
+        }
+        cache.setCache(new ArrayList<>(objects));
+
+        ExecutorService executor = Executors.newFixedThreadPool(readerCount);
+        AtomicBoolean stop = new AtomicBoolean();
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < readerCount; i++) {
+                results.add(executor.submit(() -> {
+                    long reads = 0;
+                    while (!stop.get()) {
+                        for (int k = 0; k < objects.size(); k++) {
+                            if (cache.getCachedObject("T" + k) == null) {
+                                throw new IllegalStateException("Object T" + k + " missing in snapshot");
+                            }
+                            reads++;
+                        }
+                    }
+                    return reads;
+                }));
+            }
+            // Writer republishes cache while readers are running
+            for (int i = 0; i < 50; i++) {
+                cache.setCache(new ArrayList<>(objects));
+                cache.cacheObject(makeObject("X" + i));
+            }
+            stop.set(true);
+            for (Future<Long> result : results) {
+                Assert.assertTrue(result.get(30, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
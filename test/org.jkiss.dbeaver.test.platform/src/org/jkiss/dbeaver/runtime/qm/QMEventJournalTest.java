@@ -0,0 +1,177 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.QMEventAction;
+import org.jkiss.dbeaver.model.qm.QMEventCursor;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.filters.QMCursorFilter;
+import org.jkiss.dbeaver.model.qm.filters.QMEventCriteria;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+public class QMEventJournalTest {
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private Path journalFolder;
+    private QMEventJournal journal;
+    private QMMConnectionInfo connection;
+
+    @Before
+    public void init() throws IOException {
+        journalFolder = Files.createTempDirectory("qm-journal");
+        journal = new QMEventJournal(journalFolder, 30);
+        connection = QMMConnectionInfo.builder()
+            .setContainerId("test-ds")
+            .setContainerName("Test")
+            .setDriverId("test-driver")
+            .setOpenTime(1000)
+            .build();
+    }
+
+    @After
+    public void dispose() throws IOException {
+        journal.dispose();
+        try (Stream<Path> files = Files.list(journalFolder)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(journalFolder);
+    }
+
+    @Test
+    public void testWriteAndRead() throws DBException {
+        writeExecution(2000, "select * from orders", null, null);
+        writeExecution(3000, "update orders set status = 1", "ORA-00001", "sales");
+        writeExecution(4000, "delete from orders", null, null);
+
+        QMEventCriteria criteria = new QMEventCriteria();
+        criteria.setDesc(false);
+        List<QMMStatementExecuteInfo> executions = readExecutions(criteria);
+        Assert.assertEquals(3, executions.size());
+        QMMStatementExecuteInfo exec = executions.get(1);
+        Assert.assertEquals("update orders set status = 1", exec.getQueryString());
+        Assert.assertEquals(3000, exec.getOpenTime());
+        Assert.assertEquals(3010, exec.getCloseTime());
+        Assert.assertEquals("ORA-00001", exec.getErrorMessage());
+        Assert.assertEquals("sales", exec.getSchema());
+        Assert.assertEquals(DBCExecutionPurpose.USER, exec.getStatement().getPurpose());
+        Assert.assertEquals("test-ds", exec.getStatement().getConnection().getContainerId());
+
+        criteria.setDesc(true);
+        executions = readExecutions(criteria);
+        Assert.assertEquals("delete from orders", executions.get(0).getQueryString());
+        Assert.assertEquals("select * from orders", executions.get(2).getQueryString());
+    }
+
+    @Test
+    public void testSearch() throws DBException {
+        StringBuilder longQuery = new StringBuilder("select ");
+        for (int i = 0; i < 500; i++) {
+            longQuery.append("column_").append(i).append(", ");
+        }
+        longQuery.append("id from customers");
+        writeExecution(2000, "select * from orders", null, null);
+        writeExecution(3000, longQuery.toString(), null, null);
+        writeExecution(4000, "select * from products", null, null);
+
+        Assert.assertEquals(1, search("CUSTOMERS").size());
+        Assert.assertEquals(longQuery.toString(), search("customers").get(0).getQueryString());
+        Assert.assertEquals(2, search("orders").size() + search("products").size());
+        Assert.assertEquals(0, search("suppliers").size());
+        Assert.assertEquals(3, search("select").size());
+    }
+
+    @Test
+    public void testSearchIgnoresDefaultLocale() throws DBException {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            // Dotted and dotless 'i' are different letters in Turkish
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            writeExecution(2000, "SELECT ID FROM ITEMS", null, null);
+            Assert.assertEquals(1, search("items").size());
+            Assert.assertEquals(1, search("ITEMS").size());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void testScroll() throws DBException {
+        for (int i = 0; i < 20; i++) {
+            writeExecution(2000 + i, "select " + i, null, null);
+        }
+        QMEventCriteria criteria = new QMEventCriteria();
+        criteria.setDesc(false);
+        try (QMEventCursor cursor = journal.openCursor(new QMCursorFilter(null, criteria, null))) {
+            Assert.assertEquals(20, cursor.getTotalSize());
+            cursor.scroll(15, monitor);
+            Assert.assertEquals("select 15", getQueryString(cursor));
+            cursor.scroll(18, monitor);
+            Assert.assertEquals("select 18", getQueryString(cursor));
+            cursor.scroll(5, monitor);
+            Assert.assertEquals("select 5", getQueryString(cursor));
+            Assert.assertThrows(DBException.class, () -> cursor.scroll(25, monitor));
+        }
+    }
+
+    private void writeExecution(long openTime, String queryText, String errorMessage, String schema) {
+        QMMStatementInfo statement = new QMMStatementInfo(openTime, openTime + 10, connection, DBCExecutionPurpose.USER);
+        QMMStatementExecuteInfo exec = new QMMStatementExecuteInfo(
+            openTime, openTime + 10, statement, queryText, 0, 0, errorMessage, 0, 0, false, schema, null);
+        journal.metaInfoChanged(monitor, List.of(new QMMetaEvent(exec, QMEventAction.END, null)));
+    }
+
+    private List<QMMStatementExecuteInfo> search(String searchString) throws DBException {
+        QMEventCriteria criteria = new QMEventCriteria();
+        criteria.setSearchString(searchString);
+        return readExecutions(criteria);
+    }
+
+    private List<QMMStatementExecuteInfo> readExecutions(QMEventCriteria criteria) throws DBException {
+        List<QMMStatementExecuteInfo> result = new ArrayList<>();
+        try (QMEventCursor cursor = journal.openCursor(new QMCursorFilter(null, criteria, null))) {
+            while (cursor.hasNextEvent(monitor)) {
+                result.add((QMMStatementExecuteInfo) cursor.nextEvent(monitor).getObject());
+            }
+        }
+        return result;
+    }
+
+    private String getQueryString(QMEventCursor cursor) throws DBException {
+        return ((QMMStatementExecuteInfo) cursor.nextEvent(monitor).getObject()).getQueryString();
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementInfo;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class QMMCollectorImplTest {
+
+    private static final int THREAD_COUNT = 4;
+    private static final int STATEMENT_COUNT = 200;
+
+    private QMMCollectorImpl collector;
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        collector = new QMMCollectorImpl();
+        executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @After
+    public void dispose() {
+        executor.shutdownNow();
+        collector.dispose();
+    }
+
+    @Test
+    public void testConcurrentStatements() throws Exception {
+        List<DBCExecutionContext> contexts = new ArrayList<>();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            DBCExecutionContext context = mockContext(i + 1);
+            contexts.add(context);
+            collector.handleContextOpen(context, false);
+            results.add(executor.submit(() -> {
+                for (int k = 0; k < STATEMENT_COUNT; k++) {
+                    DBCStatement statement = mockStatement(context);
+                    collector.handleStatementOpen(statement);
+                    collector.handleStatementClose(statement, 0);
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+
+        for (DBCExecutionContext context : contexts) {
+            QMMConnectionInfo connectionInfo = collector.getConnectionInfo(context);
+            Assert.assertNotNull(connectionInfo);
+            int statementCount = 0;
+            for (QMMStatementInfo stat = connectionInfo.getStatementStack(); stat != null; stat = stat.getPrevious()) {
+                Assert.assertTrue(stat.isClosed());
+                statementCount++;
+            }
+            Assert.assertEquals(STATEMENT_COUNT, statementCount);
+        }
+    }
+
+    /**
+     * Statement handlers of one connection must not wait for another connection or for the collector itself.
+     */
+    @Test
+    public void testNoCollectorLock() throws Exception {
+        DBCExecutionContext busyContext = mockContext(1);
+        DBCExecutionContext context = mockContext(2);
+        collector.handleContextOpen(busyContext, false);
+        collector.handleContextOpen(context, false);
+
+        DBCStatement statement = mockStatement(context);
+        synchronized (collector) {
+            synchronized (collector.getConnectionInfo(busyContext)) {
+                executor.submit(() -> {
+                    collector.handleStatementOpen(statement);
+                    collector.handleStatementClose(statement, 0);
+                }).get(10, TimeUnit.SECONDS);
+            }
+        }
+        Assert.assertTrue(collector.getConnectionInfo(context).getStatementStack().isClosed());
+    }
+
+    private static DBCExecutionContext mockContext(long contextId) {
+        DBCExecutionContext context = Mockito.mock(DBCExecutionContext.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(context.getContextId()).thenReturn(contextId);
+        Mockito.when(context.getContextName()).thenReturn("Context " + contextId);
+        return context;
+    }
+
+    private static DBCStatement mockStatement(DBCExecutionContext context) {
+        DBCStatement statement = Mockito.mock(DBCStatement.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(statement.getSession().getExecutionContext()).thenReturn(context);
+        return statement;
+    }
+}
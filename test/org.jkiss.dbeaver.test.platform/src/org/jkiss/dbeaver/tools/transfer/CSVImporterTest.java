@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.tools.transfer;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamCompressionFormat;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
 import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterCSV;
@@ -32,6 +33,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
@@ -118,6 +123,32 @@ public class CSVImporterTest {
         Assert.assertEquals(DBPDataKind.STRING, columnsInfo.get(1).getDataKind());
     }
 
+    @Test
+    public void readColumnsFromCompressedFile() throws DBException, IOException {
+        properties.put("header", DataImporterCSV.HeaderPosition.top);
+        for (StreamCompressionFormat format : StreamCompressionFormat.values()) {
+            Path file = Files.createTempFile("test", ".csv." + format.getFileExtension());
+            try {
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    OutputStream compressStream = format.openOutputStream(out, "test.csv");
+                    compressStream.write("id,name\n1,abc\n".getBytes(StandardCharsets.UTF_8));
+                    format.finishOutputStream(compressStream);
+                }
+                List<StreamDataImporterColumnInfo> columnsInfo;
+                try (InputStream is = StreamCompressionFormat.openFileInputStream(file)) {
+                    columnsInfo = importer.readColumnsInfo(mapping, is);
+                }
+                Assert.assertEquals(2, columnsInfo.size());
+                Assert.assertEquals("id", columnsInfo.get(0).getName());
+                Assert.assertEquals(DBPDataKind.NUMERIC, columnsInfo.get(0).getDataKind());
+                Assert.assertEquals("name", columnsInfo.get(1).getName());
+                Assert.assertEquals(DBPDataKind.STRING, columnsInfo.get(1).getDataKind());
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
     private List<StreamDataImporterColumnInfo> readColumnsInfo(String data, boolean isHeaderPresent) throws DBException, IOException {
         properties.put("header", isHeaderPresent ? DataImporterCSV.HeaderPosition.top : DataImporterCSV.HeaderPosition.none);
         try (ByteArrayInputStream is = new ByteArrayInputStream(data.getBytes())) {
@@ -0,0 +1,64 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+public class DataTransferConnectionBudgetTest {
+
+    @Test
+    public void testSameConnectionCopy() {
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        DataTransferConnectionBudget budget = new DataTransferConnectionBudget();
+
+        // Source and target are the same connection: the pipe takes one slot
+        Assert.assertTrue(budget.tryAcquire(List.of(container, container), 1));
+        Assert.assertEquals(1, budget.getActiveCount(container));
+        Assert.assertFalse(budget.tryAcquire(List.of(container, container), 1));
+
+        budget.release(List.of(container, container));
+        Assert.assertEquals(0, budget.getActiveCount(container));
+        Assert.assertTrue(budget.tryAcquire(List.of(container, container), 1));
+    }
+
+    @Test
+    public void testConnectionLimit() {
+        DBPDataSourceContainer source = Mockito.mock(DBPDataSourceContainer.class);
+        DBPDataSourceContainer target1 = Mockito.mock(DBPDataSourceContainer.class);
+        DBPDataSourceContainer target2 = Mockito.mock(DBPDataSourceContainer.class);
+        DataTransferConnectionBudget budget = new DataTransferConnectionBudget();
+
+        Assert.assertTrue(budget.tryAcquire(List.of(source, target1), 2));
+        Assert.assertTrue(budget.tryAcquire(List.of(source, target2), 2));
+        // Source connection is saturated
+        Assert.assertFalse(budget.tryAcquire(List.of(source, target1), 2));
+        Assert.assertEquals(1, budget.getActiveCount(target1));
+
+        budget.release(List.of(source, target2));
+        Assert.assertTrue(budget.tryAcquire(List.of(source, target1), 2));
+        Assert.assertEquals(2, budget.getActiveCount(target1));
+
+        // No limit
+        Assert.assertTrue(budget.tryAcquire(List.of(source, target1), 0));
+    }
+
+}
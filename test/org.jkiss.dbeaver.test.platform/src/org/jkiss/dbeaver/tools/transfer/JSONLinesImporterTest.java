@@ -0,0 +1,143 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterJSONLines;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JSONLinesImporterTest {
+    private static final Path DUMMY_FILE = Path.of("dummy");
+
+    private final DataImporterJSONLines importer = new DataImporterJSONLines();
+    private final StreamEntityMapping mapping = new StreamEntityMapping(DUMMY_FILE);
+    private final Map<String, Object> properties = new HashMap<>();
+
+    @Mock
+    private IStreamDataImporterSite site;
+
+    @Before
+    public void init() throws DBException {
+        importer.init(site);
+        Mockito.when(site.getProcessorProperties()).thenReturn(properties);
+    }
+
+    @Test
+    public void readColumnNames() throws DBException, IOException {
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo(
+            "{\"a\": 1, \"b\": 2}\n\n{\"c\": 3, \"a\": 4}");
+        Assert.assertEquals(3, columnsInfo.size());
+        Assert.assertEquals("a", columnsInfo.get(0).getName());
+        Assert.assertEquals("b", columnsInfo.get(1).getName());
+        Assert.assertEquals("c", columnsInfo.get(2).getName());
+    }
+
+    @Test
+    public void guessColumnTypes() throws DBException, IOException {
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo(
+            "{\"int\": 1, \"dec\": 2.5, \"str\": \"abc\", \"bool\": false, \"obj\": {\"x\": 1}, \"null\": null}");
+        Assert.assertEquals(6, columnsInfo.size());
+        assertType(columnsInfo.get(0), DBPDataKind.NUMERIC, "INTEGER");
+        assertType(columnsInfo.get(1), DBPDataKind.NUMERIC, "DECIMAL");
+        Assert.assertEquals(2, columnsInfo.get(1).getPrecision().intValue());
+        Assert.assertEquals(1, columnsInfo.get(1).getScale().intValue());
+        assertType(columnsInfo.get(2), DBPDataKind.STRING, "VARCHAR");
+        assertType(columnsInfo.get(3), DBPDataKind.BOOLEAN, "BOOLEAN");
+        assertType(columnsInfo.get(4), DBPDataKind.STRING, "VARCHAR");
+        assertType(columnsInfo.get(5), DBPDataKind.STRING, "VARCHAR");
+    }
+
+    @Test
+    public void guessColumnTypesWithLongData() throws DBException, IOException {
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo(
+            "{\"a\": 1, \"b\": 2147483648, \"c\": 1, \"d\": 1}\n" +
+            "{\"a\": 2147483647, \"b\": 1, \"c\": 1700000000000, \"d\": 9223372036854775808}");
+        Assert.assertEquals(4, columnsInfo.size());
+        assertType(columnsInfo.get(0), DBPDataKind.NUMERIC, "INTEGER");
+        // Smaller values do not narrow the type
+        assertType(columnsInfo.get(1), DBPDataKind.NUMERIC, "BIGINT");
+        assertType(columnsInfo.get(2), DBPDataKind.NUMERIC, "BIGINT");
+        assertType(columnsInfo.get(3), DBPDataKind.NUMERIC, "DECIMAL");
+        Assert.assertEquals(19, columnsInfo.get(3).getPrecision().intValue());
+        Assert.assertEquals(0, columnsInfo.get(3).getScale().intValue());
+    }
+
+    @Test
+    public void guessColumnTypesWithMixedNumbers() throws DBException, IOException {
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo(
+            "{\"a\": 12345678901}\n{\"a\": 0.25}\n{\"a\": 7}");
+        assertType(columnsInfo.get(0), DBPDataKind.NUMERIC, "DECIMAL");
+        Assert.assertEquals(13, columnsInfo.get(0).getPrecision().intValue());
+        Assert.assertEquals(2, columnsInfo.get(0).getScale().intValue());
+    }
+
+    @Test
+    public void guessColumnTypesOverSamples() throws DBException, IOException {
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo(
+            "{\"a\": 1}\n{\"a\": 2}\n{\"a\": \"test\"}");
+        assertType(columnsInfo.get(0), DBPDataKind.STRING, "VARCHAR");
+    }
+
+    @Test
+    public void guessColumnTypesWithSamplesLimit() throws DBException, IOException {
+        properties.put("columnTypeSamplesCount", 2);
+        List<StreamDataImporterColumnInfo> columnsInfo = readColumnsInfo(
+            "{\"a\": 1}\n\n{\"a\": 2}\n{\"a\": \"test\", \"b\": 1}");
+        Assert.assertEquals(1, columnsInfo.size());
+        assertType(columnsInfo.get(0), DBPDataKind.NUMERIC, "INTEGER");
+    }
+
+    @Test
+    public void returnsEmptyListWithEmptyFile() throws DBException, IOException {
+        Assert.assertEquals(0, readColumnsInfo("").size());
+    }
+
+    @Test(expected = DBException.class)
+    public void failsOnNonObjectLine() throws DBException, IOException {
+        readColumnsInfo("{\"a\": 1}\n[1, 2]");
+    }
+
+    private static void assertType(StreamDataImporterColumnInfo columnInfo, DBPDataKind dataKind, String typeName) {
+        Assert.assertEquals(dataKind, columnInfo.getDataKind());
+        Assert.assertEquals(typeName, columnInfo.getTypeName());
+    }
+
+    private List<StreamDataImporterColumnInfo> readColumnsInfo(String data) throws DBException, IOException {
+        try (ByteArrayInputStream is = new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8))) {
+            return importer.readColumnsInfo(mapping, is);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.edit.DBEPersistAction;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class DatabaseTransferConsumerTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final int COMMIT_AFTER_ROWS = 10000;
+
+    private final List<Object[]> targetRows = new ArrayList<>();
+
+    /**
+     * Keyset and key range producers call fetchStart with zero offset for every page.
+     * Target must be truncated before the first page only.
+     */
+    @Test
+    public void testTruncateBeforeMultiPageLoad() throws Exception {
+        targetRows.add(new Object[0]);
+        targetRows.add(new Object[0]);
+
+        DBSDataContainer source = Mockito.mock(DBSDataContainer.class);
+        DBSDataManipulator target = mockTarget();
+
+        DatabaseMappingContainer mapping = Mockito.mock(DatabaseMappingContainer.class);
+        Mockito.when(mapping.getSource()).thenReturn(source);
+        Mockito.when(mapping.getTarget()).thenReturn(target);
+        Mockito.when(mapping.getMappingType()).thenReturn(DatabaseMappingType.existing);
+
+        DatabaseConsumerSettings settings = Mockito.mock(DatabaseConsumerSettings.class);
+        Mockito.when(settings.getDataMapping(source)).thenReturn(mapping);
+        Mockito.when(settings.isTruncateBeforeLoad()).thenReturn(true);
+        Mockito.when(settings.getCommitAfterRows()).thenReturn(COMMIT_AFTER_ROWS);
+
+        DatabaseTransferConsumer consumer = new DatabaseTransferConsumer();
+        consumer.initTransfer(source, settings, new IDataTransferConsumer.TransferParameters(), null, null, null);
+
+        DBCSession sourceSession = Mockito.mock(DBCSession.class, Mockito.RETURNS_DEEP_STUBS);
+        DBCResultSet resultSet = Mockito.mock(DBCResultSet.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.doReturn(List.of()).when(resultSet.getMeta()).getAttributes();
+
+        int totalRows = 5;
+        try {
+            for (int row = 0; row < totalRows; ) {
+                consumer.fetchStart(sourceSession, resultSet, 0, PAGE_SIZE);
+                for (int i = 0; i < PAGE_SIZE && row < totalRows; i++, row++) {
+                    consumer.fetchRow(sourceSession, resultSet);
+                }
+                consumer.fetchEnd(sourceSession, resultSet);
+            }
+        } finally {
+            consumer.close();
+        }
+
+        Mockito.verify(target, Mockito.times(1)).truncateData(Mockito.any(), Mockito.any());
+        Assert.assertEquals(totalRows, targetRows.size());
+    }
+
+    private DBSDataManipulator mockTarget() throws DBCException {
+        DBSDataManipulator target = Mockito.mock(DBSDataManipulator.class);
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(target.getDataSource()).thenReturn(dataSource);
+        Mockito.when(dataSource.getContainer().hasModifyPermission(Mockito.any())).thenReturn(true);
+
+        DBSInstance instance = Mockito.mock(DBSInstance.class);
+        DBCExecutionContext context = Mockito.mock(DBCExecutionContext.class, Mockito.RETURNS_DEEP_STUBS);
+        DBCSession targetSession = Mockito.mock(DBCSession.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(dataSource.getDefaultInstance()).thenReturn(instance);
+        Mockito.when(instance.getDefaultContext(Mockito.any(), Mockito.anyBoolean())).thenReturn(context);
+        Mockito.when(context.openSession(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(targetSession);
+        Mockito.when(context.isConnected()).thenReturn(false);
+        Mockito.when(targetSession.getExecutionContext()).thenReturn(context);
+
+        Mockito.when(target.truncateData(Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            targetRows.clear();
+            return new DBCStatistics();
+        });
+        Mockito.when(target.insertData(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+            .thenAnswer(invocation -> new TableBatch());
+        return target;
+    }
+
+    private class TableBatch implements DBSDataManipulator.ExecuteBatch {
+        private final List<Object[]> pendingRows = new ArrayList<>();
+
+        @Override
+        public void add(Object[] attributeValues) {
+            pendingRows.add(attributeValues);
+        }
+
+        @Override
+        public DBCStatistics execute(DBCSession session, Map<String, Object> options) {
+            targetRows.addAll(pendingRows);
+            DBCStatistics statistics = new DBCStatistics();
+            statistics.addRowsUpdated(pendingRows.size());
+            pendingRows.clear();
+            return statistics;
+        }
+
+        @Override
+        public void generatePersistActions(DBCSession session, List<DBEPersistAction> actions, Map<String, Object> options) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+public class DatabaseTransferPartitionerTest {
+
+    private static final DBSEntityAttribute NUMERIC_ATTRIBUTE = makeAttribute(DBPDataKind.NUMERIC);
+    private static final DBSEntityAttribute DATETIME_ATTRIBUTE = makeAttribute(DBPDataKind.DATETIME);
+
+    private static DBSEntityAttribute makeAttribute(DBPDataKind dataKind) {
+        DBSEntityAttribute attribute = Mockito.mock(DBSEntityAttribute.class);
+        Mockito.when(attribute.getDataKind()).thenReturn(dataKind);
+        return attribute;
+    }
+
+    @Test
+    public void testLongBounds() {
+        Assert.assertEquals(List.of(25L, 50L, 75L), DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, 0L, 100L, 4));
+        Assert.assertEquals(List.of(25L, 50L, 75L), DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, 0, 100, 4));
+        // Step is rounded up, so there are no more ranges than requested
+        Assert.assertEquals(List.of(3L, 6L, 9L), DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, 0L, 10L, 4));
+        Assert.assertEquals(List.of(-5L), DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, -10L, 0L, 2));
+    }
+
+    @Test
+    public void testDecimalBounds() {
+        List<Object> bounds = DatabaseTransferPartitioner.makeBounds(
+            NUMERIC_ATTRIBUTE, new BigDecimal("0.0"), new BigDecimal("1.5"), 3);
+        Assert.assertEquals(2, bounds.size());
+        Assert.assertEquals(0, new BigDecimal("0.5").compareTo((BigDecimal) bounds.get(0)));
+        Assert.assertEquals(0, new BigDecimal("1.0").compareTo((BigDecimal) bounds.get(1)));
+
+        // Integral NUMERIC keys keep BigDecimal type
+        bounds = DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, new BigDecimal("10"), new BigDecimal("30"), 2);
+        Assert.assertEquals(List.of(new BigDecimal("20")), bounds);
+    }
+
+    @Test
+    public void testBigIntegerBounds() {
+        BigInteger max = BigInteger.TEN.pow(30);
+        List<Object> bounds = DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, BigInteger.ZERO, max, 2);
+        Assert.assertEquals(List.of(BigInteger.valueOf(5).multiply(BigInteger.TEN.pow(29))), bounds);
+    }
+
+    @Test
+    public void testDateBounds() {
+        Assert.assertEquals(
+            List.of(LocalDate.of(2024, 1, 6)),
+            DatabaseTransferPartitioner.makeBounds(DATETIME_ATTRIBUTE, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 11), 2));
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Assert.assertEquals(
+            List.of(start.plusHours(1), start.plusHours(2), start.plusHours(3)),
+            DatabaseTransferPartitioner.makeBounds(DATETIME_ATTRIBUTE, start, start.plusHours(4), 4));
+
+        OffsetDateTime offsetStart = OffsetDateTime.of(start, ZoneOffset.ofHours(2));
+        Assert.assertEquals(
+            List.of(offsetStart.plusMinutes(30)),
+            DatabaseTransferPartitioner.makeBounds(DATETIME_ATTRIBUTE, offsetStart, offsetStart.plusHours(1), 2));
+
+        Timestamp timestampStart = Timestamp.valueOf(start);
+        Assert.assertEquals(
+            List.of(Timestamp.valueOf(start.plusHours(12))),
+            DatabaseTransferPartitioner.makeBounds(DATETIME_ATTRIBUTE, timestampStart, Timestamp.valueOf(start.plusDays(1)), 2));
+    }
+
+    @Test
+    public void testSingleValueRange() {
+        Assert.assertTrue(DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, 7L, 7L, 4).isEmpty());
+        Assert.assertTrue(DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, BigInteger.ONE, BigInteger.ONE, 4).isEmpty());
+        Assert.assertTrue(DatabaseTransferPartitioner.makeBounds(
+            DATETIME_ATTRIBUTE, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), 4).isEmpty());
+        // Less days than ranges
+        Assert.assertTrue(DatabaseTransferPartitioner.makeBounds(
+            DATETIME_ATTRIBUTE, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), 4).isEmpty());
+    }
+
+    @Test
+    public void testSmallIntegralRange() {
+        // Bounds never go beyond max value
+        Assert.assertEquals(List.of(1L, 2L), DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, 0L, 2L, 8));
+    }
+
+    @Test
+    public void testNoBounds() {
+        Assert.assertTrue(DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, 0L, 100L, 1).isEmpty());
+        // Unsupported value types make a single range
+        Assert.assertTrue(DatabaseTransferPartitioner.makeBounds(NUMERIC_ATTRIBUTE, "a", "z", 4).isEmpty());
+        Assert.assertTrue(DatabaseTransferPartitioner.makeBounds(DATETIME_ATTRIBUTE, 1L, 100L, 4).isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+public class ParallelGZIPOutputStreamTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (int size : new int[]{0, 1, 1000, 128 * 1024, 128 * 1024 + 1, 3 * 1024 * 1024 + 17}) {
+            byte[] data = generateData(size);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (ParallelGZIPOutputStream gzipStream = new ParallelGZIPOutputStream(buffer, 4)) {
+                // Mix single byte and bulk writes
+                int offset = 0;
+                if (size > 0) {
+                    gzipStream.write(data[0]);
+                    offset = 1;
+                }
+                while (offset < size) {
+                    int count = Math.min(size - offset, 10000);
+                    gzipStream.write(data, offset, count);
+                    gzipStream.flush();
+                    offset += count;
+                }
+            }
+            Assert.assertArrayEquals(data, readAll(new GZIPInputStream(new ByteArrayInputStream(buffer.toByteArray()))));
+        }
+    }
+
+    @Test
+    public void testCompressionFormatByFileName() {
+        Assert.assertEquals(StreamCompressionFormat.GZIP, StreamCompressionFormat.getByFileName("data.csv.GZ"));
+        Assert.assertEquals(StreamCompressionFormat.ZIP, StreamCompressionFormat.getByFileName("data.zip"));
+        Assert.assertNull(StreamCompressionFormat.getByFileName("data.csv"));
+        Assert.assertEquals("data.csv", StreamCompressionFormat.removeFileExtension("data.csv.gz"));
+        Assert.assertEquals("data.csv", StreamCompressionFormat.removeFileExtension("data.csv"));
+    }
+
+    private static byte[] generateData(int size) {
+        // Repetitive text-like data, similar to exported rows
+        Random random = new Random(size);
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i % 80 == 79 ? '\n' : 'a' + random.nextInt(6));
+        }
+        return data;
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = stream.read(buffer)) > 0) {
+            result.write(buffer, 0, count);
+        }
+        return result.toByteArray();
+    }
+
+}
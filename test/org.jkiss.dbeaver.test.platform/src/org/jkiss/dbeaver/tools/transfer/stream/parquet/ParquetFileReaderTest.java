@@ -0,0 +1,92 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class ParquetFileReaderTest {
+
+    @Test
+    public void testReadWrittenFile() throws IOException {
+        Path file = Files.createTempFile("test", ".parquet");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                ParquetFileWriter writer = new ParquetFileWriter(
+                    out,
+                    List.of(
+                        new ParquetColumn("id", ParquetColumnType.INT64),
+                        new ParquetColumn("name", ParquetColumnType.STRING),
+                        new ParquetColumn("amount", ParquetColumnType.DECIMAL, 10, 2),
+                        new ParquetColumn("created", ParquetColumnType.TIMESTAMP)),
+                    ParquetFileWriter.Compression.GZIP,
+                    2);
+                for (int i = 0; i < 5; i++) {
+                    writer.writeRow(new Object[]{i, i % 2 == 0 ? null : "name" + i, new BigDecimal("1.25"), Timestamp.valueOf("2024-01-02 03:04:05.123456")});
+                }
+                writer.finish();
+            }
+
+            try (ParquetFileReader reader = new ParquetFileReader(file)) {
+                List<ParquetColumn> columns = reader.getColumns();
+                Assert.assertEquals(4, columns.size());
+                Assert.assertEquals("name", columns.get(1).getName());
+                Assert.assertEquals(ParquetColumnType.DECIMAL, columns.get(2).getType());
+                Assert.assertEquals(10, columns.get(2).getPrecision());
+                Assert.assertEquals(2, columns.get(2).getScale());
+                Assert.assertEquals(5, reader.getRowCount());
+                Assert.assertEquals(3, reader.getRowGroupCount());
+
+                Object[][] values = reader.readRowGroup(1);
+                Assert.assertEquals(2L, values[0][0]);
+                Assert.assertEquals(3L, values[0][1]);
+                Assert.assertNull(values[1][0]);
+                Assert.assertEquals("name3", values[1][1]);
+                Assert.assertEquals(new BigDecimal("1.25"), values[2][0]);
+                Assert.assertEquals(Timestamp.valueOf("2024-01-02 03:04:05.123456"), values[3][1]);
+                Assert.assertEquals(1, reader.readColumn(2, 0).length);
+
+                ParquetFileReader.ColumnReader columnReader = reader.openColumn(1, 1);
+                Assert.assertNull(columnReader.next());
+                Assert.assertEquals("name3", columnReader.next());
+                Assert.assertThrows(IOException.class, columnReader::next);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testNotParquetFile() throws IOException {
+        Path file = Files.createTempFile("test", ".parquet");
+        try {
+            Files.writeString(file, "id,name\n1,test\n");
+            Assert.assertThrows(IOException.class, () -> new ParquetFileReader(file).close());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,276 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+public class ParquetFileWriterTest {
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void testFileLayout() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ParquetFileWriter writer = new ParquetFileWriter(
+            buffer,
+            List.of(new ParquetColumn("id", ParquetColumnType.INT64), new ParquetColumn("name", ParquetColumnType.STRING)),
+            ParquetFileWriter.Compression.GZIP,
+            2);
+        for (int i = 0; i < 5; i++) {
+            writer.writeRow(new Object[]{i, i % 2 == 0 ? null : "name" + i});
+        }
+        writer.finish();
+
+        byte[] data = buffer.toByteArray();
+        Assert.assertArrayEquals(MAGIC, Arrays.copyOfRange(data, 0, 4));
+        Assert.assertArrayEquals(MAGIC, Arrays.copyOfRange(data, data.length - 4, data.length));
+        int footerLength = (data[data.length - 8] & 0xff) | (data[data.length - 7] & 0xff) << 8 |
+            (data[data.length - 6] & 0xff) << 16 | (data[data.length - 5] & 0xff) << 24;
+        Assert.assertTrue(footerLength > 0 && footerLength < data.length - 12);
+    }
+
+    @Test
+    public void testBadValue() throws IOException {
+        ParquetFileWriter writer = new ParquetFileWriter(
+            new ByteArrayOutputStream(),
+            List.of(new ParquetColumn("name", ParquetColumnType.STRING), new ParquetColumn("amount", ParquetColumnType.DECIMAL, 5, 2)),
+            ParquetFileWriter.Compression.NONE,
+            100);
+        writer.writeRow(new Object[]{"a", "12.345"});
+        Assert.assertThrows(IOException.class, () -> writer.writeRow(new Object[]{"b", "abc"}));
+        Assert.assertThrows(IOException.class, () -> writer.writeRow(new Object[]{"c", 12345}));
+        writer.finish();
+    }
+
+    @Test
+    public void testIntegerOverflow() throws IOException {
+        ParquetFileWriter writer = new ParquetFileWriter(
+            new ByteArrayOutputStream(),
+            List.of(new ParquetColumn("i32", ParquetColumnType.INT32), new ParquetColumn("i64", ParquetColumnType.INT64)),
+            ParquetFileWriter.Compression.NONE,
+            100);
+        writer.writeRow(new Object[]{Integer.MAX_VALUE, Long.MAX_VALUE});
+        writer.writeRow(new Object[]{new BigDecimal("12"), BigInteger.valueOf(Long.MIN_VALUE)});
+        // Unsigned INT and BIGINT values must not wrap
+        Assert.assertThrows(IOException.class, () -> writer.writeRow(new Object[]{4294967295L, 1}));
+        Assert.assertThrows(IOException.class, () -> writer.writeRow(new Object[]{1, new BigInteger("18446744073709551615")}));
+        Assert.assertThrows(IOException.class, () -> writer.writeRow(new Object[]{1.5, 1}));
+        writer.finish();
+    }
+
+    /**
+     * Large column chunks are split into pages. The file is parsed here without ParquetFileReader.
+     */
+    @Test
+    public void testPagedColumnChunks() throws IOException {
+        final int rowCount = 300000;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ParquetFileWriter writer = new ParquetFileWriter(
+            buffer,
+            List.of(new ParquetColumn("id", ParquetColumnType.INT64), new ParquetColumn("name", ParquetColumnType.STRING)),
+            ParquetFileWriter.Compression.GZIP,
+            rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            writer.writeRow(new Object[]{(long) i, i % 3 == 0 ? null : "name" + i});
+        }
+        writer.finish();
+
+        ByteBuffer data = ByteBuffer.wrap(buffer.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        int footerLength = data.getInt(data.limit() - 8);
+        Map<Integer, Object> fileMetaData = new ThriftReader(data, data.limit() - 8 - footerLength).readStruct();
+        Assert.assertEquals((long) rowCount, fileMetaData.get(3));
+        List<?> rowGroups = (List<?>) fileMetaData.get(4);
+        Assert.assertEquals(1, rowGroups.size());
+        List<?> chunks = (List<?>) ((Map<?, ?>) rowGroups.get(0)).get(1);
+        Assert.assertEquals(2, chunks.size());
+
+        for (int columnIndex = 0; columnIndex < chunks.size(); columnIndex++) {
+            Map<?, ?> chunkMetaData = (Map<?, ?>) ((Map<?, ?>) chunks.get(columnIndex)).get(3);
+            long chunkOffset = (Long) chunkMetaData.get(9);
+            long chunkEnd = chunkOffset + (Long) chunkMetaData.get(7);
+            Assert.assertEquals((long) rowCount, chunkMetaData.get(5));
+
+            ThriftReader pageReader = new ThriftReader(data, (int) chunkOffset);
+            List<Object> values = new ArrayList<>();
+            int pageCount = 0;
+            long uncompressedSize = 0;
+            while (pageReader.position < chunkEnd) {
+                int headerOffset = pageReader.position;
+                Map<Integer, Object> pageHeader = pageReader.readStruct();
+                int headerLength = pageReader.position - headerOffset;
+                Assert.assertEquals(0, pageHeader.get(1));
+                int pageSize = (Integer) pageHeader.get(2);
+                Assert.assertTrue("Page is too large: " + pageSize, pageSize < 2 * 1024 * 1024);
+                byte[] compressedData = new byte[(Integer) pageHeader.get(3)];
+                data.get(pageReader.position, compressedData);
+                pageReader.position += compressedData.length;
+                byte[] pageData;
+                try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressedData))) {
+                    pageData = is.readAllBytes();
+                }
+                Assert.assertEquals(pageSize, pageData.length);
+                int valueCount = (Integer) ((Map<?, ?>) pageHeader.get(5)).get(1);
+                readPageValues(ByteBuffer.wrap(pageData).order(ByteOrder.LITTLE_ENDIAN), valueCount, columnIndex == 0, values);
+                uncompressedSize += headerLength + pageSize;
+                pageCount++;
+            }
+            Assert.assertEquals(chunkEnd, pageReader.position);
+            Assert.assertEquals(uncompressedSize, (long) (Long) chunkMetaData.get(6));
+            Assert.assertTrue("Column chunk is not split into pages", pageCount > 1);
+            Assert.assertEquals(rowCount, values.size());
+            for (int i = 0; i < rowCount; i++) {
+                Object expected = columnIndex == 0 ? (Object) (long) i : i % 3 == 0 ? null : "name" + i;
+                Assert.assertEquals(expected, values.get(i));
+            }
+        }
+    }
+
+    private static void readPageValues(ByteBuffer page, int valueCount, boolean isLong, List<Object> values) {
+        // RLE encoded definition levels
+        int levelsEnd = page.getInt() + 4;
+        List<Boolean> defined = new ArrayList<>();
+        while (page.position() < levelsEnd) {
+            int header = readVarInt(page);
+            Assert.assertEquals("Bit-packed runs are not expected", 0, header & 1);
+            boolean level = page.get() != 0;
+            for (int i = 0; i < header >> 1; i++) {
+                defined.add(level);
+            }
+        }
+        Assert.assertEquals(valueCount, defined.size());
+        for (boolean isDefined : defined) {
+            if (!isDefined) {
+                values.add(null);
+            } else if (isLong) {
+                values.add(page.getLong());
+            } else {
+                byte[] bytes = new byte[page.getInt()];
+                page.get(bytes);
+                values.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+        Assert.assertFalse(page.hasRemaining());
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int result = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Minimal Thrift compact protocol reader. Structs are read as maps of field values.
+     */
+    private static class ThriftReader {
+        private final ByteBuffer data;
+        private int position;
+
+        ThriftReader(ByteBuffer data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        Map<Integer, Object> readStruct() {
+            Map<Integer, Object> fields = new HashMap<>();
+            int fieldId = 0;
+            while (true) {
+                int header = readByte();
+                if (header == 0) {
+                    return fields;
+                }
+                int delta = header >> 4;
+                fieldId = delta == 0 ? (int) readZigZag() : fieldId + delta;
+                fields.put(fieldId, readValue(header & 0x0F));
+            }
+        }
+
+        private Object readValue(int type) {
+            switch (type) {
+                case 1:
+                case 2:
+                    return type == 1;
+                case 3:
+                    return (byte) readByte();
+                case 4:
+                case 5:
+                    return (int) readZigZag();
+                case 6:
+                    return readZigZag();
+                case 8: {
+                    byte[] bytes = new byte[(int) readVarLong()];
+                    data.get(position, bytes);
+                    position += bytes.length;
+                    return bytes;
+                }
+                case 9:
+                case 10: {
+                    int header = readByte();
+                    int size = header >> 4 == 15 ? (int) readVarLong() : header >> 4;
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        int elementType = header & 0x0F;
+                        list.add(elementType == 1 || elementType == 2 ? readByte() == 1 : readValue(elementType));
+                    }
+                    return list;
+                }
+                case 12:
+                    return readStruct();
+                default:
+                    throw new IllegalStateException("Unexpected Thrift type " + type);
+            }
+        }
+
+        private int readByte() {
+            return data.get(position++) & 0xFF;
+        }
+
+        private long readVarLong() {
+            long result = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+        }
+
+        private long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+}
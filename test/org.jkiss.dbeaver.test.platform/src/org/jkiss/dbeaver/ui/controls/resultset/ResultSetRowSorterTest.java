@@ -0,0 +1,129 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResultSetRowSorterTest {
+
+    // Row values: name, amount
+    private static final Object[][] ROW_VALUES = {
+        {"b", 2},
+        {null, 1},
+        {"A", 3},
+        {"b", null},
+        {"a", 1},
+        {"B", 2},
+    };
+
+    @Mock
+    private ResultSetModel model;
+    @Mock
+    private DBDAttributeBinding nameBinding;
+    @Mock
+    private DBDAttributeBinding amountBinding;
+    @Mock
+    private DBDValueHandler valueHandler;
+
+    private final Map<ResultSetRow, Object[]> rowValues = new HashMap<>();
+
+    @Before
+    public void init() {
+        List<ResultSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < ROW_VALUES.length; i++) {
+            ResultSetRow row = Mockito.mock(ResultSetRow.class);
+            Mockito.lenient().when(row.getRowNumber()).thenReturn(i);
+            rowValues.put(row, ROW_VALUES[i]);
+            rows.add(row);
+        }
+        // Model rows may be in any order
+        Collections.reverse(rows);
+        Mockito.when(model.getAllRows()).thenReturn(rows);
+        Mockito.lenient().when(model.getCellValue(Mockito.any(DBDAttributeBinding.class), Mockito.any(ResultSetRow.class)))
+            .thenAnswer(invocation -> rowValues.get(invocation.<ResultSetRow>getArgument(1))[invocation.getArgument(0) == nameBinding ? 0 : 1]);
+        Mockito.lenient().when(nameBinding.getValueHandler()).thenReturn(valueHandler);
+        Mockito.lenient().when(amountBinding.getValueHandler()).thenReturn(valueHandler);
+    }
+
+    @Test
+    public void sortByRowNumberWithoutOrdering() {
+        assertOrder(sort(), 0, 1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void sortByMultipleColumns() {
+        // Strings are compared ignoring case, equal rows keep original order
+        assertOrder(
+            sort(new ResultSetRowSorter.SortAttribute(nameBinding, false), new ResultSetRowSorter.SortAttribute(amountBinding, true)),
+            2, 4, 3, 0, 5, 1);
+        assertOrder(
+            sort(new ResultSetRowSorter.SortAttribute(amountBinding, false), new ResultSetRowSorter.SortAttribute(nameBinding, false)),
+            4, 1, 0, 5, 2, 3);
+    }
+
+    @Test
+    public void sortNullsLast() {
+        assertOrder(sort(new ResultSetRowSorter.SortAttribute(nameBinding, false)), 2, 4, 0, 3, 5, 1);
+        // Descending order is reversed, so nulls go first
+        assertOrder(sort(new ResultSetRowSorter.SortAttribute(nameBinding, true)), 1, 0, 3, 5, 2, 4);
+        assertOrder(sort(new ResultSetRowSorter.SortAttribute(amountBinding, true)), 3, 2, 0, 5, 1, 4);
+    }
+
+    @Test
+    public void sortWithValueHandlerComparator() {
+        // Compare names by length only, nulls first
+        Mockito.when(valueHandler.getComparator()).thenReturn(
+            Comparator.<Object>nullsFirst(Comparator.comparingInt(value -> value.toString().length())));
+        assertOrder(sort(new ResultSetRowSorter.SortAttribute(nameBinding, false)), 1, 0, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void cancelSort() {
+        ResultSetRowSorter sorter = new ResultSetRowSorter(
+            model, List.of(new ResultSetRowSorter.SortAttribute(nameBinding, false)), 0);
+        sorter.cancel();
+        sorter.sort();
+        Assert.assertFalse(sorter.isSorted());
+        Assert.assertNull(sorter.getSortedRows());
+    }
+
+    private ResultSetRowSorter sort(ResultSetRowSorter.SortAttribute... sortAttributes) {
+        ResultSetRowSorter sorter = new ResultSetRowSorter(model, Arrays.asList(sortAttributes), 0);
+        Assert.assertFalse(sorter.isSorted());
+        sorter.sort();
+        Assert.assertTrue(sorter.isSorted());
+        return sorter;
+    }
+
+    private static void assertOrder(ResultSetRowSorter sorter, int... expectedRowNumbers) {
+        ResultSetRow[] sortedRows = sorter.getSortedRows();
+        Assert.assertNotNull(sortedRows);
+        int[] rowNumbers = Arrays.stream(sortedRows).mapToInt(ResultSetRow::getRowNumber).toArray();
+        Assert.assertArrayEquals(expectedRowNumbers, rowNumbers);
+    }
+}